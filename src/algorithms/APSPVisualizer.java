@@ -0,0 +1,214 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class APSPVisualizer extends JFrame {
+
+    private final Random rand = new Random();
+
+    private WeightedGraph graph;
+    private int[] distances;
+    private BufferedImage heatmap;
+
+    private final JSpinner nodeSpinner;
+    private final JSpinner densitySpinner;
+    private final JComboBox<String> methodCombo;
+    private final JLabel statusLabel;
+    private final JLabel cellLabel;
+    private final JPanel heatmapPanel;
+
+    private volatile boolean computing = false;
+
+    public APSPVisualizer() {
+        setTitle("All-Pairs Shortest Paths Visualizer");
+        setSize(1000, 700);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("All-Pairs Shortest Paths", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        add(title, BorderLayout.NORTH);
+
+        heatmapPanel = new JPanel() {
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                drawHeatmap((Graphics2D) g);
+            }
+        };
+        heatmapPanel.setBackground(new Color(20, 20, 20));
+        heatmapPanel.addMouseMotionListener(new MouseAdapter() {
+            public void mouseMoved(MouseEvent e) {
+                updateCellLabel(e.getX(), e.getY());
+            }
+        });
+        add(heatmapPanel, BorderLayout.CENTER);
+
+        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
+        infoPanel.setBackground(new Color(30, 30, 30));
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        cellLabel = new JLabel(" ");
+        cellLabel.setForeground(Color.LIGHT_GRAY);
+        infoPanel.add(statusLabel);
+        infoPanel.add(cellLabel);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        nodeSpinner = new JSpinner(new SpinnerNumberModel(60, 2, 5000, 10));
+        densitySpinner = new JSpinner(new SpinnerNumberModel(20.0, 0.1, 100.0, 1.0));
+        methodCombo = new JComboBox<>(new String[]{"Auto",
+                AllPairsShortestPaths.Method.FLOYD_WARSHALL.label,
+                AllPairsShortestPaths.Method.DIJKSTRA.label});
+
+        JButton generateBtn = new JButton("Generate Graph");
+        generateBtn.addActionListener(e -> {
+            if (computing) return;
+            generateGraph();
+        });
+
+        JButton computeBtn = new JButton("Compute APSP");
+        computeBtn.addActionListener(e -> computeAllPairs());
+
+        JButton backBtn = new JButton("Back to Menu");
+        backBtn.addActionListener(e -> {
+            this.dispose();
+            new ui.AdvancedAlgorithmsVisualizer();
+        });
+
+        controlPanel.add(new JLabel("Nodes:"));
+        controlPanel.add(nodeSpinner);
+        controlPanel.add(new JLabel("Density %:"));
+        controlPanel.add(densitySpinner);
+        controlPanel.add(generateBtn);
+        controlPanel.add(new JLabel("Method:"));
+        controlPanel.add(methodCombo);
+        controlPanel.add(computeBtn);
+        controlPanel.add(backBtn);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(infoPanel, BorderLayout.NORTH);
+        bottomPanel.add(controlPanel, BorderLayout.SOUTH);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        generateGraph();
+        setVisible(true);
+    }
+
+    private void generateGraph() {
+        int n = (Integer) nodeSpinner.getValue();
+        double density = (Double) densitySpinner.getValue() / 100.0;
+        graph = WeightedGraph.random(n, density, 9, rand);
+        distances = null;
+        heatmap = null;
+        statusLabel.setText("Graph: " + n + " nodes, " + graph.edgeCount() + " edges, density "
+                + String.format("%.3f", graph.density()) + " (auto picks "
+                + AllPairsShortestPaths.chooseMethod(graph).label + ")");
+        cellLabel.setText(" ");
+        heatmapPanel.repaint();
+    }
+
+    private void computeAllPairs() {
+        if (computing) return;
+        computing = true;
+
+        WeightedGraph current = graph;
+        String selected = (String) methodCombo.getSelectedItem();
+        AllPairsShortestPaths.Method method = switch (methodCombo.getSelectedIndex()) {
+            case 1 -> AllPairsShortestPaths.Method.FLOYD_WARSHALL;
+            case 2 -> AllPairsShortestPaths.Method.DIJKSTRA;
+            default -> AllPairsShortestPaths.chooseMethod(current);
+        };
+        statusLabel.setText("Computing with " + method.label + "...");
+
+        new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                int[] result = AllPairsShortestPaths.solve(current, method);
+                long elapsed = System.nanoTime() - start;
+                int maxDistance = maxDistance(result);
+                BufferedImage image = renderHeatmap(result, current.nodeCount(), maxDistance);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (current != graph) return;
+                    distances = result;
+                    heatmap = image;
+                    statusLabel.setText(method.label + ("Auto".equals(selected) ? " (auto)" : "") + ": "
+                            + current.nodeCount() + " nodes, " + current.edgeCount() + " edges in "
+                            + String.format("%.1f", elapsed / 1e6) + " ms on "
+                            + Runtime.getRuntime().availableProcessors() + " cores, max distance " + maxDistance);
+                    heatmapPanel.repaint();
+                });
+            } finally {
+                computing = false;
+            }
+        }).start();
+    }
+
+    private static int maxDistance(int[] dist) {
+        int max = 0;
+        for (int d : dist) {
+            if (d != AllPairsShortestPaths.UNREACHABLE && d > max) max = d;
+        }
+        return max;
+    }
+
+    private BufferedImage renderHeatmap(int[] dist, int n, int max) {
+        BufferedImage image = new BufferedImage(n, n, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int d = dist[i * n + j];
+                pixels[j] = d == AllPairsShortestPaths.UNREACHABLE ? 0 : heatColor(max == 0 ? 0 : (float) d / max);
+            }
+            image.setRGB(0, i, n, 1, pixels, 0, n);
+        }
+        return image;
+    }
+
+    // Blue for near pairs, through green and yellow, to red for the farthest pairs
+    private int heatColor(float t) {
+        return Color.HSBtoRGB(0.66f * (1 - t), 0.9f, 0.35f + 0.65f * t);
+    }
+
+    private Rectangle heatmapBounds() {
+        int size = Math.min(heatmapPanel.getWidth(), heatmapPanel.getHeight()) - 40;
+        int x = (heatmapPanel.getWidth() - size) / 2;
+        int y = (heatmapPanel.getHeight() - size) / 2;
+        return new Rectangle(x, y, size, size);
+    }
+
+    private void drawHeatmap(Graphics2D g2) {
+        if (heatmap == null) {
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.drawString("Press \"Compute APSP\" to fill the distance matrix.", 30, 40);
+            return;
+        }
+        Rectangle bounds = heatmapBounds();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(heatmap, bounds.x, bounds.y, bounds.width, bounds.height, null);
+        g2.setColor(Color.GRAY);
+        g2.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    private void updateCellLabel(int mouseX, int mouseY) {
+        if (distances == null) return;
+        Rectangle bounds = heatmapBounds();
+        if (!bounds.contains(mouseX, mouseY)) return;
+        int n = graph.nodeCount();
+        int i = Math.min(n - 1, (mouseY - bounds.y) * n / bounds.height);
+        int j = Math.min(n - 1, (mouseX - bounds.x) * n / bounds.width);
+        int d = distances[i * n + j];
+        cellLabel.setText("dist(" + i + " → " + j + ") = " + (d == AllPairsShortestPaths.UNREACHABLE ? "unreachable" : d));
+    }
+}
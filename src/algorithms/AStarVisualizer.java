@@ -10,19 +10,36 @@ public class AStarVisualizer extends JFrame {
     private final int NODE_COUNT = 10;
     private final int PANEL_WIDTH = 800;
     private final int PANEL_HEIGHT = 500;
+    private final int ANIMATION_LIMIT = 50;
+    private final int LOG_CAPACITY = 50000;
 
-    private List<Node> nodes = new ArrayList<>();
-    private List<Edge> edges = new ArrayList<>();
+    private WeightedGraph graph;
+    private Color[] nodeColors;
+    private ForceLayout layout;
     private Random rand = new Random();
 
     private JComboBox<String> startSelector;
     private JComboBox<String> goalSelector;
-    private JTextArea logArea;
-    private JPanel graphPanel;
+    private JComboBox<String> edgeFromSelector;
+    private JComboBox<String> edgeToSelector;
+    private JSpinner weightSpinner;
+    private JSpinner nodeCountSpinner;
+    private JToggleButton layoutBtn;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+    private GraphPanel graphPanel;
+    private JLabel cacheLabel;
+
+    private final ShortestPathCache cache = new ShortestPathCache(16);
+    private int graphVersion = 0;
+
+    private DStarLite planner;
+    // The last query, planned for lazily by D* Lite once an edge changes; -1 before the first
+    private int plannedStart = -1;
+    private int plannedGoal = -1;
 
     public AStarVisualizer() {
         setTitle("A* Algorithm Visualizer");
-        setSize(1000, 600);
+        setSize(1200, 650);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
@@ -36,12 +53,9 @@ public class AStarVisualizer extends JFrame {
         add(title, BorderLayout.NORTH);
 
         // LEFT PANEL - Logs
-        logArea = new JTextArea(20, 25);
-        logArea.setEditable(false);
-        logArea.setFont(new Font("Consolas", Font.PLAIN, 13));
-        JScrollPane scroll = new JScrollPane(logArea);
-        scroll.setBorder(BorderFactory.createTitledBorder("Steps"));
-        add(scroll, BorderLayout.WEST);
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 13));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Steps"));
+        add(logPanel, BorderLayout.WEST);
 
         // CONTROL PANEL
         JPanel controlPanel = new JPanel(new FlowLayout());
@@ -53,90 +67,172 @@ public class AStarVisualizer extends JFrame {
         JButton runBtn = new JButton("Run A*");
         JButton resetBtn = new JButton("Reset Graph");
         JButton backBtn = new JButton("Back to Menu");
+        nodeCountSpinner = new JSpinner(new SpinnerNumberModel(NODE_COUNT, 2, 100000, 1));
+        layoutBtn = new JToggleButton("Force Layout");
 
+        layoutBtn.addActionListener(e -> {
+            if (layoutBtn.isSelected()) startLayout();
+            else stopLayout();
+        });
         runBtn.addActionListener(e -> runAStar());
         resetBtn.addActionListener(e -> {
             generateGraph();
             graphPanel.repaint();
             updateSelectors();
-            logArea.setText("");
+            log.clear();
+            planner = null;
+            plannedStart = -1;
+            cache.invalidate();
+            updateCacheLabel();
         });
         backBtn.addActionListener(e -> {
             this.dispose();
             new ui.AdvancedAlgorithmsVisualizer();
         });
 
+        controlPanel.add(new JLabel("Nodes:"));
+        controlPanel.add(nodeCountSpinner);
         controlPanel.add(new JLabel("Start:"));
         controlPanel.add(startSelector);
         controlPanel.add(new JLabel("Goal:"));
         controlPanel.add(goalSelector);
         controlPanel.add(runBtn);
         controlPanel.add(resetBtn);
+        controlPanel.add(layoutBtn);
         controlPanel.add(backBtn);
 
-        add(controlPanel, BorderLayout.SOUTH);
+        cacheLabel = new JLabel();
+        cacheLabel.setForeground(Color.WHITE);
+        controlPanel.add(cacheLabel);
+
+        // EDGE EDITOR - changes replan incrementally with D* Lite
+        JPanel editPanel = new JPanel(new FlowLayout());
+        editPanel.setBackground(new Color(30, 30, 30));
+
+        edgeFromSelector = new JComboBox<>();
+        edgeToSelector = new JComboBox<>();
+        weightSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 99, 1));
+
+        JButton setWeightBtn = new JButton("Set Weight");
+        setWeightBtn.addActionListener(e -> editEdge((Integer) weightSpinner.getValue()));
+
+        JButton deleteEdgeBtn = new JButton("Delete Edge");
+        deleteEdgeBtn.addActionListener(e -> editEdge(-1));
+
+        editPanel.add(new JLabel("Edge:"));
+        editPanel.add(edgeFromSelector);
+        editPanel.add(edgeToSelector);
+        editPanel.add(new JLabel("Weight:"));
+        editPanel.add(weightSpinner);
+        editPanel.add(setWeightBtn);
+        editPanel.add(deleteEdgeBtn);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(editPanel);
+        southPanel.add(controlPanel);
+        add(southPanel, BorderLayout.SOUTH);
 
         // GRAPH PANEL
-        graphPanel = new JPanel() {
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                drawGraph((Graphics2D) g);
-            }
-        };
+        graphPanel = new GraphPanel();
+        graphPanel.setNodeColors(id -> nodeColors[id]);
+        graphPanel.setEdgeColors(Color.LIGHT_GRAY, Color.LIGHT_GRAY);
+        graphPanel.setNodeClickListener((event, node) -> {
+            if (event.isShiftDown()) startSelector.setSelectedIndex(node);
+            else goalSelector.setSelectedIndex(node);
+        });
         graphPanel.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
-        graphPanel.setBackground(new Color(20, 20, 20));
         add(graphPanel, BorderLayout.CENTER);
 
         generateGraph();
         updateSelectors();
+        updateCacheLabel();
         setVisible(true);
     }
 
     private void generateGraph() {
-        nodes.clear();
-        edges.clear();
+        stopLayout();
+        int nodeCount = (Integer) nodeCountSpinner.getValue();
+        graph = WeightedGraph.random(nodeCount, Math.min(0.3, 4.0 / nodeCount), 15, rand);
+        graphVersion++;
+
+        nodeColors = new Color[nodeCount];
+        Arrays.fill(nodeColors, Color.CYAN);
+        float[][] positions = ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+        graphPanel.setGraph(graph, positions[0], positions[1]);
+    }
 
-        for (int i = 0; i < NODE_COUNT; i++) {
-            int x = rand.nextInt(PANEL_WIDTH - 100) + 50;
-            int y = rand.nextInt(PANEL_HEIGHT - 100) + 50;
-            nodes.add(new Node(i, x, y));
-        }
+    private void updateSelectors() {
+        String[] ids = new String[graph.nodeCount()];
+        for (int i = 0; i < ids.length; i++) ids[i] = String.valueOf(i);
+        startSelector.setModel(new DefaultComboBoxModel<>(ids));
+        goalSelector.setModel(new DefaultComboBoxModel<>(ids));
+        edgeFromSelector.setModel(new DefaultComboBoxModel<>(ids));
+        edgeToSelector.setModel(new DefaultComboBoxModel<>(ids));
+    }
 
-        for (int i = 0; i < NODE_COUNT; i++) {
-            for (int j = i + 1; j < NODE_COUNT; j++) {
-                if (rand.nextDouble() < 0.3) {
-                    int w = rand.nextInt(15) + 1;
-                    edges.add(new Edge(nodes.get(i), nodes.get(j), w));
-                    edges.add(new Edge(nodes.get(j), nodes.get(i), w));
-                }
-            }
-        }
+    private void startLayout() {
+        stopLayout();
+        layout = new ForceLayout(graph, graphPanel.xs(), graphPanel.ys());
+        ForceLayout current = layout;
+        current.start(() -> {
+            graphPanel.setPositions(current.xs(), current.ys());
+            if (!current.isRunning()) SwingUtilities.invokeLater(() -> {
+                if (layout == current) layoutBtn.setSelected(false);
+            });
+        });
     }
 
-    private void updateSelectors() {
-        startSelector.removeAllItems();
-        goalSelector.removeAllItems();
-        for (Node node : nodes) {
-            startSelector.addItem(String.valueOf(node.id));
-            goalSelector.addItem(String.valueOf(node.id));
-        }
+    private void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+        if (layoutBtn != null) layoutBtn.setSelected(false);
+    }
+
+    public void dispose() {
+        stopLayout();
+        super.dispose();
     }
 
     private void runAStar() {
         int startId = Integer.parseInt((String) startSelector.getSelectedItem());
         int goalId = Integer.parseInt((String) goalSelector.getSelectedItem());
-        logArea.setText("");
+        log.clear();
+        // Clear the previous run's colours before either path below paints this one
+        Arrays.fill(nodeColors, Color.CYAN);
+        // The D* Lite plan only pays off once an edge changes, so editEdge builds it then; a plan for another
+        // pair is of no use to this one
+        if (planner != null && (planner.start() != startId || planner.goal() != goalId)) planner = null;
+        plannedStart = startId;
+        plannedGoal = goalId;
+
+        long lookupStart = System.nanoTime();
+        ShortestPathCache.Tree cached = cache.get(graphVersion, startId);
+        updateCacheLabel();
+        if (cached != null) {
+            log.add(EventLog.Kind.CACHE, "Source %d answered from cache in %d µs", startId, (System.nanoTime() - lookupStart) / 1000);
+            if (cached.reaches(goalId)) {
+                log.add(EventLog.Kind.RESULT, "Path found: " + cached.pathTo(goalId) + " (cost " + cached.dist[goalId] + ")");
+                animatePath(cached.pathTo(goalId));
+            } else {
+                log.add(EventLog.Kind.RESULT, "No path found to goal.");
+            }
+            return;
+        }
 
+        // Copies, so a running force layout cannot move nodes out from under the scale
+        float[] hx = graphPanel.xs().clone();
+        float[] hy = graphPanel.ys().clone();
+        double scale = heuristicScale(hx, hy);
         Map<Integer, Integer> cameFrom = new HashMap<>();
         Map<Integer, Integer> gScore = new HashMap<>();
         Map<Integer, Integer> fScore = new HashMap<>();
 
-        for (Node node : nodes) {
-            gScore.put(node.id, Integer.MAX_VALUE);
-            fScore.put(node.id, Integer.MAX_VALUE);
+        for (int i = 0; i < graph.nodeCount(); i++) {
+            gScore.put(i, Integer.MAX_VALUE);
+            fScore.put(i, Integer.MAX_VALUE);
         }
         gScore.put(startId, 0);
-        fScore.put(startId, heuristic(startId, goalId));
+        fScore.put(startId, heuristic(hx, hy, scale, startId, goalId));
 
         PriorityQueue<NodeCost> openSet = new PriorityQueue<>(Comparator.comparingInt(n -> n.f));
         openSet.add(new NodeCost(startId, fScore.get(startId)));
@@ -147,37 +243,100 @@ public class AStarVisualizer extends JFrame {
             NodeCost current = openSet.poll();
             if (!visited.add(current.id)) continue;
 
-            log("Visiting node " + current.id);
+            log.add(EventLog.Kind.VISIT, "Visiting node %d", current.id);
             highlightNode(current.id, Color.YELLOW);
             if (current.id == goalId) {
                 reconstructPath(cameFrom, goalId);
+                cacheTreeFrom(startId);
                 return;
             }
 
-            for (Edge edge : edges) {
-                if (edge.start.id == current.id) {
-                    int neighbor = edge.end.id;
-                    int tentativeG = gScore.get(current.id) + edge.weight;
-                    if (tentativeG < gScore.get(neighbor)) {
-                        cameFrom.put(neighbor, current.id);
-                        gScore.put(neighbor, tentativeG);
-                        int f = tentativeG + heuristic(neighbor, goalId);
-                        fScore.put(neighbor, f);
-                        openSet.add(new NodeCost(neighbor, f));
-                        log("Updating node " + neighbor + " with f=" + f);
-                    }
+            for (int e = 0; e < graph.degree(current.id); e++) {
+                int neighbor = graph.target(current.id, e);
+                int tentativeG = gScore.get(current.id) + graph.weight(current.id, e);
+                if (tentativeG < gScore.get(neighbor)) {
+                    cameFrom.put(neighbor, current.id);
+                    gScore.put(neighbor, tentativeG);
+                    int f = tentativeG + heuristic(hx, hy, scale, neighbor, goalId);
+                    fScore.put(neighbor, f);
+                    openSet.add(new NodeCost(neighbor, f));
+                    log.add(EventLog.Kind.RELAX, "Updating node %d with f=%d", neighbor, f);
                 }
             }
 
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException ignored) {
+            if (graph.nodeCount() <= ANIMATION_LIMIT) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException ignored) {
+                }
             }
 
             graphPanel.repaint();
         }
 
-        log("No path found to goal.");
+        log.add(EventLog.Kind.RESULT, "No path found to goal.");
+        cacheTreeFrom(startId);
+    }
+
+    // A* only settles the nodes it needs, so a full tree is solved once here to serve later goals
+    private void cacheTreeFrom(int source) {
+        int[][] tree = DynamicShortestPaths.solve(graph, source);
+        cache.put(graphVersion, source, tree[0], tree[1]);
+        updateCacheLabel();
+    }
+
+    private void editEdge(int weight) {
+        if (edgeFromSelector.getSelectedItem() == null) return;
+        int from = Integer.parseInt((String) edgeFromSelector.getSelectedItem());
+        int to = Integer.parseInt((String) edgeToSelector.getSelectedItem());
+        if (from == to) return;
+        if (weight < 0 && graph.edgeWeight(from, to) < 0) {
+            log.add(EventLog.Kind.EDIT, "No edge between %d and %d", from, to);
+            return;
+        }
+
+        graphVersion++;
+        String change = "Edge " + from + "-" + to + (weight < 0 ? " deleted" : " set to " + weight);
+        if (planner == null && plannedStart >= 0) {
+            long buildStart = System.nanoTime();
+            // No estimate at all: an edit can add an edge cheaper per pixel than any the A* scale was taken from
+            planner = new DStarLite(graph, plannedStart, plannedGoal, (a, b) -> 0);
+            planner.computeShortestPath();
+            log.add(EventLog.Kind.INFO, "Planned %d to %d with D* Lite in %d µs", plannedStart, plannedGoal,
+                    (System.nanoTime() - buildStart) / 1000);
+        }
+        if (planner == null) {
+            if (weight < 0) graph.removeEdge(from, to);
+            else graph.setEdge(from, to, weight);
+            if (layout != null) layout.snapshotEdges();
+            log.add(EventLog.Kind.EDIT, change + " (no plan to repair yet)");
+            graphPanel.repaint();
+            return;
+        }
+
+        long start = System.nanoTime();
+        int[] touched = planner.updateEdge(from, to, weight);
+        long elapsed = System.nanoTime() - start;
+        if (layout != null) layout.snapshotEdges();
+        List<Integer> path = planner.path();
+
+        Arrays.fill(nodeColors, Color.CYAN);
+        for (int id : touched) highlightNode(id, Color.ORANGE);
+        for (int id : path) highlightNode(id, Color.GREEN);
+
+        log.add(EventLog.Kind.EDIT, change + ": D* Lite re-expanded " + touched.length + " of " + graph.nodeCount()
+                + " nodes in " + (elapsed / 1000) + " µs");
+        log.add(EventLog.Kind.EDIT, "  Touched: " + Arrays.toString(touched));
+        if (path.isEmpty()) {
+            log.add(EventLog.Kind.RESULT, "  No path from %d to %d", planner.start(), planner.goal());
+        } else {
+            log.add(EventLog.Kind.RESULT, "  New path: " + path + " (cost " + planner.cost() + ")");
+        }
+        graphPanel.repaint();
+    }
+
+    private void updateCacheLabel() {
+        SwingUtilities.invokeLater(() -> cacheLabel.setText(cache.stats()));
     }
 
     private void reconstructPath(Map<Integer, Integer> cameFrom, int current) {
@@ -188,8 +347,11 @@ public class AStarVisualizer extends JFrame {
         }
         path.add(current);
         Collections.reverse(path);
-        log("Path found: " + path);
+        log.add(EventLog.Kind.RESULT, "Path found: " + path);
+        animatePath(path);
+    }
 
+    private void animatePath(List<Integer> path) {
         new Thread(() -> {
             for (int i = 0; i < path.size(); i++) {
                 highlightNode(path.get(i), Color.GREEN);
@@ -202,61 +364,28 @@ public class AStarVisualizer extends JFrame {
         }).start();
     }
 
-    private int heuristic(int a, int b) {
-        Node na = nodes.get(a);
-        Node nb = nodes.get(b);
-        return (int) Math.hypot(na.x - nb.x, na.y - nb.y);
-    }
-
-    private void highlightNode(int id, Color color) {
-        nodes.get(id).color = color;
-    }
-
-    private void drawGraph(Graphics2D g2) {
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        for (Edge e : edges) {
-            g2.setColor(Color.LIGHT_GRAY);
-            g2.drawLine(e.start.x, e.start.y, e.end.x, e.end.y);
-            String label = String.valueOf(e.weight);
-            int mx = (e.start.x + e.end.x) / 2;
-            int my = (e.start.y + e.end.y) / 2;
-            g2.drawString(label, mx, my);
-        }
-
-        for (Node n : nodes) {
-            g2.setColor(n.color);
-            g2.fillOval(n.x - 15, n.y - 15, 30, 30);
-            g2.setColor(Color.BLACK);
-            g2.drawOval(n.x - 15, n.y - 15, 30, 30);
-            g2.drawString(String.valueOf(n.id), n.x - 5, n.y + 5);
+    // Weight per pixel that no edge undercuts: the cheapest weight over the longest drawn edge. Any path is at
+    // least as long on screen as the straight line, so the scaled distance never overestimates its cost, and A*
+    // returns the same costs as the cached Dijkstra trees.
+    private double heuristicScale(float[] xs, float[] ys) {
+        int minWeight = Integer.MAX_VALUE;
+        double maxLength = 0;
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                minWeight = Math.min(minWeight, graph.weight(u, e));
+                maxLength = Math.max(maxLength, Math.hypot(xs[u] - xs[v], ys[u] - ys[v]));
+            }
         }
+        return maxLength == 0 ? 0 : minWeight / maxLength;
     }
 
-    private void log(String msg) {
-        SwingUtilities.invokeLater(() -> logArea.append(msg + "\n"));
-    }
-
-    private static class Node {
-        int id, x, y;
-        Color color = Color.CYAN;
-
-        public Node(int id, int x, int y) {
-            this.id = id;
-            this.x = x;
-            this.y = y;
-        }
+    private static int heuristic(float[] xs, float[] ys, double scale, int a, int b) {
+        return (int) (scale * Math.hypot(xs[a] - xs[b], ys[a] - ys[b]));
     }
 
-    private static class Edge {
-        Node start, end;
-        int weight;
-
-        public Edge(Node start, Node end, int weight) {
-            this.start = start;
-            this.end = end;
-            this.weight = weight;
-        }
+    private void highlightNode(int id, Color color) {
+        nodeColors[id] = color;
     }
 
     private static class NodeCost {
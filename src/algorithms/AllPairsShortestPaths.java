@@ -0,0 +1,162 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+final class AllPairsShortestPaths {
+
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Half of MAX_VALUE, so adding two finite distances can never overflow inside the kernels
+    private static final int INF = Integer.MAX_VALUE / 2;
+    private static final int BLOCK_SIZE = 64;
+
+    enum Method {
+        FLOYD_WARSHALL("Blocked Floyd–Warshall"),
+        DIJKSTRA("Parallel Dijkstra");
+
+        final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+    }
+
+    private AllPairsShortestPaths() {
+    }
+
+    // Floyd–Warshall does ~n^3 relaxations, n Dijkstra runs do ~n * (2m + n) * log n heap work
+    static Method chooseMethod(WeightedGraph graph) {
+        long n = graph.nodeCount();
+        long m = graph.edgeCount();
+        double log = Math.max(1, Math.log(n) / Math.log(2));
+        double dijkstraCost = n * (2 * m + n) * log * 4;
+        double floydCost = (double) n * n * n;
+        return floydCost <= dijkstraCost ? Method.FLOYD_WARSHALL : Method.DIJKSTRA;
+    }
+
+    static int[] solve(WeightedGraph graph, Method method) {
+        return method == Method.FLOYD_WARSHALL ? floydWarshall(graph) : dijkstraFromEverySource(graph);
+    }
+
+    static int[] floydWarshall(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        int[] dist = new int[n * n];
+        Arrays.fill(dist, INF);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0;
+            for (int e = 0; e < graph.degree(i); e++) {
+                int j = graph.target(i, e);
+                dist[i * n + j] = Math.min(dist[i * n + j], graph.weight(i, e));
+            }
+        }
+
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int block = 0; block < blocks; block++) {
+            int kb = block;
+            int k0 = kb * BLOCK_SIZE;
+
+            // Phase 1: the diagonal block only depends on itself
+            relaxBlock(dist, n, k0, k0, k0);
+
+            // Phase 2: blocks in the pivot row and column depend on the diagonal block
+            IntStream.range(0, blocks).parallel().filter(b -> b != kb).forEach(b -> {
+                relaxBlock(dist, n, k0, b * BLOCK_SIZE, k0);
+                relaxBlock(dist, n, b * BLOCK_SIZE, k0, k0);
+            });
+
+            // Phase 3: every remaining block reads only the finished pivot row and column
+            IntStream.range(0, blocks * blocks).parallel().forEach(idx -> {
+                int ib = idx / blocks;
+                int jb = idx % blocks;
+                if (ib != kb && jb != kb) relaxBlock(dist, n, ib * BLOCK_SIZE, jb * BLOCK_SIZE, k0);
+            });
+        }
+
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] >= INF) dist[i] = UNREACHABLE;
+        }
+        return dist;
+    }
+
+    private static void relaxBlock(int[] dist, int n, int i0, int j0, int k0) {
+        int iEnd = Math.min(n, i0 + BLOCK_SIZE);
+        int jEnd = Math.min(n, j0 + BLOCK_SIZE);
+        int kEnd = Math.min(n, k0 + BLOCK_SIZE);
+        for (int k = k0; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = i0; i < iEnd; i++) {
+                int rowI = i * n;
+                int ik = dist[rowI + k];
+                if (ik >= INF) continue;
+                for (int j = j0; j < jEnd; j++) {
+                    int candidate = ik + dist[rowK + j];
+                    if (candidate < dist[rowI + j]) dist[rowI + j] = candidate;
+                }
+            }
+        }
+    }
+
+    static int[] dijkstraFromEverySource(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        int[] dist = new int[n * n];
+        Arrays.fill(dist, UNREACHABLE);
+        IntStream.range(0, n).parallel().forEach(source -> dijkstraRow(graph, source, dist, source * n));
+        return dist;
+    }
+
+    // Lazy-deletion binary heap of (distance << 32 | node), so the inner loop allocates nothing per edge
+    private static void dijkstraRow(WeightedGraph graph, int source, int[] dist, int offset) {
+        long[] heap = new long[Math.max(16, graph.nodeCount())];
+        int size = 0;
+        dist[offset + source] = 0;
+        heap[size++] = source;
+
+        while (size > 0) {
+            long top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+
+            int node = (int) top;
+            int d = (int) (top >>> 32);
+            if (d > dist[offset + node]) continue;
+
+            for (int e = 0; e < graph.degree(node); e++) {
+                int next = graph.target(node, e);
+                int candidate = d + graph.weight(node, e);
+                if (candidate < dist[offset + next]) {
+                    dist[offset + next] = candidate;
+                    if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+                    heap[size] = ((long) candidate << 32) | next;
+                    siftUp(heap, size++);
+                }
+            }
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) return;
+        long value = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= value) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
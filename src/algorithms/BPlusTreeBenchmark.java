@@ -0,0 +1,93 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+// Headless comparison of B+ tree page sizes under one fixed buffer pool budget: larger pages mean a shallower tree
+// and fewer reads per lookup, but fewer frames to hold them in and more bytes moved per miss
+final class BPlusTreeBenchmark {
+
+    static final int DEFAULT_KEYS = 200_000;
+    static final int[] PAGE_SIZES = {128, 512, 1024, 4096, 16384};
+    // Memory the pool gets whatever the page size
+    static final int POOL_BYTES = 256 * 1024;
+    private static final int LOOKUPS = 100_000;
+    private static final int SCANS = 1_000;
+    private static final int SCAN_KEYS = 1_000;
+
+    private BPlusTreeBenchmark() {}
+
+    static String run(int count) {
+        Random rand = new Random(42);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) keys[i] = rand.nextInt();
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) probes[i] = keys[rand.nextInt(count)];
+        int[] scanStarts = new int[SCANS];
+        for (int i = 0; i < SCANS; i++) scanStarts[i] = rand.nextInt(Math.max(1, count - SCAN_KEYS));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d random int keys, %,d KB buffer pool, clock replacement%n%n", count, POOL_BYTES / 1024));
+        report.append(String.format("%6s %6s %6s %6s %9s %9s %10s %10s %9s %8s %10s%n", "Page", "Keys", "Frames",
+                "Height", "File KB", "Build ms", "Reads", "Writes", "Misses/op", "ns/op", "Reads/scan"));
+
+        long checksum = 0;
+        for (int pageSize : PAGE_SIZES) {
+            int frames = POOL_BYTES / pageSize;
+            Path path = null;
+            try {
+                path = Files.createTempFile("bplus-benchmark", ".db");
+                Files.delete(path);
+                try (BPlusTreeFile tree = BPlusTreeFile.open(path, pageSize, 0, frames)) {
+                    BufferPool pool = tree.pool();
+                    long start = System.nanoTime();
+                    for (int i = 0; i < count; i++) tree.put(keys[i], i);
+                    tree.flush();
+                    double buildMillis = (System.nanoTime() - start) / 1e6;
+                    long buildReads = pool.reads;
+                    long buildWrites = pool.writes;
+
+                    pool.resetStats();
+                    start = System.nanoTime();
+                    for (int key : probes) checksum += tree.get(key);
+                    double nanos = (double) (System.nanoTime() - start) / LOOKUPS;
+                    double misses = (double) pool.misses / LOOKUPS;
+
+                    pool.resetStats();
+                    long[] sum = {0};
+                    for (int first : scanStarts) {
+                        int last = Math.min(count - 1, first + SCAN_KEYS - 1);
+                        tree.scan(sorted[first], sorted[last], (key, value) -> sum[0] += value);
+                    }
+                    checksum += sum[0];
+                    double scanReads = (double) pool.reads / SCANS;
+
+                    report.append(String.format("%6d %6d %6d %6d %9d %9.1f %10d %10d %9.2f %8.0f %10.1f%n", pageSize,
+                            tree.maxKeys(), frames, tree.height(), (long) pool.pageCount() * pageSize / 1024,
+                            buildMillis, buildReads, buildWrites, misses, nanos, scanReads));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                try {
+                    if (path != null) Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        report.append(String.format("%nScans read %,d consecutive keys each, along the leaf chain%n", SCAN_KEYS));
+        Blackhole.consume(checksum);
+        return report.toString();
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEYS;
+        System.out.print(run(count));
+    }
+}
@@ -0,0 +1,649 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// B+ tree of int keys and values whose nodes are fixed-size pages of one file, reached only through a BufferPool.
+// Keys live in the leaves, which are chained left to right so a range scan walks siblings instead of climbing
+// back up; internal nodes hold separators only, so a page of them fans out as widely as the page allows. A full
+// node splits in two and pushes a separator up, an underfull one borrows from a sibling or merges with it, and
+// freed pages go on a free list for the next split to reuse.
+//
+// Page 0 is a header. Every other page starts with type, key count and next (the right sibling of a leaf, or the
+// next free page), then holds key/value pairs in a leaf, or child 0 followed by key/child pairs in an internal
+// node. An update keeps the pages on its root-to-leaf path pinned until it is done, so the pool needs a few more
+// frames than the tree has levels. The header's root, height and size are written back on flush and close.
+class BPlusTreeFile implements Closeable {
+
+    private static final int MAGIC = 0x42505452;
+    private static final int VERSION = 1;
+    private static final int NODE_HEADER_BYTES = 12;
+    private static final int LEAF = 1;
+    private static final int INTERNAL = 2;
+    private static final int FREE = 3;
+    // Smallest node that can still split into two legal halves
+    static final int MIN_KEYS = 3;
+
+    // Header fields of page 0
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_PAGE_SIZE = 8;
+    private static final int H_MAX_KEYS = 12;
+    private static final int H_ROOT = 16;
+    private static final int H_HEIGHT = 20;
+    private static final int H_SIZE = 24;
+    private static final int H_FREE = 28;
+
+    interface Visitor {
+        void visit(int key, int value);
+    }
+
+    // A decoded node, pinned in the pool until released; changes are encoded back into the frame on release
+    private final class Node {
+        final BufferPool.Frame frame;
+        final int page;
+        boolean leaf;
+        int count;
+        int next;
+        // One spare slot each way, so a node may overflow by a key before it splits
+        final int[] keys = new int[maxKeys + 1];
+        final int[] slots = new int[maxKeys + 2];
+        boolean dirty = false;
+
+        Node(BufferPool.Frame frame) {
+            this.frame = frame;
+            page = frame.page;
+        }
+    }
+
+    private final BufferPool pool;
+    private final int maxKeys;
+    private final int minKeys;
+    private final boolean reopened;
+    private int root;
+    private int height;
+    private int size;
+    private int freeHead;
+
+    // What the last operation did, for the visualizer
+    private final List<Integer> lastPath = new ArrayList<>();
+    private final List<Integer> lastSplits = new ArrayList<>();
+    private final List<Integer> lastMerges = new ArrayList<>();
+    // Nodes pinned by the operation in progress
+    private final List<Node> pinned = new ArrayList<>();
+
+    private BPlusTreeFile(Path path, int pageSize, int requestedKeys, int frames) throws IOException {
+        pool = new BufferPool(path, pageSize, frames);
+        reopened = pool.pageCount() > 0;
+        ByteBuffer header;
+        if (reopened) {
+            BufferPool.Frame frame = pool.pin(0);
+            header = frame.data;
+            if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION
+                    || header.getInt(H_PAGE_SIZE) != pageSize) {
+                pool.unpin(frame, false);
+                pool.close();
+                throw new IOException(path + " is not a B+ tree with " + pageSize + "-byte pages");
+            }
+            maxKeys = header.getInt(H_MAX_KEYS);
+            root = header.getInt(H_ROOT);
+            height = header.getInt(H_HEIGHT);
+            size = header.getInt(H_SIZE);
+            freeHead = header.getInt(H_FREE);
+            pool.unpin(frame, false);
+        } else {
+            int capacity = capacity(pageSize);
+            if (capacity < MIN_KEYS) {
+                pool.close();
+                throw new IllegalArgumentException("A " + pageSize + "-byte page holds fewer than " + MIN_KEYS + " keys");
+            }
+            maxKeys = requestedKeys <= 0 ? capacity : Math.max(MIN_KEYS, Math.min(requestedKeys, capacity));
+            BufferPool.Frame frame = pool.allocate();
+            frame.data.putInt(H_MAGIC, MAGIC);
+            frame.data.putInt(H_VERSION, VERSION);
+            frame.data.putInt(H_PAGE_SIZE, pageSize);
+            frame.data.putInt(H_MAX_KEYS, maxKeys);
+            pool.unpin(frame, true);
+            freeHead = -1;
+            Node first = create(true);
+            root = first.page;
+            height = 1;
+            releaseAll();
+            writeHeader();
+        }
+        minKeys = maxKeys / 2;
+    }
+
+    // Opens the tree in the file at path through a pool of the given number of frames, creating it if the file
+    // is empty. maxKeys caps the fanout below what a page holds, to get deep trees out of few keys; 0 fills pages.
+    static BPlusTreeFile open(Path path, int pageSize, int maxKeys, int frames) throws IOException {
+        return new BPlusTreeFile(path, pageSize, maxKeys, frames);
+    }
+
+    // Keys a page of this size holds; an internal node also spends four bytes on its extra child
+    static int capacity(int pageSize) {
+        return (pageSize - NODE_HEADER_BYTES - 4) / 8;
+    }
+
+    // ---- Lookups, read straight out of the pinned frames ----
+
+    // Value stored under key, or IntHashTable.NOT_FOUND
+    int get(int key) {
+        lastPath.clear();
+        BufferPool.Frame frame = descend(key);
+        ByteBuffer data = frame.data;
+        int slot = search(data, data.getInt(4), key);
+        int value = slot >= 0 ? data.getInt(NODE_HEADER_BYTES + 8 * slot + 4) : IntHashTable.NOT_FOUND;
+        pool.unpin(frame, false);
+        return value;
+    }
+
+    boolean contains(int key) {
+        lastPath.clear();
+        BufferPool.Frame frame = descend(key);
+        boolean found = search(frame.data, frame.data.getInt(4), key) >= 0;
+        pool.unpin(frame, false);
+        return found;
+    }
+
+    // Visits every key in [from, to] in order, following sibling links from the first leaf; returns how many
+    // were visited. The leaves read are left in lastPath after the internal nodes above the first.
+    int scan(int from, int to, Visitor visitor) {
+        lastPath.clear();
+        if (from > to) return 0;
+        BufferPool.Frame frame = descend(from);
+        int visited = 0;
+        while (true) {
+            ByteBuffer data = frame.data;
+            int count = data.getInt(4);
+            int slot = search(data, count, from);
+            if (slot < 0) slot = -slot - 1;
+            for (; slot < count; slot++) {
+                int key = data.getInt(NODE_HEADER_BYTES + 8 * slot);
+                if (key > to) {
+                    pool.unpin(frame, false);
+                    return visited;
+                }
+                visitor.visit(key, data.getInt(NODE_HEADER_BYTES + 8 * slot + 4));
+                visited++;
+            }
+            int next = data.getInt(8);
+            pool.unpin(frame, false);
+            if (next < 0) return visited;
+            frame = pool.pin(next);
+            lastPath.add(next);
+        }
+    }
+
+    // Pins the leaf that would hold key, unpinning each internal node on the way down
+    private BufferPool.Frame descend(int key) {
+        BufferPool.Frame frame = pool.pin(root);
+        lastPath.add(root);
+        while (frame.data.getInt(0) == INTERNAL) {
+            ByteBuffer data = frame.data;
+            int child = data.getInt(NODE_HEADER_BYTES + 8 * childIndex(data, data.getInt(4), key));
+            pool.unpin(frame, false);
+            frame = pool.pin(child);
+            lastPath.add(child);
+        }
+        return frame;
+    }
+
+    // Binary search of a leaf page's keys, with Arrays.binarySearch's return convention
+    private static int search(ByteBuffer leaf, int count, int key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int probe = leaf.getInt(NODE_HEADER_BYTES + 8 * mid);
+            if (probe < key) low = mid + 1;
+            else if (probe > key) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    // Child of an internal page to follow for key: past every separator not greater than it
+    private static int childIndex(ByteBuffer internal, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (internal.getInt(NODE_HEADER_BYTES + 4 + 8 * mid) <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // ---- Updates, on decoded nodes pinned for the whole operation ----
+
+    // Stores value under key; returns true if the key is new
+    boolean put(int key, int value) {
+        clearLast();
+        checkFrames();
+        List<Node> path = new ArrayList<>();
+        int[] index = new int[height];
+        try {
+            Node node = pathTo(key, path, index);
+            int slot = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (slot >= 0) {
+                node.slots[slot] = value;
+                node.dirty = true;
+                return false;
+            }
+            insertAt(node, -slot - 1, key, value);
+            size++;
+            for (int level = path.size() - 1; path.get(level).count > maxKeys; level--) {
+                Node full = path.get(level);
+                Node right = create(full.leaf);
+                int separator = split(full, right);
+                lastSplits.add(full.page);
+                lastSplits.add(right.page);
+                if (level == 0) {
+                    Node top = create(false);
+                    top.count = 1;
+                    top.keys[0] = separator;
+                    top.slots[0] = full.page;
+                    top.slots[1] = right.page;
+                    root = top.page;
+                    height++;
+                    lastSplits.add(top.page);
+                    break;
+                }
+                Node parent = path.get(level - 1);
+                int at = index[level - 1];
+                System.arraycopy(parent.keys, at, parent.keys, at + 1, parent.count - at);
+                System.arraycopy(parent.slots, at + 1, parent.slots, at + 2, parent.count - at);
+                parent.keys[at] = separator;
+                parent.slots[at + 1] = right.page;
+                parent.count++;
+                parent.dirty = true;
+                release(full);
+                release(right);
+            }
+            return true;
+        } finally {
+            releaseAll();
+        }
+    }
+
+    // Removes key; returns true if it was there
+    boolean remove(int key) {
+        clearLast();
+        checkFrames();
+        List<Node> path = new ArrayList<>();
+        int[] index = new int[height];
+        try {
+            Node node = pathTo(key, path, index);
+            int slot = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (slot < 0) return false;
+            System.arraycopy(node.keys, slot + 1, node.keys, slot, node.count - slot - 1);
+            System.arraycopy(node.slots, slot + 1, node.slots, slot, node.count - slot - 1);
+            node.count--;
+            node.dirty = true;
+            size--;
+            // Separators equal to a removed key may stay; they still route every remaining key correctly
+            for (int level = path.size() - 1; level > 0 && path.get(level).count < minKeys; level--) {
+                boolean merged = rebalance(path.get(level), path.get(level - 1), index[level - 1]);
+                release(path.get(level));
+                if (!merged) break;
+            }
+            Node top = path.get(0);
+            if (!top.leaf && top.count == 0) {
+                root = top.slots[0];
+                height--;
+                free(top);
+            }
+            return true;
+        } finally {
+            releaseAll();
+        }
+    }
+
+    // Descends to key's leaf, keeping every node pinned in path and the child taken at each level in index
+    private Node pathTo(int key, List<Node> path, int[] index) {
+        Node node = load(root);
+        path.add(node);
+        while (!node.leaf) {
+            int i = 0;
+            while (i < node.count && node.keys[i] <= key) i++;
+            index[path.size() - 1] = i;
+            node = load(node.slots[i]);
+            path.add(node);
+        }
+        return node;
+    }
+
+    private void insertAt(Node leaf, int slot, int key, int value) {
+        System.arraycopy(leaf.keys, slot, leaf.keys, slot + 1, leaf.count - slot);
+        System.arraycopy(leaf.slots, slot, leaf.slots, slot + 1, leaf.count - slot);
+        leaf.keys[slot] = key;
+        leaf.slots[slot] = value;
+        leaf.count++;
+        leaf.dirty = true;
+    }
+
+    // Moves the upper half of an overfull node into the empty right one; returns the separator for the parent.
+    // A leaf separator is copied up, since the key must stay in a leaf; an internal one moves up.
+    private int split(Node full, Node right) {
+        int mid = full.count / 2;
+        int separator;
+        if (full.leaf) {
+            right.count = full.count - mid;
+            System.arraycopy(full.keys, mid, right.keys, 0, right.count);
+            System.arraycopy(full.slots, mid, right.slots, 0, right.count);
+            right.next = full.next;
+            full.next = right.page;
+            separator = right.keys[0];
+        } else {
+            right.count = full.count - mid - 1;
+            System.arraycopy(full.keys, mid + 1, right.keys, 0, right.count);
+            System.arraycopy(full.slots, mid + 1, right.slots, 0, right.count + 1);
+            separator = full.keys[mid];
+        }
+        full.count = mid;
+        full.dirty = true;
+        right.dirty = true;
+        return separator;
+    }
+
+    // Fixes an underfull node by borrowing from a sibling with keys to spare, else by merging with one; returns
+    // true if it merged, since only a merge takes a key from the parent
+    private boolean rebalance(Node node, Node parent, int at) {
+        Node left = at > 0 ? load(parent.slots[at - 1]) : null;
+        Node right = at < parent.count ? load(parent.slots[at + 1]) : null;
+        if (left != null && left.count > minKeys) {
+            System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+            System.arraycopy(node.slots, 0, node.slots, 1, node.leaf ? node.count : node.count + 1);
+            if (node.leaf) {
+                node.keys[0] = left.keys[left.count - 1];
+                node.slots[0] = left.slots[left.count - 1];
+                parent.keys[at - 1] = node.keys[0];
+            } else {
+                // Rotate through the parent: its separator comes down, the sibling's last key goes up
+                node.keys[0] = parent.keys[at - 1];
+                node.slots[0] = left.slots[left.count];
+                parent.keys[at - 1] = left.keys[left.count - 1];
+            }
+            left.count--;
+            left.dirty = true;
+            node.count++;
+        } else if (right != null && right.count > minKeys) {
+            if (node.leaf) {
+                node.keys[node.count] = right.keys[0];
+                node.slots[node.count] = right.slots[0];
+                System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+                System.arraycopy(right.slots, 1, right.slots, 0, right.count - 1);
+                parent.keys[at] = right.keys[0];
+            } else {
+                node.keys[node.count] = parent.keys[at];
+                node.slots[node.count + 1] = right.slots[0];
+                parent.keys[at] = right.keys[0];
+                System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+                System.arraycopy(right.slots, 1, right.slots, 0, right.count);
+            }
+            right.count--;
+            right.dirty = true;
+            node.count++;
+        } else {
+            if (left != null) merge(left, node, parent, at - 1);
+            else merge(node, right, parent, at);
+            releaseSiblings(left, right);
+            return true;
+        }
+        node.dirty = true;
+        parent.dirty = true;
+        releaseSiblings(left, right);
+        return false;
+    }
+
+    private void releaseSiblings(Node left, Node right) {
+        if (left != null) release(left);
+        if (right != null) release(right);
+    }
+
+    // Appends right to left, drops their separator from the parent and frees right's page
+    private void merge(Node left, Node right, Node parent, int separatorIndex) {
+        if (left.leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            System.arraycopy(right.slots, 0, left.slots, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            left.keys[left.count] = parent.keys[separatorIndex];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(right.slots, 0, left.slots, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        System.arraycopy(parent.keys, separatorIndex + 1, parent.keys, separatorIndex, parent.count - separatorIndex - 1);
+        System.arraycopy(parent.slots, separatorIndex + 2, parent.slots, separatorIndex + 1, parent.count - separatorIndex - 1);
+        parent.count--;
+        left.dirty = true;
+        parent.dirty = true;
+        lastMerges.add(left.page);
+        lastMerges.add(right.page);
+        free(right);
+    }
+
+    // ---- Pages ----
+
+    private Node load(int page) {
+        Node node = decode(pool.pin(page));
+        lastPath.add(page);
+        pinned.add(node);
+        return node;
+    }
+
+    // A fresh node, on a page from the free list if there is one
+    private Node create(boolean leaf) {
+        BufferPool.Frame frame;
+        if (freeHead >= 0) {
+            frame = pool.pin(freeHead);
+            freeHead = frame.data.getInt(8);
+        } else {
+            frame = pool.allocate();
+        }
+        Node node = new Node(frame);
+        node.leaf = leaf;
+        node.next = -1;
+        node.dirty = true;
+        pinned.add(node);
+        return node;
+    }
+
+    private void free(Node node) {
+        node.leaf = false;
+        node.count = -1;
+        node.next = freeHead;
+        node.dirty = true;
+        freeHead = node.page;
+    }
+
+    private Node decode(BufferPool.Frame frame) {
+        ByteBuffer data = frame.data;
+        Node node = new Node(frame);
+        node.leaf = data.getInt(0) == LEAF;
+        node.count = data.getInt(4);
+        node.next = data.getInt(8);
+        if (node.leaf) {
+            for (int i = 0; i < node.count; i++) {
+                node.keys[i] = data.getInt(NODE_HEADER_BYTES + 8 * i);
+                node.slots[i] = data.getInt(NODE_HEADER_BYTES + 8 * i + 4);
+            }
+        } else {
+            node.slots[0] = data.getInt(NODE_HEADER_BYTES);
+            for (int i = 0; i < node.count; i++) {
+                node.keys[i] = data.getInt(NODE_HEADER_BYTES + 4 + 8 * i);
+                node.slots[i + 1] = data.getInt(NODE_HEADER_BYTES + 8 + 8 * i);
+            }
+        }
+        return node;
+    }
+
+    private void encode(Node node) {
+        ByteBuffer data = node.frame.data;
+        if (node.count < 0) {
+            data.putInt(0, FREE);
+            data.putInt(4, 0);
+            data.putInt(8, node.next);
+            return;
+        }
+        data.putInt(0, node.leaf ? LEAF : INTERNAL);
+        data.putInt(4, node.count);
+        data.putInt(8, node.next);
+        if (node.leaf) {
+            for (int i = 0; i < node.count; i++) {
+                data.putInt(NODE_HEADER_BYTES + 8 * i, node.keys[i]);
+                data.putInt(NODE_HEADER_BYTES + 8 * i + 4, node.slots[i]);
+            }
+        } else {
+            data.putInt(NODE_HEADER_BYTES, node.slots[0]);
+            for (int i = 0; i < node.count; i++) {
+                data.putInt(NODE_HEADER_BYTES + 4 + 8 * i, node.keys[i]);
+                data.putInt(NODE_HEADER_BYTES + 8 + 8 * i, node.slots[i + 1]);
+            }
+        }
+    }
+
+    private void release(Node node) {
+        if (node.dirty) encode(node);
+        pool.unpin(node.frame, node.dirty);
+        pinned.remove(node);
+    }
+
+    // An update pins its path plus two more nodes, and a root split adds a level; failing halfway through a
+    // split would leave the file inconsistent, so refuse before starting
+    private void checkFrames() {
+        if (pool.frameCount() < height + 3) {
+            throw new IllegalStateException("A tree of height " + height + " needs at least " + (height + 3)
+                    + " buffer frames, the pool has " + pool.frameCount());
+        }
+    }
+
+    private void releaseAll() {
+        for (Node node : pinned) {
+            if (node.dirty) encode(node);
+            pool.unpin(node.frame, node.dirty);
+        }
+        pinned.clear();
+    }
+
+    private void clearLast() {
+        lastPath.clear();
+        lastSplits.clear();
+        lastMerges.clear();
+    }
+
+    private void writeHeader() {
+        BufferPool.Frame frame = pool.pin(0);
+        frame.data.putInt(H_ROOT, root);
+        frame.data.putInt(H_HEIGHT, height);
+        frame.data.putInt(H_SIZE, size);
+        frame.data.putInt(H_FREE, freeHead);
+        pool.unpin(frame, true);
+    }
+
+    // Writes the header and every dirty frame back to the file
+    void flush() {
+        writeHeader();
+        pool.flush();
+    }
+
+    public void close() throws IOException {
+        writeHeader();
+        pool.close();
+    }
+
+    // ---- Inspection, for the visualizer; reads pages without touching the pool's counters ----
+
+    // Keys of a page, or null for a free or header page
+    int[] keysOf(int page) {
+        ByteBuffer data = pool.inspect(page);
+        int type = data.getInt(0);
+        if (type != LEAF && type != INTERNAL) return null;
+        int[] keys = new int[data.getInt(4)];
+        int first = type == LEAF ? NODE_HEADER_BYTES : NODE_HEADER_BYTES + 4;
+        for (int i = 0; i < keys.length; i++) keys[i] = data.getInt(first + 8 * i);
+        return keys;
+    }
+
+    // Child pages of an internal page, or an empty array for a leaf
+    int[] childrenOf(int page) {
+        ByteBuffer data = pool.inspect(page);
+        if (data.getInt(0) != INTERNAL) return new int[0];
+        int[] children = new int[data.getInt(4) + 1];
+        children[0] = data.getInt(NODE_HEADER_BYTES);
+        for (int i = 1; i < children.length; i++) children[i] = data.getInt(NODE_HEADER_BYTES + 8 * i);
+        return children;
+    }
+
+    // Pages on each level, top down, stopping at the first level wider than limit
+    List<int[]> levels(int limit) {
+        List<int[]> levels = new ArrayList<>();
+        int[] level = {root};
+        while (level.length > 0 && level.length <= limit) {
+            levels.add(level);
+            List<Integer> below = new ArrayList<>();
+            for (int page : level) {
+                for (int child : childrenOf(page)) below.add(child);
+            }
+            level = below.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return levels;
+    }
+
+    BufferPool pool() {
+        return pool;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int height() {
+        return height;
+    }
+
+    int root() {
+        return root;
+    }
+
+    int maxKeys() {
+        return maxKeys;
+    }
+
+    int pageSize() {
+        return pool.pageSize;
+    }
+
+    boolean wasReopened() {
+        return reopened;
+    }
+
+    // Pages the last operation pinned, in order: the search path, then siblings or scanned leaves
+    List<Integer> lastPath() {
+        return lastPath;
+    }
+
+    // Pages the last put split, including any new ones and a new root
+    List<Integer> lastSplits() {
+        return lastSplits;
+    }
+
+    // Pairs of pages the last remove merged, survivor first
+    List<Integer> lastMerges() {
+        return lastMerges;
+    }
+
+    // Pages on the free list, walked without counting I/O
+    int freePages() {
+        int count = 0;
+        for (int page = freeHead; page >= 0; page = pool.inspect(page).getInt(8)) count++;
+        return count;
+    }
+}
@@ -0,0 +1,594 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+
+public class BPlusTreeVisualizer extends JFrame {
+
+    private final Path DISK_FILE = Path.of(System.getProperty("java.io.tmpdir"), "algorithm-visualizer-bplus.db");
+    private final int[] PAGE_SIZES = {64, 128, 256, 512, 4096};
+    // 0 fills each page
+    private final int[] MAX_KEYS = {3, 4, 5, 0};
+    private final int[] FRAME_COUNTS = {8, 16, 32, 64, 256};
+    private final int RANDOM_BATCH = 20;
+    private final int LARGE_BATCH = 10_000;
+    // Widest level drawn page by page
+    private final int LEVEL_LIMIT = 128;
+    // Operations touching more pages than this skip the step-by-step replay
+    private final int ANIMATION_LIMIT = 40;
+
+    private BPlusTreeFile tree;
+    private final TreeView treeView;
+    private final PoolView poolView;
+    private final JLabel statusLabel;
+    private final JComboBox<String> pageSizeBox;
+    private final JComboBox<String> maxKeysBox;
+    private final JComboBox<String> framesBox;
+    private final JButton benchmarkBtn;
+    private final Map<Integer, Color> pageColors = new HashMap<>();
+    private Timer animation;
+    // Page being replayed and whether its pin hit the pool, or -1
+    private int tracedPage = -1;
+    private boolean tracedHit;
+    private String event = "";
+    private final Random rand = new Random();
+
+    private final Color INTERNAL_COLOR = new Color(60, 120, 200);
+    private final Color LEAF_COLOR = new Color(40, 140, 110);
+    private final Color PATH_COLOR = Color.YELLOW;
+    private final Color FOUND_COLOR = new Color(0, 200, 100);
+    private final Color SPLIT_COLOR = Color.ORANGE;
+    private final Color MERGE_COLOR = new Color(200, 80, 200);
+    private final Color HIT_COLOR = new Color(0, 200, 100);
+    private final Color MISS_COLOR = new Color(220, 50, 50);
+    private final Color DIRTY_COLOR = new Color(200, 120, 40);
+    private final Color EMPTY_FRAME_COLOR = new Color(45, 45, 45);
+
+    public BPlusTreeVisualizer() {
+        setTitle("B+ Tree Visualizer");
+        setSize(1150, 700);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("B+ Tree on Disk with a Buffer Pool", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(15, 0, 15, 0));
+        add(title, BorderLayout.NORTH);
+
+        treeView = new TreeView();
+        add(treeView, BorderLayout.CENTER);
+        poolView = new PoolView();
+        poolView.setPreferredSize(new Dimension(270, 0));
+        add(poolView, BorderLayout.EAST);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        JTextField inputField = new JTextField(5);
+        inputField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JTextField fromField = new JTextField(4);
+        fromField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JTextField toField = new JTextField(4);
+        toField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+
+        JButton insertBtn = createStyledButton("Insert", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                run(() -> {
+                    boolean added = tree.put(value, value);
+                    event = added ? describeSplits(value) : value + " was already there";
+                });
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton deleteBtn = createStyledButton("Delete", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                run(() -> event = tree.remove(value) ? describeMerges(value) : value + " is not in the tree");
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton searchBtn = createStyledButton("Search", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                run(() -> {
+                    boolean found = tree.contains(value);
+                    List<Integer> path = tree.lastPath();
+                    if (found) pageColors.put(path.get(path.size() - 1), FOUND_COLOR);
+                    event = value + (found ? " found" : " not found") + " after " + path.size() + " pages";
+                });
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton scanBtn = createStyledButton("Range Scan", () -> {
+            try {
+                int from = Integer.parseInt(fromField.getText());
+                int to = Integer.parseInt(toField.getText());
+                if (from > to) {
+                    showError("The range must not end before it starts");
+                    return;
+                }
+                run(() -> {
+                    List<Integer> found = new ArrayList<>();
+                    tree.scan(from, to, (key, value) -> found.add(key));
+                    List<Integer> path = tree.lastPath();
+                    // Everything past the first leaf came from following sibling links
+                    int leaves = path.size() - tree.height() + 1;
+                    for (int i = tree.height() - 1; i < path.size(); i++) pageColors.put(path.get(i), FOUND_COLOR);
+                    String keys = found.size() <= 12 ? " " + found : "";
+                    event = found.size() + " keys in [" + from + ", " + to + "]" + keys + " from " + leaves
+                            + (leaves == 1 ? " leaf" : " leaves");
+                });
+            } catch (NumberFormatException e) {
+                showError("Enter valid integers for the range");
+            }
+        });
+
+        JButton randomBtn = createStyledButton("Insert " + RANDOM_BATCH + " Random", () -> run(() -> {
+            int added = 0;
+            for (int i = 0; i < RANDOM_BATCH; i++) if (tree.put(rand.nextInt(1000), 0)) added++;
+            event = "Inserted " + added + " keys";
+        }));
+
+        JButton largeBtn = createStyledButton("Insert " + String.format("%,d", LARGE_BATCH), () -> run(() -> {
+            BufferPool pool = tree.pool();
+            long reads = pool.reads;
+            long writes = pool.writes;
+            long start = System.nanoTime();
+            for (int i = 0; i < LARGE_BATCH; i++) tree.put(rand.nextInt(LARGE_BATCH * 10), 0);
+            double millis = (System.nanoTime() - start) / 1e6;
+            event = String.format("%,d inserts in %.1f ms, %,d reads and %,d writes", LARGE_BATCH, millis,
+                    pool.reads - reads, pool.writes - writes);
+        }));
+
+        JButton reopenBtn = createStyledButton("Reopen File", this::reopen);
+        JButton clearBtn = createStyledButton("Clear File", this::recreate);
+        benchmarkBtn = createStyledButton("Benchmark", this::runBenchmark);
+
+        pageSizeBox = new JComboBox<>();
+        for (int size : PAGE_SIZES) pageSizeBox.addItem(size + " B");
+        pageSizeBox.setSelectedIndex(1);
+        maxKeysBox = new JComboBox<>();
+        for (int keys : MAX_KEYS) maxKeysBox.addItem(keys == 0 ? "Fill page" : keys + " keys");
+        framesBox = new JComboBox<>();
+        for (int frames : FRAME_COUNTS) framesBox.addItem(frames + " frames");
+        framesBox.setSelectedIndex(1);
+        // A new page size or fanout needs a new file; a new pool size only a reopen
+        pageSizeBox.addActionListener(e -> recreate());
+        maxKeysBox.addActionListener(e -> recreate());
+        framesBox.addActionListener(e -> reopen());
+
+        JButton backBtn = createStyledButton("Back to Menu", () -> {
+            this.dispose();
+            new ui.DataStructuresVisualizer();
+        });
+
+        controlPanel.add(createLabel("Value:"));
+        controlPanel.add(inputField);
+        controlPanel.add(insertBtn);
+        controlPanel.add(deleteBtn);
+        controlPanel.add(searchBtn);
+        controlPanel.add(createLabel("From:"));
+        controlPanel.add(fromField);
+        controlPanel.add(createLabel("To:"));
+        controlPanel.add(toField);
+        controlPanel.add(scanBtn);
+        controlPanel.add(backBtn);
+
+        JPanel setupPanel = new JPanel(new FlowLayout());
+        setupPanel.setBackground(new Color(30, 30, 30));
+        setupPanel.add(createLabel("Page:"));
+        setupPanel.add(pageSizeBox);
+        setupPanel.add(createLabel("Fanout:"));
+        setupPanel.add(maxKeysBox);
+        setupPanel.add(createLabel("Pool:"));
+        setupPanel.add(framesBox);
+        setupPanel.add(randomBtn);
+        setupPanel.add(largeBtn);
+        setupPanel.add(reopenBtn);
+        setupPanel.add(clearBtn);
+        setupPanel.add(benchmarkBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(3, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        southPanel.add(setupPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        recreate();
+        setVisible(true);
+    }
+
+    // Runs one operation with the pool tracing its pins, then replays them page by page: each page lights up as a
+    // hit or a miss, and the splits, merges or results the operation left are coloured at the end
+    private void run(Runnable operation) {
+        if (tree == null) return;
+        stopAnimation();
+        pageColors.clear();
+        BufferPool pool = tree.pool();
+        pool.setTracing(true);
+        try {
+            operation.run();
+        } catch (IllegalStateException e) {
+            showError(e.getMessage());
+        }
+        List<Integer> trace = new ArrayList<>(pool.trace());
+        pool.setTracing(false);
+        Map<Integer, Color> result = new HashMap<>(pageColors);
+        for (int page : tree.lastSplits()) result.put(page, SPLIT_COLOR);
+        List<Integer> merges = tree.lastMerges();
+        for (int i = 0; i < merges.size(); i += 2) result.put(merges.get(i), MERGE_COLOR);
+        pageColors.clear();
+        updateStatus();
+
+        if (trace.size() > ANIMATION_LIMIT) {
+            pageColors.putAll(result);
+            repaintAll();
+            return;
+        }
+        int[] step = {0};
+        animation = new Timer(450, e -> {
+            if (step[0] == trace.size()) {
+                stopAnimation();
+                pageColors.putAll(result);
+            } else {
+                int entry = trace.get(step[0]++);
+                tracedHit = entry >= 0;
+                tracedPage = tracedHit ? entry : -1 - entry;
+                pageColors.put(tracedPage, PATH_COLOR);
+                statusLabel.setText("Page " + tracedPage + ": " + (tracedHit ? "buffer pool hit" : "miss, read from disk"));
+            }
+            repaintAll();
+        });
+        animation.setInitialDelay(0);
+        animation.start();
+    }
+
+    private String describeSplits(int key) {
+        List<Integer> splits = tree.lastSplits();
+        if (splits.isEmpty()) return "Inserted " + key;
+        // Two pages per split, plus a third when the root itself split
+        int count = splits.size() / 2;
+        return "Inserted " + key + ", " + count + (count == 1 ? " split" : " splits")
+                + (splits.size() % 2 == 1 ? ", new root page " + tree.root() : "");
+    }
+
+    private String describeMerges(int key) {
+        List<Integer> merges = tree.lastMerges();
+        if (merges.isEmpty()) return "Deleted " + key;
+        StringBuilder text = new StringBuilder("Deleted " + key + ", merged");
+        for (int i = 0; i < merges.size(); i += 2) {
+            text.append(" page ").append(merges.get(i + 1)).append(" into ").append(merges.get(i));
+        }
+        return text.toString();
+    }
+
+    // Deletes the file and starts an empty tree with the chosen page size, fanout and pool
+    private void recreate() {
+        closeTree();
+        try {
+            Files.deleteIfExists(DISK_FILE);
+        } catch (IOException e) {
+            showError("Could not delete " + DISK_FILE + ": " + e.getMessage());
+        }
+        open();
+    }
+
+    // Closes and reopens the same file, so the pool starts cold and every page has to come back from disk
+    private void reopen() {
+        closeTree();
+        open();
+    }
+
+    private void open() {
+        stopAnimation();
+        pageColors.clear();
+        int pageSize = PAGE_SIZES[pageSizeBox.getSelectedIndex()];
+        try {
+            long start = System.nanoTime();
+            tree = BPlusTreeFile.open(DISK_FILE, pageSize, MAX_KEYS[maxKeysBox.getSelectedIndex()],
+                    FRAME_COUNTS[framesBox.getSelectedIndex()]);
+            long micros = (System.nanoTime() - start) / 1000;
+            event = (tree.wasReopened() ? "Reopened " : "Created ") + DISK_FILE.getFileName() + " in " + micros + " µs";
+        } catch (IOException | RuntimeException e) {
+            // Most likely a file left with another page size; start over rather than give up
+            tree = null;
+            try {
+                Files.deleteIfExists(DISK_FILE);
+                tree = BPlusTreeFile.open(DISK_FILE, pageSize, MAX_KEYS[maxKeysBox.getSelectedIndex()],
+                        FRAME_COUNTS[framesBox.getSelectedIndex()]);
+                event = "Replaced " + DISK_FILE.getFileName() + ": " + e.getMessage();
+            } catch (IOException | RuntimeException retry) {
+                showError("Could not open " + DISK_FILE + ": " + retry.getMessage());
+            }
+        }
+        updateStatus();
+        repaintAll();
+    }
+
+    private void closeTree() {
+        if (tree == null) return;
+        try {
+            tree.close();
+        } catch (IOException e) {
+            showError("Could not close " + DISK_FILE + ": " + e.getMessage());
+        }
+        tree = null;
+    }
+
+    public void dispose() {
+        stopAnimation();
+        closeTree();
+        super.dispose();
+    }
+
+    private void runBenchmark() {
+        benchmarkBtn.setEnabled(false);
+        statusLabel.setText("Benchmarking " + String.format("%,d", BPlusTreeBenchmark.DEFAULT_KEYS) + " keys...");
+        new Thread(() -> {
+            String report = BPlusTreeBenchmark.run(BPlusTreeBenchmark.DEFAULT_KEYS);
+            SwingUtilities.invokeLater(() -> {
+                benchmarkBtn.setEnabled(true);
+                updateStatus();
+                JTextArea area = new JTextArea(report);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(this, area, "B+ Tree Benchmark", JOptionPane.INFORMATION_MESSAGE);
+            });
+        }).start();
+    }
+
+    private void stopAnimation() {
+        if (animation != null) animation.stop();
+        animation = null;
+        tracedPage = -1;
+    }
+
+    private void updateStatus() {
+        if (tree == null) {
+            statusLabel.setText("No file open");
+            return;
+        }
+        BufferPool pool = tree.pool();
+        statusLabel.setText("Keys: " + tree.size() + "   Height: " + tree.height()
+                + "   Pages: " + pool.pageCount() + " (" + tree.freePages() + " free)"
+                + "   Up to " + tree.maxKeys() + " keys per " + tree.pageSize() + "-byte page   " + event);
+    }
+
+    private void repaintAll() {
+        treeView.repaint();
+        poolView.repaint();
+    }
+
+    private Color colorOf(int page, boolean leaf) {
+        if (page == tracedPage) return tracedHit ? HIT_COLOR : MISS_COLOR;
+        Color color = pageColors.get(page);
+        if (color != null) return color;
+        return leaf ? LEAF_COLOR : INTERNAL_COLOR;
+    }
+
+    // Pages level by level as key boxes, with parent links and the leaf chain; levels too wide to draw page by
+    // page are summarised. Pages are read through BufferPool.inspect, so drawing never counts as I/O.
+    private class TreeView extends JPanel {
+
+        private final Font keyFont = new Font("Segoe UI", Font.BOLD, 12);
+        private final Font smallFont = new Font("Segoe UI", Font.PLAIN, 11);
+
+        TreeView() {
+            setBackground(new Color(20, 20, 20));
+        }
+
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (tree == null) return;
+            List<int[]> levels = tree.levels(LEVEL_LIMIT);
+            int rows = levels.size() + (levels.size() < tree.height() ? 1 : 0);
+            int rowHeight = Math.min(90, (getHeight() - 40) / Math.max(1, rows));
+            int boxHeight = Math.min(26, rowHeight / 2);
+            int[][] lefts = new int[levels.size()][];
+            int[][] widths = new int[levels.size()][];
+            int[][][] keys = new int[levels.size()][][];
+
+            for (int level = 0; level < levels.size(); level++) {
+                int[] pages = levels.get(level);
+                keys[level] = new int[pages.length][];
+                int totalKeys = 0;
+                for (int i = 0; i < pages.length; i++) {
+                    keys[level][i] = tree.keysOf(pages[i]);
+                    totalKeys += Math.max(1, keys[level][i].length);
+                }
+                // Key cells shrink until the whole level fits, with a fixed gap between pages
+                int gap = Math.max(2, Math.min(16, (getWidth() - 40) / (pages.length * 4)));
+                int cell = Math.max(2, Math.min(36, (getWidth() - 40 - gap * (pages.length - 1)) / totalKeys));
+                int total = cell * totalKeys + gap * (pages.length - 1);
+                int x = Math.max(20, (getWidth() - total) / 2);
+                lefts[level] = new int[pages.length];
+                widths[level] = new int[pages.length];
+                for (int i = 0; i < pages.length; i++) {
+                    lefts[level][i] = x;
+                    widths[level][i] = cell * Math.max(1, keys[level][i].length);
+                    x += widths[level][i] + gap;
+                }
+            }
+
+            // Links first, so boxes draw over their ends
+            g.setColor(Color.GRAY);
+            for (int level = 0; level + 1 < levels.size(); level++) {
+                int y = 20 + level * rowHeight;
+                int child = 0;
+                for (int i = 0; i < levels.get(level).length; i++) {
+                    int fanout = keys[level][i].length + 1;
+                    for (int c = 0; c < fanout; c++, child++) {
+                        int from = lefts[level][i] + widths[level][i] * c / Math.max(1, fanout - 1);
+                        int to = lefts[level + 1][child] + widths[level + 1][child] / 2;
+                        g.drawLine(from, y + boxHeight, to, y + rowHeight);
+                    }
+                }
+            }
+
+            boolean leafLevelDrawn = levels.size() == tree.height();
+            for (int level = 0; level < levels.size(); level++) {
+                int[] pages = levels.get(level);
+                int y = 20 + level * rowHeight;
+                boolean leaf = leafLevelDrawn && level == levels.size() - 1;
+                for (int i = 0; i < pages.length; i++) {
+                    drawPage(g, pages[i], keys[level][i], lefts[level][i], y, widths[level][i], boxHeight, leaf);
+                    if (leaf && i + 1 < pages.length) {
+                        // Sibling link along the leaf chain
+                        int from = lefts[level][i] + widths[level][i];
+                        int to = lefts[level][i + 1];
+                        g.setColor(Color.LIGHT_GRAY);
+                        g.drawLine(from, y + boxHeight / 2, to, y + boxHeight / 2);
+                        g.fillPolygon(new int[]{to, to - 4, to - 4},
+                                new int[]{y + boxHeight / 2, y + boxHeight / 2 - 3, y + boxHeight / 2 + 3}, 3);
+                    }
+                }
+            }
+            if (!leafLevelDrawn) {
+                int hidden = tree.height() - levels.size();
+                g.setColor(Color.GRAY);
+                g.setFont(smallFont);
+                g.drawString(hidden + (hidden == 1 ? " more level" : " more levels")
+                        + " below, too wide to draw page by page", 20, 20 + levels.size() * rowHeight + 15);
+            }
+        }
+
+        private void drawPage(Graphics g, int page, int[] keys, int x, int y, int width, int height, boolean leaf) {
+            g.setColor(colorOf(page, leaf));
+            g.fillRect(x, y, width, height);
+            g.setColor(Color.BLACK);
+            g.drawRect(x, y, width, height);
+            if (keys.length == 0) return;
+            int cell = width / keys.length;
+            g.setFont(keyFont);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0) g.drawLine(x + i * cell, y, x + i * cell, y + height);
+                String label = String.valueOf(keys[i]);
+                if (metrics.stringWidth(label) > cell - 2) continue;
+                g.drawString(label, x + i * cell + (cell - metrics.stringWidth(label)) / 2,
+                        y + (height + metrics.getAscent()) / 2 - 2);
+            }
+        }
+    }
+
+    // One cell per buffer frame with the page it holds, dirty frames in orange and pinned ones outlined, over the
+    // pool's hit, miss and I/O counters
+    private class PoolView extends JPanel {
+
+        private final Font cellFont = new Font("Segoe UI", Font.BOLD, 10);
+        private final Font textFont = new Font("Segoe UI", Font.PLAIN, 12);
+
+        PoolView() {
+            setBackground(new Color(25, 25, 25));
+        }
+
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (tree == null) return;
+            BufferPool pool = tree.pool();
+            g.setFont(textFont);
+            g.setColor(Color.WHITE);
+            g.drawString("Buffer pool: " + pool.frameCount() + " frames × " + pool.pageSize + " B", 10, 20);
+
+            int columns = (int) Math.ceil(Math.sqrt(pool.frameCount()));
+            int cell = Math.min(48, (getWidth() - 20) / columns);
+            int tracedFrame = tracedPage >= 0 ? pool.frameOf(tracedPage) : -1;
+            g.setFont(cellFont);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int i = 0; i < pool.frameCount(); i++) {
+                BufferPool.Frame frame = pool.frame(i);
+                int x = 10 + (i % columns) * cell;
+                int y = 35 + (i / columns) * cell;
+                g.setColor(frame.page < 0 ? EMPTY_FRAME_COLOR : frame.dirty ? DIRTY_COLOR : INTERNAL_COLOR);
+                g.fillRect(x + 1, y + 1, cell - 2, cell - 2);
+                if (i == tracedFrame) {
+                    g.setColor(tracedHit ? HIT_COLOR : MISS_COLOR);
+                    g.fillRect(x + 1, y + 1, cell - 2, cell - 2);
+                }
+                if (frame.pins > 0) {
+                    g.setColor(Color.WHITE);
+                    g.drawRect(x + 1, y + 1, cell - 3, cell - 3);
+                }
+                if (frame.page >= 0 && cell >= 20) {
+                    String label = String.valueOf(frame.page);
+                    g.setColor(Color.WHITE);
+                    g.drawString(label, x + (cell - metrics.stringWidth(label)) / 2, y + (cell + metrics.getAscent()) / 2 - 1);
+                }
+            }
+
+            int y = 35 + ((pool.frameCount() + columns - 1) / columns) * cell + 25;
+            g.setFont(textFont);
+            String[] lines = {
+                    "Hits: " + String.format("%,d", pool.hits),
+                    "Misses: " + String.format("%,d", pool.misses),
+                    "Hit ratio: " + String.format("%.1f%%", 100 * pool.hitRatio()),
+                    "Page reads: " + String.format("%,d", pool.reads),
+                    "Page writes: " + String.format("%,d", pool.writes),
+                    "Evictions: " + String.format("%,d", pool.evictions),
+            };
+            g.setColor(Color.WHITE);
+            for (String line : lines) {
+                g.drawString(line, 10, y);
+                y += 18;
+            }
+            y += 10;
+            Object[][] legend = {{HIT_COLOR, "Hit"}, {MISS_COLOR, "Miss"}, {DIRTY_COLOR, "Dirty"},
+                    {SPLIT_COLOR, "Split"}, {MERGE_COLOR, "Merged"}};
+            for (Object[] entry : legend) {
+                g.setColor((Color) entry[0]);
+                g.fillRect(10, y - 10, 12, 12);
+                g.setColor(Color.LIGHT_GRAY);
+                g.drawString((String) entry[1], 28, y);
+                y += 18;
+            }
+        }
+    }
+
+    private JButton createStyledButton(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        button.setBackground(new Color(60, 120, 200));
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.addActionListener(e -> action.run());
+        return button;
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(Color.WHITE);
+        return label;
+    }
+
+    private void showError(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+}
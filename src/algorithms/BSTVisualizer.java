@@ -1,23 +1,55 @@
 package algorithms;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class BSTVisualizer extends JFrame {
 
-    private TreeNode root;
-    private final JPanel treePanel;
-    private final Map<TreeNode, Color> nodeColors = new HashMap<>();
+    // Rebalancing steps are only replayed for trees small enough to see whole
+    private final int ANIMATION_LIMIT = 64;
+    private final int SORTED_BATCH = 1000;
+    private final int BULK_KEYS = 1_000_000;
+    private SearchTree tree = new SearchTree(SearchTree.Balance.NONE);
+    private final TreePanel treePanel;
+    private final JLabel statusLabel;
+    private final JButton benchmarkBtn;
+    // Everything that changes the tree; all of it is disabled while a build runs, so no edit can be lost to the swap
+    private final List<JComponent> editControls = new ArrayList<>();
+    // Keyed by value rather than node, so colours carry over to the tree copies an animation replays
+    private final Map<Integer, Color> nodeColors = new HashMap<>();
+    private Timer animation;
+    private boolean running = false;
+    private SearchTree.Step shownStep;
+    // Earlier version of a persistent tree being browsed, or null for the latest, and the tree as of that version
+    private SearchTree.Version shownVersion;
+    private SearchTree shownTree;
+    // Placements for the nodes of a persistent tree, which all its versions share; see TreeLayout
+    private final Map<SearchTree.Node, TreeLayout.Info> versionLayout = new IdentityHashMap<>();
+    // Nodes of the shown version that the diff base does not have
+    private final Set<SearchTree.Node> diffNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final JSlider versionSlider;
+    private final JSpinner baseSpinner;
+    private boolean syncingHistory = false;
 
     private final Color DEFAULT_COLOR = new Color(60, 120, 200);
     private final Color SEARCH_PATH_COLOR = Color.YELLOW;
     private final Color FOUND_COLOR = new Color(0, 200, 100);
+    private final Color RED_NODE_COLOR = new Color(190, 40, 40);
+    private final Color BLACK_NODE_COLOR = new Color(35, 35, 35);
+    private final Color STEP_COLOR = Color.ORANGE;
+    private final Color COPIED_COLOR = new Color(200, 80, 200);
 
     public BSTVisualizer() {
         setTitle("Binary Search Tree Visualizer");
-        setSize(1000, 600);
+        setSize(1000, 750);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
@@ -30,13 +62,8 @@ public class BSTVisualizer extends JFrame {
         title.setBorder(BorderFactory.createEmptyBorder(15, 0, 15, 0));
         add(title, BorderLayout.NORTH);
 
-        treePanel = new JPanel() {
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                drawTree(g, root, getWidth() / 2, 40, getWidth() / 4);
-            }
-        };
-        treePanel.setBackground(new Color(20, 20, 20));
+        treePanel = new TreePanel();
+        treePanel.setNodeColor(this::colorOf);
         add(treePanel, BorderLayout.CENTER);
 
         JPanel controlPanel = new JPanel();
@@ -49,10 +76,18 @@ public class BSTVisualizer extends JFrame {
         JButton insertBtn = createStyledButton("Insert", () -> {
             try {
                 int value = Integer.parseInt(inputField.getText());
-                root = insert(root, value);
-                nodeColors.clear();
                 inputField.setText("");
-                repaint();
+                if (!modify(() -> tree.insert(value))) showError(value + " is already in the tree");
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton deleteBtn = createStyledButton("Delete", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                if (!modify(() -> tree.remove(value))) showError(value + " is not in the tree");
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
             }
@@ -62,101 +97,430 @@ public class BSTVisualizer extends JFrame {
             try {
                 int value = Integer.parseInt(inputField.getText());
                 inputField.setText("");
-                new Thread(() -> {
-                    searchWithAnimation(root, value);
-                }).start();
+                searchWithAnimation(value);
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
             }
         });
 
+        // Ascending keys are the worst case for an unbalanced tree: every insert lands at the end of one long path
+        JButton sortedBtn = createStyledButton("Insert " + String.format("%,d", SORTED_BATCH) + " Sorted", () -> {
+            branchIfBrowsing();
+            long next = tree.root() == null ? 1 : max(tree.root()) + 1L;
+            // Stops at Integer.MAX_VALUE rather than wrapping round to negative keys
+            int count = (int) Math.min(SORTED_BATCH, (long) Integer.MAX_VALUE - next + 1);
+            if (count == 0) {
+                showError("No keys left above " + Integer.MAX_VALUE);
+                return;
+            }
+            for (int i = 0; i < count; i++) tree.insert((int) (next + i));
+            stopAnimation();
+            syncHistory();
+            updateStatus();
+            refresh();
+        });
+
+        JButton bulkBtn = createStyledButton("Bulk Load " + String.format("%,d", BULK_KEYS), () -> {
+            Random rand = new Random();
+            int[] keys = new int[BULK_KEYS];
+            for (int i = 0; i < keys.length; i++) keys[i] = rand.nextInt();
+            bulkLoad(keys, "random keys");
+        });
+
+        JTextField queryField = new JTextField(5);
+        queryField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JTextField fromField = new JTextField(5);
+        fromField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JTextField toField = new JTextField(5);
+        toField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+
+        JButton selectBtn = createStyledButton("K-th Smallest", () -> {
+            try {
+                int k = Integer.parseInt(queryField.getText());
+                List<SearchTree.Node> path = new ArrayList<>();
+                SearchTree.Node found = viewed().select(k, path);
+                String answer = found == null ? "No " + k + ordinal(k) + " smallest in " + viewed().size() + " keys"
+                        : "The " + k + ordinal(k) + " smallest key is " + found.key;
+                animateQuery(path, node -> node == found, answer);
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        // Nodes passed on the right are counted, themselves and their whole left subtree
+        JButton rankBtn = createStyledButton("Rank", () -> {
+            try {
+                int value = Integer.parseInt(queryField.getText());
+                List<SearchTree.Node> path = new ArrayList<>();
+                int rank = viewed().rank(value, path);
+                animateQuery(path, node -> node.key < value, rank + (rank == 1 ? " key is" : " keys are") + " less than " + value);
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton rangeBtn = createStyledButton("Count & Sum", () -> {
+            try {
+                int from = Integer.parseInt(fromField.getText());
+                int to = Integer.parseInt(toField.getText());
+                List<SearchTree.Node> path = new ArrayList<>();
+                SearchTree.Aggregate range = viewed().rangeAggregate(from, to, path);
+                String answer = range.count == 0 ? "No keys in [" + from + ", " + to + "]"
+                        : range.count + " keys in [" + from + ", " + to + "], sum " + range.sum
+                        + ", min " + range.min + ", max " + range.max;
+                animateQuery(path, node -> node.key >= from && node.key <= to, answer);
+            } catch (NumberFormatException e) {
+                showError("Enter valid integers for the range");
+            }
+        });
+
+        JButton fileBtn = createStyledButton("Load File...", this::loadFile);
+        benchmarkBtn = createStyledButton("Benchmark", this::runBenchmark);
+
+        JComboBox<String> balanceBox = new JComboBox<>();
+        for (SearchTree.Balance balance : SearchTree.Balance.values()) balanceBox.addItem(balance.label);
+        balanceBox.addActionListener(e -> rebuild(SearchTree.Balance.values()[balanceBox.getSelectedIndex()]));
+        editControls.addAll(List.of(insertBtn, deleteBtn, sortedBtn, bulkBtn, fileBtn, balanceBox));
+
         JButton backBtn = createStyledButton("Back to Menu", () -> {
             this.dispose();
             new ui.DataStructuresVisualizer();
         });
 
-        controlPanel.add(new JLabel("Value:"));
+        controlPanel.add(createLabel("Value:"));
         controlPanel.add(inputField);
         controlPanel.add(insertBtn);
+        controlPanel.add(deleteBtn);
         controlPanel.add(searchBtn);
         controlPanel.add(backBtn);
 
-        add(controlPanel, BorderLayout.SOUTH);
+        JPanel setupPanel = new JPanel(new FlowLayout());
+        setupPanel.setBackground(new Color(30, 30, 30));
+        setupPanel.add(createLabel("Balancing:"));
+        setupPanel.add(balanceBox);
+        setupPanel.add(sortedBtn);
+        setupPanel.add(bulkBtn);
+        setupPanel.add(fileBtn);
+        setupPanel.add(benchmarkBtn);
+
+        // Only a persistent tree has versions to browse; moving the slider diffs against the version before
+        versionSlider = new JSlider(0, 0, 0);
+        versionSlider.setBackground(new Color(30, 30, 30));
+        versionSlider.setPreferredSize(new Dimension(400, 30));
+        versionSlider.addChangeListener(e -> {
+            if (syncingHistory) return;
+            showVersion(versionSlider.getValue());
+        });
+        baseSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 0, 1));
+        baseSpinner.addChangeListener(e -> {
+            if (syncingHistory) return;
+            showDiff();
+            updateStatus();
+            refresh();
+        });
+
+        JPanel historyPanel = new JPanel(new FlowLayout());
+        historyPanel.setBackground(new Color(30, 30, 30));
+        historyPanel.add(createLabel("Version:"));
+        historyPanel.add(versionSlider);
+        historyPanel.add(createLabel("Diff against version:"));
+        historyPanel.add(baseSpinner);
+
+        JPanel queryPanel = new JPanel(new FlowLayout());
+        queryPanel.setBackground(new Color(30, 30, 30));
+        queryPanel.add(createLabel("k or value:"));
+        queryPanel.add(queryField);
+        queryPanel.add(selectBtn);
+        queryPanel.add(rankBtn);
+        queryPanel.add(createLabel("From:"));
+        queryPanel.add(fromField);
+        queryPanel.add(createLabel("To:"));
+        queryPanel.add(toField);
+        queryPanel.add(rangeBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(5, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        southPanel.add(queryPanel);
+        southPanel.add(historyPanel);
+        southPanel.add(setupPanel);
+        add(southPanel, BorderLayout.SOUTH);
+        syncHistory();
+        updateStatus();
 
         setVisible(true);
     }
 
-    private TreeNode insert(TreeNode node, int value) {
-        if (node == null) {
-            TreeNode newNode = new TreeNode(value);
-            nodeColors.put(newNode, DEFAULT_COLOR);
-            return newNode;
+    // Runs an insert or delete, replaying its rotations and recolorings when the tree is small enough to follow
+    private boolean modify(BooleanSupplier operation) {
+        stopAnimation();
+        nodeColors.clear();
+        branchIfBrowsing();
+        boolean animate = tree.size() < ANIMATION_LIMIT && tree.balance != SearchTree.Balance.NONE;
+        tree.setRecording(animate);
+        boolean changed = operation.getAsBoolean();
+        List<SearchTree.Step> steps = tree.steps();
+        tree.setRecording(false);
+        syncHistory();
+        updateStatus();
+        if (changed && steps.size() > 1) {
+            int[] index = {0};
+            animation = new Timer(900, e -> {
+                if (index[0] == steps.size()) {
+                    stopAnimation();
+                    updateStatus();
+                } else {
+                    shownStep = steps.get(index[0]++);
+                    statusLabel.setText(shownStep.caption);
+                }
+                refresh();
+            });
+            animation.setInitialDelay(0);
+            animation.start();
         }
-        if (value < node.value) node.left = insert(node.left, value);
-        else if (value > node.value) node.right = insert(node.right, value);
-        return node;
+        refresh();
+        return changed;
     }
 
-    private void searchWithAnimation(TreeNode node, int value) {
-        resetColors(root);
-        while (node != null) {
-            nodeColors.put(node, SEARCH_PATH_COLOR);
-            repaint();
-            sleep(500);
+    // Same keys under a different balancing rule. The balanced modes are bulk loaded from the keys in order, which
+    // a persistent tree also takes as its first version; only the unbalanced mode reinserts them, in level order,
+    // to keep the old tree's shape.
+    private void rebuild(SearchTree.Balance balance) {
+        SearchTree source = viewed();
+        build("Switching " + String.format("%,d", source.size()) + " keys to " + balance.label, "Rebuilt", () -> {
+            if (balance != SearchTree.Balance.NONE) return SearchTree.bulkLoad(balance, source.inOrder(true), true);
+            SearchTree rebuilt = new SearchTree(balance);
+            for (int key : source.levelOrder()) rebuilt.insert(key);
+            return rebuilt;
+        });
+    }
 
-            if (node.value == value) {
-                nodeColors.put(node, FOUND_COLOR);
-                repaint();
-                return;
-            }
-            nodeColors.put(node, SEARCH_PATH_COLOR);
-            node = value < node.value ? node.left : node.right;
-        }
+    // Editing while an earlier version is shown continues from that version, dropping the ones after it
+    private void branchIfBrowsing() {
+        if (shownVersion == null) return;
+        tree = shownTree;
+        shownVersion = null;
+        shownTree = null;
     }
 
-    private void resetColors(TreeNode node) {
-        if (node == null) return;
-        nodeColors.put(node, DEFAULT_COLOR);
-        resetColors(node.left);
-        resetColors(node.right);
-        repaint();
+    // The tree queries and searches run against: the shown version when browsing, otherwise the live tree
+    private SearchTree viewed() {
+        return shownVersion == null ? tree : shownTree;
     }
 
-    private void drawTree(Graphics g, TreeNode node, int x, int y, int offset) {
-        if (node == null) return;
+    // Points the slider at the newest version and diffs it against the one before
+    private void syncHistory() {
+        shownVersion = null;
+        shownTree = null;
+        int last = Math.max(0, tree.versions().size() - 1);
+        syncingHistory = true;
+        versionSlider.setMaximum(last);
+        versionSlider.setValue(last);
+        versionSlider.setEnabled(tree.balance == SearchTree.Balance.PERSISTENT);
+        baseSpinner.setModel(new SpinnerNumberModel(Math.max(0, last - 1), 0, last, 1));
+        baseSpinner.setEnabled(tree.balance == SearchTree.Balance.PERSISTENT);
+        syncingHistory = false;
+        showDiff();
+    }
 
-        Color color = nodeColors.getOrDefault(node, DEFAULT_COLOR);
+    private void showVersion(int number) {
+        stopAnimation();
+        nodeColors.clear();
+        List<SearchTree.Version> versions = tree.versions();
+        shownVersion = number == versions.size() - 1 ? null : versions.get(number);
+        shownTree = shownVersion == null ? null : tree.at(number);
+        syncingHistory = true;
+        baseSpinner.setValue(Math.max(0, number - 1));
+        syncingHistory = false;
+        showDiff();
+        updateStatus();
+        refresh();
+    }
 
-        g.setColor(color);
-        g.fillOval(x - 20, y - 20, 40, 40);
-        g.setColor(Color.BLACK);
-        g.drawOval(x - 20, y - 20, 40, 40);
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        g.drawString(String.valueOf(node.value), x - 8, y + 5);
+    private void showDiff() {
+        diffNodes.clear();
+        if (tree.balance != SearchTree.Balance.PERSISTENT) return;
+        int shown = shownNumber();
+        int base = (Integer) baseSpinner.getValue();
+        if (base < shown) diffNodes.addAll(tree.diff(base, shown));
+    }
 
-        if (node.left != null) {
-            g.setColor(Color.WHITE);
-            g.drawLine(x, y + 20, x - offset, y + 70 - 20);
-            drawTree(g, node.left, x - offset, y + 70, offset / 2);
-        }
+    private int shownNumber() {
+        return shownVersion != null ? shownVersion.number : tree.versions().size() - 1;
+    }
 
-        if (node.right != null) {
-            g.setColor(Color.WHITE);
-            g.drawLine(x, y + 20, x + offset, y + 70 - 20);
-            drawTree(g, node.right, x + offset, y + 70, offset / 2);
-        }
+    // Replaces the tree with a balanced one built from keys in one pass, on the fork/join pool
+    private void bulkLoad(int[] keys, String source) {
+        SearchTree.Balance balance = tree.balance;
+        build("Building from " + String.format("%,d", keys.length) + " " + source, "Bulk loaded",
+                () -> SearchTree.bulkLoad(balance, keys, true));
     }
 
-    private static class TreeNode {
-        int value;
-        TreeNode left, right;
+    // Builds a replacement tree on a worker thread and swaps it in on the EDT
+    private void build(String description, String done, Supplier<SearchTree> builder) {
+        if (running) return;
+        running = true;
+        stopAnimation();
+        for (JComponent control : editControls) control.setEnabled(false);
+        statusLabel.setText(description + "...");
+        new Thread(() -> {
+            long start = System.nanoTime();
+            SearchTree built = builder.get();
+            double millis = (System.nanoTime() - start) / 1e6;
+            SwingUtilities.invokeLater(() -> {
+                tree = built;
+                // None of the old tree's nodes survive a build
+                versionLayout.clear();
+                nodeColors.clear();
+                for (JComponent control : editControls) control.setEnabled(true);
+                syncHistory();
+                running = false;
+                updateStatus();
+                statusLabel.setText(statusLabel.getText() + "   " + done + " in " + String.format("%.1f", millis) + " ms");
+                refresh();
+            });
+        }).start();
+    }
 
-        TreeNode(int val) {
-            this.value = val;
+    private void loadFile() {
+        if (running) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Load integer keys");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        try {
+            bulkLoad(SearchTree.readKeys(path), "keys from " + path.getFileName());
+        } catch (IOException e) {
+            showError("Could not read " + path.getFileName() + ": " + e.getMessage());
         }
     }
 
+    private void runBenchmark() {
+        benchmarkBtn.setEnabled(false);
+        statusLabel.setText("Benchmarking " + String.format("%,d", TreeBenchmark.DEFAULT_KEYS) + " keys...");
+        new Thread(() -> {
+            String report = TreeBenchmark.run(TreeBenchmark.DEFAULT_KEYS);
+            SwingUtilities.invokeLater(() -> {
+                benchmarkBtn.setEnabled(true);
+                updateStatus();
+                JTextArea area = new JTextArea(report);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(this, area, "Search Tree Benchmark", JOptionPane.INFORMATION_MESSAGE);
+            });
+        }).start();
+    }
+
+    private void stopAnimation() {
+        if (animation != null) animation.stop();
+        animation = null;
+        shownStep = null;
+    }
+
+    private void searchWithAnimation(int value) {
+        stopAnimation();
+        nodeColors.clear();
+        List<SearchTree.Node> path = viewed().searchPath(value);
+        int[] step = {0};
+        animation = new Timer(500, e -> {
+            if (step[0] == path.size()) {
+                ((Timer) e.getSource()).stop();
+                if (path.isEmpty() || path.get(path.size() - 1).key != value) statusLabel.setText(value + " not found");
+                return;
+            }
+            SearchTree.Node node = path.get(step[0]++);
+            nodeColors.put(node.key, node.key == value ? FOUND_COLOR : SEARCH_PATH_COLOR);
+            statusLabel.setText((node.key == value ? "Found " + value : "Visiting " + node.key) + " at depth " + (step[0] - 1));
+            refresh();
+        });
+        animation.setInitialDelay(0);
+        animation.start();
+    }
+
+    // Lights up an order-statistic or range query's path one node per tick, the nodes it counted in green, then
+    // shows the answer; the path is one or two root-to-leaf walks however many keys the answer covers
+    private void animateQuery(List<SearchTree.Node> path, Predicate<SearchTree.Node> counted, String answer) {
+        stopAnimation();
+        nodeColors.clear();
+        int[] step = {0};
+        animation = new Timer(500, e -> {
+            if (step[0] == path.size()) {
+                ((Timer) e.getSource()).stop();
+                statusLabel.setText(answer + "   (" + path.size() + " of " + viewed().size() + " nodes visited)");
+                return;
+            }
+            SearchTree.Node node = path.get(step[0]++);
+            nodeColors.put(node.key, counted.test(node) ? FOUND_COLOR : SEARCH_PATH_COLOR);
+            statusLabel.setText("Visiting " + node.key + " (" + step[0] + " of " + path.size() + ")");
+            refresh();
+        });
+        animation.setInitialDelay(0);
+        animation.start();
+    }
+
+    private static String ordinal(int n) {
+        if (n % 100 >= 11 && n % 100 <= 13) return "th";
+        return switch (n % 10) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
+        };
+    }
+
+    private void updateStatus() {
+        SearchTree shown = viewed();
+        int size = shown.size();
+        int minimum = 32 - Integer.numberOfLeadingZeros(size);
+        String text = "Mode: " + tree.balance.label + "   Nodes: " + size + "   Height: " + shown.height()
+                + "   (minimum possible " + minimum + ")";
+        if (tree.balance == SearchTree.Balance.PERSISTENT) text += "   " + describeHistory();
+        statusLabel.setText(text);
+    }
+
+    // What the shown version changed and copied, and what the whole history costs against a full copy per version
+    private String describeHistory() {
+        List<SearchTree.Version> versions = tree.versions();
+        SearchTree.Version version = versions.get(shownNumber());
+        long kept = tree.historyNodes();
+        long full = tree.fullCopyNodes();
+        String text = "Version " + version.number + " of " + (versions.size() - 1) + ": " + version.change
+                + ", " + version.copied.size() + " copied, " + Math.max(0, version.size - version.copied.size()) + " shared";
+        int base = (Integer) baseSpinner.getValue();
+        if (base < version.number - 1) text += "   " + diffNodes.size() + " nodes new since version " + base;
+        return text + "   History: " + String.format("%,d", kept) + " nodes vs " + String.format("%,d", full)
+                + " as full copies" + (full == 0 ? "" : String.format(" (%.0f%% saved)", 100.0 * (full - kept) / full));
+    }
+
+    private static int max(SearchTree.Node node) {
+        while (node.right != null) node = node.right;
+        return node.key;
+    }
+
+    private Color colorOf(SearchTree.Node node) {
+        if (shownStep != null && node.key == shownStep.key) return STEP_COLOR;
+        Color color = nodeColors.get(node.key);
+        if (color != null) return color;
+        if (diffNodes.contains(node)) return COPIED_COLOR;
+        if (tree.balance != SearchTree.Balance.RED_BLACK) return DEFAULT_COLOR;
+        return node.red ? RED_NODE_COLOR : BLACK_NODE_COLOR;
+    }
+
+    // Points the view at the live tree, the copy of it a replayed step holds, or the version being browsed
+    private void refresh() {
+        treePanel.setOutlineColor(tree.balance == SearchTree.Balance.RED_BLACK ? Color.LIGHT_GRAY : Color.BLACK);
+        treePanel.setCaption(shownStep != null ? shownStep.caption : null);
+        treePanel.setSideLayout(tree.balance == SearchTree.Balance.PERSISTENT ? versionLayout : null);
+        SearchTree.Node root = shownVersion != null ? shownVersion.root : tree.root();
+        treePanel.setRoot(shownStep != null ? shownStep.root : root);
+    }
+
     private JButton createStyledButton(String text, Runnable action) {
         JButton button = new JButton(text);
         button.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -169,10 +533,10 @@ public class BSTVisualizer extends JFrame {
         return button;
     }
 
-    private void sleep(int ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ignored) {}
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(Color.WHITE);
+        return label;
     }
 
     private void showError(String msg) {
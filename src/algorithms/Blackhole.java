@@ -0,0 +1,13 @@
+package algorithms;
+
+// Where the benchmarks drop the sums of what they timed, so the JIT cannot prove the work unused and remove it
+final class Blackhole {
+
+    private static volatile long sink;
+
+    private Blackhole() {}
+
+    static void consume(long value) {
+        sink = value;
+    }
+}
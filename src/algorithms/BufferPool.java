@@ -0,0 +1,224 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// A fixed set of page-sized frames over a file, with clock replacement. Callers pin a page while they use it and
+// unpin it saying whether they changed it; a frame is only reused once nothing pins it, and a dirty frame is
+// written back before it is. Unlike the mapped files elsewhere, every read and write here is explicit, so the
+// counters are the I/O a given page size and pool size really cost.
+final class BufferPool implements Closeable {
+
+    static final class Frame {
+        int page = -1;
+        final ByteBuffer data;
+        int pins = 0;
+        boolean dirty = false;
+        // Clock bit: set on every pin, cleared as the hand sweeps past
+        boolean referenced = false;
+
+        Frame(int pageSize) {
+            data = ByteBuffer.allocate(pageSize);
+        }
+    }
+
+    final int pageSize;
+    private final FileChannel channel;
+    private final Frame[] frames;
+    private final Map<Integer, Frame> resident = new HashMap<>();
+    private int hand = 0;
+    private int pageCount;
+
+    long hits = 0;
+    long misses = 0;
+    long reads = 0;
+    long writes = 0;
+    long evictions = 0;
+    // Pins since tracing was turned on, for the visualizer: the page for a hit, -1 - page for a miss
+    private final List<Integer> trace = new ArrayList<>();
+    private boolean tracing = false;
+
+    BufferPool(Path path, int pageSize, int frameCount) throws IOException {
+        this.pageSize = pageSize;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        pageCount = (int) (channel.size() / pageSize);
+        frames = new Frame[frameCount];
+        for (int i = 0; i < frameCount; i++) frames[i] = new Frame(pageSize);
+    }
+
+    Frame pin(int page) {
+        if (page < 0 || page >= pageCount) throw new IllegalArgumentException("No page " + page);
+        Frame frame = resident.get(page);
+        if (tracing) trace.add(frame != null ? page : -1 - page);
+        if (frame != null) {
+            hits++;
+        } else {
+            misses++;
+            frame = victim();
+            frame.page = page;
+            read(frame);
+            resident.put(page, frame);
+        }
+        frame.pins++;
+        frame.referenced = true;
+        return frame;
+    }
+
+    // A new zeroed page at the end of the file, pinned and dirty; nothing is read for it
+    Frame allocate() {
+        Frame frame = victim();
+        frame.page = pageCount++;
+        frame.data.clear();
+        frame.data.put(new byte[pageSize]);
+        frame.dirty = true;
+        frame.pins = 1;
+        frame.referenced = true;
+        resident.put(frame.page, frame);
+        return frame;
+    }
+
+    void unpin(Frame frame, boolean dirty) {
+        if (frame.pins == 0) throw new IllegalStateException("Page " + frame.page + " is not pinned");
+        frame.pins--;
+        frame.dirty |= dirty;
+    }
+
+    // Sweeps for an unpinned frame whose clock bit is clear, clearing bits on the way; two full turns without
+    // one means every frame is pinned
+    private Frame victim() {
+        for (int step = 0; step < 2 * frames.length + 1; step++) {
+            Frame frame = frames[hand];
+            hand = (hand + 1) % frames.length;
+            if (frame.pins > 0) continue;
+            if (frame.referenced) {
+                frame.referenced = false;
+                continue;
+            }
+            if (frame.page >= 0) {
+                if (frame.dirty) write(frame);
+                resident.remove(frame.page);
+                evictions++;
+            }
+            frame.page = -1;
+            frame.dirty = false;
+            return frame;
+        }
+        throw new IllegalStateException("All " + frames.length + " frames are pinned");
+    }
+
+    private void read(Frame frame) {
+        try {
+            frame.data.clear();
+            long position = (long) frame.page * pageSize;
+            while (frame.data.hasRemaining()) {
+                if (channel.read(frame.data, position + frame.data.position()) < 0) break;
+            }
+            reads++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Frame frame) {
+        try {
+            ByteBuffer data = frame.data.duplicate();
+            data.clear();
+            long position = (long) frame.page * pageSize;
+            while (data.hasRemaining()) channel.write(data, position + data.position());
+            frame.dirty = false;
+            writes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A copy of a page for display: served from its frame when resident, otherwise read from the file, without
+    // counting as a hit or miss or disturbing the clock
+    ByteBuffer inspect(int page) {
+        Frame frame = resident.get(page);
+        if (frame != null) return ByteBuffer.wrap(frame.data.array().clone());
+        ByteBuffer copy = ByteBuffer.allocate(pageSize);
+        try {
+            channel.read(copy, (long) page * pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return copy;
+    }
+
+    // Starts a fresh trace, or stops keeping one
+    void setTracing(boolean tracing) {
+        this.tracing = tracing;
+        trace.clear();
+    }
+
+    List<Integer> trace() {
+        return trace;
+    }
+
+    // Frame holding page, or -1 when it is not resident
+    int frameOf(int page) {
+        Frame frame = resident.get(page);
+        if (frame == null) return -1;
+        for (int i = 0; i < frames.length; i++) {
+            if (frames[i] == frame) return i;
+        }
+        return -1;
+    }
+
+    void flush() {
+        for (Frame frame : frames) {
+            if (frame.page >= 0 && frame.dirty) write(frame);
+        }
+    }
+
+    void resetStats() {
+        hits = 0;
+        misses = 0;
+        reads = 0;
+        writes = 0;
+        evictions = 0;
+    }
+
+    // Evicts everything, so the next accesses start from a cold cache
+    void dropAll() {
+        flush();
+        for (Frame frame : frames) {
+            if (frame.pins > 0) throw new IllegalStateException("Page " + frame.page + " is still pinned");
+            frame.page = -1;
+            frame.referenced = false;
+        }
+        resident.clear();
+    }
+
+    double hitRatio() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    int pageCount() {
+        return pageCount;
+    }
+
+    int frameCount() {
+        return frames.length;
+    }
+
+    Frame frame(int i) {
+        return frames[i];
+    }
+
+    public void close() throws IOException {
+        flush();
+        channel.force(true);
+        channel.close();
+    }
+}
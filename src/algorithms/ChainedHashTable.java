@@ -0,0 +1,186 @@
+package algorithms;
+
+// Separate chaining that grows by incremental rehashing: while a resize is in progress both tables are live,
+// and every operation moves a few buckets from the old table to the new one, so no single call pays for the whole copy
+class ChainedHashTable implements IntHashTable {
+
+    // Redis-style: grow once there is one entry per bucket on average
+    static final double MAX_LOAD_FACTOR = 1.0;
+    // Buckets migrated per operation, and how many empty buckets a step may skip before giving up
+    static final int REHASH_STEPS = 2;
+    static final int EMPTY_VISITS = 10 * REHASH_STEPS;
+
+    static final class Node {
+        final int key;
+        int value;
+        Node next;
+
+        Node(int key, int value, Node next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private Node[] primary;
+    private Node[] target;
+    private int rehashIndex = -1;
+    private int size = 0;
+    private int lastMovedNodes = 0;
+    private final HashFunction hashFunction;
+
+    ChainedHashTable(int initialCapacity) {
+        this(initialCapacity, HashFunction.MODULO);
+    }
+
+    ChainedHashTable(int initialCapacity, HashFunction hashFunction) {
+        primary = new Node[Math.max(1, initialCapacity)];
+        this.hashFunction = hashFunction;
+    }
+
+    public String name() {
+        return "Chaining";
+    }
+
+    public boolean put(int key, int value) {
+        rehashStep();
+        Node existing = find(key);
+        if (existing != null) {
+            existing.value = value;
+            return false;
+        }
+        // During a resize new keys go straight to the new table, so the old one only ever shrinks
+        Node[] table = isRehashing() ? target : primary;
+        int index = indexFor(key, table.length);
+        table[index] = new Node(key, value, table[index]);
+        size++;
+        if (!isRehashing() && size > MAX_LOAD_FACTOR * primary.length) startRehash();
+        return true;
+    }
+
+    public int get(int key) {
+        rehashStep();
+        Node node = find(key);
+        return node == null ? NOT_FOUND : node.value;
+    }
+
+    public boolean contains(int key) {
+        rehashStep();
+        return find(key) != null;
+    }
+
+    public boolean remove(int key) {
+        rehashStep();
+        if (unlink(primary, key) || (isRehashing() && unlink(target, key))) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean unlink(Node[] table, int key) {
+        int index = indexFor(key, table.length);
+        Node previous = null;
+        for (Node node = table[index]; node != null; previous = node, node = node.next) {
+            if (node.key != key) continue;
+            if (previous == null) {
+                table[index] = node.next;
+            } else {
+                previous.next = node.next;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Node find(int key) {
+        for (Node node = primary[indexFor(key, primary.length)]; node != null; node = node.next) {
+            if (node.key == key) return node;
+        }
+        if (!isRehashing()) return null;
+        for (Node node = target[indexFor(key, target.length)]; node != null; node = node.next) {
+            if (node.key == key) return node;
+        }
+        return null;
+    }
+
+    private void startRehash() {
+        target = new Node[primary.length * 2];
+        rehashIndex = 0;
+    }
+
+    private void rehashStep() {
+        lastMovedNodes = 0;
+        if (!isRehashing()) return;
+        int moved = 0;
+        int emptyVisits = 0;
+        while (moved < REHASH_STEPS && rehashIndex < primary.length) {
+            Node node = primary[rehashIndex];
+            if (node == null) {
+                rehashIndex++;
+                if (++emptyVisits >= EMPTY_VISITS) break;
+                continue;
+            }
+            while (node != null) {
+                Node next = node.next;
+                int index = indexFor(node.key, target.length);
+                node.next = target[index];
+                target[index] = node;
+                node = next;
+                lastMovedNodes++;
+            }
+            primary[rehashIndex++] = null;
+            moved++;
+        }
+        if (rehashIndex == primary.length) {
+            primary = target;
+            target = null;
+            rehashIndex = -1;
+        }
+    }
+
+    int indexFor(int key, int buckets) {
+        return hashFunction.index(key, buckets);
+    }
+
+    HashFunction hashFunction() {
+        return hashFunction;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // A node is a 12-byte header plus key, value and next, padded to 24; each bucket is a 4-byte reference
+    public long memoryBytes() {
+        long buckets = primary.length + (isRehashing() ? target.length : 0);
+        return 24L * size + 4 * buckets + 2 * 16 + 40;
+    }
+
+    boolean isRehashing() {
+        return target != null;
+    }
+
+    // Buckets of the old table below this index have already moved to the new one
+    int rehashIndex() {
+        return rehashIndex;
+    }
+
+    int lastMovedNodes() {
+        return lastMovedNodes;
+    }
+
+    // Table 0 is the live table, or the old one during a resize; table 1 is the new one and only exists during a resize
+    int bucketCount(int table) {
+        Node[] buckets = table == 0 ? primary : target;
+        return buckets == null ? 0 : buckets.length;
+    }
+
+    Node bucket(int table, int index) {
+        return (table == 0 ? primary : target)[index];
+    }
+
+    double loadFactor() {
+        return (double) size / (isRehashing() ? target.length : primary.length);
+    }
+}
@@ -0,0 +1,277 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ComponentsVisualizer extends JFrame {
+
+    private final int NODE_COUNT = 200;
+    private final int PANEL_WIDTH = 800;
+    private final int PANEL_HEIGHT = 500;
+    private final int LOG_CAPACITY = 10000;
+    private final int PALETTE_SIZE = 24;
+
+    private WeightedGraph graph;
+    private ForceLayout layout;
+    private Random rand = new Random();
+
+    private JSpinner nodeCountSpinner;
+    private JSpinner degreeSpinner;
+    private JComboBox<String> methodCombo;
+    private JToggleButton layoutBtn;
+    private JLabel statusLabel;
+    private GraphPanel graphPanel;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+
+    private volatile int[] component;
+    private final Color[] palette = new Color[PALETTE_SIZE];
+
+    private volatile boolean running = false;
+
+    public ComponentsVisualizer() {
+        setTitle("Connected Components Visualizer");
+        setSize(1200, 650);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("Connected Components Visualization", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        add(title, BorderLayout.NORTH);
+
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 13));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Components"));
+        add(logPanel, BorderLayout.WEST);
+
+        // Golden-ratio hue steps keep neighbouring component ids far apart in colour
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            palette[i] = Color.getHSBColor((i * 0.618034f) % 1f, 0.75f, 0.95f);
+        }
+
+        graphPanel = new GraphPanel();
+        graphPanel.setEdgeColors(new Color(90, 90, 90), Color.LIGHT_GRAY);
+        graphPanel.setNodeColors(node -> {
+            int[] labels = component;
+            if (labels == null || node >= labels.length) return Color.CYAN;
+            return palette[labels[node] % PALETTE_SIZE];
+        });
+        graphPanel.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+        add(graphPanel, BorderLayout.CENTER);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        nodeCountSpinner = new JSpinner(new SpinnerNumberModel(NODE_COUNT, 2, 2000000, 1));
+        degreeSpinner = new JSpinner(new SpinnerNumberModel(1.0, 0.1, 64.0, 0.1));
+        methodCombo = new JComboBox<>();
+        for (ConnectedComponents.Method method : ConnectedComponents.Method.values()) methodCombo.addItem(method.label);
+
+        JButton generateBtn = new JButton("Generate Graph");
+        generateBtn.addActionListener(e -> {
+            if (running) return;
+            generateGraph();
+            log.clear();
+        });
+
+        JButton importBtn = new JButton("Import...");
+        importBtn.addActionListener(e -> {
+            if (!running) importGraph();
+        });
+
+        JButton runBtn = new JButton("Find Components");
+        runBtn.addActionListener(e -> {
+            if (!running) runComponents(ConnectedComponents.Method.values()[methodCombo.getSelectedIndex()]);
+        });
+
+        JButton compareBtn = new JButton("Compare All");
+        compareBtn.addActionListener(e -> {
+            if (!running) compareMethods();
+        });
+
+        layoutBtn = new JToggleButton("Force Layout");
+        layoutBtn.addActionListener(e -> {
+            if (layoutBtn.isSelected()) startLayout();
+            else stopLayout();
+        });
+
+        JButton backBtn = new JButton("Back to Menu");
+        backBtn.addActionListener(e -> {
+            this.dispose();
+            new ui.AdvancedAlgorithmsVisualizer();
+        });
+
+        controlPanel.add(new JLabel("Nodes:"));
+        controlPanel.add(nodeCountSpinner);
+        controlPanel.add(new JLabel("Avg degree:"));
+        controlPanel.add(degreeSpinner);
+        controlPanel.add(generateBtn);
+        controlPanel.add(importBtn);
+        controlPanel.add(methodCombo);
+        controlPanel.add(runBtn);
+        controlPanel.add(compareBtn);
+        controlPanel.add(layoutBtn);
+        controlPanel.add(backBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        generateGraph();
+        setVisible(true);
+    }
+
+    private void generateGraph() {
+        int nodeCount = (Integer) nodeCountSpinner.getValue();
+        double degree = (Double) degreeSpinner.getValue();
+        WeightedGraph generated = WeightedGraph.random(nodeCount, Math.min(1.0, degree / Math.max(1, nodeCount - 1)), 9, rand);
+        float[][] positions = ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+        showGraph(generated, positions[0], positions[1], "Graph");
+    }
+
+    private void importGraph() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import DIMACS .gr or edge list");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+
+        running = true;
+        statusLabel.setText("Loading " + path.getFileName() + "...");
+        new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                GraphIO.Loaded loaded = GraphIO.read(path);
+                long elapsed = System.nanoTime() - start;
+                int nodeCount = loaded.graph.nodeCount();
+                float[][] positions = loaded.xs != null
+                        ? new float[][]{loaded.xs, loaded.ys}
+                        : ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+                log.add(EventLog.Kind.INFO, "Loaded " + path.getFileName() + " in "
+                        + String.format("%.1f", elapsed / 1e6) + " ms" + (loaded.xs != null ? " with coordinates" : ""));
+                // Cleared only once the new graph is in place, so no run can start on the old one in between
+                SwingUtilities.invokeLater(() -> {
+                    showGraph(loaded.graph, positions[0], positions[1], path.getFileName().toString());
+                    running = false;
+                });
+            } catch (IOException | RuntimeException ex) {
+                SwingUtilities.invokeLater(() -> {
+                    running = false;
+                    statusLabel.setText(" ");
+                    JOptionPane.showMessageDialog(this, "Could not import graph: " + ex.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                });
+            }
+        }).start();
+    }
+
+    private void showGraph(WeightedGraph newGraph, float[] xs, float[] ys, String name) {
+        stopLayout();
+        graph = newGraph;
+        component = null;
+        graphPanel.setGraph(graph, xs, ys);
+        statusLabel.setText(name + ": " + graph.nodeCount() + " nodes, " + graph.edgeCount() + " edges");
+    }
+
+    private void startLayout() {
+        stopLayout();
+        layout = new ForceLayout(graph, graphPanel.xs(), graphPanel.ys());
+        ForceLayout current = layout;
+        current.start(() -> {
+            graphPanel.setPositions(current.xs(), current.ys());
+            if (!current.isRunning()) SwingUtilities.invokeLater(() -> {
+                if (layout == current) layoutBtn.setSelected(false);
+            });
+        });
+    }
+
+    private void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+        if (layoutBtn != null) layoutBtn.setSelected(false);
+    }
+
+    public void dispose() {
+        stopLayout();
+        super.dispose();
+    }
+
+    private void runComponents(ConnectedComponents.Method method) {
+        running = true;
+        WeightedGraph current = graph;
+        new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                ConnectedComponents.Result result = ConnectedComponents.solve(current, method);
+                long elapsed = System.nanoTime() - start;
+
+                component = result.component;
+                graphPanel.repaint();
+                String summary = summarize(method, result, elapsed);
+                log.add(EventLog.Kind.RESULT, summary);
+                logSizeStatistics(result);
+                SwingUtilities.invokeLater(() -> statusLabel.setText(summary));
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private void logSizeStatistics(ConnectedComponents.Result result) {
+        int[] sorted = result.sizes.clone();
+        Arrays.sort(sorted);
+        int count = sorted.length;
+        // An imported graph may have no nodes at all
+        if (count == 0) return;
+        log.add(EventLog.Kind.INFO, "  Largest %d, median %d, singletons %d", sorted[count - 1], sorted[count / 2], result.singletons());
+        log.add(EventLog.Kind.INFO, "  Largest holds " + String.format("%.1f", 100.0 * sorted[count - 1] / result.component.length)
+                + "% of nodes");
+
+        // Histogram over power-of-two size classes: 1, 2-3, 4-7, ...
+        int[] classes = new int[32];
+        for (int size : sorted) classes[31 - Integer.numberOfLeadingZeros(size)]++;
+        for (int c = 0; c < classes.length; c++) {
+            if (classes[c] == 0) continue;
+            log.add(EventLog.Kind.INFO, "  Size %d-%d: %d components", 1L << c, (1L << (c + 1)) - 1, classes[c]);
+        }
+    }
+
+    private void compareMethods() {
+        running = true;
+        WeightedGraph current = graph;
+        new Thread(() -> {
+            try {
+                log.add(EventLog.Kind.INFO, "Comparing on " + current.nodeCount() + " nodes, "
+                        + current.edgeCount() + " edges, " + Runtime.getRuntime().availableProcessors() + " cores");
+                for (ConnectedComponents.Method method : ConnectedComponents.Method.values()) {
+                    long start = System.nanoTime();
+                    ConnectedComponents.Result result = ConnectedComponents.solve(current, method);
+                    log.add(EventLog.Kind.RESULT, summarize(method, result, System.nanoTime() - start));
+                    component = result.component;
+                }
+                graphPanel.repaint();
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private String summarize(ConnectedComponents.Method method, ConnectedComponents.Result result, long elapsedNanos) {
+        String passes = method == ConnectedComponents.Method.SHILOACH_VISHKIN ? ", " + result.passes + " passes" : "";
+        return method.label + ": " + result.count() + " components, largest " + result.largest()
+                + passes + " in " + String.format("%.1f", elapsedNanos / 1e6) + " ms";
+    }
+}
@@ -0,0 +1,278 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Thread-safe chaining. Writers lock one of STRIPES stripes; readers take no locks and walk bucket heads read with
+// volatile semantics. Chains are immutable apart from values, so a reader never sees a half-linked node.
+// Bucket i belongs to stripe i % STRIPES, and because the table doubles and STRIPES divides its size, a key keeps
+// its stripe across resizes. That lets a resize move one stripe at a time while the other stripes stay writable.
+class ConcurrentChainedTable implements IntHashTable {
+
+    static final int STRIPES = 16;
+    static final double MAX_LOAD_FACTOR = 1.0;
+
+    static class Node {
+        final int key;
+        volatile int value;
+        final Node next;
+
+        Node(int key, int value, Node next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // Left in every bucket of the old table once its stripe has moved; lookups that hit it continue in the new table
+    static final class Forward extends Node {
+        final AtomicReferenceArray<Node> table;
+
+        Forward(AtomicReferenceArray<Node> table) {
+            super(0, 0, null);
+            this.table = table;
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node> table;
+    // Non-null while a resize is in progress: the table being filled
+    private volatile AtomicReferenceArray<Node> resizeTarget;
+    private final ReentrantLock resizeLock = new ReentrantLock();
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(STRIPES);
+    private final AtomicLongArray acquisitions = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray contended = new AtomicLongArray(STRIPES);
+
+    ConcurrentChainedTable(int initialCapacity) {
+        int capacity = Math.max(STRIPES, Integer.highestOneBit(Math.max(1, initialCapacity) - 1) << 1);
+        table = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    public String name() {
+        return "Concurrent chaining";
+    }
+
+    // Low bits pick the bucket and the stripe, so the hash has to mix them well
+    private static int hash(int key) {
+        return HashFunction.fmix32(key);
+    }
+
+    static int stripeOf(int key) {
+        return hash(key) & (STRIPES - 1);
+    }
+
+    public int get(int key) {
+        Node node = find(key);
+        return node == null ? NOT_FOUND : node.value;
+    }
+
+    public boolean contains(int key) {
+        return find(key) != null;
+    }
+
+    // Lock-free: a forward met on the way just means this bucket has already moved to the next table
+    private Node find(int key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node> t = table;
+        while (true) {
+            Node node = t.get(hash & (t.length() - 1));
+            if (node instanceof Forward forward) {
+                t = forward.table;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.key == key) return node;
+            }
+            return null;
+        }
+    }
+
+    public boolean put(int key, int value) {
+        int hash = hash(key);
+        int stripe = hash & (STRIPES - 1);
+        AtomicReferenceArray<Node> written;
+        lock(stripe);
+        try {
+            helpResize(stripe);
+            written = writableTable(hash);
+            int index = hash & (written.length() - 1);
+            Node head = written.get(index);
+            for (Node node = head; node != null; node = node.next) {
+                if (node.key == key) {
+                    node.value = value;
+                    return false;
+                }
+            }
+            written.set(index, new Node(key, value, head));
+            counts.incrementAndGet(stripe);
+        } finally {
+            locks[stripe].unlock();
+        }
+        // Each stripe owns 1/STRIPES of the buckets, so its own count is enough to judge the load
+        if (counts.get(stripe) > MAX_LOAD_FACTOR * written.length() / STRIPES) resize(written);
+        return true;
+    }
+
+    // Nodes are immutable, so the part of the chain in front of the removed node is copied rather than relinked
+    public boolean remove(int key) {
+        int hash = hash(key);
+        int stripe = hash & (STRIPES - 1);
+        lock(stripe);
+        try {
+            helpResize(stripe);
+            AtomicReferenceArray<Node> t = writableTable(hash);
+            int index = hash & (t.length() - 1);
+            Node head = t.get(index);
+            Node target = head;
+            while (target != null && target.key != key) target = target.next;
+            if (target == null) return false;
+            Node rebuilt = target.next;
+            for (Node node = head; node != target; node = node.next) rebuilt = new Node(node.key, node.value, rebuilt);
+            t.set(index, rebuilt);
+            counts.decrementAndGet(stripe);
+            return true;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // Called with the stripe lock held: follow forwards to the table that currently owns this key's bucket
+    private AtomicReferenceArray<Node> writableTable(int hash) {
+        AtomicReferenceArray<Node> t = table;
+        while (t.get(hash & (t.length() - 1)) instanceof Forward forward) t = forward.table;
+        return t;
+    }
+
+    private void lock(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        if (!lock.tryLock()) {
+            contended.incrementAndGet(stripe);
+            lock.lock();
+        }
+        acquisitions.incrementAndGet(stripe);
+    }
+
+    // One resizer at a time; anyone who loses the race just carries on, the winner will finish the job
+    private void resize(AtomicReferenceArray<Node> full) {
+        if (!resizeLock.tryLock()) return;
+        try {
+            if (table != full) return;
+            AtomicReferenceArray<Node> target = new AtomicReferenceArray<>(full.length() * 2);
+            resizeTarget = target;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                lock(stripe);
+                try {
+                    migrate(full, target, stripe);
+                } finally {
+                    locks[stripe].unlock();
+                }
+            }
+            table = target;
+            resizeTarget = null;
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    // Writers move their own stripe first if a resize has started, so the resizer often finds the work done
+    private void helpResize(int stripe) {
+        AtomicReferenceArray<Node> target = resizeTarget;
+        if (target == null) return;
+        AtomicReferenceArray<Node> source = table;
+        if (source.length() * 2 == target.length()) migrate(source, target, stripe);
+    }
+
+    // Called with the stripe lock held. Bucket i splits into i and i + n of the doubled table, both in the same
+    // stripe, so no other writer can touch them. The old chains are copied, not moved, so readers still walking
+    // them are unaffected.
+    private static void migrate(AtomicReferenceArray<Node> source, AtomicReferenceArray<Node> target, int stripe) {
+        if (source.get(stripe) instanceof Forward) return;
+        int n = source.length();
+        Forward forward = new Forward(target);
+        for (int i = stripe; i < n; i += STRIPES) {
+            Node low = null;
+            Node high = null;
+            for (Node node = source.get(i); node != null; node = node.next) {
+                if ((hash(node.key) & n) == 0) {
+                    low = new Node(node.key, node.value, low);
+                } else {
+                    high = new Node(node.key, node.value, high);
+                }
+            }
+            target.set(i, low);
+            target.set(i + n, high);
+            source.set(i, forward);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) size += counts.get(stripe);
+        return size;
+    }
+
+    int bucketCount() {
+        return table.length();
+    }
+
+    // Mid-resize a forwarded bucket counts the two buckets it split into
+    int chainLength(int bucket) {
+        AtomicReferenceArray<Node> t = table;
+        Node node = t.get(bucket);
+        int length = 0;
+        if (node instanceof Forward forward) {
+            for (Node n = forward.table.get(bucket); n != null; n = n.next) length++;
+            node = forward.table.get(bucket + t.length());
+        }
+        for (; node != null; node = node.next) length++;
+        return length;
+    }
+
+    // Keys of one bucket, for the rebuild when the visualizer switches layouts
+    int[] bucketKeys(int bucket) {
+        int[] keys = new int[chainLength(bucket)];
+        AtomicReferenceArray<Node> t = table;
+        Node node = t.get(bucket);
+        int i = 0;
+        if (node instanceof Forward forward) {
+            for (Node n = forward.table.get(bucket); n != null && i < keys.length; n = n.next) keys[i++] = n.key;
+            node = forward.table.get(bucket + t.length());
+        }
+        for (; node != null && i < keys.length; node = node.next) keys[i++] = node.key;
+        return Arrays.copyOf(keys, i);
+    }
+
+    int stripeSize(int stripe) {
+        return counts.get(stripe);
+    }
+
+    long acquisitions(int stripe) {
+        return acquisitions.get(stripe);
+    }
+
+    // Acquisitions that found the lock already held
+    long contended(int stripe) {
+        return contended.get(stripe);
+    }
+
+    void resetContention() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            acquisitions.set(stripe, 0);
+            contended.set(stripe, 0);
+        }
+    }
+
+    double loadFactor() {
+        return (double) size() / table.length();
+    }
+
+    // Nodes carry the same 24 bytes as in ChainedHashTable; each stripe adds a lock and its counters
+    public long memoryBytes() {
+        return 24L * size() + 4L * table.length() + 16 + STRIPES * 64L;
+    }
+}
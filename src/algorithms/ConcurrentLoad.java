@@ -0,0 +1,90 @@
+package algorithms;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Timed worker loop behind the concurrent load tests: each worker runs the same read/write mix over a fixed key
+// range until the time is up. Writes are an even split of puts and removes, so the structure under test stays
+// near the size it was filled to.
+final class ConcurrentLoad {
+
+    // Operations per worker between checks of the stop flag
+    private static final int BATCH = 256;
+
+    // The structure under test; get returns anything derived from the lookup, which is summed and sunk
+    interface Target {
+        long get(int key);
+
+        void put(int key);
+
+        void remove(int key);
+    }
+
+    static final class Result {
+        final int threads;
+        final int readPercent;
+        final long operations;
+        final long nanos;
+
+        Result(int threads, int readPercent, long operations, long nanos) {
+            this.threads = threads;
+            this.readPercent = readPercent;
+            this.operations = operations;
+            this.nanos = nanos;
+        }
+
+        double operationsPerSecond() {
+            return operations * 1e9 / nanos;
+        }
+    }
+
+    private ConcurrentLoad() {}
+
+    static Result run(Target target, int threads, int readPercent, int keyRange, long millis, String name)
+            throws InterruptedException {
+        long[] operations = new long[threads];
+        long[] checksums = new long[threads];
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(1000 + id);
+                long done = 0;
+                long checksum = 0;
+                while (!stop.get()) {
+                    for (int i = 0; i < BATCH; i++) {
+                        int key = random.nextInt(keyRange);
+                        if (random.nextInt(100) < readPercent) {
+                            checksum += target.get(key);
+                        } else if (random.nextBoolean()) {
+                            target.put(key);
+                        } else {
+                            target.remove(key);
+                        }
+                    }
+                    done += BATCH;
+                }
+                operations[id] = done;
+                checksums[id] = checksum;
+            }, name + "-" + t);
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread worker : workers) worker.join();
+        long nanos = System.nanoTime() - start;
+
+        long total = 0;
+        long checksum = 0;
+        for (int t = 0; t < threads; t++) {
+            total += operations[t];
+            checksum += checksums[t];
+        }
+        Blackhole.consume(checksum);
+        return new Result(threads, readPercent, total, nanos);
+    }
+}
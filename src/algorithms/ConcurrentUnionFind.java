@@ -0,0 +1,44 @@
+package algorithms;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Lock-free disjoint sets: roots only ever link to a smaller index, and every parent write is a CAS
+class ConcurrentUnionFind {
+
+    private final AtomicIntegerArray parent;
+
+    ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) parent.set(i, i);
+    }
+
+    // Path halving; a failed CAS only means another thread already shortened the path
+    int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) parent.compareAndSet(x, p, grandparent);
+            x = grandparent;
+        }
+    }
+
+    // Linking the larger root under the smaller one keeps concurrent links acyclic
+    boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return false;
+            if (ra < rb) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            if (parent.compareAndSet(ra, ra, rb)) return true;
+        }
+    }
+
+    int size() {
+        return parent.length();
+    }
+}
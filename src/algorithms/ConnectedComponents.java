@@ -0,0 +1,159 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// Connected components; the parallel methods run their passes on the common fork/join pool via parallel streams
+final class ConnectedComponents {
+
+    enum Method {
+        SEQUENTIAL("Sequential union-find"),
+        CONCURRENT_UNION_FIND("Concurrent union-find"),
+        SHILOACH_VISHKIN("Shiloach–Vishkin");
+
+        final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+    }
+
+    static final class Result {
+        // Component ids are dense, numbered in order of each component's smallest node
+        final int[] component;
+        final int[] sizes;
+        int passes = 1;
+
+        Result(int[] component, int[] sizes) {
+            this.component = component;
+            this.sizes = sizes;
+        }
+
+        int count() {
+            return sizes.length;
+        }
+
+        int largest() {
+            int max = 0;
+            for (int size : sizes) max = Math.max(max, size);
+            return max;
+        }
+
+        int singletons() {
+            int count = 0;
+            for (int size : sizes) {
+                if (size == 1) count++;
+            }
+            return count;
+        }
+    }
+
+    private ConnectedComponents() {
+    }
+
+    static Result solve(WeightedGraph graph, Method method) {
+        switch (method) {
+            case CONCURRENT_UNION_FIND:
+                return concurrentUnionFind(graph);
+            case SHILOACH_VISHKIN:
+                return shiloachVishkin(graph);
+            default:
+                return sequential(graph);
+        }
+    }
+
+    static Result sequential(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        UnionFind sets = new UnionFind(n);
+        for (int u = 0; u < n; u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (v > u) sets.union(u, v);
+            }
+        }
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) roots[v] = sets.find(v);
+        return relabel(roots);
+    }
+
+    static Result concurrentUnionFind(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (v > u) sets.union(u, v);
+            }
+        });
+        int[] roots = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> roots[v] = sets.find(v));
+        return relabel(roots);
+    }
+
+    // Min-label hooking: every root adopts the smallest label seen across an edge, then pointer jumping
+    // flattens the trees to stars; repeats until no label moves, at most O(log n) rounds
+    static Result shiloachVishkin(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        AtomicIntegerArray label = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) label.set(v, v);
+
+        int passes = 0;
+        boolean changed = true;
+        while (changed) {
+            passes++;
+            changed = IntStream.range(0, n).parallel().map(u -> {
+                int hooked = 0;
+                for (int e = 0; e < graph.degree(u); e++) {
+                    int lu = label.get(u);
+                    int lv = label.get(graph.target(u, e));
+                    if (lu == lv) continue;
+                    int low = Math.min(lu, lv);
+                    int high = Math.max(lu, lv);
+                    if (lowerTo(label, high, low)) hooked = 1;
+                }
+                return hooked;
+            }).sum() > 0;
+
+            IntStream.range(0, n).parallel().forEach(v -> {
+                int l = label.get(v);
+                while (l != label.get(l)) l = label.get(l);
+                label.set(v, l);
+            });
+        }
+
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) roots[v] = label.get(v);
+        Result result = relabel(roots);
+        result.passes = passes;
+        return result;
+    }
+
+    // Labels only ever decrease, so label[x] <= x holds throughout and the trees cannot form cycles
+    private static boolean lowerTo(AtomicIntegerArray label, int index, int value) {
+        while (true) {
+            int current = label.get(index);
+            if (current <= value) return false;
+            if (label.compareAndSet(index, current, value)) return true;
+        }
+    }
+
+    private static Result relabel(int[] roots) {
+        int n = roots.length;
+        int[] idOfRoot = new int[n];
+        Arrays.fill(idOfRoot, -1);
+        int count = 0;
+        int[] sizes = new int[16];
+        int[] component = new int[n];
+        for (int v = 0; v < n; v++) {
+            int root = roots[v];
+            if (idOfRoot[root] < 0) {
+                if (count == sizes.length) sizes = Arrays.copyOf(sizes, count * 2);
+                idOfRoot[root] = count++;
+            }
+            component[v] = idOfRoot[root];
+            sizes[component[v]]++;
+        }
+        return new Result(component, Arrays.copyOf(sizes, count));
+    }
+}
@@ -0,0 +1,243 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Strategies for spreading keys over a changing set of nodes, and the bookkeeping to see what a membership change
+// costs. Nodes are identified by stable ids, so "which node owns this key" can be compared across changes.
+final class ConsistentHashing {
+
+    enum Method {
+        RING("Ring with virtual nodes"),
+        JUMP("Jump consistent hash"),
+        RENDEZVOUS("Rendezvous (HRW)");
+
+        final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+    }
+
+    private ConsistentHashing() {}
+
+    abstract static class Router {
+        final List<Integer> nodes = new ArrayList<>();
+
+        abstract int route(int key);
+
+        void addNode(int id) {
+            nodes.add(id);
+        }
+
+        void removeNode(int id) {
+            nodes.remove(Integer.valueOf(id));
+        }
+    }
+
+    static Router create(Method method, int virtualNodes) {
+        return switch (method) {
+            case RING -> new Ring(virtualNodes);
+            case JUMP -> new Jump();
+            case RENDEZVOUS -> new Rendezvous();
+        };
+    }
+
+    // Each node is hashed onto a 32-bit circle virtualNodes times; a key belongs to the first point clockwise from
+    // its own hash. Points are kept sorted, so a lookup is one binary search.
+    static final class Ring extends Router {
+        private static final long SIGN = 0x80000000L;
+
+        final int virtualNodes;
+        private long[] points = new long[0];
+        private int[] owners = new int[0];
+
+        Ring(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        void addNode(int id) {
+            super.addNode(id);
+            rebuild();
+        }
+
+        void removeNode(int id) {
+            super.removeNode(id);
+            rebuild();
+        }
+
+        // Points are packed as position << 32 | owner, so one sort orders both arrays together. Positions are
+        // unsigned, so their top bit is flipped to make the signed sort come out in ring order.
+        private void rebuild() {
+            long[] packed = new long[nodes.size() * virtualNodes];
+            int n = 0;
+            for (int id : nodes) {
+                for (int replica = 0; replica < virtualNodes; replica++) {
+                    packed[n++] = (position(id, replica) ^ SIGN) << 32 | (id & 0xFFFFFFFFL);
+                }
+            }
+            Arrays.sort(packed);
+            points = new long[n];
+            owners = new int[n];
+            for (int i = 0; i < n; i++) {
+                points[i] = (packed[i] >>> 32) ^ SIGN;
+                owners[i] = (int) packed[i];
+            }
+        }
+
+        // The golden-ratio offset is SplitMix64's increment; without it node 0's first point would sit at 0
+        static long position(int id, int replica) {
+            return mix64(((long) id << 32 | replica) + 0x9E3779B97F4A7C15L) >>> 32;
+        }
+
+        int route(int key) {
+            if (points.length == 0) return -1;
+            int i = Arrays.binarySearch(points, keyPosition(key));
+            if (i < 0) i = -i - 1;
+            return owners[i == points.length ? 0 : i];
+        }
+
+        int pointCount() {
+            return points.length;
+        }
+
+        long point(int i) {
+            return points[i];
+        }
+
+        int owner(int i) {
+            return owners[i];
+        }
+    }
+
+    // Lamping and Veach: no state beyond the node count, perfectly even, but only the last bucket can leave
+    // cheaply. Removing any other node renumbers every node after it.
+    static final class Jump extends Router {
+        int route(int key) {
+            if (nodes.isEmpty()) return -1;
+            return nodes.get(jump(mix64(key), nodes.size()));
+        }
+
+        static int jump(long key, int buckets) {
+            long b = -1;
+            long j = 0;
+            while (j < buckets) {
+                b = j;
+                key = key * 2862933555777941757L + 1;
+                j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+            }
+            return (int) b;
+        }
+    }
+
+    // Highest random weight: every node scores the key and the best score wins. O(nodes) per lookup, but only the
+    // keys of a departing node move, and a new node takes an even share from everyone.
+    static final class Rendezvous extends Router {
+        int route(int key) {
+            int best = -1;
+            long bestScore = Long.MIN_VALUE;
+            long keyHash = mix64(key);
+            for (int id : nodes) {
+                long score = mix64(keyHash ^ (id * 0x9E3779B97F4A7C15L));
+                if (best < 0 || score > bestScore) {
+                    best = id;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Position of a key on the ring, in the same unsigned 32-bit space as the ring points
+    static long keyPosition(int key) {
+        return mix64(key) >>> 32;
+    }
+
+    // SplitMix64's finalizer
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Where each key lives, and how evenly that spreads over the nodes
+    static final class Assignment {
+        final int[] owner;
+        // Node id -> key count; ids are small and dense, so an array indexed by id
+        final int[] load;
+        final int[] nodeIds;
+        final int nodeCount;
+
+        Assignment(int[] owner, int[] load, int[] nodeIds) {
+            this.owner = owner;
+            this.load = load;
+            this.nodeIds = nodeIds;
+            this.nodeCount = nodeIds.length;
+        }
+
+        int maxLoad() {
+            int max = 0;
+            for (int count : load) max = Math.max(max, count);
+            return max;
+        }
+
+        double meanLoad() {
+            return nodeCount == 0 ? 0 : (double) owner.length / nodeCount;
+        }
+
+        // Busiest node over the average; 1.0 is a perfect split
+        double imbalance() {
+            return nodeCount == 0 ? 0 : maxLoad() / meanLoad();
+        }
+
+        // Relative standard deviation of the per-node load, over live nodes only
+        double deviation() {
+            double mean = meanLoad();
+            double sum = 0;
+            for (int id : nodeIds) sum += (load[id] - mean) * (load[id] - mean);
+            return nodeCount == 0 ? 0 : Math.sqrt(sum / nodeCount) / mean;
+        }
+
+        int movedFrom(Assignment previous) {
+            int moved = 0;
+            for (int i = 0; i < owner.length; i++) {
+                if (owner[i] != previous.owner[i]) moved++;
+            }
+            return moved;
+        }
+    }
+
+    static Assignment assign(Router router, int[] keys, int maxNodeId) {
+        int[] owner = new int[keys.length];
+        int[] load = new int[maxNodeId + 1];
+        for (int i = 0; i < keys.length; i++) {
+            owner[i] = router.route(keys[i]);
+            if (owner[i] >= 0) load[owner[i]]++;
+        }
+        return new Assignment(owner, load, router.nodes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // One row per strategy: grow from nodes to nodes + 1, then remove the first node, on the same keys
+    static String compare(int[] keys, int nodes, int[] virtualNodeCounts) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d keys, %d nodes; minimum possible move is 1/(n+1) = %.1f%% on add, 1/n = %.1f%% on remove%n%n",
+                keys.length, nodes, 100.0 / (nodes + 1), 100.0 / nodes));
+        report.append(String.format("%-34s %10s %10s %12s %12s%n", "Strategy", "max/mean", "stddev", "moved (add)", "moved (rm)"));
+        for (int v : virtualNodeCounts) compareRow(report, Method.RING.label + ", " + v + " vnodes", create(Method.RING, v), keys, nodes);
+        compareRow(report, Method.JUMP.label, create(Method.JUMP, 0), keys, nodes);
+        compareRow(report, Method.RENDEZVOUS.label, create(Method.RENDEZVOUS, 0), keys, nodes);
+        return report.toString();
+    }
+
+    private static void compareRow(StringBuilder report, String name, Router router, int[] keys, int nodes) {
+        for (int id = 0; id < nodes; id++) router.addNode(id);
+        Assignment before = assign(router, keys, nodes);
+        router.addNode(nodes);
+        Assignment grown = assign(router, keys, nodes);
+        router.removeNode(0);
+        Assignment shrunk = assign(router, keys, nodes);
+        report.append(String.format("%-34s %10.3f %10.3f %11.1f%% %11.1f%%%n", name, before.imbalance(), before.deviation(),
+                100.0 * grown.movedFrom(before) / keys.length, 100.0 * shrunk.movedFrom(grown) / keys.length));
+    }
+}
@@ -0,0 +1,311 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.util.Random;
+
+public class ConsistentHashingVisualizer extends JFrame {
+
+    private final int INITIAL_NODES = 5;
+    private final int KEY_COUNT = 100_000;
+    private final int VIRTUAL_NODES = 100;
+    private final int LOG_CAPACITY = 50000;
+    private final int[] COMPARE_VNODES = {1, 10, 50, 100, 200, 500};
+
+    private ConsistentHashing.Method method = ConsistentHashing.Method.RING;
+    private ConsistentHashing.Router router;
+    private int[] keys;
+    private ConsistentHashing.Assignment assignment;
+    // Per node id, keys that arrived with the last membership change
+    private int[] arrived = new int[0];
+    private int nextNodeId = 0;
+    private final Random rand = new Random();
+
+    private JComboBox<String> methodCombo;
+    private JSpinner vnodeSpinner;
+    private JSpinner keySpinner;
+    private JComboBox<Integer> nodeCombo;
+    private JLabel statusLabel;
+    private JPanel viewPanel;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+
+    private volatile boolean running = false;
+
+    public ConsistentHashingVisualizer() {
+        setTitle("Consistent Hashing Visualizer");
+        setSize(1250, 700);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("Consistent Hashing", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        add(title, BorderLayout.NORTH);
+
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 13));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Changes"));
+        add(logPanel, BorderLayout.WEST);
+
+        viewPanel = new JPanel() {
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                drawView((Graphics2D) g);
+            }
+        };
+        viewPanel.setBackground(new Color(20, 20, 20));
+        add(viewPanel, BorderLayout.CENTER);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        methodCombo = new JComboBox<>();
+        for (ConsistentHashing.Method m : ConsistentHashing.Method.values()) methodCombo.addItem(m.label);
+        methodCombo.addActionListener(e -> {
+            if (!running) reset();
+        });
+        vnodeSpinner = new JSpinner(new SpinnerNumberModel(VIRTUAL_NODES, 1, 5000, 10));
+        keySpinner = new JSpinner(new SpinnerNumberModel(KEY_COUNT, 1000, 2_000_000, 10_000));
+        nodeCombo = new JComboBox<>();
+
+        JButton resetBtn = new JButton("Reset");
+        resetBtn.addActionListener(e -> {
+            if (!running) reset();
+        });
+
+        JButton addBtn = new JButton("Add Node");
+        addBtn.addActionListener(e -> {
+            if (!running) addNode();
+        });
+
+        JButton removeBtn = new JButton("Remove Node");
+        removeBtn.addActionListener(e -> {
+            if (!running && nodeCombo.getSelectedItem() != null) removeNode((Integer) nodeCombo.getSelectedItem());
+        });
+
+        JButton compareBtn = new JButton("Compare Strategies");
+        compareBtn.addActionListener(e -> {
+            if (!running) compare();
+        });
+
+        JButton backBtn = new JButton("Back to Menu");
+        backBtn.addActionListener(e -> {
+            this.dispose();
+            new ui.DataStructuresVisualizer();
+        });
+
+        controlPanel.add(new JLabel("Strategy:"));
+        controlPanel.add(methodCombo);
+        controlPanel.add(new JLabel("VNodes:"));
+        controlPanel.add(vnodeSpinner);
+        controlPanel.add(new JLabel("Keys:"));
+        controlPanel.add(keySpinner);
+        controlPanel.add(resetBtn);
+        controlPanel.add(addBtn);
+        controlPanel.add(nodeCombo);
+        controlPanel.add(removeBtn);
+        controlPanel.add(compareBtn);
+        controlPanel.add(backBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        reset();
+        setVisible(true);
+    }
+
+    // New keys, new router with the chosen strategy and vnode count, INITIAL_NODES nodes
+    private void reset() {
+        method = ConsistentHashing.Method.values()[methodCombo.getSelectedIndex()];
+        int virtualNodes = (Integer) vnodeSpinner.getValue();
+        keys = rand.ints((Integer) keySpinner.getValue()).toArray();
+        router = ConsistentHashing.create(method, virtualNodes);
+        nextNodeId = 0;
+        for (int i = 0; i < INITIAL_NODES; i++) router.addNode(nextNodeId++);
+        log.clear();
+        log.add(EventLog.Kind.INFO, method.label + (method == ConsistentHashing.Method.RING ? ", " + virtualNodes + " vnodes" : "")
+                + ", " + String.format("%,d", keys.length) + " keys");
+
+        // Cleared only once the new assignment is in place, so no change can start from a stale one
+        running = true;
+        new Thread(() -> {
+            ConsistentHashing.Assignment next = ConsistentHashing.assign(router, keys, nextNodeId);
+            SwingUtilities.invokeLater(() -> {
+                assignment = next;
+                arrived = new int[nextNodeId];
+                String summary = router.nodes.size() + " nodes: " + balance(next);
+                log.add(EventLog.Kind.RESULT, summary);
+                statusLabel.setText(summary);
+                refreshNodes();
+                running = false;
+            });
+        }).start();
+    }
+
+    private void addNode() {
+        int id = nextNodeId++;
+        router.addNode(id);
+        // A new node can take at most its fair share from the others
+        reassign("Added node " + id, (double) keys.length / router.nodes.size());
+    }
+
+    private void removeNode(int id) {
+        if (router.nodes.size() == 1) return;
+        int owned = assignment.load[id];
+        router.removeNode(id);
+        // Only the departing node's keys have to move
+        reassign("Removed node " + id, owned);
+    }
+
+    private void reassign(String change, double minimumMoves) {
+        ConsistentHashing.Assignment previous = assignment;
+        ConsistentHashing.Router current = router;
+        int maxNodeId = nextNodeId;
+        running = true;
+        new Thread(() -> {
+            long start = System.nanoTime();
+            ConsistentHashing.Assignment next = ConsistentHashing.assign(current, keys, maxNodeId);
+            long elapsed = System.nanoTime() - start;
+            int moved = next.movedFrom(previous);
+            int[] gained = new int[maxNodeId];
+            for (int i = 0; i < keys.length; i++) {
+                if (next.owner[i] != previous.owner[i]) gained[next.owner[i]]++;
+            }
+            String summary = change + ": " + String.format("%,d", moved) + " keys moved ("
+                    + String.format("%.1f%%, %.2fx the minimum", 100.0 * moved / keys.length, minimumMoves == 0 ? 0 : moved / minimumMoves)
+                    + "), " + balance(next) + ", " + String.format("%.0f ns/lookup", (double) elapsed / keys.length);
+            SwingUtilities.invokeLater(() -> {
+                assignment = next;
+                arrived = gained;
+                log.add(EventLog.Kind.EDIT, summary);
+                statusLabel.setText(summary);
+                refreshNodes();
+                running = false;
+            });
+        }).start();
+    }
+
+    private String balance(ConsistentHashing.Assignment a) {
+        return String.format("max/mean %.3f, stddev %.1f%%", a.imbalance(), 100 * a.deviation());
+    }
+
+    private void compare() {
+        running = true;
+        int nodes = router.nodes.size();
+        int[] current = keys;
+        statusLabel.setText("Comparing strategies on " + String.format("%,d", current.length) + " keys...");
+        new Thread(() -> {
+            try {
+                String report = ConsistentHashing.compare(current, nodes, COMPARE_VNODES);
+                SwingUtilities.invokeLater(() -> {
+                    log.add(EventLog.Kind.RESULT, "Compared strategies at " + nodes + " nodes");
+                    JTextArea area = new JTextArea(report);
+                    area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                    area.setEditable(false);
+                    JOptionPane.showMessageDialog(this, area, "Consistent Hashing Strategies", JOptionPane.INFORMATION_MESSAGE);
+                });
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private void refreshNodes() {
+        nodeCombo.removeAllItems();
+        for (int id : router.nodes) nodeCombo.addItem(id);
+        viewPanel.repaint();
+    }
+
+    // Golden-ratio hue steps keep neighbouring ids apart
+    private Color nodeColor(int id) {
+        return Color.getHSBColor((id * 0.618034f) % 1f, 0.6f, 0.9f);
+    }
+
+    private void drawView(Graphics2D g) {
+        if (assignment == null) return;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int half = viewPanel.getWidth() / 2;
+        int size = Math.min(half, viewPanel.getHeight()) - 80;
+        if (size > 0) drawCircle(g, (half - size) / 2, 50, size);
+        drawLoads(g, half, 30, viewPanel.getWidth() - half - 30, viewPanel.getHeight() - 60);
+    }
+
+    // The ring itself for the ring strategy: each arc belongs to the vnode at its clockwise end. The other
+    // strategies have no ring, so they get a pie of each node's share.
+    private void drawCircle(Graphics2D g, int x, int y, int size) {
+        g.setColor(Color.WHITE);
+        if (router instanceof ConsistentHashing.Ring ring && ring.pointCount() > 0) {
+            g.drawString("Ring: " + ring.pointCount() + " points (" + ring.virtualNodes + " per node)", x, y - 15);
+            double full = 1L << 32;
+            for (int i = 0; i < ring.pointCount(); i++) {
+                long from = i == 0 ? ring.point(ring.pointCount() - 1) - (1L << 32) : ring.point(i - 1);
+                long to = ring.point(i);
+                // Java arcs run counter-clockwise from three o'clock; the ring is drawn clockwise from twelve
+                double startAngle = 90 - 360.0 * from / full;
+                double extent = -360.0 * (to - from) / full;
+                g.setColor(nodeColor(ring.owner(i)));
+                g.fill(new Arc2D.Double(x, y, size, size, startAngle, extent, Arc2D.PIE));
+            }
+        } else {
+            g.drawString("Share of keys per node", x, y - 15);
+            double angle = 90;
+            for (int id : router.nodes) {
+                double extent = -360.0 * assignment.load[id] / keys.length;
+                g.setColor(nodeColor(id));
+                g.fill(new Arc2D.Double(x, y, size, size, angle, extent, Arc2D.PIE));
+                angle += extent;
+            }
+        }
+        // Hollow centre so thin arcs still read as a ring
+        g.setColor(viewPanel.getBackground());
+        g.fillOval(x + size / 4, y + size / 4, size / 2, size / 2);
+    }
+
+    // One bar per live node; the part that arrived with the last change is drawn in orange, the mean as a line
+    private void drawLoads(Graphics2D g, int x0, int y0, int width, int height) {
+        int nodes = router.nodes.size();
+        if (nodes == 0) return;
+        int max = Math.max(1, assignment.maxLoad());
+        int barSpace = height - 60;
+        int barWidth = Math.max(2, Math.min(60, width / nodes - 4));
+        g.setColor(Color.WHITE);
+        g.drawString("Keys per node", x0, y0);
+
+        int i = 0;
+        for (int id : router.nodes) {
+            int x = x0 + i++ * (barWidth + 4);
+            int load = assignment.load[id];
+            int h = (int) ((long) barSpace * load / max);
+            int baseY = y0 + 20 + barSpace;
+            g.setColor(nodeColor(id));
+            g.fillRect(x, baseY - h, barWidth, h);
+            int gained = id < arrived.length ? arrived[id] : 0;
+            int gh = (int) ((long) barSpace * gained / max);
+            g.setColor(Color.ORANGE);
+            g.fillRect(x, baseY - h, barWidth, Math.min(h, gh));
+            if (barWidth >= 24) {
+                g.setColor(Color.WHITE);
+                g.drawString(String.valueOf(id), x + 2, baseY + 15);
+            }
+        }
+
+        int meanY = y0 + 20 + barSpace - (int) (barSpace * assignment.meanLoad() / max);
+        g.setColor(Color.WHITE);
+        g.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10, new float[]{6, 4}, 0));
+        g.drawLine(x0, meanY, x0 + nodes * (barWidth + 4), meanY);
+        g.setStroke(new BasicStroke());
+        g.drawString("mean " + String.format("%,.0f", assignment.meanLoad()), x0, meanY - 4);
+    }
+}
@@ -0,0 +1,319 @@
+package algorithms;
+
+// Bucketized cuckoo hashing: every key may live in one of two 4-slot buckets, chosen by two independent hashes,
+// or in a small stash. A lookup reads at most eight slots and the stash, whatever the load, which is what lets
+// the table run above 90% full. Inserts that find both buckets full evict a resident to its other bucket, and so
+// on along a path of at most MAX_DISPLACEMENTS moves; a key left over at the end goes to the stash, and once the
+// stash is full the table is rebuilt at twice the size.
+class CuckooTable extends OpenAddressingTable {
+
+    static final int BUCKET_SIZE = 4;
+    static final int STASH_SIZE = 4;
+    static final int MAX_DISPLACEMENTS = 128;
+    static final double MAX_LOAD_FACTOR = 0.95;
+
+    // How the most recent put ended, for the visualizer
+    enum Outcome {
+        UPDATED, PLACED, STASHED, REHASHED
+    }
+
+    private boolean[] used;
+    private int bucketMask;
+    private int[] stashKeys;
+    private int[] stashValues;
+    private int stashSize;
+
+    // Slots written by the last put, in order: the new key's slot first, then where each evicted key landed.
+    // One buffer for every put, so inserts allocate nothing.
+    private final int[] path = new int[MAX_DISPLACEMENTS + 1];
+    private int pathLength = 0;
+    private Outcome lastOutcome = Outcome.UPDATED;
+    private int rehashes = 0;
+    private int random = 0x2545F491;
+
+    // The key left in hand when an eviction path runs out and the stash is full
+    private int homelessKey;
+    private int homelessValue;
+
+    CuckooTable(int initialCapacity) {
+        this(initialCapacity, HashFunction.MURMUR3);
+    }
+
+    CuckooTable(int initialCapacity, HashFunction hashFunction) {
+        super(initialCapacity, hashFunction);
+    }
+
+    protected void allocate(int newCapacity) {
+        super.allocate(newCapacity);
+        used = new boolean[newCapacity];
+        bucketMask = newCapacity / BUCKET_SIZE - 1;
+        stashKeys = new int[STASH_SIZE];
+        stashValues = new int[STASH_SIZE];
+        stashSize = 0;
+    }
+
+    public String name() {
+        return "Cuckoo";
+    }
+
+    int primaryBucket(int key) {
+        return hashFunction.index(key, bucketMask + 1);
+    }
+
+    // Fixed second hash, independent of the pluggable first one
+    int secondaryBucket(int key) {
+        return HashFunction.fmix32(key * 0x9E3779B9 + 0x7F4A7C15) & bucketMask;
+    }
+
+    private int otherBucket(int key, int bucket) {
+        int primary = primaryBucket(key);
+        return bucket == primary ? secondaryBucket(key) : primary;
+    }
+
+    public boolean put(int key, int value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            pathLength = 0;
+            lastOutcome = Outcome.UPDATED;
+            return false;
+        }
+        int stashed = stashIndex(key);
+        if (stashed >= 0) {
+            stashValues[stashed] = value;
+            pathLength = 0;
+            lastOutcome = Outcome.UPDATED;
+            return false;
+        }
+
+        boolean rehashed = false;
+        if (size + 1 > MAX_LOAD_FACTOR * capacity) {
+            rebuild(capacity * 2, 0, 0, false);
+            rehashed = true;
+        }
+        if (!place(key, value)) {
+            // Every stored key stays put during a failed path except the one left in hand
+            rebuild(capacity * 2, homelessKey, homelessValue, true);
+            rehashed = true;
+        }
+        size++;
+        if (rehashed) {
+            pathLength = 0;
+            lastOutcome = Outcome.REHASHED;
+        }
+        return true;
+    }
+
+    // Random-walk insertion. On success path and lastOutcome describe the walk; on failure the key that
+    // could not be housed is left in homelessKey and homelessValue.
+    private boolean place(int key, int value) {
+        int length = 0;
+        int bucket = primaryBucket(key);
+        int free = freeSlot(bucket);
+        if (free < 0) {
+            bucket = secondaryBucket(key);
+            free = freeSlot(bucket);
+        }
+        int previous = -1;
+        for (int kick = 0; free < 0; kick++) {
+            if (kick == MAX_DISPLACEMENTS) {
+                pathLength = length;
+                if (stashSize < STASH_SIZE) {
+                    stashKeys[stashSize] = key;
+                    stashValues[stashSize++] = value;
+                    lastOutcome = Outcome.STASHED;
+                    return true;
+                }
+                homelessKey = key;
+                homelessValue = value;
+                return false;
+            }
+            // The slot just filled lies in the bucket the walk came from, so it can only come up again when the
+            // evicted key's two buckets coincide; skip it then, or the walk would throw out the key it just housed
+            int filled = previous >= 0 && previous / BUCKET_SIZE == bucket ? previous : -1;
+            int victim;
+            do {
+                victim = bucket * BUCKET_SIZE + nextRandom(BUCKET_SIZE);
+            } while (victim == filled);
+            int evictedKey = keys[victim];
+            int evictedValue = values[victim];
+            keys[victim] = key;
+            values[victim] = value;
+            path[length++] = victim;
+            previous = victim;
+            key = evictedKey;
+            value = evictedValue;
+            bucket = otherBucket(key, bucket);
+            free = freeSlot(bucket);
+        }
+        used[free] = true;
+        keys[free] = key;
+        values[free] = value;
+        path[length++] = free;
+        pathLength = length;
+        lastOutcome = Outcome.PLACED;
+        return true;
+    }
+
+    // Reinserts everything at the new capacity, doubling again in the unlikely case a path fails at half load
+    private void rebuild(int newCapacity, int extraKey, int extraValue, boolean hasExtra) {
+        int count = size + (hasExtra ? 1 : 0);
+        int[] allKeys = new int[count];
+        int[] allValues = new int[count];
+        int n = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!used[slot]) continue;
+            allKeys[n] = keys[slot];
+            allValues[n++] = values[slot];
+        }
+        for (int i = 0; i < stashSize; i++) {
+            allKeys[n] = stashKeys[i];
+            allValues[n++] = stashValues[i];
+        }
+        if (hasExtra) {
+            allKeys[n] = extraKey;
+            allValues[n++] = extraValue;
+        }
+
+        int savedSize = size;
+        for (int attempt = newCapacity; ; attempt *= 2) {
+            allocate(attempt);
+            boolean placed = true;
+            for (int i = 0; i < n && placed; i++) placed = place(allKeys[i], allValues[i]);
+            if (placed) break;
+        }
+        size = savedSize;
+        rehashes++;
+    }
+
+    private int freeSlot(int bucket) {
+        int first = bucket * BUCKET_SIZE;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (!used[slot]) return slot;
+        }
+        return -1;
+    }
+
+    public int get(int key) {
+        int slot = find(key);
+        if (slot >= 0) return values[slot];
+        int stashed = stashIndex(key);
+        return stashed < 0 ? NOT_FOUND : stashValues[stashed];
+    }
+
+    public boolean contains(int key) {
+        return find(key) >= 0 || stashIndex(key) >= 0;
+    }
+
+    private int find(int key) {
+        int slot = findInBucket(primaryBucket(key), key);
+        return slot >= 0 ? slot : findInBucket(secondaryBucket(key), key);
+    }
+
+    private int findInBucket(int bucket, int key) {
+        int first = bucket * BUCKET_SIZE;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (used[slot] && keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    private int stashIndex(int key) {
+        for (int i = 0; i < stashSize; i++) {
+            if (stashKeys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    public boolean remove(int key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            used[slot] = false;
+            size--;
+            unstash(slot / BUCKET_SIZE);
+            return true;
+        }
+        int stashed = stashIndex(key);
+        if (stashed < 0) return false;
+        stashKeys[stashed] = stashKeys[--stashSize];
+        stashValues[stashed] = stashValues[stashSize];
+        size--;
+        return true;
+    }
+
+    // A slot just freed up in this bucket; move back a stashed key that may live there
+    private void unstash(int bucket) {
+        for (int i = 0; i < stashSize; i++) {
+            int key = stashKeys[i];
+            if (primaryBucket(key) != bucket && secondaryBucket(key) != bucket) continue;
+            int free = freeSlot(bucket);
+            used[free] = true;
+            keys[free] = key;
+            values[free] = stashValues[i];
+            stashKeys[i] = stashKeys[--stashSize];
+            stashValues[i] = stashValues[stashSize];
+            return;
+        }
+    }
+
+    // xorshift32; the walk only needs to avoid bouncing between the same slots
+    private int nextRandom(int bound) {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return (random >>> 1) % bound;
+    }
+
+    boolean isFull(int slot) {
+        return used[slot];
+    }
+
+    int home(int key) {
+        return primaryBucket(key) * BUCKET_SIZE;
+    }
+
+    // 0 in the primary bucket, 1 in the secondary one
+    int displacement(int slot) {
+        return slot / BUCKET_SIZE == primaryBucket(keys[slot]) ? 0 : 1;
+    }
+
+    int probeWidth() {
+        return BUCKET_SIZE;
+    }
+
+    // Primary bucket, then the secondary one; the stash is checked after both but has no slot numbers
+    int[] probeSequence(int key) {
+        int[] sequence = new int[2 * BUCKET_SIZE];
+        int length = 0;
+        int[] buckets = {primaryBucket(key), secondaryBucket(key)};
+        for (int bucket : buckets) {
+            for (int i = 0; i < BUCKET_SIZE; i++) sequence[length++] = bucket * BUCKET_SIZE + i;
+            if (findInBucket(bucket, key) >= 0) break;
+        }
+        return trim(sequence, length);
+    }
+
+    int[] lastPath() {
+        return trim(path, pathLength);
+    }
+
+    Outcome lastOutcome() {
+        return lastOutcome;
+    }
+
+    int rehashes() {
+        return rehashes;
+    }
+
+    int stashSize() {
+        return stashSize;
+    }
+
+    int stashKey(int i) {
+        return stashKeys[i];
+    }
+
+    public long memoryBytes() {
+        return 9L * capacity + 8L * STASH_SIZE + 5 * 16 + 48;
+    }
+}
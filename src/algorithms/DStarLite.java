@@ -0,0 +1,170 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+// D* Lite (Koenig & Likhachev) searching backwards from the goal, so edge changes only re-expand inconsistent nodes
+class DStarLite {
+
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    private final WeightedGraph graph;
+    private final int start;
+    private final int goal;
+    private final IntBinaryOperator heuristic;
+    private final int[] g;
+    private final int[] rhs;
+    private final IndexedMinHeap queue;
+    private final boolean[] touched;
+    private final List<Integer> touchedNodes = new ArrayList<>();
+
+    DStarLite(WeightedGraph graph, int start, int goal, IntBinaryOperator heuristic) {
+        this.graph = graph;
+        this.start = start;
+        this.goal = goal;
+        this.heuristic = heuristic;
+        this.g = new int[graph.nodeCount()];
+        this.rhs = new int[graph.nodeCount()];
+        this.queue = new IndexedMinHeap(graph.nodeCount());
+        this.touched = new boolean[graph.nodeCount()];
+
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        rhs[goal] = 0;
+        queue.push(goal, key(goal));
+    }
+
+    int start() {
+        return start;
+    }
+
+    int goal() {
+        return goal;
+    }
+
+    // The optimized loop may stop with the start still overconsistent, so its rhs is the settled cost
+    int cost() {
+        return rhs[start] >= INF ? -1 : rhs[start];
+    }
+
+    int[] computeShortestPath() {
+        while (queue.peekKey() < key(start) || rhs[start] > g[start]) {
+            int u = queue.peek();
+            long oldKey = queue.peekKey();
+            long newKey = key(u);
+            touch(u);
+
+            if (oldKey < newKey) {
+                queue.push(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                queue.remove(u);
+                for (int e = 0; e < graph.degree(u); e++) {
+                    int s = graph.target(u, e);
+                    if (s != goal) rhs[s] = Math.min(rhs[s], add(graph.weight(u, e), g[u]));
+                    updateVertex(s);
+                }
+            } else {
+                int oldG = g[u];
+                g[u] = INF;
+                for (int e = 0; e < graph.degree(u); e++) {
+                    int s = graph.target(u, e);
+                    if (s != goal && rhs[s] == add(graph.weight(u, e), oldG)) rhs[s] = bestSuccessor(s);
+                    updateVertex(s);
+                }
+                if (u != goal) rhs[u] = bestSuccessor(u);
+                updateVertex(u);
+            }
+        }
+        return drainTouched();
+    }
+
+    // Applies the change to the graph (a negative weight deletes the edge) and replans
+    int[] updateEdge(int u, int v, int newWeight) {
+        int oldWeight = graph.edgeWeight(u, v);
+        if (newWeight < 0) graph.removeEdge(u, v);
+        else graph.setEdge(u, v, newWeight);
+
+        edgeChanged(u, v, oldWeight, newWeight);
+        edgeChanged(v, u, oldWeight, newWeight);
+        return computeShortestPath();
+    }
+
+    private void edgeChanged(int from, int to, int oldWeight, int newWeight) {
+        if (from == goal) return;
+        int oldCost = oldWeight < 0 ? INF : oldWeight;
+        int newCost = newWeight < 0 ? INF : newWeight;
+        if (oldCost > newCost) {
+            rhs[from] = Math.min(rhs[from], add(newCost, g[to]));
+        } else if (rhs[from] == add(oldCost, g[to])) {
+            rhs[from] = bestSuccessor(from);
+        }
+        touch(from);
+        updateVertex(from);
+    }
+
+    List<Integer> path() {
+        List<Integer> path = new ArrayList<>();
+        if (rhs[start] >= INF) return path;
+        boolean[] seen = new boolean[graph.nodeCount()];
+        int current = start;
+        path.add(current);
+        seen[current] = true;
+        while (current != goal) {
+            int next = -1;
+            int best = INF;
+            for (int e = 0; e < graph.degree(current); e++) {
+                int s = graph.target(current, e);
+                int cost = add(graph.weight(current, e), g[s]);
+                if (cost < best && !seen[s]) {
+                    best = cost;
+                    next = s;
+                }
+            }
+            if (next < 0) return new ArrayList<>();
+            current = next;
+            seen[current] = true;
+            path.add(current);
+        }
+        return path;
+    }
+
+    private int bestSuccessor(int node) {
+        int best = INF;
+        for (int e = 0; e < graph.degree(node); e++) {
+            best = Math.min(best, add(graph.weight(node, e), g[graph.target(node, e)]));
+        }
+        return best;
+    }
+
+    private void updateVertex(int node) {
+        if (g[node] != rhs[node]) queue.push(node, key(node));
+        else queue.remove(node);
+    }
+
+    private long key(int node) {
+        int k2 = Math.min(g[node], rhs[node]);
+        int k1 = k2 >= INF ? INF : k2 + heuristic.applyAsInt(start, node);
+        return ((long) k1 << 32) | k2;
+    }
+
+    private int add(int a, int b) {
+        return a >= INF || b >= INF ? INF : Math.min(INF, a + b);
+    }
+
+    private void touch(int node) {
+        if (!touched[node]) {
+            touched[node] = true;
+            touchedNodes.add(node);
+        }
+    }
+
+    private int[] drainTouched() {
+        int[] result = touchedNodes.stream().mapToInt(Integer::intValue).toArray();
+        for (int node : result) touched[node] = false;
+        touchedNodes.clear();
+        return result;
+    }
+}
@@ -10,21 +10,36 @@ public class DijkstraVisualizer extends JFrame {
     private final int NODE_COUNT = 8;
     private final int PANEL_WIDTH = 600;
     private final int PANEL_HEIGHT = 500;
+    private final int ANIMATION_LIMIT = 50;
+    private final int LOG_CAPACITY = 50000;
 
-    private List<Node> nodes = new ArrayList<>();
-    private List<Edge> edges = new ArrayList<>();
+    private WeightedGraph graph;
+    private ForceLayout layout;
     private Random rand = new Random();
 
     private JComboBox<String> sourceSelector;
-    private JTextArea logArea;
+    private JSpinner nodeCountSpinner;
+    private JToggleButton layoutBtn;
+    private JComboBox<String> edgeFromSelector;
+    private JComboBox<String> edgeToSelector;
+    private JSpinner weightSpinner;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
     private GraphPanel graphPanel;
+    private JLabel cacheLabel;
+
+    private final ShortestPathCache cache = new ShortestPathCache(16);
+    private int graphVersion = 0;
+
+    private DynamicShortestPaths tree;
+    private volatile boolean running = false;
 
     private Map<Integer, Integer> finalDistances = new HashMap<>();
     private Set<String> visitedEdges = new HashSet<>();
+    private Set<Integer> touchedNodes = new HashSet<>();
 
     public DijkstraVisualizer() {
         setTitle("Dijkstra's Algorithm Visualizer");
-        setSize(900, 600);
+        setSize(1100, 650);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
@@ -37,14 +52,17 @@ public class DijkstraVisualizer extends JFrame {
         title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
         add(title, BorderLayout.NORTH);
 
-        logArea = new JTextArea();
-        logArea.setEditable(false);
-        logArea.setFont(new Font("Monospaced", Font.PLAIN, 13));
-        JScrollPane scrollPane = new JScrollPane(logArea);
-        scrollPane.setPreferredSize(new Dimension(280, PANEL_HEIGHT));
-        add(scrollPane, BorderLayout.WEST);
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Monospaced", Font.PLAIN, 13));
+        logPanel.setPreferredSize(new Dimension(280, PANEL_HEIGHT));
+        add(logPanel, BorderLayout.WEST);
 
         graphPanel = new GraphPanel();
+        graphPanel.setNodeColors(id -> {
+            if (touchedNodes.contains(id)) return Color.ORANGE;
+            if (finalDistances.containsKey(id)) return new Color(50, 200, 50);
+            return Color.CYAN;
+        });
+        graphPanel.setNodeClickListener((event, node) -> sourceSelector.setSelectedIndex(node));
         graphPanel.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
         add(graphPanel, BorderLayout.CENTER);
 
@@ -55,15 +73,22 @@ public class DijkstraVisualizer extends JFrame {
         sourceSelector.setFont(new Font("Segoe UI", Font.PLAIN, 14));
 
         JButton runBtn = new JButton("Run Dijkstra");
-        runBtn.addActionListener(e -> runDijkstra((String) sourceSelector.getSelectedItem()));
+        runBtn.addActionListener(e -> {
+            if (!running) runDijkstra((String) sourceSelector.getSelectedItem());
+        });
 
         JButton resetBtn = new JButton("Reset");
         resetBtn.addActionListener(e -> {
+            if (running) return;
             generateRandomGraph();
             updateNodeSelector();
-            logArea.setText("");
+            log.clear();
             finalDistances.clear();
             visitedEdges.clear();
+            touchedNodes.clear();
+            tree = null;
+            cache.invalidate();
+            updateCacheLabel();
             repaint();
         });
 
@@ -73,14 +98,55 @@ public class DijkstraVisualizer extends JFrame {
             new ui.AdvancedAlgorithmsVisualizer();
         });
 
+        nodeCountSpinner = new JSpinner(new SpinnerNumberModel(NODE_COUNT, 2, 100000, 1));
 
+        layoutBtn = new JToggleButton("Force Layout");
+        layoutBtn.addActionListener(e -> {
+            if (layoutBtn.isSelected()) startLayout();
+            else stopLayout();
+        });
+
+
+        bottomPanel.add(new JLabel("Nodes:"));
+        bottomPanel.add(nodeCountSpinner);
         bottomPanel.add(new JLabel("Start Node:"));
         bottomPanel.add(sourceSelector);
         bottomPanel.add(runBtn);
         bottomPanel.add(resetBtn);
+        bottomPanel.add(layoutBtn);
         bottomPanel.add(backBtn);
 
-        add(bottomPanel, BorderLayout.SOUTH);
+        cacheLabel = new JLabel();
+        cacheLabel.setForeground(Color.WHITE);
+        bottomPanel.add(cacheLabel);
+        updateCacheLabel();
+
+        // EDGE EDITOR - changes are repaired into the last shortest path tree
+        JPanel editPanel = new JPanel();
+        editPanel.setBackground(new Color(30, 30, 30));
+
+        edgeFromSelector = new JComboBox<>();
+        edgeToSelector = new JComboBox<>();
+        weightSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 99, 1));
+
+        JButton setWeightBtn = new JButton("Set Weight");
+        setWeightBtn.addActionListener(e -> editEdge((Integer) weightSpinner.getValue()));
+
+        JButton deleteEdgeBtn = new JButton("Delete Edge");
+        deleteEdgeBtn.addActionListener(e -> editEdge(-1));
+
+        editPanel.add(new JLabel("Edge:"));
+        editPanel.add(edgeFromSelector);
+        editPanel.add(edgeToSelector);
+        editPanel.add(new JLabel("Weight:"));
+        editPanel.add(weightSpinner);
+        editPanel.add(setWeightBtn);
+        editPanel.add(deleteEdgeBtn);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(editPanel);
+        southPanel.add(bottomPanel);
+        add(southPanel, BorderLayout.SOUTH);
 
         // Initial setup
         generateRandomGraph();
@@ -89,149 +155,200 @@ public class DijkstraVisualizer extends JFrame {
     }
 
     private void generateRandomGraph() {
-        nodes.clear();
-        edges.clear();
+        stopLayout();
+        int nodeCount = (Integer) nodeCountSpinner.getValue();
+        // Keep small graphs as dense as before, but cap the average degree so large ones stay sparse
+        graph = WeightedGraph.random(nodeCount, Math.min(0.35, 4.0 / nodeCount), 9, rand);
+        graphVersion++;
+
+        float[][] positions = ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+        graphPanel.setGraph(graph, positions[0], positions[1]);
+    }
 
-        for (int i = 0; i < NODE_COUNT; i++) {
-            int x = rand.nextInt(PANEL_WIDTH - 100) + 50;
-            int y = rand.nextInt(PANEL_HEIGHT - 100) + 50;
-            nodes.add(new Node(i, x, y));
-        }
+    private void updateNodeSelector() {
+        String[] ids = new String[graph.nodeCount()];
+        for (int i = 0; i < ids.length; i++) ids[i] = String.valueOf(i);
+        sourceSelector.setModel(new DefaultComboBoxModel<>(ids));
+        edgeFromSelector.setModel(new DefaultComboBoxModel<>(ids));
+        edgeToSelector.setModel(new DefaultComboBoxModel<>(ids));
+    }
 
-        for (int i = 0; i < NODE_COUNT; i++) {
-            for (int j = i + 1; j < NODE_COUNT; j++) {
-                if (rand.nextDouble() < 0.35) {
-                    int weight = rand.nextInt(9) + 1;
-                    edges.add(new Edge(nodes.get(i), nodes.get(j), weight));
-                    edges.add(new Edge(nodes.get(j), nodes.get(i), weight));
-                }
-            }
-        }
+    private void startLayout() {
+        stopLayout();
+        layout = new ForceLayout(graph, graphPanel.xs(), graphPanel.ys());
+        ForceLayout current = layout;
+        current.start(() -> {
+            graphPanel.setPositions(current.xs(), current.ys());
+            if (!current.isRunning()) SwingUtilities.invokeLater(() -> {
+                if (layout == current) layoutBtn.setSelected(false);
+            });
+        });
     }
 
-    private void updateNodeSelector() {
-        sourceSelector.removeAllItems();
-        for (Node node : nodes) {
-            sourceSelector.addItem(String.valueOf(node.id));
-        }
+    private void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+        if (layoutBtn != null) layoutBtn.setSelected(false);
+    }
+
+    public void dispose() {
+        stopLayout();
+        super.dispose();
     }
 
     private void runDijkstra(String startIdStr) {
+        running = true;
+        touchedNodes.clear();
         new Thread(() -> {
-            int startId = Integer.parseInt(startIdStr);
-            Map<Integer, Integer> distances = new HashMap<>();
-            Map<Integer, Integer> previous = new HashMap<>();
-            Set<Integer> visited = new HashSet<>();
-            PriorityQueue<NodeDistance> queue = new PriorityQueue<>(Comparator.comparingInt(n -> n.distance));
-
-            for (Node node : nodes) distances.put(node.id, Integer.MAX_VALUE);
-            distances.put(startId, 0);
-            queue.add(new NodeDistance(startId, 0));
-
-            log("Starting from node: " + startId);
-
-            while (!queue.isEmpty()) {
-                NodeDistance current = queue.poll();
-                int currentId = current.nodeId;
-
-                if (!visited.add(currentId)) continue;
-
-                log("Visiting node " + currentId + " with distance " + current.distance);
-
-                for (Edge edge : edges) {
-                    if (edge.start.id == currentId) {
-                        int neighborId = edge.end.id;
-                        int newDist = distances.get(currentId) + edge.weight;
-
-                        if (newDist < distances.get(neighborId)) {
-                            distances.put(neighborId, newDist);
-                            previous.put(neighborId, currentId);
-                            queue.add(new NodeDistance(neighborId, newDist));
-                            log("  Updated distance to node " + neighborId + " to " + newDist);
-                        }
-                    }
+            try {
+                solve(startIdStr);
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private void solve(String startIdStr) {
+        int startId = Integer.parseInt(startIdStr);
+        int version = graphVersion;
+
+        long lookupStart = System.nanoTime();
+        ShortestPathCache.Tree cached = cache.get(version, startId);
+        if (cached != null) {
+            showCachedTree(cached, System.nanoTime() - lookupStart);
+            return;
+        }
+        updateCacheLabel();
+
+        Map<Integer, Integer> distances = new HashMap<>();
+        Map<Integer, Integer> previous = new HashMap<>();
+        Set<Integer> visited = new HashSet<>();
+        PriorityQueue<NodeDistance> queue = new PriorityQueue<>(Comparator.comparingInt(n -> n.distance));
+
+        int nodeCount = graph.nodeCount();
+        for (int i = 0; i < nodeCount; i++) distances.put(i, Integer.MAX_VALUE);
+        distances.put(startId, 0);
+        queue.add(new NodeDistance(startId, 0));
+
+        log.add(EventLog.Kind.INFO, "Starting from node: %d", startId);
+
+        while (!queue.isEmpty()) {
+            NodeDistance current = queue.poll();
+            int currentId = current.nodeId;
+
+            if (!visited.add(currentId)) continue;
+
+            log.add(EventLog.Kind.VISIT, "Visiting node %d with distance %d", currentId, current.distance);
+
+            for (int e = 0; e < graph.degree(currentId); e++) {
+                int neighborId = graph.target(currentId, e);
+                int newDist = distances.get(currentId) + graph.weight(currentId, e);
+
+                if (newDist < distances.get(neighborId)) {
+                    distances.put(neighborId, newDist);
+                    previous.put(neighborId, currentId);
+                    queue.add(new NodeDistance(neighborId, newDist));
+                    log.add(EventLog.Kind.RELAX, "  Updated distance to node %d to %d", neighborId, newDist);
                 }
+            }
 
-                finalDistances.clear();
-                finalDistances.putAll(distances);
-                visitedEdges.add(String.valueOf(currentId));
-                graphPanel.repaint();
+            finalDistances.clear();
+            finalDistances.putAll(distances);
+            visitedEdges.add(String.valueOf(currentId));
+            graphPanel.repaint();
 
+            if (nodeCount <= ANIMATION_LIMIT) {
                 try {
                     Thread.sleep(700);
                 } catch (InterruptedException ignored) {
                 }
             }
+        }
 
-            log("Dijkstra completed.");
-        }).start();
-    }
+        int[] dist = new int[nodeCount];
+        int[] prev = new int[nodeCount];
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = distances.get(i);
+            prev[i] = previous.getOrDefault(i, -1);
+        }
+        cache.put(version, startId, dist, prev);
+        tree = new DynamicShortestPaths(graph, startId, dist, prev);
+        updateCacheLabel();
 
-    private void log(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(message + "\n");
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        log.add(EventLog.Kind.RESULT, "Dijkstra completed.");
     }
 
-    private class GraphPanel extends JPanel {
-        public GraphPanel() {
-            setBackground(new Color(20, 20, 20));
+    private void editEdge(int weight) {
+        if (running || edgeFromSelector.getSelectedItem() == null) return;
+        int from = Integer.parseInt((String) edgeFromSelector.getSelectedItem());
+        int to = Integer.parseInt((String) edgeToSelector.getSelectedItem());
+        if (from == to) return;
+        if (weight < 0 && graph.edgeWeight(from, to) < 0) {
+            log.add(EventLog.Kind.EDIT, "No edge between %d and %d", from, to);
+            return;
         }
 
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            for (Edge edge : edges) {
-                g2.setColor(Color.GRAY);
-                int x1 = edge.start.x;
-                int y1 = edge.start.y;
-                int x2 = edge.end.x;
-                int y2 = edge.end.y;
-                g2.drawLine(x1, y1, x2, y2);
-
-                String weightLabel = String.valueOf(edge.weight);
-                int labelX = (x1 + x2) / 2;
-                int labelY = (y1 + y2) / 2;
-                g2.setColor(Color.WHITE);
-                g2.drawString(weightLabel, labelX, labelY);
-            }
-
-            for (Node node : nodes) {
-                if (finalDistances.containsKey(node.id)) {
-                    g2.setColor(new Color(50, 200, 50));
-                } else {
-                    g2.setColor(Color.CYAN);
-                }
-                g2.fillOval(node.x - 15, node.y - 15, 30, 30);
-                g2.setColor(Color.BLACK);
-                g2.drawOval(node.x - 15, node.y - 15, 30, 30);
-                g2.drawString(String.valueOf(node.id), node.x - 5, node.y + 5);
-            }
+        graphVersion++;
+        touchedNodes.clear();
+        if (tree == null) {
+            if (weight < 0) graph.removeEdge(from, to);
+            else graph.setEdge(from, to, weight);
+            if (layout != null) layout.snapshotEdges();
+            log.add(EventLog.Kind.EDIT, "Edge " + from + "-" + to + (weight < 0 ? " deleted" : " set to " + weight) + " (no tree to repair yet)");
+            graphPanel.repaint();
+            return;
         }
-    }
 
-    private static class Node {
-        int id, x, y;
+        long start = System.nanoTime();
+        int[] touched = tree.updateEdge(from, to, weight);
+        long elapsed = System.nanoTime() - start;
+        if (layout != null) layout.snapshotEdges();
+
+        int[] dist = tree.dist();
+        cache.put(graphVersion, tree.source(), dist.clone(), tree.prev().clone());
+        finalDistances.clear();
+        visitedEdges.clear();
+        for (int i = 0; i < dist.length; i++) {
+            finalDistances.put(i, dist[i]);
+            if (dist[i] != Integer.MAX_VALUE) visitedEdges.add(String.valueOf(i));
+        }
+        for (int node : touched) touchedNodes.add(node);
 
-        public Node(int id, int x, int y) {
-            this.id = id;
-            this.x = x;
-            this.y = y;
+        log.add(EventLog.Kind.EDIT, "Edge " + from + "-" + to + (weight < 0 ? " deleted" : " set to " + weight) + ": repaired "
+                + touched.length + " of " + dist.length + " nodes in " + (elapsed / 1000) + " µs");
+        for (int node : touched) {
+            if (dist[node] == Integer.MAX_VALUE) log.add(EventLog.Kind.RESULT, "  Node %d: unreachable", node);
+            else log.add(EventLog.Kind.RESULT, "  Node %d: distance %d", node, dist[node]);
         }
+        updateCacheLabel();
+        graphPanel.repaint();
     }
 
-    private static class Edge {
-        Node start, end;
-        int weight;
-
-        public Edge(Node start, Node end, int weight) {
-            this.start = start;
-            this.end = end;
-            this.weight = weight;
+    private void showCachedTree(ShortestPathCache.Tree cached, long lookupNanos) {
+        tree = new DynamicShortestPaths(graph, cached.source, cached.dist, cached.prev);
+        log.add(EventLog.Kind.CACHE, "Source %d answered from cache in %d µs", cached.source, lookupNanos / 1000);
+        finalDistances.clear();
+        visitedEdges.clear();
+        for (int i = 0; i < cached.dist.length; i++) {
+            finalDistances.put(i, cached.dist[i]);
+            if (cached.reaches(i)) {
+                visitedEdges.add(String.valueOf(i));
+                // Paths are only spelled out for graphs small enough to read them
+                if (cached.dist.length <= ANIMATION_LIMIT) {
+                    log.add(EventLog.Kind.RESULT, "  Node " + i + ": distance " + cached.dist[i] + ", path " + cached.pathTo(i));
+                } else {
+                    log.add(EventLog.Kind.RESULT, "  Node %d: distance %d", i, cached.dist[i]);
+                }
+            } else {
+                log.add(EventLog.Kind.RESULT, "  Node %d: unreachable", i);
+            }
         }
+        updateCacheLabel();
+        graphPanel.repaint();
+    }
+
+    private void updateCacheLabel() {
+        SwingUtilities.invokeLater(() -> cacheLabel.setText(cache.stats()));
     }
 
     private static class NodeDistance {
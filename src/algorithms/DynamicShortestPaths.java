@@ -0,0 +1,148 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Single-source shortest path tree that is repaired in place when one edge changes (Ramalingam–Reps style)
+class DynamicShortestPaths {
+
+    private final WeightedGraph graph;
+    private final int source;
+    private final int[] dist;
+    private final int[] prev;
+    private final IndexedMinHeap queue;
+    private final boolean[] marked;
+
+    DynamicShortestPaths(WeightedGraph graph, int source, int[] dist, int[] prev) {
+        this.graph = graph;
+        this.source = source;
+        this.dist = dist.clone();
+        this.prev = prev.clone();
+        this.queue = new IndexedMinHeap(graph.nodeCount());
+        this.marked = new boolean[graph.nodeCount()];
+    }
+
+    int source() {
+        return source;
+    }
+
+    int[] dist() {
+        return dist;
+    }
+
+    int[] prev() {
+        return prev;
+    }
+
+    // Applies the change to the graph (a negative weight deletes the edge) and returns the nodes that were revisited
+    int[] updateEdge(int u, int v, int newWeight) {
+        int oldWeight = graph.edgeWeight(u, v);
+        if (newWeight < 0) graph.removeEdge(u, v);
+        else graph.setEdge(u, v, newWeight);
+
+        List<Integer> touched = new ArrayList<>();
+        boolean increased = oldWeight >= 0 && (newWeight < 0 || newWeight > oldWeight);
+        if (increased) {
+            if (prev[v] == u) repairIncrease(v, touched);
+            else if (prev[u] == v) repairIncrease(u, touched);
+        } else if (newWeight >= 0) {
+            relaxInserted(u, v, newWeight);
+            relaxInserted(v, u, newWeight);
+            propagate(touched);
+        }
+
+        for (int node : touched) marked[node] = false;
+        return touched.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void relaxInserted(int from, int to, int weight) {
+        if (dist[from] == Integer.MAX_VALUE) return;
+        if (dist[from] + weight < dist[to]) {
+            dist[to] = dist[from] + weight;
+            prev[to] = from;
+            queue.push(to, dist[to]);
+        }
+    }
+
+    // Only the tree below the weakened edge can get longer; everything else keeps its distance
+    private void repairIncrease(int subtreeRoot, List<Integer> touched) {
+        List<Integer> affected = new ArrayList<>();
+        affected.add(subtreeRoot);
+        marked[subtreeRoot] = true;
+        for (int i = 0; i < affected.size(); i++) {
+            int node = affected.get(i);
+            for (int e = 0; e < graph.degree(node); e++) {
+                int child = graph.target(node, e);
+                if (prev[child] == node && !marked[child]) {
+                    marked[child] = true;
+                    affected.add(child);
+                }
+            }
+        }
+
+        for (int node : affected) {
+            dist[node] = Integer.MAX_VALUE;
+            prev[node] = -1;
+        }
+        for (int node : affected) {
+            for (int e = 0; e < graph.degree(node); e++) {
+                int neighbor = graph.target(node, e);
+                if (marked[neighbor] || dist[neighbor] == Integer.MAX_VALUE) continue;
+                int candidate = dist[neighbor] + graph.weight(node, e);
+                if (candidate < dist[node]) {
+                    dist[node] = candidate;
+                    prev[node] = neighbor;
+                }
+            }
+            if (dist[node] != Integer.MAX_VALUE) queue.push(node, dist[node]);
+        }
+
+        touched.addAll(affected);
+        propagate(touched);
+    }
+
+    private void propagate(List<Integer> touched) {
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (!marked[node]) {
+                marked[node] = true;
+                touched.add(node);
+            }
+            for (int e = 0; e < graph.degree(node); e++) {
+                int neighbor = graph.target(node, e);
+                int candidate = dist[node] + graph.weight(node, e);
+                if (candidate < dist[neighbor]) {
+                    dist[neighbor] = candidate;
+                    prev[neighbor] = node;
+                    queue.push(neighbor, candidate);
+                }
+            }
+        }
+    }
+
+    static int[][] solve(WeightedGraph graph, int source) {
+        int n = graph.nodeCount();
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(prev, -1);
+        dist[source] = 0;
+
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        queue.push(source, 0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = 0; e < graph.degree(node); e++) {
+                int neighbor = graph.target(node, e);
+                int candidate = dist[node] + graph.weight(node, e);
+                if (candidate < dist[neighbor]) {
+                    dist[neighbor] = candidate;
+                    prev[neighbor] = node;
+                    queue.push(neighbor, candidate);
+                }
+            }
+        }
+        return new int[][]{dist, prev};
+    }
+}
@@ -0,0 +1,115 @@
+package algorithms;
+
+// Fixed-capacity ring of step events; workers append primitives and a constant template, text is only built when shown
+class EventLog {
+
+    enum Kind {
+        INFO("Info"), VISIT("Visit"), RELAX("Relax"), EDIT("Edit"), CACHE("Cache"), RESULT("Result");
+
+        final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final int capacity;
+    private final byte[] kinds;
+    private final byte[] arity;
+    private final String[] templates;
+    private final long[] argA;
+    private final long[] argB;
+    private final long[] argC;
+
+    // Sequence numbers only grow; slot = sequence % capacity, and everything below first has been overwritten
+    private long first = 0;
+    private volatile long end = 0;
+
+    EventLog(int capacity) {
+        this.capacity = capacity;
+        kinds = new byte[capacity];
+        arity = new byte[capacity];
+        templates = new String[capacity];
+        argA = new long[capacity];
+        argB = new long[capacity];
+        argC = new long[capacity];
+    }
+
+    // The message is kept as-is, so callers pass a ready string only for rare, one-off lines
+    void add(Kind kind, String message) {
+        append(kind, message, 0, 0, 0, 0);
+    }
+
+    void add(Kind kind, String template, long a) {
+        append(kind, template, 1, a, 0, 0);
+    }
+
+    void add(Kind kind, String template, long a, long b) {
+        append(kind, template, 2, a, b, 0);
+    }
+
+    void add(Kind kind, String template, long a, long b, long c) {
+        append(kind, template, 3, a, b, c);
+    }
+
+    private synchronized void append(Kind kind, String template, int count, long a, long b, long c) {
+        int slot = (int) (end % capacity);
+        kinds[slot] = (byte) kind.ordinal();
+        arity[slot] = (byte) count;
+        templates[slot] = template;
+        argA[slot] = a;
+        argB[slot] = b;
+        argC[slot] = c;
+        end++;
+        if (end - first > capacity) first = end - capacity;
+    }
+
+    synchronized void clear() {
+        first = end;
+    }
+
+    synchronized long first() {
+        return first;
+    }
+
+    long end() {
+        return end;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // Null when the event has already been overwritten
+    synchronized Kind kind(long sequence) {
+        if (sequence < first || sequence >= end) return null;
+        return KINDS[kinds[(int) (sequence % capacity)]];
+    }
+
+    String format(long sequence) {
+        String template;
+        int count;
+        long a, b, c;
+        synchronized (this) {
+            if (sequence < first || sequence >= end) return null;
+            int slot = (int) (sequence % capacity);
+            template = templates[slot];
+            count = arity[slot];
+            a = argA[slot];
+            b = argB[slot];
+            c = argC[slot];
+        }
+        switch (count) {
+            case 0:
+                return template;
+            case 1:
+                return String.format(template, a);
+            case 2:
+                return String.format(template, a, b);
+            default:
+                return String.format(template, a, b, c);
+        }
+    }
+}
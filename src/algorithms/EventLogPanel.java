@@ -0,0 +1,229 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// Virtualized view of an EventLog: rows are formatted only when painted, and new events are drained once per frame
+class EventLogPanel extends JPanel {
+
+    private static final int FRAME_MILLIS = 16;
+
+    private final EventLog log;
+    private final RowModel model = new RowModel();
+    private final JList<String> list = new JList<>(model);
+    private final JScrollPane scroll = new JScrollPane(list);
+    private final JComboBox<String> kindFilter = new JComboBox<>();
+    private final JTextField searchField = new JTextField(10);
+    private final JLabel countLabel = new JLabel();
+    private final Timer flushTimer = new Timer(FRAME_MILLIS, e -> flush());
+
+    private EventLog.Kind kind = null;
+    private String search = "";
+
+    EventLogPanel(EventLog log, Font font) {
+        super(new BorderLayout());
+        this.log = log;
+
+        list.setFont(font);
+        // A prototype fixes the cell size, so the list never measures rows it is not painting
+        list.setPrototypeCellValue("  Updated distance to node 000000 to 000000");
+
+        kindFilter.addItem("All");
+        for (EventLog.Kind k : EventLog.Kind.values()) kindFilter.addItem(k.label);
+        kindFilter.addActionListener(e -> {
+            int index = kindFilter.getSelectedIndex();
+            kind = index <= 0 ? null : EventLog.Kind.values()[index - 1];
+            rebuild();
+        });
+
+        searchField.setToolTipText("Show only lines containing this text");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                searchChanged();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                searchChanged();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                searchChanged();
+            }
+        });
+
+        JButton clearBtn = new JButton("Clear");
+        clearBtn.addActionListener(e -> {
+            log.clear();
+            flush();
+        });
+
+        JButton exportBtn = new JButton("Export");
+        exportBtn.addActionListener(e -> export());
+
+        JPanel filterRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 2));
+        filterRow.add(kindFilter);
+        filterRow.add(searchField);
+        JPanel actionRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 2));
+        actionRow.add(clearBtn);
+        actionRow.add(exportBtn);
+        actionRow.add(countLabel);
+
+        JPanel toolbar = new JPanel(new GridLayout(2, 1));
+        toolbar.add(filterRow);
+        toolbar.add(actionRow);
+        add(toolbar, BorderLayout.NORTH);
+        add(scroll, BorderLayout.CENTER);
+        updateCountLabel();
+    }
+
+    public void addNotify() {
+        super.addNotify();
+        flushTimer.start();
+    }
+
+    public void removeNotify() {
+        flushTimer.stop();
+        super.removeNotify();
+    }
+
+    private void searchChanged() {
+        search = searchField.getText().toLowerCase();
+        rebuild();
+    }
+
+    private boolean filtering() {
+        return kind != null || !search.isEmpty();
+    }
+
+    private boolean matches(long sequence) {
+        if (kind != null && log.kind(sequence) != kind) return false;
+        if (search.isEmpty()) return true;
+        String line = log.format(sequence);
+        return line != null && line.toLowerCase().contains(search);
+    }
+
+    private void rebuild() {
+        list.clearSelection();
+        model.reset(log.first(), filtering());
+        flush();
+        updateCountLabel();
+    }
+
+    private void flush() {
+        long first = log.first();
+        long end = log.end();
+        if (first == model.shownFirst && end == model.shownEnd) return;
+
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        boolean followTail = bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - list.getFixedCellHeight();
+
+        model.dropBefore(first);
+        model.appendUpTo(end);
+        updateCountLabel();
+
+        if (followTail && model.getSize() > 0) {
+            scroll.validate();
+            list.ensureIndexIsVisible(model.getSize() - 1);
+        }
+    }
+
+    private void updateCountLabel() {
+        long retained = log.end() - log.first();
+        countLabel.setText(filtering() ? model.getSize() + " of " + retained : retained + " events");
+    }
+
+    private void export() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try (BufferedWriter out = Files.newBufferedWriter(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8)) {
+            for (int row = 0; row < model.getSize(); row++) {
+                String line = log.format(model.sequenceAt(row));
+                if (line == null) continue;
+                out.write(line);
+                out.newLine();
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not export log: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Unfiltered rows are just the live sequence range; filtered rows keep the matching sequence numbers
+    private class RowModel extends AbstractListModel<String> {
+
+        private long shownFirst = 0;
+        private long shownEnd = 0;
+        private boolean filtered = false;
+        private long[] rows = new long[64];
+        private int rowStart = 0;
+        private int rowEnd = 0;
+        private int size = 0;
+
+        public int getSize() {
+            return size;
+        }
+
+        public String getElementAt(int index) {
+            String line = log.format(sequenceAt(index));
+            return line == null ? "" : line;
+        }
+
+        long sequenceAt(int index) {
+            return filtered ? rows[rowStart + index] : shownFirst + index;
+        }
+
+        void reset(long first, boolean filtered) {
+            int old = size;
+            this.filtered = filtered;
+            shownFirst = shownEnd = first;
+            rowStart = rowEnd = size = 0;
+            if (old > 0) fireIntervalRemoved(this, 0, old - 1);
+        }
+
+        void dropBefore(long first) {
+            if (first <= shownFirst) return;
+            if (filtered) {
+                while (rowStart < rowEnd && rows[rowStart] < first) rowStart++;
+            }
+            shownFirst = first;
+            if (shownEnd < first) shownEnd = first;
+            resize(filtered ? rowEnd - rowStart : (int) (shownEnd - shownFirst), true);
+        }
+
+        void appendUpTo(long end) {
+            if (end <= shownEnd) return;
+            if (filtered) {
+                for (long sequence = shownEnd; sequence < end; sequence++) {
+                    if (matches(sequence)) push(sequence);
+                }
+            }
+            shownEnd = end;
+            resize(filtered ? rowEnd - rowStart : (int) (shownEnd - shownFirst), false);
+        }
+
+        private void resize(int newSize, boolean fromFront) {
+            int old = size;
+            size = newSize;
+            if (newSize < old) fireIntervalRemoved(this, 0, old - newSize - 1);
+            else if (newSize > old && !fromFront) fireIntervalAdded(this, old, newSize - 1);
+        }
+
+        private void push(long sequence) {
+            if (rowEnd == rows.length) {
+                // Evicted rows leave room at the front; reuse it before growing
+                int live = rowEnd - rowStart;
+                long[] target = rowStart > rows.length / 2 ? rows : new long[rows.length * 2];
+                System.arraycopy(rows, rowStart, target, 0, live);
+                rows = target;
+                rowStart = 0;
+                rowEnd = live;
+            }
+            rows[rowEnd++] = sequence;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Extendible hashing on disk. Buckets are fixed-size pages in <base>.pages; the directory, which maps the low
+// globalDepth bits of a key's hash to a page, lives in <base>.dir behind a small header, and each page's entry
+// count lives in <base>.fill, four bytes a page, so statistics over every page never fault the pages themselves
+// in. All three files are memory-mapped and read in place, so opening an existing index costs a header read and
+// pages come in from disk only when a lookup touches them. A full page splits in two on the next bit of the hash;
+// only when its local depth already equals the global depth does the directory double. Pages are not merged back
+// on removal.
+class ExtendibleHashFile implements IntHashTable, Closeable {
+
+    private static final int MAGIC = 0x45585448;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    // Just the local depth; the entry count is kept in the .fill file
+    private static final int PAGE_HEADER_BYTES = 4;
+    // Pages are mapped in chunks this size, so files larger than one 2 GB mapping still work
+    private static final int SEGMENT_BYTES = 1 << 26;
+    // 2^28 directory entries is a 1 GB directory file
+    static final int MAX_GLOBAL_DEPTH = 28;
+
+    // Header fields of the .dir file
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_PAGE_SIZE = 8;
+    private static final int H_GLOBAL_DEPTH = 12;
+    private static final int H_PAGE_COUNT = 16;
+    private static final int H_SIZE = 20;
+
+    private final Path pagesPath;
+    private final FileChannel dirChannel;
+    private final FileChannel pageChannel;
+    private final FileChannel fillChannel;
+    private MappedByteBuffer dir;
+    private MappedByteBuffer fill;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final int pageSize;
+    private final int pageCapacity;
+    private final boolean reopened;
+
+    // What the last put did, for the visualizer: pages split and whether the directory doubled
+    private final List<Integer> lastSplitPages = new ArrayList<>();
+    private boolean lastDoubled = false;
+
+    private ExtendibleHashFile(Path base, int requestedPageSize) throws IOException {
+        Path dirPath = base.resolveSibling(base.getFileName() + ".dir");
+        pagesPath = base.resolveSibling(base.getFileName() + ".pages");
+        reopened = Files.exists(dirPath) && Files.size(dirPath) >= HEADER_BYTES;
+        dirChannel = FileChannel.open(dirPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        pageChannel = FileChannel.open(pagesPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Path fillPath = base.resolveSibling(base.getFileName() + ".fill");
+        fillChannel = FileChannel.open(fillPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (reopened) {
+            dir = dirChannel.map(FileChannel.MapMode.READ_WRITE, 0, dirChannel.size());
+            if (dir.getInt(H_MAGIC) != MAGIC || dir.getInt(H_VERSION) != VERSION) {
+                close();
+                throw new IOException(dirPath + " is not an extendible hash index");
+            }
+            pageSize = dir.getInt(H_PAGE_SIZE);
+            pageCapacity = (pageSize - PAGE_HEADER_BYTES) / 8;
+            int pages = pageCount();
+            if (fillChannel.size() < 4L * pages) {
+                close();
+                throw new IOException(fillPath + " is missing page counts");
+            }
+            fill = fillChannel.map(FileChannel.MapMode.READ_WRITE, 0, fillChannel.size());
+            while ((long) segments.size() * SEGMENT_BYTES < (long) pages * pageSize) mapSegment();
+        } else {
+            if (Integer.bitCount(requestedPageSize) != 1 || requestedPageSize < 32 || requestedPageSize > SEGMENT_BYTES) {
+                close();
+                throw new IllegalArgumentException("Page size must be a power of two between 32 and " + SEGMENT_BYTES);
+            }
+            pageSize = requestedPageSize;
+            pageCapacity = (pageSize - PAGE_HEADER_BYTES) / 8;
+            dir = dirChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 4);
+            fill = fillChannel.map(FileChannel.MapMode.READ_WRITE, 0, 4 * 64);
+            dir.putInt(H_MAGIC, MAGIC);
+            dir.putInt(H_VERSION, VERSION);
+            dir.putInt(H_PAGE_SIZE, pageSize);
+            dir.putInt(H_GLOBAL_DEPTH, 0);
+            dir.putInt(H_PAGE_COUNT, 0);
+            dir.putInt(H_SIZE, 0);
+            int first = allocatePage(0);
+            setDirectory(0, first);
+        }
+    }
+
+    // Opens the index at base, creating it with the given page size if it does not exist yet; an existing index
+    // keeps the page size it was created with
+    static ExtendibleHashFile open(Path base, int pageSize) throws IOException {
+        return new ExtendibleHashFile(base, pageSize);
+    }
+
+    public String name() {
+        return "Extendible (disk)";
+    }
+
+    private static int hash(int key) {
+        return HashFunction.fmix32(key);
+    }
+
+    public int get(int key) {
+        int page = pageFor(hash(key));
+        int slot = find(page, key);
+        return slot < 0 ? NOT_FOUND : page(page).getInt(entryOffset(page, slot) + 4);
+    }
+
+    public boolean contains(int key) {
+        return find(pageFor(hash(key)), key) >= 0;
+    }
+
+    public boolean put(int key, int value) {
+        lastSplitPages.clear();
+        lastDoubled = false;
+        int hash = hash(key);
+        while (true) {
+            int page = pageFor(hash);
+            ByteBuffer buffer = page(page);
+            int slot = find(page, key);
+            if (slot >= 0) {
+                buffer.putInt(entryOffset(page, slot) + 4, value);
+                return false;
+            }
+            int count = entries(page);
+            if (count < pageCapacity) {
+                int offset = entryOffset(page, count);
+                buffer.putInt(offset, key);
+                buffer.putInt(offset + 4, value);
+                setEntries(page, count + 1);
+                dir.putInt(H_SIZE, size() + 1);
+                return true;
+            }
+            // Full: split and try again, since every key may still land on the same side
+            split(page, hash);
+        }
+    }
+
+    public boolean remove(int key) {
+        int page = pageFor(hash(key));
+        int slot = find(page, key);
+        if (slot < 0) return false;
+        ByteBuffer buffer = page(page);
+        int last = entries(page) - 1;
+        int from = entryOffset(page, last);
+        int to = entryOffset(page, slot);
+        buffer.putInt(to, buffer.getInt(from));
+        buffer.putInt(to + 4, buffer.getInt(from + 4));
+        setEntries(page, last);
+        dir.putInt(H_SIZE, size() - 1);
+        return true;
+    }
+
+    private void split(int page, int hash) {
+        int depth = localDepth(page);
+        if (depth == globalDepth()) doubleDirectory();
+        int sibling = allocatePage(depth + 1);
+        setLocalDepth(page, depth + 1);
+
+        // Keys whose hash has bit `depth` set move to the new page
+        ByteBuffer source = page(page);
+        ByteBuffer target = page(sibling);
+        int kept = 0;
+        int moved = 0;
+        int count = entries(page);
+        for (int i = 0; i < count; i++) {
+            int offset = entryOffset(page, i);
+            int key = source.getInt(offset);
+            int value = source.getInt(offset + 4);
+            if ((hash(key) >>> depth & 1) == 0) {
+                int to = entryOffset(page, kept++);
+                source.putInt(to, key);
+                source.putInt(to + 4, value);
+            } else {
+                int to = entryOffset(sibling, moved++);
+                target.putInt(to, key);
+                target.putInt(to + 4, value);
+            }
+        }
+        setEntries(page, kept);
+        setEntries(sibling, moved);
+
+        // Every directory entry that shared this page and has bit `depth` set now points at the sibling
+        int low = hash & ((1 << depth) - 1);
+        for (int i = low | 1 << depth; i < directorySize(); i += 1 << (depth + 1)) setDirectory(i, sibling);
+        lastSplitPages.add(page);
+        lastSplitPages.add(sibling);
+    }
+
+    // The upper half of the doubled directory is a copy of the lower half
+    private void doubleDirectory() {
+        int global = globalDepth();
+        if (global == MAX_GLOBAL_DEPTH) throw new IllegalStateException("Directory is at its maximum depth " + global);
+        int oldSize = 1 << global;
+        remapDirectory(HEADER_BYTES + 8L * oldSize);
+        for (int i = 0; i < oldSize; i++) setDirectory(oldSize + i, directory(i));
+        dir.putInt(H_GLOBAL_DEPTH, global + 1);
+        lastDoubled = true;
+    }
+
+    private void remapDirectory(long bytes) {
+        try {
+            dir.force();
+            dir = dirChannel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int allocatePage(int localDepth) {
+        int page = pageCount();
+        while ((long) segments.size() * SEGMENT_BYTES < (long) (page + 1) * pageSize) mapSegment();
+        if (4L * (page + 1) > fill.capacity()) {
+            // Doubling keeps the remaps rare; the slack past pageCount is never read
+            try {
+                fill.force();
+                fill = fillChannel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * fill.capacity());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        page(page).putInt(pageOffset(page), localDepth);
+        setEntries(page, 0);
+        dir.putInt(H_PAGE_COUNT, page + 1);
+        return page;
+    }
+
+    // Mapping past the end grows the file; the untouched tail stays sparse on file systems that allow it
+    private void mapSegment() {
+        try {
+            segments.add(pageChannel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_BYTES, SEGMENT_BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int find(int page, int key) {
+        ByteBuffer buffer = page(page);
+        int count = entries(page);
+        int offset = pageOffset(page) + PAGE_HEADER_BYTES;
+        for (int i = 0; i < count; i++, offset += 8) {
+            if (buffer.getInt(offset) == key) return i;
+        }
+        return -1;
+    }
+
+    private int pageFor(int hash) {
+        return directory(hash & (directorySize() - 1));
+    }
+
+    private ByteBuffer page(int page) {
+        return segments.get((int) ((long) page * pageSize / SEGMENT_BYTES));
+    }
+
+    // Offset of the page within its segment
+    private int pageOffset(int page) {
+        return (int) ((long) page * pageSize % SEGMENT_BYTES);
+    }
+
+    private int entryOffset(int page, int slot) {
+        return pageOffset(page) + PAGE_HEADER_BYTES + 8 * slot;
+    }
+
+    private void setDirectory(int index, int page) {
+        dir.putInt(HEADER_BYTES + 4 * index, page);
+    }
+
+    private void setEntries(int page, int count) {
+        fill.putInt(4 * page, count);
+    }
+
+    private void setLocalDepth(int page, int depth) {
+        page(page).putInt(pageOffset(page), depth);
+    }
+
+    int directory(int index) {
+        return dir.getInt(HEADER_BYTES + 4 * index);
+    }
+
+    int directorySize() {
+        return 1 << globalDepth();
+    }
+
+    int globalDepth() {
+        return dir.getInt(H_GLOBAL_DEPTH);
+    }
+
+    int pageCount() {
+        return dir.getInt(H_PAGE_COUNT);
+    }
+
+    int localDepth(int page) {
+        return page(page).getInt(pageOffset(page));
+    }
+
+    int entries(int page) {
+        return fill.getInt(4 * page);
+    }
+
+    int keyAt(int page, int slot) {
+        return page(page).getInt(entryOffset(page, slot));
+    }
+
+    int pageCapacity() {
+        return pageCapacity;
+    }
+
+    int pageSize() {
+        return pageSize;
+    }
+
+    // Directory index the key's hash selects
+    int directoryIndex(int key) {
+        return hash(key) & (directorySize() - 1);
+    }
+
+    boolean wasReopened() {
+        return reopened;
+    }
+
+    List<Integer> lastSplitPages() {
+        return lastSplitPages;
+    }
+
+    boolean lastDoubled() {
+        return lastDoubled;
+    }
+
+    Path path() {
+        return pagesPath;
+    }
+
+    public int size() {
+        return dir.getInt(H_SIZE);
+    }
+
+    double loadFactor() {
+        return (double) size() / ((long) pageCount() * pageCapacity);
+    }
+
+    // Almost nothing lives on the heap; this is the size of the mapped files instead
+    public long memoryBytes() {
+        return HEADER_BYTES + 4L * directorySize() + (long) pageCount() * (pageSize + 4);
+    }
+
+    // Mapped buffers cannot be unmapped explicitly; forcing them and closing the channels is as far as Java goes
+    public void close() throws IOException {
+        if (dir != null) dir.force();
+        if (fill != null) fill.force();
+        for (MappedByteBuffer segment : segments) segment.force();
+        dirChannel.close();
+        pageChannel.close();
+        fillChannel.close();
+    }
+}
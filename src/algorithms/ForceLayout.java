@@ -0,0 +1,288 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// Force-directed layout: springs along edges, Barnes–Hut quadtree for the O(n log n) all-pairs repulsion. The
+// worker never reads the graph itself: the springs come from an adjacency snapshot that the thread editing the
+// graph replaces through snapshotEdges.
+class ForceLayout {
+
+    private static final float EDGE_LENGTH = 40f;
+    private static final float THETA = 0.8f;
+    private static final float MIN_TEMPERATURE = 0.05f;
+    private static final float COOLING = 0.97f;
+    private static final int MAX_DEPTH = 32;
+    // Below this many nodes a step is too short to be worth splitting across the common pool
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    // Neighbours of i are target[start[i]] up to target[start[i + 1]]; immutable once published
+    private static final class Edges {
+        final int[] start;
+        final int[] target;
+
+        Edges(WeightedGraph graph) {
+            int n = graph.nodeCount();
+            start = new int[n + 1];
+            for (int i = 0; i < n; i++) start[i + 1] = start[i] + graph.degree(i);
+            target = new int[start[n]];
+            for (int i = 0; i < n; i++) {
+                for (int e = 0; e < graph.degree(i); e++) target[start[i] + e] = graph.target(i, e);
+            }
+        }
+    }
+
+    private final WeightedGraph graph;
+    private final int n;
+    private final float[] x;
+    private final float[] y;
+    private final float[] forceX;
+    private final float[] forceY;
+    private final boolean parallel;
+    private volatile Edges edges;
+
+    // Quadtree cells in flat arrays; cellBody is a body index for leaves, EMPTY, or INTERNAL
+    private static final int EMPTY = -1;
+    private static final int INTERNAL = -2;
+    private int cellCount;
+    private int[] cellChild;
+    private int[] cellBody;
+    private float[] cellX, cellY, cellHalf, cellMass, cellComX, cellComY;
+
+    private volatile float[] publishedX;
+    private volatile float[] publishedY;
+    private volatile boolean running = false;
+    private float temperature;
+
+    ForceLayout(WeightedGraph graph, float[] initialX, float[] initialY) {
+        this.graph = graph;
+        this.n = graph.nodeCount();
+        this.x = initialX.clone();
+        this.y = initialY.clone();
+        this.forceX = new float[n];
+        this.forceY = new float[n];
+        this.parallel = n >= PARALLEL_THRESHOLD;
+        this.edges = new Edges(graph);
+        this.publishedX = initialX.clone();
+        this.publishedY = initialY.clone();
+        this.temperature = EDGE_LENGTH * (float) Math.sqrt(Math.max(1, n)) / 4;
+        allocateCells(Math.max(16, 2 * n));
+    }
+
+    float[] xs() {
+        return publishedX;
+    }
+
+    float[] ys() {
+        return publishedY;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    // Call on the thread that edits the graph, after each edit; the worker picks it up on its next step
+    void snapshotEdges() {
+        edges = new Edges(graph);
+    }
+
+    // Iterates off the EDT until the layout cools down; onFrame runs on the worker after each published frame
+    void start(Runnable onFrame) {
+        if (running) return;
+        running = true;
+        if (temperature <= MIN_TEMPERATURE) temperature = EDGE_LENGTH;
+        Thread worker = new Thread(() -> {
+            while (running && temperature > MIN_TEMPERATURE) {
+                step();
+                onFrame.run();
+            }
+            running = false;
+            onFrame.run();
+        }, "force-layout");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    void step() {
+        buildTree();
+
+        Edges current = edges;
+        if (parallel) IntStream.range(0, n).parallel().forEach(i -> accumulateForce(i, current));
+        else for (int i = 0; i < n; i++) accumulateForce(i, current);
+
+        for (int i = 0; i < n; i++) {
+            float fx = forceX[i];
+            float fy = forceY[i];
+            float length = (float) Math.sqrt(fx * fx + fy * fy);
+            if (length > 0) {
+                float move = Math.min(length, temperature);
+                x[i] += fx / length * move;
+                y[i] += fy / length * move;
+            }
+        }
+
+        temperature *= COOLING;
+        publishedX = x.clone();
+        publishedY = y.clone();
+    }
+
+    private void accumulateForce(int i, Edges edges) {
+        float fx = 0;
+        float fy = 0;
+        float xi = x[i];
+        float yi = y[i];
+
+        // Repulsion k^2 / d from every cell that is far enough away to be treated as one body
+        int[] stack = new int[4 * MAX_DEPTH + 4];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            float mass = cellMass[cell];
+            if (mass == 0) continue;
+            if (cellBody[cell] == i && mass == 1) continue;
+
+            float dx = xi - cellComX[cell];
+            float dy = yi - cellComY[cell];
+            float d2 = dx * dx + dy * dy;
+            float size = 2 * cellHalf[cell];
+            if (cellBody[cell] != INTERNAL || size * size < THETA * THETA * d2) {
+                if (d2 < 1e-4f) {
+                    dx = (i % 7) - 3 + 0.5f;
+                    dy = (i % 5) - 2 + 0.5f;
+                    d2 = dx * dx + dy * dy;
+                }
+                float strength = mass * EDGE_LENGTH * EDGE_LENGTH / d2;
+                fx += dx * strength;
+                fy += dy * strength;
+            } else {
+                for (int q = 0; q < 4; q++) {
+                    int child = cellChild[4 * cell + q];
+                    if (child >= 0) stack[top++] = child;
+                }
+            }
+        }
+
+        // Attraction d^2 / k along each incident edge
+        for (int e = edges.start[i]; e < edges.start[i + 1]; e++) {
+            int j = edges.target[e];
+            float dx = x[j] - xi;
+            float dy = y[j] - yi;
+            float d = (float) Math.sqrt(dx * dx + dy * dy);
+            fx += dx * d / EDGE_LENGTH;
+            fy += dy * d / EDGE_LENGTH;
+        }
+
+        forceX[i] = fx;
+        forceY[i] = fy;
+    }
+
+    private void buildTree() {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+
+        cellCount = 0;
+        int root = newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1);
+        for (int i = 0; i < n; i++) insert(root, i);
+    }
+
+    private void insert(int cell, int body) {
+        float bx = x[body];
+        float by = y[body];
+        for (int depth = 0; ; depth++) {
+            int occupant = cellBody[cell];
+            if (occupant == EMPTY) {
+                cellBody[cell] = body;
+                cellMass[cell] = 1;
+                cellComX[cell] = bx;
+                cellComY[cell] = by;
+                return;
+            }
+
+            addMass(cell, bx, by);
+            if (occupant != INTERNAL) {
+                // Coincident or nearly coincident bodies share one leaf instead of splitting forever
+                if (depth >= MAX_DEPTH) return;
+                cellBody[cell] = INTERNAL;
+                int moved = childFor(cell, x[occupant], y[occupant]);
+                cellBody[moved] = occupant;
+                cellMass[moved] = cellMass[cell] - 1;
+                cellComX[moved] = x[occupant];
+                cellComY[moved] = y[occupant];
+            }
+            cell = childFor(cell, bx, by);
+        }
+    }
+
+    private void addMass(int cell, float bx, float by) {
+        float mass = cellMass[cell];
+        cellComX[cell] = (cellComX[cell] * mass + bx) / (mass + 1);
+        cellComY[cell] = (cellComY[cell] * mass + by) / (mass + 1);
+        cellMass[cell] = mass + 1;
+    }
+
+    private int childFor(int cell, float bx, float by) {
+        int quadrant = (bx >= cellX[cell] ? 1 : 0) | (by >= cellY[cell] ? 2 : 0);
+        int child = cellChild[4 * cell + quadrant];
+        if (child < 0) {
+            float half = cellHalf[cell] / 2;
+            float cx = cellX[cell] + ((quadrant & 1) != 0 ? half : -half);
+            float cy = cellY[cell] + ((quadrant & 2) != 0 ? half : -half);
+            child = newCell(cx, cy, half);
+            cellChild[4 * cell + quadrant] = child;
+        }
+        return child;
+    }
+
+    private int newCell(float cx, float cy, float half) {
+        if (cellCount == cellBody.length) allocateCells(cellBody.length * 2);
+        int cell = cellCount++;
+        cellX[cell] = cx;
+        cellY[cell] = cy;
+        cellHalf[cell] = half;
+        cellMass[cell] = 0;
+        cellBody[cell] = EMPTY;
+        for (int q = 0; q < 4; q++) cellChild[4 * cell + q] = -1;
+        return cell;
+    }
+
+    private void allocateCells(int capacity) {
+        cellChild = grow(cellChild, 4 * capacity);
+        cellBody = grow(cellBody, capacity);
+        cellX = grow(cellX, capacity);
+        cellY = grow(cellY, capacity);
+        cellHalf = grow(cellHalf, capacity);
+        cellMass = grow(cellMass, capacity);
+        cellComX = grow(cellComX, capacity);
+        cellComY = grow(cellComY, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static float[] grow(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    static float[][] randomPositions(int nodeCount, float width, float height, Random rand) {
+        float[] xs = new float[nodeCount];
+        float[] ys = new float[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            xs[i] = rand.nextFloat() * width;
+            ys[i] = rand.nextFloat() * height;
+        }
+        return new float[][]{xs, ys};
+    }
+}
@@ -0,0 +1,180 @@
+package algorithms;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Reads DIMACS shortest-path files (.gr with an optional .co next to it) and plain "u v [weight]" edge lists
+final class GraphIO {
+
+    static final class Loaded {
+        final WeightedGraph graph;
+        // Null when the file carries no coordinates
+        final float[] xs;
+        final float[] ys;
+
+        Loaded(WeightedGraph graph, float[] xs, float[] ys) {
+            this.graph = graph;
+            this.xs = xs;
+            this.ys = ys;
+        }
+    }
+
+    // Returned by parseFields for a number that runs into a decimal point or a letter, such as 2.5 or 1e3
+    private static final int MALFORMED = -1;
+    // Returned by parseFields for a number beyond the int range; the digits stop accumulating there, so it cannot wrap
+    private static final int OUT_OF_RANGE = -2;
+
+    private GraphIO() {
+    }
+
+    static Loaded read(Path path) throws IOException {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        int[] weight = new int[1024];
+        int count = 0;
+        int nodeCount = 0;
+        boolean dimacs = false;
+        long[] fields = new long[4];
+
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) continue;
+                char first = line.charAt(0);
+                if (first == '#' || first == '%' || first == 'c') continue;
+                if (first == 'p') {
+                    // "p sp <nodes> <arcs>": DIMACS ids are 1-based
+                    dimacs = true;
+                    int parsed = parseFields(line, fields);
+                    if (parsed == OUT_OF_RANGE) throw tooLarge(lineNumber, line);
+                    if (parsed < 2 || fields[0] < 0) throw new IOException("Line " + lineNumber + ": bad problem line");
+                    nodeCount = (int) fields[0];
+                    continue;
+                }
+
+                int parsed = parseFields(line, fields);
+                if (parsed == MALFORMED) {
+                    throw new IOException("Line " + lineNumber + ": ids and weights must be whole numbers, got \"" + line + "\"");
+                }
+                if (parsed == OUT_OF_RANGE) throw tooLarge(lineNumber, line);
+                if (parsed < 2) throw new IOException("Line " + lineNumber + ": expected an edge, got \"" + line + "\"");
+                if (parsed > 2 && (fields[2] <= 0 || fields[2] > Integer.MAX_VALUE)) {
+                    throw new IOException("Line " + lineNumber + ": weight " + fields[2] + " is not a positive int");
+                }
+                int u = (int) fields[0] - (dimacs ? 1 : 0);
+                int v = (int) fields[1] - (dimacs ? 1 : 0);
+                if (u < 0 || v < 0) throw new IOException("Line " + lineNumber + ": negative node id");
+                // The node count is one past the largest id, which must still be an int
+                if (u == Integer.MAX_VALUE || v == Integer.MAX_VALUE) throw tooLarge(lineNumber, line);
+                if (count == from.length) {
+                    from = Arrays.copyOf(from, count * 2);
+                    to = Arrays.copyOf(to, count * 2);
+                    weight = Arrays.copyOf(weight, count * 2);
+                }
+                from[count] = u;
+                to[count] = v;
+                weight[count] = parsed > 2 ? (int) fields[2] : 1;
+                count++;
+                nodeCount = Math.max(nodeCount, Math.max(u, v) + 1);
+            }
+        }
+
+        WeightedGraph graph = build(nodeCount, from, to, weight, count);
+        float[][] coordinates = dimacs ? readCoordinates(path, nodeCount) : null;
+        return coordinates == null
+                ? new Loaded(graph, null, null)
+                : new Loaded(graph, coordinates[0], coordinates[1]);
+    }
+
+    private static IOException tooLarge(int lineNumber, String line) {
+        return new IOException("Line " + lineNumber + ": number too large for an int, got \"" + line + "\"");
+    }
+
+    // Files often list both directions of an edge; bucket by the smaller end and keep the first copy of each pair
+    private static WeightedGraph build(int nodeCount, int[] from, int[] to, int[] weight, int count) {
+        int[] start = new int[nodeCount + 1];
+        for (int i = 0; i < count; i++) {
+            if (from[i] != to[i]) start[Math.min(from[i], to[i]) + 1]++;
+        }
+        for (int v = 0; v < nodeCount; v++) start[v + 1] += start[v];
+        int[] bucket = new int[start[nodeCount]];
+        int[] fill = start.clone();
+        for (int i = 0; i < count; i++) {
+            if (from[i] != to[i]) bucket[fill[Math.min(from[i], to[i])]++] = i;
+        }
+
+        WeightedGraph graph = new WeightedGraph(nodeCount);
+        int[] seenFrom = new int[nodeCount];
+        Arrays.fill(seenFrom, -1);
+        for (int u = 0; u < nodeCount; u++) {
+            for (int k = start[u]; k < start[u + 1]; k++) {
+                int i = bucket[k];
+                int v = Math.max(from[i], to[i]);
+                if (seenFrom[v] == u) continue;
+                seenFrom[v] = u;
+                graph.addEdge(u, v, weight[i]);
+            }
+        }
+        return graph;
+    }
+
+    // "v <id> <x> <y>" lines from the .co file that shares the .gr file's base name
+    private static float[][] readCoordinates(Path graphPath, int nodeCount) throws IOException {
+        String name = graphPath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        Path coordinates = graphPath.resolveSibling((dot < 0 ? name : name.substring(0, dot)) + ".co");
+        if (!Files.isReadable(coordinates)) return null;
+
+        float[] xs = new float[nodeCount];
+        float[] ys = new float[nodeCount];
+        long[] fields = new long[4];
+        try (BufferedReader in = Files.newBufferedReader(coordinates, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.charAt(0) != 'v') continue;
+                if (parseFields(line, fields) < 3) continue;
+                int id = (int) fields[0] - 1;
+                if (id < 0 || id >= nodeCount) continue;
+                xs[id] = fields[1];
+                // Screen y grows downwards, latitude grows upwards
+                ys[id] = -fields[2];
+            }
+        }
+        return new float[][]{xs, ys};
+    }
+
+    // Integers in the line, skipping one leading word such as "a", "v" or "p sp"; avoids regex splitting on big files.
+    // Returns MALFORMED rather than reading 2.5 as the two numbers 2 and 5, and OUT_OF_RANGE for anything an int cannot
+    // hold.
+    private static int parseFields(String line, long[] out) {
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+        while (i < length && count < out.length) {
+            char c = line.charAt(i);
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                boolean negative = c == '-';
+                if (negative) i++;
+                long value = 0;
+                while (i < length && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+                    value = value * 10 + (line.charAt(i) - '0');
+                    if (value > Integer.MAX_VALUE) return OUT_OF_RANGE;
+                    i++;
+                }
+                if (i < length && (line.charAt(i) == '.' || Character.isLetter(line.charAt(i)))) return MALFORMED;
+                out[count++] = negative ? -value : value;
+            } else if (Character.isLetter(c)) {
+                while (i < length && !Character.isWhitespace(line.charAt(i))) i++;
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+}
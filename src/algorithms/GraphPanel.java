@@ -0,0 +1,428 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+class GraphPanel extends JPanel {
+
+    private static final int MARGIN = 40;
+    private static final int LABEL_NODE_LIMIT = 300;
+    private static final int BUNDLE_EDGE_LIMIT = 60000;
+    private static final int BUNDLE_TILE = 6;
+    private static final int CACHE_MARGIN = 256;
+    // Largest node radius drawn, in pixels
+    private static final int NODE_PAD = 16;
+    private static final String[] WEIGHT_LABELS = new String[100];
+
+    static {
+        for (int i = 0; i < WEIGHT_LABELS.length; i++) WEIGHT_LABELS[i] = String.valueOf(i);
+    }
+
+    private final Font labelFont = new Font("Dialog", Font.PLAIN, 12);
+
+    private WeightedGraph graph;
+    private volatile float[] xs = new float[0];
+    private volatile float[] ys = new float[0];
+    private IntFunction<Color> nodeColor = node -> Color.CYAN;
+    private Color edgeColor = Color.GRAY;
+    private Color labelColor = Color.WHITE;
+    private ObjIntConsumer<MouseEvent> nodeClickListener;
+
+    // Highlighted edges are drawn over the cached layer, so they can grow without re-rendering every edge
+    private int[] highlightFrom = new int[0];
+    private int[] highlightTo = new int[0];
+    private Color highlightColor = Color.GREEN;
+    private volatile int highlightCount = 0;
+
+    // View transform: screen = world * viewScale + viewX/viewY
+    private float viewScale = 1;
+    private float viewX = 0;
+    private float viewY = 0;
+    private boolean userView = false;
+
+    // Spatial index, rebuilt whenever a new position snapshot arrives
+    private float[] indexedXs;
+    private WeightedGraph indexedGraph;
+    private int indexedVersion;
+    private SpatialGrid index;
+    private float meanEdgeLength;
+
+    // Static edge layer rendered once per graph version, positions and zoom, then blitted while panning
+    private BufferedImage edgeLayer;
+    private float[] edgeLayerXs;
+    private int edgeLayerVersion;
+    private WeightedGraph edgeLayerGraph;
+    private float edgeLayerScale;
+    private float edgeLayerViewX;
+    private float edgeLayerViewY;
+    // Labels and antialiasing are baked into the layer, so it is only reused at the same level of detail
+    private boolean edgeLayerDetailed;
+    private final Timer settleTimer;
+
+    private int[] visible = new int[64];
+    private int visibleCount;
+    // Edges crossing the cached layer's area, as (node, adjacency slot) pairs; gathered when the layer is redrawn
+    private int[] edgeNodes = new int[64];
+    private int[] edgeSlots = new int[64];
+    private int edgeCount;
+
+    GraphPanel() {
+        setBackground(new Color(20, 20, 20));
+
+        settleTimer = new Timer(150, e -> {
+            edgeLayer = null;
+            repaint();
+        });
+        settleTimer.setRepeats(false);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            private int lastX, lastY;
+
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            public void mouseDragged(MouseEvent e) {
+                viewX += e.getX() - lastX;
+                viewY += e.getY() - lastY;
+                lastX = e.getX();
+                lastY = e.getY();
+                userView = true;
+                viewChanged();
+            }
+
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                float factor = (float) Math.pow(1.15, -e.getPreciseWheelRotation());
+                viewX = e.getX() - (e.getX() - viewX) * factor;
+                viewY = e.getY() - (e.getY() - viewY) * factor;
+                viewScale *= factor;
+                userView = true;
+                viewChanged();
+            }
+
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    resetView();
+                    return;
+                }
+                int node = nodeAt(e.getX(), e.getY());
+                if (node >= 0 && nodeClickListener != null) nodeClickListener.accept(e, node);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    void setGraph(WeightedGraph graph, float[] xs, float[] ys) {
+        this.graph = graph;
+        this.userView = false;
+        setPositions(xs, ys);
+    }
+
+    // Safe to call from a layout thread; the arrays are treated as an immutable snapshot
+    void setPositions(float[] xs, float[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        repaint();
+    }
+
+    float[] xs() {
+        return xs;
+    }
+
+    float[] ys() {
+        return ys;
+    }
+
+    void setNodeColors(IntFunction<Color> nodeColor) {
+        this.nodeColor = nodeColor;
+    }
+
+    void setEdgeColors(Color edgeColor, Color labelColor) {
+        this.edgeColor = edgeColor;
+        this.labelColor = labelColor;
+    }
+
+    void setNodeClickListener(ObjIntConsumer<MouseEvent> listener) {
+        this.nodeClickListener = listener;
+    }
+
+    // Safe to call from a worker; only the first count entries are read, and they must not change afterwards
+    void setHighlightedEdges(int[] from, int[] to, int count, Color color) {
+        highlightFrom = from;
+        highlightTo = to;
+        highlightColor = color;
+        highlightCount = count;
+        repaint();
+    }
+
+    void clearHighlightedEdges() {
+        setHighlightedEdges(new int[0], new int[0], 0, highlightColor);
+    }
+
+    void resetView() {
+        userView = false;
+        repaint();
+    }
+
+    int nodeAt(int screenX, int screenY) {
+        if (index == null) return -1;
+        float radius = Math.max(12, nodeRadius()) / viewScale;
+        return index.nearest((screenX - viewX) / viewScale, (screenY - viewY) / viewScale, radius);
+    }
+
+    private void viewChanged() {
+        settleTimer.restart();
+        repaint();
+    }
+
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (graph == null) return;
+        Graphics2D g2 = (Graphics2D) g;
+        float[] px = xs;
+        float[] py = ys;
+        if (px.length < graph.nodeCount()) return;
+
+        ensureIndex(px, py);
+        if (!userView) fitView(px, py);
+
+        // Nodes whose circle can reach into the viewport; edges are culled separately, against the whole cached layer
+        visibleCount = 0;
+        index.query(worldX(-NODE_PAD), worldY(-NODE_PAD), worldX(getWidth() + NODE_PAD),
+                worldY(getHeight() + NODE_PAD), this::addVisible);
+
+        boolean detailed = visibleCount <= LABEL_NODE_LIMIT && meanEdgeLength * viewScale >= 30;
+        if (detailed) g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        drawEdgeLayer(g2, px, py, detailed);
+        drawHighlightedEdges(g2, px, py, detailed);
+        drawNodes(g2, px, py, detailed);
+    }
+
+    private void addVisible(int node) {
+        if (visibleCount == visible.length) visible = Arrays.copyOf(visible, visibleCount * 2);
+        visible[visibleCount++] = node;
+    }
+
+    private void addEdge(int node, int slot) {
+        if (edgeCount == edgeNodes.length) {
+            edgeNodes = Arrays.copyOf(edgeNodes, edgeCount * 2);
+            edgeSlots = Arrays.copyOf(edgeSlots, edgeCount * 2);
+        }
+        edgeNodes[edgeCount] = node;
+        edgeSlots[edgeCount] = slot;
+        edgeCount++;
+    }
+
+    private void ensureIndex(float[] px, float[] py) {
+        if (index != null && indexedXs == px && indexedGraph == graph && indexedVersion == graph.version()) return;
+        indexedXs = px;
+        indexedGraph = graph;
+        indexedVersion = graph.version();
+        index = new SpatialGrid(px, py, graph);
+
+        double total = 0;
+        long count = 0;
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (v < u) continue;
+                total += Math.hypot(px[u] - px[v], py[u] - py[v]);
+                count++;
+            }
+        }
+        meanEdgeLength = count == 0 ? Float.MAX_VALUE : (float) (total / count);
+        edgeLayer = null;
+    }
+
+    private void fitView(float[] px, float[] py) {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < graph.nodeCount(); i++) {
+            minX = Math.min(minX, px[i]);
+            minY = Math.min(minY, py[i]);
+            maxX = Math.max(maxX, px[i]);
+            maxY = Math.max(maxY, py[i]);
+        }
+        if (minX > maxX) return;
+        viewScale = Math.min((getWidth() - 2 * MARGIN) / Math.max(1f, maxX - minX),
+                (getHeight() - 2 * MARGIN) / Math.max(1f, maxY - minY));
+        viewX = MARGIN - minX * viewScale;
+        viewY = MARGIN - minY * viewScale;
+    }
+
+    private void drawEdgeLayer(Graphics2D g2, float[] px, float[] py, boolean detailed) {
+        boolean valid = edgeLayer != null && edgeLayerXs == px && edgeLayerGraph == graph
+                && edgeLayerVersion == graph.version() && edgeLayerScale == viewScale && edgeLayerDetailed == detailed
+                && edgeLayer.getWidth() == getWidth() + 2 * CACHE_MARGIN
+                && edgeLayer.getHeight() == getHeight() + 2 * CACHE_MARGIN;
+        float dx = viewX - edgeLayerViewX;
+        float dy = viewY - edgeLayerViewY;
+        if (valid && Math.abs(dx) < CACHE_MARGIN && Math.abs(dy) < CACHE_MARGIN) {
+            g2.drawImage(edgeLayer, Math.round(dx) - CACHE_MARGIN, Math.round(dy) - CACHE_MARGIN, null);
+            return;
+        }
+
+        BufferedImage image = new BufferedImage(getWidth() + 2 * CACHE_MARGIN, getHeight() + 2 * CACHE_MARGIN,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D ig = image.createGraphics();
+        if (detailed) ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        ig.setFont(labelFont);
+        ig.translate(CACHE_MARGIN, CACHE_MARGIN);
+
+        edgeCount = 0;
+        index.queryEdges(worldX(-CACHE_MARGIN), worldY(-CACHE_MARGIN), worldX(getWidth() + CACHE_MARGIN),
+                worldY(getHeight() + CACHE_MARGIN), this::addEdge);
+        if (edgeCount > BUNDLE_EDGE_LIMIT) drawBundledEdges(ig, px, py);
+        else drawEdges(ig, px, py, detailed);
+        ig.dispose();
+
+        edgeLayer = image;
+        edgeLayerXs = px;
+        edgeLayerGraph = graph;
+        edgeLayerVersion = graph.version();
+        edgeLayerScale = viewScale;
+        edgeLayerDetailed = detailed;
+        edgeLayerViewX = viewX;
+        edgeLayerViewY = viewY;
+        g2.drawImage(edgeLayer, -CACHE_MARGIN, -CACHE_MARGIN, null);
+    }
+
+    private void drawEdges(Graphics2D g2, float[] px, float[] py, boolean detailed) {
+        for (int k = 0; k < edgeCount; k++) {
+            int u = edgeNodes[k];
+            int v = graph.target(u, edgeSlots[k]);
+            int x1 = screenX(px[u]);
+            int y1 = screenY(py[u]);
+            int x2 = screenX(px[v]);
+            int y2 = screenY(py[v]);
+            g2.setColor(edgeColor);
+            g2.drawLine(x1, y1, x2, y2);
+            if (detailed) {
+                int weight = graph.weight(u, edgeSlots[k]);
+                g2.setColor(labelColor);
+                g2.drawString(weight < WEIGHT_LABELS.length ? WEIGHT_LABELS[weight] : String.valueOf(weight),
+                        (x1 + x2) / 2, (y1 + y2) / 2);
+            }
+        }
+    }
+
+    private void drawHighlightedEdges(Graphics2D g2, float[] px, float[] py, boolean detailed) {
+        int[] from = highlightFrom;
+        int[] to = highlightTo;
+        int count = Math.min(highlightCount, Math.min(from.length, to.length));
+        if (count == 0) return;
+        int width = getWidth();
+        int height = getHeight();
+        Stroke stroke = g2.getStroke();
+        g2.setStroke(new BasicStroke(detailed ? 3f : 2f));
+        g2.setColor(highlightColor);
+        for (int k = 0; k < count; k++) {
+            int x1 = screenX(px[from[k]]);
+            int y1 = screenY(py[from[k]]);
+            int x2 = screenX(px[to[k]]);
+            int y2 = screenY(py[to[k]]);
+            if (Math.max(x1, x2) < 0 || Math.max(y1, y2) < 0 || Math.min(x1, x2) > width || Math.min(y1, y2) > height) continue;
+            g2.drawLine(x1, y1, x2, y2);
+        }
+        g2.setStroke(stroke);
+    }
+
+    // At low zoom many edges share the same few pixels; draw one line per pair of screen tiles instead
+    private void drawBundledEdges(Graphics2D g2, float[] px, float[] py) {
+        int columns = (getWidth() + 2 * CACHE_MARGIN) / BUNDLE_TILE + 2;
+        int rows = (getHeight() + 2 * CACHE_MARGIN) / BUNDLE_TILE + 2;
+        long[] keys = new long[256];
+        int count = 0;
+        for (int k = 0; k < edgeCount; k++) {
+            int u = edgeNodes[k];
+            int v = graph.target(u, edgeSlots[k]);
+            int a = tile(px[u], py[u], columns, rows);
+            int b = tile(px[v], py[v], columns, rows);
+            if (a == b) continue;
+            if (count == keys.length) keys = Arrays.copyOf(keys, count * 2);
+            keys[count++] = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+        }
+        Arrays.sort(keys, 0, count);
+
+        for (int i = 0; i < count; ) {
+            int j = i;
+            while (j < count && keys[j] == keys[i]) j++;
+            int a = (int) (keys[i] >>> 32);
+            int b = (int) keys[i];
+            int alpha = Math.min(255, 60 + 40 * (j - i));
+            g2.setColor(new Color(edgeColor.getRed(), edgeColor.getGreen(), edgeColor.getBlue(), alpha));
+            g2.drawLine(tileX(a, columns), tileY(a, columns), tileX(b, columns), tileY(b, columns));
+            i = j;
+        }
+    }
+
+    private int tile(float wx, float wy, int columns, int rows) {
+        int tx = Math.max(0, Math.min(columns - 1, (screenX(wx) + CACHE_MARGIN) / BUNDLE_TILE));
+        int ty = Math.max(0, Math.min(rows - 1, (screenY(wy) + CACHE_MARGIN) / BUNDLE_TILE));
+        return ty * columns + tx;
+    }
+
+    private int tileX(int tile, int columns) {
+        return (tile % columns) * BUNDLE_TILE + BUNDLE_TILE / 2 - CACHE_MARGIN;
+    }
+
+    private int tileY(int tile, int columns) {
+        return (tile / columns) * BUNDLE_TILE + BUNDLE_TILE / 2 - CACHE_MARGIN;
+    }
+
+    private void drawNodes(Graphics2D g2, float[] px, float[] py, boolean detailed) {
+        int radius = detailed ? 15 : nodeRadius();
+        int width = getWidth();
+        int height = getHeight();
+        for (int k = 0; k < visibleCount; k++) {
+            int i = visible[k];
+            int x = screenX(px[i]);
+            int y = screenY(py[i]);
+            if (x < -radius || y < -radius || x > width + radius || y > height + radius) continue;
+            g2.setColor(nodeColor.apply(i));
+            if (radius <= 2) {
+                g2.fillRect(x - 1, y - 1, 3, 3);
+                continue;
+            }
+            g2.fillOval(x - radius, y - radius, 2 * radius, 2 * radius);
+            if (detailed) {
+                g2.setColor(Color.BLACK);
+                g2.drawOval(x - radius, y - radius, 2 * radius, 2 * radius);
+                g2.drawString(String.valueOf(i), x - 5, y + 5);
+            }
+        }
+    }
+
+    private int nodeRadius() {
+        if (visibleCount > 20000) return 1;
+        if (visibleCount > 2000) return 3;
+        return Math.max(4, Math.min(15, Math.round(meanEdgeLength * viewScale / 6)));
+    }
+
+    private float worldX(int sx) {
+        return (sx - viewX) / viewScale;
+    }
+
+    private float worldY(int sy) {
+        return (sy - viewY) / viewScale;
+    }
+
+    private int screenX(float wx) {
+        return Math.round(wx * viewScale + viewX);
+    }
+
+    private int screenY(float wy) {
+        return Math.round(wy * viewScale + viewY);
+    }
+}
@@ -0,0 +1,279 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Unweighted traversals; every result lists nodes in discovery order, cut into the steps a view should reveal together
+final class GraphTraversal {
+
+    // Beamer's thresholds: go bottom-up once the frontier's edges outweigh 1/ALPHA of the unexplored ones,
+    // and come back top-down when the frontier shrinks below n/BETA nodes
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    enum Method {
+        BFS("BFS"),
+        DFS("DFS"),
+        DIRECTION_OPTIMIZING("Direction-optimizing BFS");
+
+        final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+    }
+
+    static final class Traversal {
+        final int[] level;
+        final int[] parent;
+        final int[] order;
+        int reached = 0;
+        // Step k reveals order[stepStart[k] .. stepStart[k + 1]); BFS steps are layers, DFS steps are single nodes
+        int[] stepStart = new int[16];
+        int steps = 0;
+        // Per step: whether the layer was expanded bottom-up, and how many adjacency entries were read
+        boolean[] bottomUp = new boolean[16];
+        long[] edgesChecked = new long[16];
+
+        Traversal(int nodeCount) {
+            level = new int[nodeCount];
+            parent = new int[nodeCount];
+            order = new int[nodeCount];
+            Arrays.fill(level, -1);
+            Arrays.fill(parent, -1);
+        }
+
+        int stepEnd(int step) {
+            return step + 1 < steps ? stepStart[step + 1] : reached;
+        }
+
+        int maxLevel() {
+            int max = 0;
+            for (int k = 0; k < reached; k++) max = Math.max(max, level[order[k]]);
+            return max;
+        }
+
+        long totalEdgesChecked() {
+            long total = 0;
+            for (int k = 0; k < steps; k++) total += edgesChecked[k];
+            return total;
+        }
+
+        private void beginStep(int start, boolean up) {
+            if (steps == stepStart.length) {
+                stepStart = Arrays.copyOf(stepStart, steps * 2);
+                bottomUp = Arrays.copyOf(bottomUp, steps * 2);
+                edgesChecked = Arrays.copyOf(edgesChecked, steps * 2);
+            }
+            stepStart[steps] = start;
+            bottomUp[steps] = up;
+            steps++;
+        }
+    }
+
+    private GraphTraversal() {
+    }
+
+    static Traversal traverse(WeightedGraph graph, int source, Method method) {
+        switch (method) {
+            case DFS:
+                return dfs(graph, source);
+            case DIRECTION_OPTIMIZING:
+                return directionOptimizingBfs(graph, source);
+            default:
+                return bfs(graph, source);
+        }
+    }
+
+    static Traversal bfs(WeightedGraph graph, int source) {
+        Traversal t = new Traversal(graph.nodeCount());
+        t.level[source] = 0;
+        t.beginStep(0, false);
+        t.order[t.reached++] = source;
+        int head = 0;
+        // The order array doubles as the queue: the current layer is order[head .. layerEnd)
+        while (head < t.reached) {
+            int layerEnd = t.reached;
+            long checked = 0;
+            for (; head < layerEnd; head++) {
+                int u = t.order[head];
+                checked += graph.degree(u);
+                for (int e = 0; e < graph.degree(u); e++) {
+                    int v = graph.target(u, e);
+                    if (t.level[v] >= 0) continue;
+                    t.level[v] = t.level[u] + 1;
+                    t.parent[v] = u;
+                    t.order[t.reached++] = v;
+                }
+            }
+            t.edgesChecked[t.steps - 1] = checked;
+            if (t.reached > layerEnd) t.beginStep(layerEnd, false);
+        }
+        return t;
+    }
+
+    static Traversal dfs(WeightedGraph graph, int source) {
+        int n = graph.nodeCount();
+        Traversal t = new Traversal(n);
+        // Explicit stack of (node, next edge index), so deep graphs cannot overflow the call stack
+        int[] stackNode = new int[n];
+        int[] stackEdge = new int[n];
+        int top = 0;
+
+        t.level[source] = 0;
+        t.beginStep(t.reached, false);
+        t.order[t.reached++] = source;
+        stackNode[top] = source;
+        stackEdge[top++] = 0;
+        while (top > 0) {
+            int u = stackNode[top - 1];
+            if (stackEdge[top - 1] == graph.degree(u)) {
+                top--;
+                continue;
+            }
+            int v = graph.target(u, stackEdge[top - 1]++);
+            t.edgesChecked[t.steps - 1]++;
+            if (t.level[v] >= 0) continue;
+            t.level[v] = t.level[u] + 1;
+            t.parent[v] = u;
+            t.beginStep(t.reached, false);
+            t.order[t.reached++] = v;
+            stackNode[top] = v;
+            stackEdge[top++] = 0;
+        }
+        return t;
+    }
+
+    // Frontiers are bitsets; top-down layers claim nodes with CAS, bottom-up layers give each task whole words
+    static Traversal directionOptimizingBfs(WeightedGraph graph, int source) {
+        int n = graph.nodeCount();
+        int words = (n + 63) >>> 6;
+        Traversal t = new Traversal(n);
+        AtomicLongArray visited = new AtomicLongArray(words);
+        AtomicLongArray frontier = new AtomicLongArray(words);
+
+        t.level[source] = 0;
+        setBit(visited, source);
+        setBit(frontier, source);
+        long frontierNodes = 1;
+        long frontierEdges = graph.degree(source);
+        long unexploredEdges = 2L * graph.edgeCount() - frontierEdges;
+        boolean bottomUp = false;
+        int depth = 0;
+
+        while (frontierNodes > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) bottomUp = true;
+            else if (bottomUp && frontierNodes < n / BETA) bottomUp = false;
+
+            t.beginStep(t.reached, bottomUp);
+            appendLayer(t, frontier, words);
+
+            AtomicLongArray next = new AtomicLongArray(words);
+            int nextDepth = depth + 1;
+            AtomicLongArray current = frontier;
+            long checked;
+            if (bottomUp) {
+                checked = IntStream.range(0, words).parallel()
+                        .mapToLong(w -> bottomUpWord(graph, t, visited, current, next, w, nextDepth)).sum();
+            } else {
+                checked = IntStream.range(0, words).parallel()
+                        .mapToLong(w -> topDownWord(graph, t, visited, current, next, w, nextDepth)).sum();
+            }
+            t.edgesChecked[t.steps - 1] = checked;
+
+            long[] stats = IntStream.range(0, words).parallel()
+                    .mapToObj(w -> wordStats(graph, next, w))
+                    .reduce(new long[2], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+            frontierNodes = stats[0];
+            frontierEdges = stats[1];
+            unexploredEdges -= frontierEdges;
+            frontier = next;
+            depth = nextDepth;
+        }
+        return t;
+    }
+
+    private static long topDownWord(WeightedGraph graph, Traversal t, AtomicLongArray visited,
+                                    AtomicLongArray frontier, AtomicLongArray next, int word, int depth) {
+        long bits = frontier.get(word);
+        long checked = 0;
+        while (bits != 0) {
+            int u = (word << 6) + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            checked += graph.degree(u);
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (testBit(visited, v) || !claimBit(visited, v)) continue;
+                t.level[v] = depth;
+                t.parent[v] = u;
+                setBit(next, v);
+            }
+        }
+        return checked;
+    }
+
+    // Each unvisited node looks for any parent in the frontier and stops at the first one
+    private static long bottomUpWord(WeightedGraph graph, Traversal t, AtomicLongArray visited,
+                                     AtomicLongArray frontier, AtomicLongArray next, int word, int depth) {
+        int n = graph.nodeCount();
+        long unvisited = ~visited.get(word);
+        if (word == (n - 1) >>> 6 && (n & 63) != 0) unvisited &= (1L << (n & 63)) - 1;
+        long found = 0;
+        long checked = 0;
+        while (unvisited != 0) {
+            int bit = Long.numberOfTrailingZeros(unvisited);
+            unvisited &= unvisited - 1;
+            int v = (word << 6) + bit;
+            for (int e = 0; e < graph.degree(v); e++) {
+                checked++;
+                int u = graph.target(v, e);
+                if (testBit(frontier, u)) {
+                    t.level[v] = depth;
+                    t.parent[v] = u;
+                    found |= 1L << bit;
+                    break;
+                }
+            }
+        }
+        if (found != 0) {
+            visited.set(word, visited.get(word) | found);
+            next.set(word, found);
+        }
+        return checked;
+    }
+
+    private static long[] wordStats(WeightedGraph graph, AtomicLongArray bitset, int word) {
+        long bits = bitset.get(word);
+        long edges = 0;
+        for (long b = bits; b != 0; b &= b - 1) edges += graph.degree((word << 6) + Long.numberOfTrailingZeros(b));
+        return new long[]{Long.bitCount(bits), edges};
+    }
+
+    private static void appendLayer(Traversal t, AtomicLongArray frontier, int words) {
+        for (int w = 0; w < words; w++) {
+            for (long b = frontier.get(w); b != 0; b &= b - 1) {
+                t.order[t.reached++] = (w << 6) + Long.numberOfTrailingZeros(b);
+            }
+        }
+    }
+
+    private static boolean testBit(AtomicLongArray bits, int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static void setBit(AtomicLongArray bits, int index) {
+        claimBit(bits, index);
+    }
+
+    // True only for the one caller that flipped the bit from 0 to 1
+    private static boolean claimBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long old = bits.get(word);
+            if ((old & mask) != 0) return false;
+            if (bits.compareAndSet(word, old, old | mask)) return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package algorithms;
+
+import java.util.Random;
+
+// Key-to-bucket mappings the hash tables can be built with. Apart from plain modulo, each scrambles the key
+// into 32 bits and then maps it onto the bucket range with a multiply-shift, which keeps the well-mixed high bits.
+enum HashFunction {
+    MODULO("Modulo") {
+        int hash(int key) {
+            return key;
+        }
+
+        // floorMod, so negative keys still land in range
+        int index(int key, int buckets) {
+            return Math.floorMod(key, buckets);
+        }
+    },
+    FIBONACCI("Fibonacci") {
+        // 2^32 / golden ratio; consecutive keys spread evenly across the high bits
+        int hash(int key) {
+            return key * 0x9E3779B9;
+        }
+    },
+    MURMUR3("Murmur3 finalizer") {
+        int hash(int key) {
+            return fmix32(key);
+        }
+    },
+    TABULATION("Tabulation") {
+        int hash(int key) {
+            return TABLES[0][key & 0xFF] ^ TABLES[1][(key >>> 8) & 0xFF]
+                    ^ TABLES[2][(key >>> 16) & 0xFF] ^ TABLES[3][key >>> 24];
+        }
+    };
+
+    // One random word per byte value per byte position; fixed seed so runs are comparable
+    private static final int[][] TABLES = new int[4][256];
+
+    static {
+        Random rand = new Random(0x5EED);
+        for (int[] table : TABLES) {
+            for (int i = 0; i < table.length; i++) table[i] = rand.nextInt();
+        }
+    }
+
+    final String label;
+
+    HashFunction(String label) {
+        this.label = label;
+    }
+
+    abstract int hash(int key);
+
+    int index(int key, int buckets) {
+        return (int) (((hash(key) & 0xFFFFFFFFL) * buckets) >>> 32);
+    }
+
+    // murmur3's 32-bit finalizer: every input bit affects every output bit
+    static int fmix32(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
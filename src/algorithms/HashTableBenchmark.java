@@ -0,0 +1,67 @@
+package algorithms;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+// Headless comparison of the IntHashTable implementations: lookup cost for hits and misses, and memory per entry
+final class HashTableBenchmark {
+
+    static final int DEFAULT_ENTRIES = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    private HashTableBenchmark() {}
+
+    static String run(int entries) {
+        Random rand = new Random(42);
+        int[] present = new int[entries];
+        int[] absent = new int[entries];
+        // Even keys go in, odd keys are the misses, so the two sets never overlap
+        for (int i = 0; i < entries; i++) {
+            present[i] = rand.nextInt() & ~1;
+            absent[i] = rand.nextInt() | 1;
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d random int keys, best of %d rounds%n%n", entries, ROUNDS));
+        report.append(String.format("%-16s %10s %10s %10s %12s%n", "Table", "put ns/op", "hit ns/op", "miss ns/op", "bytes/entry"));
+        measure(report, ChainedHashTable::new, present, absent);
+        measure(report, LinearProbingTable::new, present, absent);
+        measure(report, RobinHoodTable::new, present, absent);
+        measure(report, SwissTable::new, present, absent);
+        measure(report, CuckooTable::new, present, absent);
+        return report.toString();
+    }
+
+    private static void measure(StringBuilder report, IntFunction<IntHashTable> factory, int[] present, int[] absent) {
+        double bestPut = Double.MAX_VALUE;
+        double bestHit = Double.MAX_VALUE;
+        double bestMiss = Double.MAX_VALUE;
+        IntHashTable table = null;
+        long checksum = 0;
+
+        // The first round doubles as JIT warm-up
+        for (int round = 0; round < ROUNDS; round++) {
+            table = factory.apply(16);
+            long start = System.nanoTime();
+            for (int key : present) table.put(key, key);
+            bestPut = Math.min(bestPut, (double) (System.nanoTime() - start) / present.length);
+
+            start = System.nanoTime();
+            for (int key : present) checksum += table.get(key);
+            bestHit = Math.min(bestHit, (double) (System.nanoTime() - start) / present.length);
+
+            start = System.nanoTime();
+            for (int key : absent) checksum += table.get(key);
+            bestMiss = Math.min(bestMiss, (double) (System.nanoTime() - start) / absent.length);
+        }
+
+        report.append(String.format("%-16s %10.1f %10.1f %10.1f %12.1f%n", table.name(), bestPut, bestHit, bestMiss,
+                (double) table.memoryBytes() / table.size()));
+        Blackhole.consume(checksum);
+    }
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+        System.out.print(run(entries));
+    }
+}
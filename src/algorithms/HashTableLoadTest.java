@@ -0,0 +1,33 @@
+package algorithms;
+
+import java.util.SplittableRandom;
+
+// Drives a thread-safe table from several threads at once with a fixed read/write mix, through ConcurrentLoad
+final class HashTableLoadTest {
+
+    private HashTableLoadTest() {}
+
+    // Half the key range, so reads hit about half the time and writes keep the table near that size
+    static void prefill(IntHashTable table, int keyRange) {
+        SplittableRandom random = new SplittableRandom(7);
+        while (table.size() < keyRange / 2) table.insert(random.nextInt(keyRange));
+    }
+
+    static ConcurrentLoad.Result run(IntHashTable table, int threads, int readPercent, int keyRange, long millis)
+            throws InterruptedException {
+        ConcurrentLoad.Target target = new ConcurrentLoad.Target() {
+            public long get(int key) {
+                return table.get(key);
+            }
+
+            public void put(int key) {
+                table.put(key, key);
+            }
+
+            public void remove(int key) {
+                table.remove(key);
+            }
+        };
+        return ConcurrentLoad.run(target, threads, readPercent, keyRange, millis, "hash-load");
+    }
+}
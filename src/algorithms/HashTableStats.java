@@ -0,0 +1,71 @@
+package algorithms;
+
+// Snapshot of how evenly a table's keys are spread. "Length" is the number of entries a successful lookup
+// reads: position in the chain for chaining, displacement + 1 for open addressing (in groups for Swiss tables).
+final class HashTableStats {
+
+    // The last bin collects everything at or above it
+    static final int HISTOGRAM_BINS = 12;
+
+    // Chaining: buckets per chain length. Open addressing: keys per probe length.
+    final int[] histogram = new int[HISTOGRAM_BINS];
+    // Per bucket or slot, in table order: chain length, or probe length of the key there (0 when empty)
+    final int[] occupancy;
+    final boolean chained;
+    final int maxLength;
+    final double averageProbes;
+    final double loadFactor;
+
+    private HashTableStats(int[] occupancy, boolean chained, int size, double loadFactor) {
+        this.occupancy = occupancy;
+        this.chained = chained;
+        this.loadFactor = loadFactor;
+        int max = 0;
+        long probes = 0;
+        for (int length : occupancy) {
+            if (chained) {
+                histogram[Math.min(length, HISTOGRAM_BINS - 1)]++;
+                // The i-th key of a chain costs i reads
+                probes += (long) length * (length + 1) / 2;
+            } else if (length > 0) {
+                histogram[Math.min(length, HISTOGRAM_BINS - 1)]++;
+                probes += length;
+            }
+            max = Math.max(max, length);
+        }
+        maxLength = max;
+        averageProbes = size == 0 ? 0 : (double) probes / size;
+    }
+
+    static HashTableStats of(IntHashTable table) {
+        if (table instanceof ChainedHashTable chained) {
+            // Both tables during a resize, old buckets first
+            int[] occupancy = new int[chained.bucketCount(0) + chained.bucketCount(1)];
+            int i = 0;
+            for (int t = 0; t < 2; t++) {
+                for (int b = 0; b < chained.bucketCount(t); b++, i++) {
+                    for (ChainedHashTable.Node node = chained.bucket(t, b); node != null; node = node.next) occupancy[i]++;
+                }
+            }
+            return new HashTableStats(occupancy, true, chained.size(), chained.loadFactor());
+        }
+        if (table instanceof ConcurrentChainedTable concurrent) {
+            int[] occupancy = new int[concurrent.bucketCount()];
+            for (int b = 0; b < occupancy.length; b++) occupancy[b] = concurrent.chainLength(b);
+            return new HashTableStats(occupancy, true, concurrent.size(), concurrent.loadFactor());
+        }
+        if (table instanceof ExtendibleHashFile file) {
+            // A page is scanned like a chain, so it counts as one. The counts come from the file's compact .fill
+            // map, so this reads four bytes a page rather than faulting every page in.
+            int[] occupancy = new int[file.pageCount()];
+            for (int page = 0; page < occupancy.length; page++) occupancy[page] = file.entries(page);
+            return new HashTableStats(occupancy, true, file.size(), file.loadFactor());
+        }
+        OpenAddressingTable open = (OpenAddressingTable) table;
+        int[] occupancy = new int[open.slots()];
+        for (int slot = 0; slot < occupancy.length; slot++) {
+            if (open.isFull(slot)) occupancy[slot] = open.displacement(slot) + 1;
+        }
+        return new HashTableStats(occupancy, false, open.size(), open.loadFactor());
+    }
+}
@@ -1,34 +1,99 @@
 package algorithms;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 public class HashTableVisualizer extends JFrame {
 
-    private final int SIZE = 10;
-    private final List<LinkedList<Node>> table = new ArrayList<>();
-    private final Map<Node, Color> nodeColors = new HashMap<>();
+    private final int INITIAL_SIZE = 10;
+    private final int RANDOM_BATCH = 20;
+    private final int BULK_BATCH = 10_000;
+    private final int BENCHMARK_ENTRIES = 1_000_000;
+    private final int HEATMAP_CELL = 4;
+    private final int LOAD_KEYS = 100_000;
+    private final int LOAD_MILLIS = 3000;
+    private final String[] MODES = {"Chaining", "Linear Probing", "Robin Hood", "Swiss Table", "Cuckoo", "Concurrent (striped)", "Extendible (disk)"};
+    // Tiny pages, seven entries each, so splits happen often enough to watch
+    private final int DISK_PAGE_SIZE = 64;
+    private final Path DISK_FILE = Path.of(System.getProperty("java.io.tmpdir"), "algorithm-visualizer-hash");
+    private int mode = 0;
+    private HashFunction hashFunction = HashFunction.MODULO;
+    private KeyPattern keyPattern = KeyPattern.RANDOM;
+    private int nextPatternIndex = 0;
+    private IntHashTable table = new ChainedHashTable(INITIAL_SIZE, hashFunction);
+    private HashTableStats stats;
+    // Every animation runs on a Swing timer, so the colour maps and the table are only ever touched on the EDT
+    private Timer animation;
+    private int highlightedStripe = -1;
+    private ConcurrentLoad.Result lastLoadTest;
+    private int highlightedEntry = -1;
+    private int highlightedPage = -1;
+    private Color pageHighlight;
+    private String diskEvent = "";
+    private final Map<ChainedHashTable.Node, Color> nodeColors = new HashMap<>();
+    private final Map<Integer, Color> slotColors = new HashMap<>();
+    private final Random rand = new Random();
 
     private final Color DEFAULT_COLOR = new Color(60, 120, 200);
     private final Color TRAVERSING_COLOR = Color.YELLOW;
     private final Color FOUND_COLOR = new Color(0, 200, 100);
+    private final Color MIGRATED_COLOR = new Color(45, 45, 45);
+    private static final Font STATS_TITLE_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font STATS_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+
+    // Key distributions for bulk inserts; the structured ones are where weak hash functions fall apart
+    enum KeyPattern {
+        RANDOM("Random"),
+        SEQUENTIAL("Sequential"),
+        STRIDED("Multiples of 1024"),
+        NEGATIVE("Negative"),
+        CLUSTERED("Clustered");
+
+        final String label;
+
+        KeyPattern(String label) {
+            this.label = label;
+        }
+
+        int key(int index, Random rand) {
+            return switch (this) {
+                case RANDOM -> rand.nextInt(1_000_000);
+                case SEQUENTIAL -> index;
+                case STRIDED -> index * 1024;
+                case NEGATIVE -> -1 - rand.nextInt(1_000_000);
+                // A few dense runs far apart, like ids handed out in blocks
+                case CLUSTERED -> rand.nextInt(16) * 1_000_000 + rand.nextInt(BLOCK);
+            };
+        }
+
+        private static final int BLOCK = 4096;
+    }
 
     private final JPanel tablePanel;
+    private final JPanel statsPanel;
+    private final JLabel statusLabel;
+    private final JButton benchmarkBtn;
+    private final JButton loadBtn;
+    private final JButton reopenBtn;
+    private final JButton clearFileBtn;
+    private final JComboBox<String> modeBox;
+    private final JComboBox<String> hashBox;
 
     public HashTableVisualizer() {
         setTitle("Hash Table Visualizer");
-        setSize(1000, 500);
+        setSize(1250, 700);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
 
-        for (int i = 0; i < SIZE; i++) {
-            table.add(new LinkedList<>());
-        }
-
-        JLabel title = new JLabel("Hash Table (Chaining)", SwingConstants.CENTER);
+        JLabel title = new JLabel("Hash Table", SwingConstants.CENTER);
         title.setFont(new Font("Segoe UI", Font.BOLD, 22));
         title.setForeground(Color.WHITE);
         title.setOpaque(true);
@@ -57,6 +122,7 @@ public class HashTableVisualizer extends JFrame {
                 int value = Integer.parseInt(inputField.getText());
                 inputField.setText("");
                 insert(value);
+                if (table instanceof CuckooTable cuckoo) showEvictions(cuckoo);
                 repaint();
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
@@ -67,12 +133,56 @@ public class HashTableVisualizer extends JFrame {
             try {
                 int value = Integer.parseInt(inputField.getText());
                 inputField.setText("");
-                new Thread(() -> search(value)).start();
+                search(value);
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton deleteBtn = createStyledButton("Delete", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                if (!table.remove(value)) showError(value + " is not in the table");
+                updateStatus();
+                repaint();
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
             }
         });
 
+        JButton randomBtn = createStyledButton("Insert " + RANDOM_BATCH + " Random", () -> {
+            for (int i = 0; i < RANDOM_BATCH; i++) insert(rand.nextInt(1000));
+            repaint();
+        });
+
+        modeBox = new JComboBox<>(MODES);
+        modeBox.addActionListener(e -> {
+            // Also skips the event rebuild() itself fires when it moves the combo back after a failed open
+            if (modeBox.getSelectedIndex() == mode) return;
+            mode = modeBox.getSelectedIndex();
+            rebuild();
+        });
+
+        hashBox = new JComboBox<>();
+        for (HashFunction function : HashFunction.values()) hashBox.addItem(function.label);
+        hashBox.addActionListener(e -> {
+            hashFunction = HashFunction.values()[hashBox.getSelectedIndex()];
+            rebuild();
+        });
+
+        JComboBox<String> patternBox = new JComboBox<>();
+        for (KeyPattern pattern : KeyPattern.values()) patternBox.addItem(pattern.label);
+        patternBox.addActionListener(e -> keyPattern = KeyPattern.values()[patternBox.getSelectedIndex()]);
+
+        JButton bulkBtn = createStyledButton("Insert " + String.format("%,d", BULK_BATCH), () -> {
+            for (int i = 0; i < BULK_BATCH; i++) table.insert(keyPattern.key(nextPatternIndex++, rand));
+            updateStatus();
+            repaint();
+        });
+
+        benchmarkBtn = createStyledButton("Benchmark", this::runBenchmark);
+
         JButton backBtn = createStyledButton("Back to Menu", () -> {
             this.dispose();
             new ui.DataStructuresVisualizer();
@@ -82,67 +192,757 @@ public class HashTableVisualizer extends JFrame {
         controlPanel.add(inputField);
         controlPanel.add(insertBtn);
         controlPanel.add(searchBtn);
+        controlPanel.add(deleteBtn);
+        controlPanel.add(randomBtn);
         controlPanel.add(backBtn);
 
-        add(controlPanel, BorderLayout.SOUTH);
+        JPanel setupPanel = new JPanel(new FlowLayout());
+        setupPanel.setBackground(new Color(30, 30, 30));
+        setupPanel.add(createLabel("Layout:"));
+        setupPanel.add(modeBox);
+        setupPanel.add(createLabel("Hash:"));
+        setupPanel.add(hashBox);
+        setupPanel.add(createLabel("Keys:"));
+        setupPanel.add(patternBox);
+        setupPanel.add(bulkBtn);
+        setupPanel.add(benchmarkBtn);
+
+        JSpinner threadSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        JSpinner readSpinner = new JSpinner(new SpinnerNumberModel(90, 0, 100, 5));
+        loadBtn = createStyledButton("Run Load Test", () ->
+                runLoadTest((Integer) threadSpinner.getValue(), (Integer) readSpinner.getValue()));
+        loadBtn.setEnabled(false);
+
+        JPanel loadPanel = new JPanel(new FlowLayout());
+        loadPanel.setBackground(new Color(30, 30, 30));
+        loadPanel.add(createLabel("Load test threads:"));
+        loadPanel.add(threadSpinner);
+        loadPanel.add(createLabel("Reads %:"));
+        loadPanel.add(readSpinner);
+        loadPanel.add(loadBtn);
+
+        reopenBtn = createStyledButton("Close & Reopen File", this::reopenDiskTable);
+        clearFileBtn = createStyledButton("Clear File", this::clearDiskTable);
+        reopenBtn.setEnabled(false);
+        clearFileBtn.setEnabled(false);
+        loadPanel.add(createLabel("Disk index:"));
+        loadPanel.add(reopenBtn);
+        loadPanel.add(clearFileBtn);
+
+        statsPanel = new JPanel() {
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                drawStats(g);
+            }
+        };
+        statsPanel.setBackground(new Color(30, 30, 30));
+        statsPanel.setPreferredSize(new Dimension(260, 0));
+        add(statsPanel, BorderLayout.EAST);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(4, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        southPanel.add(setupPanel);
+        southPanel.add(loadPanel);
+        add(southPanel, BorderLayout.SOUTH);
+        updateStatus();
 
         setVisible(true);
     }
 
     private void insert(int value) {
-        int index = hash(value);
-        Node newNode = new Node(value);
-        nodeColors.put(newNode, DEFAULT_COLOR);
-        table.get(index).add(newNode);
+        table.insert(value);
+        if (table instanceof ExtendibleHashFile disk) describeSplits(disk, value);
+        updateStatus();
+    }
+
+    // Same keys, new layout or hash function, so the choices can be compared directly
+    private void rebuild() {
+        List<Integer> keys = keys();
+        closeDiskTable();
+        if (mode == 6 && openDiskTable()) {
+            ExtendibleHashFile disk = (ExtendibleHashFile) table;
+            // An index left by an earlier session is shown as found; reinserting into it would defeat the point
+            if (!disk.wasReopened()) {
+                for (int key : keys) table.insert(key);
+            }
+        } else {
+            table = switch (mode) {
+                case 1 -> new LinearProbingTable(INITIAL_SIZE, hashFunction);
+                case 2 -> new RobinHoodTable(INITIAL_SIZE, hashFunction);
+                case 3 -> new SwissTable(INITIAL_SIZE, hashFunction);
+                case 4 -> new CuckooTable(INITIAL_SIZE, hashFunction);
+                case 5 -> new ConcurrentChainedTable(INITIAL_SIZE);
+                default -> new ChainedHashTable(INITIAL_SIZE, hashFunction);
+            };
+            for (int key : keys) table.insert(key);
+        }
+        if (animation != null) animation.stop();
+        nodeColors.clear();
+        slotColors.clear();
+        highlightedStripe = -1;
+        highlightedEntry = -1;
+        highlightedPage = -1;
+        lastLoadTest = null;
+        loadBtn.setEnabled(table instanceof ConcurrentChainedTable);
+        reopenBtn.setEnabled(table instanceof ExtendibleHashFile);
+        clearFileBtn.setEnabled(table instanceof ExtendibleHashFile);
+        hashBox.setEnabled(!fixedHash());
+        updateStatus();
+        repaint();
+        // A file that failed to open drops back to chaining; keep the combo honest
+        if (modeBox.getSelectedIndex() != mode) modeBox.setSelectedIndex(mode);
+    }
+
+    private boolean openDiskTable() {
+        try {
+            long start = System.nanoTime();
+            ExtendibleHashFile disk = ExtendibleHashFile.open(DISK_FILE, DISK_PAGE_SIZE);
+            long micros = (System.nanoTime() - start) / 1000;
+            table = disk;
+            diskEvent = (disk.wasReopened() ? "Reopened " : "Created ") + disk.path().getFileName() + " in " + micros + " µs";
+            return true;
+        } catch (IOException | RuntimeException e) {
+            showError("Could not open " + DISK_FILE + ": " + e.getMessage());
+            mode = 0;
+            return false;
+        }
+    }
+
+    private void closeDiskTable() {
+        if (!(table instanceof ExtendibleHashFile disk)) return;
+        try {
+            disk.close();
+        } catch (IOException e) {
+            showError("Could not close " + disk.path() + ": " + e.getMessage());
+        }
+    }
+
+    // Nothing is reinserted: the directory and pages come straight back from the mapped files
+    private void reopenDiskTable() {
+        closeDiskTable();
+        if (!openDiskTable()) {
+            rebuild();
+            return;
+        }
+        highlightedEntry = -1;
+        highlightedPage = -1;
+        updateStatus();
+        repaint();
+    }
+
+    private void clearDiskTable() {
+        closeDiskTable();
+        try {
+            for (String suffix : new String[]{".dir", ".pages", ".fill"}) {
+                Files.deleteIfExists(DISK_FILE.resolveSibling(DISK_FILE.getFileName() + suffix));
+            }
+        } catch (IOException e) {
+            showError("Could not delete " + DISK_FILE + ": " + e.getMessage());
+        }
+        reopenDiskTable();
+    }
+
+    private void describeSplits(ExtendibleHashFile disk, int key) {
+        List<Integer> split = disk.lastSplitPages();
+        if (split.isEmpty()) {
+            diskEvent = key + " went into page " + disk.directory(disk.directoryIndex(key));
+        } else {
+            diskEvent = key + " split " + split.size() / 2 + (split.size() == 2 ? " page" : " pages")
+                    + (disk.lastDoubled() ? ", directory doubled to " + disk.directorySize() : "");
+        }
+    }
+
+    public void dispose() {
+        closeDiskTable();
+        super.dispose();
     }
 
+    private List<Integer> keys() {
+        List<Integer> keys = new ArrayList<>();
+        if (table instanceof ChainedHashTable chained) {
+            for (int t = 0; t < 2; t++) {
+                for (int i = 0; i < chained.bucketCount(t); i++) {
+                    for (ChainedHashTable.Node node = chained.bucket(t, i); node != null; node = node.next) keys.add(node.key);
+                }
+            }
+        } else if (table instanceof ConcurrentChainedTable concurrent) {
+            for (int i = 0; i < concurrent.bucketCount(); i++) {
+                for (int key : concurrent.bucketKeys(i)) keys.add(key);
+            }
+        } else if (table instanceof ExtendibleHashFile disk) {
+            for (int page = 0; page < disk.pageCount(); page++) {
+                for (int i = 0; i < disk.entries(page); i++) keys.add(disk.keyAt(page, i));
+            }
+        } else {
+            OpenAddressingTable open = (OpenAddressingTable) table;
+            for (int slot = 0; slot < open.slots(); slot++) {
+                if (open.isFull(slot)) keys.add(open.keyAt(slot));
+            }
+        }
+        return keys;
+    }
+
+    // The probe path is taken up front; the animation then only recolours it
     private void search(int value) {
-        int index = hash(value);
-        LinkedList<Node> chain = table.get(index);
-        for (Node node : chain) {
-            nodeColors.put(node, TRAVERSING_COLOR);
+        boolean found = table.contains(value);
+        updateStatus();
+        repaint();
+        if (animation != null) animation.stop();
+        if (table instanceof ChainedHashTable chained) {
+            searchChain(chained, value);
+        } else if (table instanceof ConcurrentChainedTable) {
+            highlightedStripe = ConcurrentChainedTable.stripeOf(value);
+            statusLabel.setText(value + (found ? " found" : " not found") + " in stripe " + highlightedStripe);
+        } else if (table instanceof ExtendibleHashFile disk) {
+            searchPages(disk, value, found);
+        } else {
+            searchSlots((OpenAddressingTable) table, value);
+        }
+    }
+
+    private void searchChain(ChainedHashTable chained, int value) {
+        List<ChainedHashTable.Node> path = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            if (chained.bucketCount(t) == 0) continue;
+            ChainedHashTable.Node node = chained.bucket(t, chained.indexFor(value, chained.bucketCount(t)));
+            for (; node != null; node = node.next) path.add(node);
+        }
+
+        animate(500, step -> {
+            if (step > 0) nodeColors.put(path.get(step - 1), DEFAULT_COLOR);
+            if (step == path.size()) return false;
+            ChainedHashTable.Node node = path.get(step);
+            nodeColors.put(node, node.key == value ? FOUND_COLOR : TRAVERSING_COLOR);
+            return node.key != value;
+        });
+    }
+
+    // One directory read, then one page read, whatever the size of the index
+    private void searchPages(ExtendibleHashFile disk, int value, boolean found) {
+        int entry = disk.directoryIndex(value);
+        int page = disk.directory(entry);
+        diskEvent = value + (found ? " found" : " not found") + ": directory entry " + entry + " → page " + page;
+        highlightedEntry = -1;
+        highlightedPage = -1;
+        animate(600, step -> {
+            if (step == 0) {
+                highlightedEntry = entry;
+                pageHighlight = TRAVERSING_COLOR;
+            } else {
+                highlightedPage = page;
+                pageHighlight = found ? FOUND_COLOR : TRAVERSING_COLOR;
+            }
+            return step == 0;
+        });
+        updateStatus();
+    }
+
+    // Swiss table probes read a whole group at once, so its slots light up eight at a time
+    private void searchSlots(OpenAddressingTable open, int value) {
+        int[] probes = open.probeSequence(value);
+        boolean[] full = new boolean[probes.length];
+        int[] keys = new int[probes.length];
+        for (int i = 0; i < probes.length; i++) {
+            full[i] = open.isFull(probes[i]);
+            keys[i] = open.keyAt(probes[i]);
+        }
+        int stride = open.probeWidth();
+        int delay = stride > 1 ? 700 : 300;
+
+        slotColors.clear();
+        animate(delay, step -> {
+            int first = step * stride;
+            if (first >= probes.length) return false;
+            boolean hit = false;
+            for (int j = first; j < first + stride; j++) {
+                hit |= full[j] && keys[j] == value;
+                slotColors.put(probes[j], full[j] && keys[j] == value ? FOUND_COLOR : TRAVERSING_COLOR);
+            }
+            return !hit;
+        });
+    }
+
+    // Walks the eviction chain of the last insert: each slot lights up as the key carried along the chain lands in it
+    private void showEvictions(CuckooTable cuckoo) {
+        if (animation != null) animation.stop();
+        slotColors.clear();
+        int[] path = cuckoo.lastPath();
+        CuckooTable.Outcome outcome = cuckoo.lastOutcome();
+        if (outcome == CuckooTable.Outcome.REHASHED) {
+            // The old slots are gone; flash the rebuilt table instead
+            animate(400, step -> {
+                slotColors.clear();
+                if (step % 2 == 0 && step < 4) {
+                    for (int slot = 0; slot < cuckoo.slots(); slot++) {
+                        if (cuckoo.isFull(slot)) slotColors.put(slot, TRAVERSING_COLOR);
+                    }
+                }
+                return step < 4;
+            });
+            return;
+        }
+        animate(400, step -> {
+            if (step == path.length) {
+                if (outcome == CuckooTable.Outcome.STASHED) slotColors.clear();
+                return false;
+            }
+            slotColors.put(path[step], step == path.length - 1 && outcome == CuckooTable.Outcome.PLACED ? FOUND_COLOR : TRAVERSING_COLOR);
+            return true;
+        });
+    }
+
+    // Calls frame with 0, 1, 2, ... every delay ms, repainting after each, until it returns false
+    private void animate(int delay, IntPredicate frame) {
+        int[] step = {0};
+        animation = new Timer(delay, null);
+        animation.addActionListener(e -> {
+            if (!frame.test(step[0]++)) ((Timer) e.getSource()).stop();
             repaint();
-            sleep(500);
-            if (node.value == value) {
-                nodeColors.put(node, FOUND_COLOR);
-                repaint();
-                return;
+        });
+        animation.setInitialDelay(0);
+        animation.start();
+    }
+
+    // Workers hammer the table directly; the EDT just samples the per-stripe counters while they run
+    private void runLoadTest(int threads, int readPercent) {
+        ConcurrentChainedTable concurrent = (ConcurrentChainedTable) table;
+        HashTableLoadTest.prefill(concurrent, LOAD_KEYS);
+        concurrent.resetContention();
+        lastLoadTest = null;
+        setLoadTestRunning(true);
+        Timer refresh = new Timer(100, e -> {
+            updateStatus();
+            repaint();
+        });
+        refresh.start();
+
+        new Thread(() -> {
+            try {
+                ConcurrentLoad.Result result =
+                        HashTableLoadTest.run(concurrent, threads, readPercent, LOAD_KEYS, LOAD_MILLIS);
+                SwingUtilities.invokeLater(() -> {
+                    refresh.stop();
+                    lastLoadTest = result;
+                    setLoadTestRunning(false);
+                    updateStatus();
+                    repaint();
+                });
+            } catch (InterruptedException e) {
+                SwingUtilities.invokeLater(() -> {
+                    refresh.stop();
+                    setLoadTestRunning(false);
+                });
             }
-            nodeColors.put(node, DEFAULT_COLOR);
+        }).start();
+    }
+
+    // Swapping the table out from under the workers would leave them running against a table nobody draws
+    private void setLoadTestRunning(boolean running) {
+        loadBtn.setEnabled(!running);
+        modeBox.setEnabled(!running);
+        hashBox.setEnabled(!running && !fixedHash());
+    }
+
+    // The striped table and the disk file always hash with Murmur3's finaliser; the file must stay readable later
+    private boolean fixedHash() {
+        return table instanceof ConcurrentChainedTable || table instanceof ExtendibleHashFile;
+    }
+
+    private void runBenchmark() {
+        benchmarkBtn.setEnabled(false);
+        statusLabel.setText("Benchmarking " + String.format("%,d", BENCHMARK_ENTRIES) + " keys...");
+        new Thread(() -> {
+            String report = HashTableBenchmark.run(BENCHMARK_ENTRIES);
+            SwingUtilities.invokeLater(() -> {
+                benchmarkBtn.setEnabled(true);
+                updateStatus();
+                JTextArea area = new JTextArea(report);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(this, area, "Hash Table Benchmark", JOptionPane.INFORMATION_MESSAGE);
+            });
+        }).start();
+    }
+
+    private void updateStatus() {
+        stats = HashTableStats.of(table);
+        if (statsPanel != null) statsPanel.repaint();
+        if (table instanceof ChainedHashTable chained) {
+            updateChainStatus(chained);
+        } else if (table instanceof ConcurrentChainedTable concurrent) {
+            updateConcurrentStatus(concurrent);
+        } else if (table instanceof ExtendibleHashFile disk) {
+            updateDiskStatus(disk);
+        } else {
+            updateSlotStatus((OpenAddressingTable) table);
         }
     }
 
-    private int hash(int value) {
-        return value % SIZE;
+    private void updateDiskStatus(ExtendibleHashFile disk) {
+        statusLabel.setText("Entries: " + disk.size() + "   Pages: " + disk.pageCount() + " × " + disk.pageCapacity() + " entries"
+                + "   Global depth: " + disk.globalDepth()
+                + "   Load factor: " + String.format("%.2f", disk.loadFactor())
+                + "   File: " + String.format("%,d", disk.memoryBytes()) + " bytes   " + diskEvent);
+    }
+
+    private void updateSlotStatus(OpenAddressingTable open) {
+        String text = "Entries: " + open.size() + "   Slots: " + open.slots()
+                + "   Load factor: " + String.format("%.2f", open.loadFactor());
+        if (open instanceof SwissTable swiss) text += "   Tombstones: " + swiss.tombstones();
+        if (open instanceof CuckooTable cuckoo) {
+            text += "   Stash: " + cuckoo.stashSize() + "/" + CuckooTable.STASH_SIZE + "   Rebuilds: " + cuckoo.rehashes()
+                    + "   Last insert: " + describe(cuckoo);
+        }
+        statusLabel.setText(text);
+    }
+
+    private String describe(CuckooTable cuckoo) {
+        int moves = Math.max(0, cuckoo.lastPath().length - 1);
+        return switch (cuckoo.lastOutcome()) {
+            case UPDATED -> "already present";
+            case PLACED -> moves == 0 ? "placed directly" : moves + " evictions";
+            case STASHED -> "path hit " + CuckooTable.MAX_DISPLACEMENTS + " evictions, key stashed";
+            case REHASHED -> "rebuilt at " + cuckoo.slots() + " slots";
+        };
+    }
+
+    private void updateConcurrentStatus(ConcurrentChainedTable concurrent) {
+        String text = "Entries: " + concurrent.size() + "   Buckets: " + concurrent.bucketCount()
+                + "   Stripes: " + ConcurrentChainedTable.STRIPES
+                + "   Load factor: " + String.format("%.2f", concurrent.loadFactor());
+        if (lastLoadTest != null) {
+            text += String.format("   Load test: %d threads, %d%% reads, %.2f M ops/s",
+                    lastLoadTest.threads, lastLoadTest.readPercent, lastLoadTest.operationsPerSecond() / 1e6);
+        }
+        statusLabel.setText(text);
+    }
+
+    private void updateChainStatus(ChainedHashTable table) {
+        String text = "Entries: " + table.size() + "   Buckets: " + table.bucketCount(0)
+                + "   Load factor: " + String.format("%.2f", table.loadFactor());
+        if (table.isRehashing()) {
+            text += "   Rehashing " + table.bucketCount(0) + " → " + table.bucketCount(1) + ": "
+                    + table.rehashIndex() + " buckets migrated";
+        }
+        text += "   Last operation moved " + table.lastMovedNodes() + " entries";
+        statusLabel.setText(text);
+    }
+
+    // Histogram bars scale to the fullest bin; lengths are probes for a successful lookup
+    private void drawStats(Graphics g) {
+        if (stats == null) return;
+        int x = 15;
+        int y = 25;
+        g.setColor(Color.WHITE);
+        g.setFont(STATS_TITLE_FONT);
+        g.drawString("Instrumentation", x, y);
+        g.setFont(STATS_FONT);
+        String unit = table instanceof SwissTable ? " groups" : table instanceof CuckooTable ? " buckets" : "";
+        String lengthName = stats.chained ? "chain length" : "probe length";
+        String hashName = fixedHash() ? HashFunction.MURMUR3.label + " (fixed)" : hashFunction.label;
+        g.drawString("Hash: " + hashName, x, y += 25);
+        g.drawString("Load factor: " + String.format("%.3f", stats.loadFactor), x, y += 18);
+        g.drawString("Avg probes per hit: " + String.format("%.2f", stats.averageProbes) + unit, x, y += 18);
+        g.drawString("Max " + lengthName + ": " + stats.maxLength + unit, x, y += 18);
+
+        y += 30;
+        g.drawString((stats.chained ? "Buckets" : "Keys") + " by " + lengthName, x, y);
+        y += 10;
+        int maxCount = 1;
+        for (int count : stats.histogram) maxCount = Math.max(maxCount, count);
+        int barSpace = statsPanel.getWidth() - x - 90;
+        int rowHeight = 20;
+        for (int bin = 0; bin < HashTableStats.HISTOGRAM_BINS; bin++) {
+            // Open addressing has no length 0: an empty slot holds no key
+            if (!stats.chained && bin == 0) continue;
+            int rowY = y + (stats.chained ? bin : bin - 1) * rowHeight;
+            String label = bin == HashTableStats.HISTOGRAM_BINS - 1 ? bin + "+" : String.valueOf(bin);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString(label, x, rowY + 14);
+            int barWidth = (int) ((long) barSpace * stats.histogram[bin] / maxCount);
+            float heat = (float) bin / (HashTableStats.HISTOGRAM_BINS - 1);
+            g.setColor(Color.getHSBColor(0.6f * (1 - heat), 0.7f, 0.8f));
+            g.fillRect(x + 30, rowY + 3, Math.max(stats.histogram[bin] > 0 ? 1 : 0, barWidth), rowHeight - 6);
+            g.setColor(Color.WHITE);
+            g.drawString(String.valueOf(stats.histogram[bin]), x + 35 + barWidth, rowY + 14);
+        }
+    }
+
+    // One cell per run of buckets or slots, coloured by their mean occupancy relative to the longest chain or probe
+    private void drawHeatmap(Graphics g, int from, int count, int x0, int y0, int width, int height) {
+        // Small tables get bigger cells, one per bucket
+        int cell = Math.max(HEATMAP_CELL, Math.min(40, (int) Math.sqrt((double) width * height / count)));
+        int columns = Math.max(1, width / cell);
+        int rows = Math.max(1, height / cell);
+        int perCell = (count + columns * rows - 1) / (columns * rows);
+        int cells = (count + perCell - 1) / perCell;
+        double scale = Math.max(2, stats.maxLength);
+        for (int c = 0; c < cells; c++) {
+            int start = from + c * perCell;
+            int end = Math.min(from + count, start + perCell);
+            long sum = 0;
+            for (int i = start; i < end; i++) sum += stats.occupancy[i];
+            double mean = (double) sum / (end - start);
+            int x = x0 + (c % columns) * cell;
+            int y = y0 + (c / columns) * cell;
+            if (mean == 0) {
+                g.setColor(MIGRATED_COLOR);
+            } else {
+                float heat = (float) Math.min(1, mean / scale);
+                g.setColor(Color.getHSBColor(0.6f * (1 - heat), 0.8f, 0.5f + 0.5f * heat));
+            }
+            g.fillRect(x, y, cell - (cell > HEATMAP_CELL ? 1 : 0), cell - (cell > HEATMAP_CELL ? 1 : 0));
+        }
+        g.setColor(Color.WHITE);
+        g.drawString(perCell + " per cell", x0, y0 + ((cells + columns - 1) / columns) * cell + 15);
     }
 
     private void drawTable(Graphics g) {
-        int boxWidth = 80, boxHeight = 40, gap = 10, startX = 30;
-        for (int i = 0; i < SIZE; i++) {
-            int x = startX;
-            int y = 50 + i * (boxHeight + gap);
+        if (table instanceof ChainedHashTable chained) {
+            drawChains(g, chained);
+        } else if (table instanceof ConcurrentChainedTable concurrent) {
+            drawStripes(g, concurrent);
+        } else if (table instanceof ExtendibleHashFile disk) {
+            drawDirectory(g, disk);
+        } else {
+            drawSlots(g, (OpenAddressingTable) table);
+        }
+    }
+
+    // Slots wrap row by row; fill colour runs from blue at home to red a few probes (or groups) away
+    private void drawSlots(Graphics g, OpenAddressingTable open) {
+        int slots = open.slots();
+        int width = tablePanel.getWidth() - 60;
+        int height = tablePanel.getHeight() - 50;
+        // Rows hold whole groups or buckets so each one reads as a block
+        int group = open.probeWidth();
+        int columns = group * Math.max(1, width / (group * 50));
+        int cell = Math.min(50, width / columns);
+        while (cell > 4 && (slots + columns - 1) / columns * cell > height) {
+            cell--;
+            columns = group * Math.max(1, width / (group * cell));
+        }
+        int scale = open instanceof CuckooTable ? 1 : open instanceof SwissTable ? 2 : 8;
+        boolean text = cell >= 30;
+
+        g.setColor(Color.WHITE);
+        String heading = open.name() + " (" + slots + " slots)";
+        if (open instanceof CuckooTable cuckoo) {
+            StringBuilder stash = new StringBuilder("   stash:");
+            for (int i = 0; i < cuckoo.stashSize(); i++) stash.append(' ').append(cuckoo.stashKey(i));
+            heading += cuckoo.stashSize() == 0 ? "   stash empty" : stash;
+        }
+        g.drawString(heading, 30, 20);
+        if (cell <= 4) {
+            drawHeatmap(g, 0, slots, 30, 30, width, height - 20);
+            return;
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            int x = 30 + (slot % columns) * cell;
+            int y = 30 + (slot / columns) * cell;
+            if (y + cell > 30 + height) break;
+            Color fill = slotColors.get(slot);
+            if (fill == null && open.isFull(slot)) {
+                float heat = Math.min(1f, (float) open.displacement(slot) / scale);
+                fill = Color.getHSBColor(0.6f * (1 - heat), 0.7f, 0.8f);
+            }
+            if (fill != null) {
+                g.setColor(fill);
+                g.fillRect(x, y, cell - 1, cell - 1);
+            } else if (open instanceof SwissTable swiss && swiss.controlByte(slot) == SwissTable.DELETED) {
+                g.setColor(MIGRATED_COLOR);
+                g.fillRect(x, y, cell - 1, cell - 1);
+            }
             g.setColor(Color.GRAY);
-            g.drawRect(x, y, boxWidth, boxHeight);
+            g.drawRect(x, y, cell - 1, cell - 1);
+            if (text && open.isFull(slot)) {
+                g.setColor(Color.WHITE);
+                g.drawString(String.valueOf(open.keyAt(slot)), x + 3, y + cell / 2 + 5);
+            }
+            if (group > 1 && slot % group == 0) {
+                g.setColor(Color.WHITE);
+                g.drawLine(x, y, x, y + cell - 1);
+            }
+        }
+    }
+
+    // One column per stripe: bar height is its share of lock acquisitions, colour how often it was found held
+    private void drawStripes(Graphics g, ConcurrentChainedTable concurrent) {
+        int stripes = ConcurrentChainedTable.STRIPES;
+        int width = tablePanel.getWidth() - 60;
+        int columnWidth = width / stripes;
+        int barHeight = Math.min(160, tablePanel.getHeight() / 3);
+        long maxAcquisitions = 1;
+        long totalAcquisitions = 0;
+        long totalContended = 0;
+        for (int s = 0; s < stripes; s++) {
+            maxAcquisitions = Math.max(maxAcquisitions, concurrent.acquisitions(s));
+            totalAcquisitions += concurrent.acquisitions(s);
+            totalContended += concurrent.contended(s);
+        }
+
+        g.setColor(Color.WHITE);
+        g.drawString("Stripes (lock acquisitions, contended %)   total " + totalAcquisitions + ", contended "
+                + String.format("%.2f%%", totalAcquisitions == 0 ? 0.0 : 100.0 * totalContended / totalAcquisitions), 30, 20);
+        int baseY = 40 + barHeight;
+        for (int s = 0; s < stripes; s++) {
+            long acquisitions = concurrent.acquisitions(s);
+            double contendedShare = acquisitions == 0 ? 0 : (double) concurrent.contended(s) / acquisitions;
+            int x = 30 + s * columnWidth;
+            int h = (int) (barHeight * acquisitions / maxAcquisitions);
+            // Hue saturates at 5% contended, which is already a hot lock
+            float heat = (float) Math.min(1, contendedShare * 20);
+            g.setColor(Color.getHSBColor(0.6f * (1 - heat), 0.7f, 0.8f));
+            g.fillRect(x + 2, baseY - h, columnWidth - 4, h);
+            g.setColor(s == highlightedStripe ? Color.ORANGE : Color.GRAY);
+            g.drawRect(x + 2, baseY - barHeight, columnWidth - 4, barHeight);
             g.setColor(Color.WHITE);
-            g.drawString("Index " + i, x, y - 5);
-            LinkedList<Node> chain = table.get(i);
-            for (Node node : chain) {
-                x += boxWidth + 5;
-                g.setColor(nodeColors.getOrDefault(node, DEFAULT_COLOR));
-                g.fillRect(x, y, boxWidth, boxHeight);
-                g.setColor(Color.BLACK);
-                g.drawRect(x, y, boxWidth, boxHeight);
+            g.drawString(String.valueOf(s), x + 4, baseY + 15);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString(concurrent.stripeSize(s) + " keys", x + 4, baseY + 30);
+            g.drawString(String.format("%.1f%%", 100 * contendedShare), x + 4, baseY + 45);
+        }
+
+        g.setColor(Color.WHITE);
+        g.drawString("Bucket occupancy (" + concurrent.bucketCount() + " buckets)", 30, baseY + 70);
+        drawHeatmap(g, 0, stats.occupancy.length, 30, baseY + 80, width, tablePanel.getHeight() - baseY - 110);
+    }
+
+    // Directory on the left, pages on the right, one line per directory entry to the page it points at. Several
+    // entries share a page whenever its local depth is below the global depth; pages split by the last insert are
+    // outlined in orange.
+    private void drawDirectory(Graphics g, ExtendibleHashFile disk) {
+        int entries = disk.directorySize();
+        int pages = disk.pageCount();
+        int height = tablePanel.getHeight() - 50;
+        int width = tablePanel.getWidth() - 60;
+        g.setColor(Color.WHITE);
+        g.drawString("Directory (global depth " + disk.globalDepth() + ", " + entries + " entries)", 30, 20);
+        g.drawString("Pages (" + pages + ", " + disk.pageSize() + " bytes each)", 300, 20);
+        if (Math.max(entries, pages) * 3 > height) {
+            g.drawString("Page fill", 30, 45);
+            drawHeatmap(g, 0, pages, 30, 55, width, height - 45);
+            return;
+        }
+
+        int entryHeight = Math.min(28, height / entries);
+        int pageHeight = Math.min(28, height / pages);
+        int dirX = 30;
+        int dirWidth = 120;
+        int pageX = 300;
+        int cell = Math.max(8, Math.min(50, (width - pageX - 40) / disk.pageCapacity()));
+        List<Integer> split = disk.lastSplitPages();
+
+        for (int i = 0; i < entries; i++) {
+            int y = 30 + i * entryHeight;
+            int target = 30 + disk.directory(i) * pageHeight + pageHeight / 2;
+            g.setColor(i == highlightedEntry ? Color.ORANGE : Color.DARK_GRAY);
+            g.drawLine(dirX + dirWidth, y + entryHeight / 2, pageX - 60, target);
+            g.setColor(i == highlightedEntry ? TRAVERSING_COLOR : DEFAULT_COLOR);
+            g.fillRect(dirX, y, dirWidth, entryHeight - 1);
+            if (entryHeight >= 14) {
                 g.setColor(Color.WHITE);
-                g.drawString(String.valueOf(node.value), x + 25, y + 25);
+                String bits = disk.globalDepth() == 0 ? "*" : String.format("%" + disk.globalDepth() + "s",
+                        Integer.toBinaryString(i)).replace(' ', '0');
+                g.drawString(bits + " → " + disk.directory(i), dirX + 4, y + entryHeight / 2 + 5);
+            }
+        }
+
+        for (int page = 0; page < pages; page++) {
+            int y = 30 + page * pageHeight;
+            if (pageHeight >= 14) {
+                g.setColor(Color.LIGHT_GRAY);
+                g.drawString(page + " (d=" + disk.localDepth(page) + ")", pageX - 58, y + pageHeight / 2 + 5);
+            }
+            int count = disk.entries(page);
+            for (int slot = 0; slot < disk.pageCapacity(); slot++) {
+                int x = pageX + slot * cell;
+                if (slot < count) {
+                    g.setColor(page == highlightedPage ? pageHighlight : DEFAULT_COLOR);
+                    g.fillRect(x, y, cell - 1, pageHeight - 1);
+                    if (pageHeight >= 14 && cell >= 30) {
+                        g.setColor(Color.WHITE);
+                        g.drawString(String.valueOf(disk.keyAt(page, slot)), x + 3, y + pageHeight / 2 + 5);
+                    }
+                }
+                g.setColor(Color.GRAY);
+                g.drawRect(x, y, cell - 1, pageHeight - 1);
+            }
+            if (split.contains(page)) {
+                g.setColor(Color.ORANGE);
+                g.drawRect(pageX - 2, y - 1, disk.pageCapacity() * cell + 2, pageHeight);
             }
         }
     }
 
-    private static class Node {
-        int value;
+    // Old and new tables side by side while a resize is in progress; rows shrink to fit as the table grows
+    private void drawChains(Graphics g, ChainedHashTable table) {
+        int tables = table.isRehashing() ? 2 : 1;
+        int columnWidth = (tablePanel.getWidth() - 30) / tables;
+        for (int t = 0; t < tables; t++) {
+            int x0 = 30 + t * columnWidth;
+            int buckets = table.bucketCount(t);
+            g.setColor(Color.WHITE);
+            String heading = tables == 1 ? "Table (" + buckets + " buckets)"
+                    : (t == 0 ? "Old table (" : "New table (") + buckets + " buckets)";
+            g.drawString(heading, x0, 20);
+            drawBuckets(g, table, t, x0, 30, columnWidth - 20, tablePanel.getHeight() - 40);
+        }
+    }
 
-        Node(int val) {
-            this.value = val;
+    private void drawBuckets(Graphics g, ChainedHashTable table, int t, int x0, int y0, int width, int height) {
+        int buckets = table.bucketCount(t);
+        if (buckets * 3 > height) {
+            drawHeatmap(g, t == 0 ? 0 : table.bucketCount(0), buckets, x0, y0, width, height - 20);
+            return;
+        }
+        int rowHeight = Math.max(3, Math.min(50, height / buckets));
+        int gap = rowHeight >= 20 ? 10 : 1;
+        int boxHeight = rowHeight - gap;
+        int labelWidth = rowHeight >= 20 ? 80 : 40;
+        int boxWidth = rowHeight >= 20 ? 80 : Math.max(6, rowHeight * 2);
+        boolean text = boxHeight >= 14;
+
+        for (int i = 0; i < buckets && (i + 1) * rowHeight <= height; i++) {
+            int y = y0 + i * rowHeight;
+            boolean migrated = t == 0 && table.isRehashing() && i < table.rehashIndex();
+            g.setColor(migrated ? MIGRATED_COLOR : Color.GRAY);
+            g.drawRect(x0, y, labelWidth, boxHeight);
+            if (text) {
+                g.setColor(migrated ? Color.GRAY : Color.WHITE);
+                g.drawString((rowHeight >= 20 ? "Index " : "") + i, x0 + 4, y + boxHeight / 2 + 5);
+            }
+
+            int x = x0 + labelWidth + 5;
+            for (ChainedHashTable.Node node = table.bucket(t, i); node != null; node = node.next) {
+                if (x + boxWidth > x0 + width) {
+                    int hidden = 0;
+                    for (; node != null; node = node.next) hidden++;
+                    g.setColor(Color.WHITE);
+                    if (text) g.drawString("+" + hidden, x, y + boxHeight / 2 + 5);
+                    break;
+                }
+                g.setColor(nodeColors.getOrDefault(node, DEFAULT_COLOR));
+                g.fillRect(x, y, boxWidth, boxHeight);
+                g.setColor(Color.BLACK);
+                g.drawRect(x, y, boxWidth, boxHeight);
+                if (text) {
+                    g.setColor(Color.WHITE);
+                    g.drawString(String.valueOf(node.key), x + boxWidth / 2 - 10, y + boxHeight / 2 + 5);
+                }
+                x += boxWidth + 5;
+            }
+            if (t == 0 && table.isRehashing() && i == table.rehashIndex()) {
+                g.setColor(Color.ORANGE);
+                g.drawRect(x0 - 2, y - 2, labelWidth + 4, boxHeight + 4);
+            }
         }
     }
 
@@ -158,13 +958,13 @@ public class HashTableVisualizer extends JFrame {
         return button;
     }
 
-    private void showError(String msg) {
-        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(Color.WHITE);
+        return label;
     }
 
-    private void sleep(int ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ignored) {}
+    private void showError(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
     }
 }
@@ -0,0 +1,114 @@
+package algorithms;
+
+import java.util.Arrays;
+
+class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size = 0;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    long key(int item) {
+        return keys[item];
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[heap[0]];
+    }
+
+    // Inserts the item, or moves it up or down if it is already queued with another key
+    void push(int item, long key) {
+        if (position[item] < 0) {
+            heap[size] = item;
+            position[item] = size;
+            keys[item] = key;
+            siftUp(size++);
+            return;
+        }
+        long old = keys[item];
+        keys[item] = key;
+        if (key < old) siftUp(position[item]);
+        else siftDown(position[item]);
+    }
+
+    int poll() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    void remove(int item) {
+        if (position[item] >= 0) removeAt(position[item]);
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void removeAt(int index) {
+        int item = heap[index];
+        position[item] = -1;
+        size--;
+        if (index == size) return;
+        int moved = heap[size];
+        heap[index] = moved;
+        position[moved] = index;
+        siftUp(index);
+        siftDown(position[moved]);
+    }
+
+    private void siftUp(int index) {
+        int item = heap[index];
+        long key = keys[item];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[heap[parent]] <= key) break;
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+
+    private void siftDown(int index) {
+        int item = heap[index];
+        long key = keys[item];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= key) break;
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+}
@@ -0,0 +1,29 @@
+package algorithms;
+
+// Int-to-int map over primitive keys; the visualizer and the benchmark only talk to tables through this
+interface IntHashTable {
+
+    // Returned by get for absent keys, so that value cannot be told apart from a miss
+    int NOT_FOUND = Integer.MIN_VALUE;
+
+    String name();
+
+    // True when the key was new; an existing key just has its value replaced
+    boolean put(int key, int value);
+
+    int get(int key);
+
+    boolean contains(int key);
+
+    boolean remove(int key);
+
+    int size();
+
+    // Approximate heap footprint assuming compressed oops, for the bytes-per-entry comparison
+    long memoryBytes();
+
+    // The visualizer stores bare keys
+    default boolean insert(int key) {
+        return put(key, key);
+    }
+}
@@ -0,0 +1,57 @@
+package algorithms;
+
+import java.util.List;
+
+// Sequence of ints held in linked nodes; the linked list visualizer only talks to lists through this
+interface IntLinkedList {
+
+    String name();
+
+    // Constant time through the tail pointer
+    void append(int value);
+
+    // Inserts before the element now at index; index == size() appends
+    void insert(int index, int value);
+
+    int get(int index);
+
+    // Index of the first occurrence, or -1
+    int indexOf(int value);
+
+    // Removes the first occurrence; returns its index, or -1 if the value is absent
+    int removeValue(int value);
+
+    // Walks every value in order, for timing a full traversal
+    long sum();
+
+    // Reverses the order in place, relinking the existing nodes
+    void reverse();
+
+    void clear();
+
+    int size();
+
+    int nodeCount();
+
+    // Node-to-node pointers followed by the last get, indexOf, insert or removeValue
+    int lastHops();
+
+    // The values in each node from head to tail, at most limit nodes, copied for drawing
+    List<int[]> nodes(int limit);
+
+    // Values per node when full
+    int nodeCapacity();
+
+    // Approximate heap footprint assuming compressed oops, for the bytes-per-value comparison
+    long memoryBytes();
+
+    default int[] toArray() {
+        int[] values = new int[size()];
+        int i = 0;
+        for (int[] node : nodes(Integer.MAX_VALUE)) {
+            System.arraycopy(node, 0, values, i, node.length);
+            i += node.length;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,112 @@
+package algorithms;
+
+// Linear probing; deletion shifts the rest of the cluster back instead of leaving tombstones
+class LinearProbingTable extends OpenAddressingTable {
+
+    static final double MAX_LOAD_FACTOR = 0.75;
+
+    private boolean[] used;
+
+    LinearProbingTable(int initialCapacity) {
+        this(initialCapacity, HashFunction.MURMUR3);
+    }
+
+    LinearProbingTable(int initialCapacity, HashFunction hashFunction) {
+        super(initialCapacity, hashFunction);
+    }
+
+    protected void allocate(int newCapacity) {
+        super.allocate(newCapacity);
+        used = new boolean[newCapacity];
+    }
+
+    public String name() {
+        return "Linear probing";
+    }
+
+    public boolean put(int key, int value) {
+        int slot = home(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size > MAX_LOAD_FACTOR * capacity) grow();
+        return true;
+    }
+
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? NOT_FOUND : values[slot];
+    }
+
+    public boolean contains(int key) {
+        return find(key) >= 0;
+    }
+
+    private int find(int key) {
+        for (int slot = home(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    // Knuth's Algorithm R: pull back every later key whose home does not lie cyclically in (hole, slot]
+    public boolean remove(int key) {
+        int hole = find(key);
+        if (hole < 0) return false;
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot]) break;
+            int homeSlot = home(keys[slot]);
+            boolean reachable = hole <= slot
+                    ? hole < homeSlot && homeSlot <= slot
+                    : hole < homeSlot || homeSlot <= slot;
+            if (reachable) continue;
+            keys[hole] = keys[slot];
+            values[hole] = values[slot];
+            hole = slot;
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    boolean isFull(int slot) {
+        return used[slot];
+    }
+
+    int[] probeSequence(int key) {
+        int[] sequence = new int[capacity];
+        int length = 0;
+        int slot = home(key);
+        while (true) {
+            sequence[length++] = slot;
+            if (!used[slot] || keys[slot] == key) break;
+            slot = (slot + 1) & mask;
+        }
+        return trim(sequence, length);
+    }
+
+    public long memoryBytes() {
+        // Two int[] and a boolean[] of capacity entries, plus array headers
+        return 9L * capacity + 3 * 16 + 32;
+    }
+}
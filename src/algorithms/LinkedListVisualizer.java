@@ -1,23 +1,41 @@
 package algorithms;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class LinkedListVisualizer extends JFrame {
 
-    private Node head;
+    // 0 is a plain singly linked list, anything else an unrolled list with that many values per node
+    private final int[] CHUNK_SIZES = {0, 4, 8, 16};
+    private final int LARGE_BATCH = 1_000_000;
+    // Nodes drawn before the rest are summarised
+    private final int DRAW_LIMIT = 150;
+    private final int STEP_MILLIS = 500;
+
+    private IntLinkedList list = new SinglyLinkedList();
     private final JPanel listPanel;
-    private final List<Node> nodeList = new ArrayList<>();
+    private final JLabel statusLabel;
+    private final JComboBox<String> modeBox;
+    private final JButton layoutBtn;
+    private Timer animation;
+    private String event = "";
+
+    // Node being walked past, and the node and slot a search or an edit ended on, as drawn positions or -1
+    private int traversingNode = -1;
+    private int markedNode = -1;
+    private int markedSlot = -1;
 
     private final Color DEFAULT_COLOR = new Color(60, 120, 200);
     private final Color FOUND_COLOR = new Color(0, 200, 100);
     private final Color TRAVERSING_COLOR = Color.YELLOW;
+    private final Color EMPTY_SLOT_COLOR = new Color(45, 45, 45);
+    private static final Font NODE_FONT = new Font("Segoe UI", Font.PLAIN, 12);
 
     public LinkedListVisualizer() {
         setTitle("Linked List Visualizer");
-        setSize(1000, 400);
+        setSize(1100, 560);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
@@ -45,12 +63,53 @@ public class LinkedListVisualizer extends JFrame {
 
         JTextField inputField = new JTextField(5);
         inputField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JTextField indexField = new JTextField(4);
+        indexField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
 
-        JButton insertBtn = createStyledButton("Insert", () -> {
+        JButton insertBtn = createStyledButton("Append", () -> {
             try {
                 int value = Integer.parseInt(inputField.getText());
-                insert(value);
                 inputField.setText("");
+                stopAnimation();
+                list.append(value);
+                markIndex(list.size() - 1);
+                event = "Appended " + value + " through the tail pointer, no walk";
+                updateStatus();
+                repaint();
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton insertAtBtn = createStyledButton("Insert at Index", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                int index = Integer.parseInt(indexField.getText());
+                if (index < 0 || index > list.size()) {
+                    showError("The index must be between 0 and " + list.size());
+                    return;
+                }
+                inputField.setText("");
+                stopAnimation();
+                list.insert(index, value);
+                markIndex(index);
+                event = "Inserted " + value + " at index " + index + " after " + hops(list.lastHops());
+                updateStatus();
+                repaint();
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer value and index");
+            }
+        });
+
+        JButton deleteBtn = createStyledButton("Delete", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                stopAnimation();
+                int index = list.removeValue(value);
+                event = index < 0 ? value + " is not in the list, " + hops(list.lastHops()) + " walked"
+                        : "Deleted " + value + " from index " + index + " after " + hops(list.lastHops());
+                updateStatus();
                 repaint();
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
@@ -61,84 +120,288 @@ public class LinkedListVisualizer extends JFrame {
             try {
                 int value = Integer.parseInt(inputField.getText());
                 inputField.setText("");
-                new Thread(() -> search(value)).start();
+                search(value);
             } catch (NumberFormatException e) {
                 showError("Enter a valid integer");
             }
         });
 
+        JButton reverseBtn = createStyledButton("Reverse", () -> {
+            stopAnimation();
+            long start = System.nanoTime();
+            list.reverse();
+            long micros = (System.nanoTime() - start) / 1000;
+            event = "Reversed " + String.format("%,d", list.nodeCount()) + " node links in place in " + micros + " µs";
+            updateStatus();
+            repaint();
+        });
+
         JButton backBtn = createStyledButton("Back to Menu", () -> {
             this.dispose();
             new ui.DataStructuresVisualizer();
         });
 
-        controlPanel.add(new JLabel("Value:"));
+        modeBox = new JComboBox<>();
+        for (int chunk : CHUNK_SIZES) modeBox.addItem(createList(chunk).name());
+        modeBox.addActionListener(e -> switchMode());
+
+        JButton largeBtn = createStyledButton("Append " + String.format("%,d", LARGE_BATCH), () -> {
+            stopAnimation();
+            long start = System.nanoTime();
+            for (int i = 0; i < LARGE_BATCH; i++) list.append(i);
+            double millis = (System.nanoTime() - start) / 1e6;
+            event = String.format("Appended %,d values in %.1f ms", LARGE_BATCH, millis);
+            updateStatus();
+            repaint();
+        });
+
+        JButton walkBtn = createStyledButton("Time Full Walk", () -> {
+            stopAnimation();
+            if (list.size() == 0) {
+                showError("The list is empty");
+                return;
+            }
+            // A few passes, keeping the fastest, so one cold walk does not decide it
+            long best = Long.MAX_VALUE;
+            long sum = 0;
+            for (int pass = 0; pass < 5; pass++) {
+                long start = System.nanoTime();
+                sum += list.sum();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            Blackhole.consume(sum);
+            event = String.format("Walked %,d values across %,d nodes: %.2f ns per value", list.size(),
+                    list.nodeCount(), (double) best / list.size());
+            updateStatus();
+        });
+
+        layoutBtn = createStyledButton("Memory Layout", this::runLayoutBenchmark);
+
+        JButton clearBtn = createStyledButton("Clear", () -> {
+            stopAnimation();
+            list.clear();
+            event = "Cleared";
+            updateStatus();
+            repaint();
+        });
+
+        controlPanel.add(createLabel("Value:"));
         controlPanel.add(inputField);
+        controlPanel.add(createLabel("Index:"));
+        controlPanel.add(indexField);
         controlPanel.add(insertBtn);
+        controlPanel.add(insertAtBtn);
+        controlPanel.add(deleteBtn);
         controlPanel.add(searchBtn);
+        controlPanel.add(reverseBtn);
         controlPanel.add(backBtn);
 
-        add(controlPanel, BorderLayout.SOUTH);
+        JPanel setupPanel = new JPanel(new FlowLayout());
+        setupPanel.setBackground(new Color(30, 30, 30));
+        setupPanel.add(createLabel("Nodes:"));
+        setupPanel.add(modeBox);
+        setupPanel.add(largeBtn);
+        setupPanel.add(walkBtn);
+        setupPanel.add(clearBtn);
+        setupPanel.add(layoutBtn);
 
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(3, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        southPanel.add(setupPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        updateStatus();
         setVisible(true);
     }
 
-    private void insert(int value) {
-        Node newNode = new Node(value);
-        newNode.color = DEFAULT_COLOR;
-        nodeList.add(newNode);
-        if (head == null) {
-            head = newNode;
-        } else {
-            Node current = head;
-            while (current.next != null) current = current.next;
-            current.next = newNode;
-        }
+    private IntLinkedList createList(int chunk) {
+        return chunk == 0 ? new SinglyLinkedList() : new UnrolledLinkedList(chunk);
+    }
+
+    // Moves the current values into a list of the chosen kind, in order
+    private void switchMode() {
+        stopAnimation();
+        IntLinkedList next = createList(CHUNK_SIZES[modeBox.getSelectedIndex()]);
+        for (int value : list.toArray()) next.append(value);
+        list = next;
+        event = "Rebuilt as " + list.name().toLowerCase();
+        updateStatus();
+        repaint();
     }
 
+    // Walks the drawn nodes one pointer per step, each node lighting up while its values are compared; an
+    // unrolled list reaches a value in fewer steps because each pointer brings a whole chunk with it
     private void search(int value) {
-        Node current = head;
-        while (current != null) {
-            current.color = TRAVERSING_COLOR;
-            repaint();
-            sleep(500);
-            if (current.value == value) {
-                current.color = FOUND_COLOR;
+        stopAnimation();
+        List<int[]> nodes = list.nodes(DRAW_LIMIT);
+        int[] step = {0};
+        int[] start = {0};
+        animation = new Timer(STEP_MILLIS, e -> {
+            if (step[0] == nodes.size()) {
+                stopAnimation();
+                // Past what is drawn, the rest of the walk happens at once
+                int index = list.indexOf(value);
+                event = value + (index < 0 ? " not found after " : " found at index " + index + " after ")
+                        + hops(list.lastHops());
+                updateStatus();
                 repaint();
                 return;
             }
-            current.color = DEFAULT_COLOR;
-            current = current.next;
+            int[] node = nodes.get(step[0]);
+            traversingNode = step[0];
+            for (int i = 0; i < node.length; i++) {
+                if (node[i] != value) continue;
+                stopAnimation();
+                markedNode = step[0];
+                markedSlot = i;
+                event = value + " found at index " + (start[0] + i) + " after " + hops(step[0]);
+                break;
+            }
+            if (animation != null) {
+                event = "Node " + step[0] + ": comparing " + node.length + (node.length == 1 ? " value" : " values");
+                start[0] += node.length;
+                step[0]++;
+            }
+            updateStatus();
+            repaint();
+        });
+        animation.setInitialDelay(0);
+        animation.start();
+    }
+
+    // Highlights the slot holding index, if it is drawn
+    private void markIndex(int index) {
+        List<int[]> nodes = list.nodes(DRAW_LIMIT);
+        for (int i = 0; i < nodes.size(); i++) {
+            if (index < nodes.get(i).length) {
+                markedNode = i;
+                markedSlot = index;
+                return;
+            }
+            index -= nodes.get(i).length;
         }
     }
 
+    private void stopAnimation() {
+        if (animation != null) animation.stop();
+        animation = null;
+        traversingNode = -1;
+        markedNode = -1;
+        markedSlot = -1;
+    }
+
+    // Walk cost and bytes per element of these nodes, the queue's LinkedList and the stack's Stack<Integer>,
+    // each against an int[] layout
+    private void runLayoutBenchmark() {
+        layoutBtn.setEnabled(false);
+        int largest = MemoryLayoutBenchmark.LARGE_ARRAY_SIZE;
+        statusLabel.setText("Measuring traversals up to " + String.format("%,d", largest) + " elements...");
+        new Thread(() -> {
+            String report = MemoryLayoutBenchmark.run();
+            SwingUtilities.invokeLater(() -> {
+                layoutBtn.setEnabled(true);
+                updateStatus();
+                JTextArea area = new JTextArea(report);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                area.setEditable(false);
+                JScrollPane scroll = new JScrollPane(area);
+                scroll.setPreferredSize(new Dimension(720, 560));
+                JOptionPane.showMessageDialog(this, scroll, "Pointer Chasing vs Contiguous Memory",
+                        JOptionPane.INFORMATION_MESSAGE);
+            });
+        }).start();
+    }
+
+    private String hops(int count) {
+        return count + (count == 1 ? " pointer hop" : " pointer hops");
+    }
+
+    private void updateStatus() {
+        long bytes = list.memoryBytes();
+        String perValue = list.size() == 0 ? "" : String.format(" (%.1f per value)", (double) bytes / list.size());
+        statusLabel.setText("Size: " + String.format("%,d", list.size()) + "   Nodes: "
+                + String.format("%,d", list.nodeCount()) + "   About " + String.format("%,d", bytes) + " bytes"
+                + perValue + "   " + event);
+    }
+
+    // Nodes left to right in rows, each a box of its slots, with head and tail pointers over the ends
     private void drawList(Graphics g) {
+        List<int[]> nodes = list.nodes(DRAW_LIMIT);
+        int capacity = list.nodeCapacity();
+        int slot = capacity == 1 ? 60 : 30;
+        int width = slot * capacity;
+        int gap = 30;
+        int rowHeight = 80;
         int x = 30;
-        for (Node node : nodeList) {
-            g.setColor(node.color);
-            g.fillRect(x, 100, 60, 40);
-            g.setColor(Color.BLACK);
-            g.drawRect(x, 100, 60, 40);
-            g.setColor(Color.WHITE);
-            g.drawString(String.valueOf(node.value), x + 22, 125);
-            if (node.next != null) {
-                g.setColor(Color.WHITE);
-                g.drawLine(x + 60, 120, x + 80, 120);
-                g.drawLine(x + 75, 115, x + 80, 120);
-                g.drawLine(x + 75, 125, x + 80, 120);
+        int y = 50;
+        g.setFont(NODE_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+
+        if (nodes.isEmpty()) {
+            g.setColor(Color.GRAY);
+            g.drawString("head = tail = null", x, y + 25);
+            return;
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            if (x + width > listPanel.getWidth() - 20 && x > 30) {
+                x = 30;
+                y += rowHeight;
+                // The link that continues from the end of the row above
+                drawArrow(g, x - 20, x, y + 20);
+            }
+            int[] node = nodes.get(i);
+            if (i == 0) drawPointerLabel(g, "head", x, y);
+            boolean last = i == nodes.size() - 1 && nodes.size() == list.nodeCount();
+            if (last) drawPointerLabel(g, "tail", x + width - metrics.stringWidth("tail"), y);
+
+            for (int s = 0; s < capacity; s++) {
+                int cellX = x + s * slot;
+                Color color = s >= node.length ? EMPTY_SLOT_COLOR
+                        : i == markedNode && (s == markedSlot || markedSlot < 0) ? FOUND_COLOR
+                        : i == traversingNode ? TRAVERSING_COLOR : DEFAULT_COLOR;
+                g.setColor(color);
+                g.fillRect(cellX, y, slot, 40);
+                g.setColor(Color.BLACK);
+                g.drawRect(cellX, y, slot, 40);
+                if (s < node.length) {
+                    String label = String.valueOf(node[s]);
+                    g.setColor(color == TRAVERSING_COLOR ? Color.BLACK : Color.WHITE);
+                    if (metrics.stringWidth(label) < slot - 2) {
+                        g.drawString(label, cellX + (slot - metrics.stringWidth(label)) / 2, y + 25);
+                    }
+                }
             }
-            x += 90;
+            if (capacity > 1) {
+                g.setColor(Color.LIGHT_GRAY);
+                g.drawRect(x - 1, y - 1, width + 2, 42);
+            }
+            if (i + 1 < list.nodeCount()) drawArrow(g, x + width, x + width + gap - 10, y + 20);
+            x += width + gap;
+        }
+        int hidden = list.nodeCount() - nodes.size();
+        if (hidden > 0) {
+            g.setColor(Color.GRAY);
+            g.drawString(String.format("... %,d more nodes to the tail", hidden), 30, y + rowHeight);
         }
     }
 
-    private static class Node {
-        int value;
-        Node next;
-        Color color;
+    private void drawArrow(Graphics g, int from, int to, int y) {
+        g.setColor(Color.WHITE);
+        g.drawLine(from, y, to, y);
+        g.drawLine(to - 5, y - 5, to, y);
+        g.drawLine(to - 5, y + 5, to, y);
+    }
 
-        Node(int val) {
-            this.value = val;
-        }
+    private void drawPointerLabel(Graphics g, String label, int x, int y) {
+        g.setColor(Color.LIGHT_GRAY);
+        g.drawString(label, x, y - 6);
     }
 
     private JButton createStyledButton(String text, Runnable action) {
@@ -153,14 +416,14 @@ public class LinkedListVisualizer extends JFrame {
         return button;
     }
 
-    private void showError(String msg) {
-        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(Color.WHITE);
+        return label;
     }
 
-    private void sleep(int ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ignored) {}
+    private void showError(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
 }
@@ -0,0 +1,264 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free ordered map of int keys, after Herlihy and Shavit. Each node is a tower of links, one per level it
+// appears on, and every link is an AtomicMarkableReference: it is changed only by compare-and-set, and its mark
+// bit says the node it belongs to is being removed. A node is in the map exactly while it is linked at the bottom
+// level with that link unmarked.
+//
+// An insert links its node bottom-up, so it is visible from the moment the bottom link lands and the upper levels
+// only speed up searches. A remove marks the tower top-down, and the bottom mark is the removal; any thread that
+// later walks past a marked link snips the node out at that level. Lookups never write and never retry.
+class LockFreeSkipList {
+
+    static final int MAX_LEVEL = 24;
+
+    // Steps of an update, reported to a listener for the visualizer
+    enum Event {
+        LINK, MARK, UNLINK, RETRY
+    }
+
+    interface Listener {
+        void step(Event event, int key, int level);
+    }
+
+    interface Visitor {
+        void visit(int key, int value);
+    }
+
+    static final class Node {
+        final int key;
+        volatile int value;
+        final AtomicMarkableReference<Node>[] next;
+
+        @SuppressWarnings("unchecked")
+        Node(int key, int value, int height) {
+            this.key = key;
+            this.value = value;
+            next = (AtomicMarkableReference<Node>[]) new AtomicMarkableReference<?>[height];
+            for (int level = 0; level < height; level++) next[level] = new AtomicMarkableReference<>(null, false);
+        }
+
+        int height() {
+            return next.length;
+        }
+
+        boolean isMarked(int level) {
+            return next[level].isMarked();
+        }
+    }
+
+    // Sentinel before every key; its key is never compared. The end of a level is null.
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+    // Compare-and-sets that lost a race and had to look again
+    private final LongAdder retries = new LongAdder();
+    private volatile Listener listener;
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void report(Event event, int key, int level) {
+        Listener current = listener;
+        if (current != null) current.step(event, key, level);
+    }
+
+    // Levels 1, 2, 3, ... with probability 1/2, 1/4, 1/8, ...
+    private static int randomHeight() {
+        return Math.min(MAX_LEVEL, 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt()));
+    }
+
+    // Fills preds and succs with the nodes either side of key on every level, snipping out any marked node on
+    // the way; starts over from the top whenever a snip loses a race. Returns true if key is in the map.
+    private boolean find(int key, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            retries.increment();
+                            report(Event.RETRY, key, level);
+                            continue retry;
+                        }
+                        report(Event.UNLINK, curr.key, level);
+                        curr = succ;
+                    } else if (curr.key < key) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && succs[0].key == key;
+        }
+    }
+
+    // Stores value under key; returns true if the key is new
+    boolean put(int key, int value) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        int height = randomHeight();
+        while (true) {
+            if (find(key, preds, succs)) {
+                succs[0].value = value;
+                return false;
+            }
+            Node node = new Node(key, value, height);
+            for (int level = 0; level < height; level++) node.next[level].set(succs[level], false);
+            // The bottom link is the insert; if it fails, nothing has seen the node yet
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                retries.increment();
+                report(Event.RETRY, key, 0);
+                continue;
+            }
+            size.increment();
+            report(Event.LINK, key, 0);
+            for (int level = 1; level < height; level++) {
+                while (true) {
+                    Node succ = succs[level];
+                    // Repoint the new node first; a mark here means a remove has already claimed it
+                    Node current = node.next[level].getReference();
+                    if (current != succ && !node.next[level].compareAndSet(current, succ, false, false)) return true;
+                    if (node.next[level].isMarked()) return true;
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)) {
+                        report(Event.LINK, key, level);
+                        break;
+                    }
+                    retries.increment();
+                    report(Event.RETRY, key, level);
+                    find(key, preds, succs);
+                    // Removed and perhaps replaced meanwhile: the rest of this tower is not needed
+                    if (succs[0] != node) return true;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Removes key; returns true if this call removed it
+    boolean remove(int key) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        if (!find(key, preds, succs)) return false;
+        Node node = succs[0];
+        boolean[] marked = {false};
+        // Upper levels first, so the node stays findable at the bottom until it is really gone
+        for (int level = node.height() - 1; level >= 1; level--) {
+            Node succ = node.next[level].get(marked);
+            while (!marked[0]) {
+                if (node.next[level].attemptMark(succ, true)) report(Event.MARK, key, level);
+                succ = node.next[level].get(marked);
+            }
+        }
+        Node succ = node.next[0].get(marked);
+        while (true) {
+            if (node.next[0].compareAndSet(succ, succ, false, true)) {
+                size.decrement();
+                report(Event.MARK, key, 0);
+                // Snips the node out everywhere on the way past
+                find(key, preds, succs);
+                return true;
+            }
+            succ = node.next[0].get(marked);
+            // Someone else's mark: their remove won
+            if (marked[0]) return false;
+        }
+    }
+
+    // Value stored under key, or IntHashTable.NOT_FOUND. Steps over marked nodes without unlinking them.
+    int get(int key) {
+        Node node = lookup(key, null);
+        return node == null ? IntHashTable.NOT_FOUND : node.value;
+    }
+
+    boolean contains(int key) {
+        return lookup(key, null) != null;
+    }
+
+    // The node the search for key dropped down from on each level in use, indexed by level; null for the head
+    Node[] searchPath(int key) {
+        Node[] path = new Node[levels()];
+        lookup(key, path);
+        return path;
+    }
+
+    private Node lookup(int key, Node[] path) {
+        boolean[] marked = {false};
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null) {
+                Node succ = curr.next[level].get(marked);
+                if (marked[0]) {
+                    curr = succ;
+                } else if (curr.key < key) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+            if (path != null && level < path.length) path[level] = pred == head ? null : pred;
+        }
+        if (curr == null || curr.key != key || curr.isMarked(0)) return null;
+        return curr;
+    }
+
+    // Visits the keys in [from, to] in order along the bottom level; a weakly consistent view under updates
+    int scan(int from, int to, Visitor visitor) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        find(from, preds, succs);
+        int visited = 0;
+        for (Node node = succs[0]; node != null && node.key <= to; node = node.next[0].getReference()) {
+            if (node.isMarked(0)) continue;
+            visitor.visit(node.key, node.value);
+            visited++;
+        }
+        return visited;
+    }
+
+    int size() {
+        return size.intValue();
+    }
+
+    long retries() {
+        return retries.sum();
+    }
+
+    // Every node on the bottom level, marked ones included, in key order
+    List<Node> nodes() {
+        List<Node> nodes = new ArrayList<>();
+        for (Node node = head.next[0].getReference(); node != null; node = node.next[0].getReference()) nodes.add(node);
+        return nodes;
+    }
+
+    // Nodes linked on one level, marked ones included; a tower still being built is missing from its upper levels
+    List<Node> level(int level) {
+        List<Node> nodes = new ArrayList<>();
+        for (Node node = head.next[level].getReference(); node != null; node = node.next[level].getReference()) nodes.add(node);
+        return nodes;
+    }
+
+    // Highest level with any node linked on it, plus one
+    int levels() {
+        int levels = 0;
+        while (levels < MAX_LEVEL && head.next[levels].getReference() != null) levels++;
+        return levels;
+    }
+}
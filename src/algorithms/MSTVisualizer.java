@@ -0,0 +1,212 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Random;
+
+public class MSTVisualizer extends JFrame {
+
+    private final int NODE_COUNT = 12;
+    private final int PANEL_WIDTH = 800;
+    private final int PANEL_HEIGHT = 500;
+    private final int ANIMATION_LIMIT = 50;
+    private final int LOG_CAPACITY = 50000;
+
+    private WeightedGraph graph;
+    private ForceLayout layout;
+    private Random rand = new Random();
+
+    private JSpinner nodeCountSpinner;
+    private JComboBox<String> methodCombo;
+    private JToggleButton layoutBtn;
+    private JLabel statusLabel;
+    private GraphPanel graphPanel;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+
+    private volatile boolean running = false;
+
+    public MSTVisualizer() {
+        setTitle("Minimum Spanning Tree Visualizer");
+        setSize(1200, 650);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("Minimum Spanning Tree Visualization", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        add(title, BorderLayout.NORTH);
+
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 13));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Steps"));
+        add(logPanel, BorderLayout.WEST);
+
+        graphPanel = new GraphPanel();
+        graphPanel.setEdgeColors(new Color(90, 90, 90), Color.LIGHT_GRAY);
+        graphPanel.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+        add(graphPanel, BorderLayout.CENTER);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        nodeCountSpinner = new JSpinner(new SpinnerNumberModel(NODE_COUNT, 2, 1000000, 1));
+        methodCombo = new JComboBox<>();
+        for (MinimumSpanningTree.Method method : MinimumSpanningTree.Method.values()) methodCombo.addItem(method.label);
+
+        JButton generateBtn = new JButton("Generate Graph");
+        generateBtn.addActionListener(e -> {
+            if (running) return;
+            generateGraph();
+            log.clear();
+        });
+
+        JButton runBtn = new JButton("Run MST");
+        runBtn.addActionListener(e -> {
+            if (!running) runMST(MinimumSpanningTree.Method.values()[methodCombo.getSelectedIndex()]);
+        });
+
+        JButton compareBtn = new JButton("Compare All");
+        compareBtn.addActionListener(e -> {
+            if (!running) compareMethods();
+        });
+
+        layoutBtn = new JToggleButton("Force Layout");
+        layoutBtn.addActionListener(e -> {
+            if (layoutBtn.isSelected()) startLayout();
+            else stopLayout();
+        });
+
+        JButton backBtn = new JButton("Back to Menu");
+        backBtn.addActionListener(e -> {
+            this.dispose();
+            new ui.AdvancedAlgorithmsVisualizer();
+        });
+
+        controlPanel.add(new JLabel("Nodes:"));
+        controlPanel.add(nodeCountSpinner);
+        controlPanel.add(generateBtn);
+        controlPanel.add(new JLabel("Method:"));
+        controlPanel.add(methodCombo);
+        controlPanel.add(runBtn);
+        controlPanel.add(compareBtn);
+        controlPanel.add(layoutBtn);
+        controlPanel.add(backBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        generateGraph();
+        setVisible(true);
+    }
+
+    private void generateGraph() {
+        stopLayout();
+        int nodeCount = (Integer) nodeCountSpinner.getValue();
+        graph = WeightedGraph.random(nodeCount, Math.min(0.35, 4.0 / nodeCount), 99, rand);
+
+        float[][] positions = ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+        graphPanel.clearHighlightedEdges();
+        graphPanel.setGraph(graph, positions[0], positions[1]);
+        statusLabel.setText("Graph: " + nodeCount + " nodes, " + graph.edgeCount() + " edges");
+    }
+
+    private void startLayout() {
+        stopLayout();
+        layout = new ForceLayout(graph, graphPanel.xs(), graphPanel.ys());
+        ForceLayout current = layout;
+        current.start(() -> {
+            graphPanel.setPositions(current.xs(), current.ys());
+            if (!current.isRunning()) SwingUtilities.invokeLater(() -> {
+                if (layout == current) layoutBtn.setSelected(false);
+            });
+        });
+    }
+
+    private void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+        if (layoutBtn != null) layoutBtn.setSelected(false);
+    }
+
+    public void dispose() {
+        stopLayout();
+        super.dispose();
+    }
+
+    private void runMST(MinimumSpanningTree.Method method) {
+        running = true;
+        graphPanel.clearHighlightedEdges();
+        WeightedGraph current = graph;
+        new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                MinimumSpanningTree.Forest forest = MinimumSpanningTree.solve(current, method);
+                long elapsed = System.nanoTime() - start;
+
+                log.add(EventLog.Kind.INFO, method.label + " on " + current.nodeCount() + " nodes, "
+                        + current.edgeCount() + " edges");
+                animateForest(forest);
+                String summary = summarize(method, forest, current, elapsed);
+                log.add(EventLog.Kind.RESULT, summary);
+                SwingUtilities.invokeLater(() -> statusLabel.setText(summary));
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    // Small trees grow one edge at a time; large ones are logged and shown in a single frame
+    private void animateForest(MinimumSpanningTree.Forest forest) {
+        boolean animate = graph.nodeCount() <= ANIMATION_LIMIT;
+        for (int k = 0; k < forest.size; k++) {
+            log.add(EventLog.Kind.VISIT, "Added edge %d-%d (weight %d)", forest.from[k], forest.to[k], forest.weight[k]);
+            if (animate) {
+                graphPanel.setHighlightedEdges(forest.from, forest.to, k + 1, Color.GREEN);
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+        graphPanel.setHighlightedEdges(forest.from, forest.to, forest.size, Color.GREEN);
+    }
+
+    private void compareMethods() {
+        running = true;
+        WeightedGraph current = graph;
+        new Thread(() -> {
+            try {
+                log.add(EventLog.Kind.INFO, "Comparing on " + current.nodeCount() + " nodes, "
+                        + current.edgeCount() + " edges, " + Runtime.getRuntime().availableProcessors() + " cores");
+                MinimumSpanningTree.Forest last = null;
+                for (MinimumSpanningTree.Method method : MinimumSpanningTree.Method.values()) {
+                    long start = System.nanoTime();
+                    last = MinimumSpanningTree.solve(current, method);
+                    log.add(EventLog.Kind.RESULT, summarize(method, last, current, System.nanoTime() - start));
+                }
+                graphPanel.setHighlightedEdges(last.from, last.to, last.size, Color.GREEN);
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private String summarize(MinimumSpanningTree.Method method, MinimumSpanningTree.Forest forest,
+                             WeightedGraph graph, long elapsedNanos) {
+        int trees = graph.nodeCount() - forest.size;
+        String rounds = method == MinimumSpanningTree.Method.BORUVKA ? ", " + forest.rounds + " rounds" : "";
+        return method.label + ": " + forest.size + " edges, total weight " + forest.totalWeight + ", "
+                + trees + (trees == 1 ? " tree" : " trees") + rounds + " in " + String.format("%.1f", elapsedNanos / 1e6) + " ms";
+    }
+}
@@ -0,0 +1,275 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+// Headless comparison of pointer-based structures against int[]-backed equivalents: the cost of walking every
+// element, and the bytes each element takes, at sizes from a few KB to far past the last-level cache. Each
+// section pairs what a visualizer keeps (the linked list's nodes, the queue's java.util.LinkedList, the stack's
+// Stack<Integer>) with a primitive layout holding the same values in the same order.
+final class MemoryLayoutBenchmark {
+
+    // Elements per structure; int[] footprints run from 4 KB to 16 MB, the linked ones ten times that
+    static final int[] SIZES = {1 << 10, 1 << 12, 1 << 14, 1 << 16, 1 << 18, 1 << 20, 1 << 22};
+    // A 256 MB int[] on its own, since 16 MB still fits in many last-level caches and the linked structures at
+    // this size would need gigabytes of heap
+    static final int LARGE_ARRAY_SIZE = 1 << 26;
+    // Each timing walks at least this many elements in total, over as many passes as that takes
+    private static final long ELEMENTS_PER_TIMING = 1 << 24;
+    private static final int MIN_PASSES = 3;
+    // Keeps boxed values out of the Integer cache, so every element is its own object
+    private static final int BASE_VALUE = 1_000;
+
+    private interface Walk {
+        long sum();
+    }
+
+    private static final class Row {
+        final String name;
+        final double nanos;
+        final double bytes;
+
+        Row(String name, double nanos, double bytes) {
+            this.name = name;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    // Fixed-capacity ring of ints, the primitive stand-in for the visualizer's LinkedList queue
+    private static final class IntRingQueue {
+        private final int[] values;
+        private int head = 0;
+        private int size = 0;
+
+        IntRingQueue(int capacity) {
+            values = new int[capacity];
+        }
+
+        void offer(int value) {
+            values[(head + size++) % values.length] = value;
+        }
+
+        int poll() {
+            int value = values[head];
+            head = (head + 1) % values.length;
+            size--;
+            return value;
+        }
+
+        // Front to back, in at most two contiguous runs
+        long sum() {
+            long sum = 0;
+            int first = Math.min(size, values.length - head);
+            for (int i = head; i < head + first; i++) sum += values[i];
+            for (int i = 0; i < size - first; i++) sum += values[i];
+            return sum;
+        }
+
+        long memoryBytes() {
+            return 4L * values.length + 16 + 24;
+        }
+    }
+
+    // Growable int stack, the primitive stand-in for Stack<Integer>
+    private static final class IntArrayStack {
+        private int[] values = new int[10];
+        private int size = 0;
+
+        void push(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) sum += values[i];
+            return sum;
+        }
+
+        long memoryBytes() {
+            return 4L * values.length + 16 + 16;
+        }
+    }
+
+    private MemoryLayoutBenchmark() {}
+
+    static String run() {
+        // One small untimed round, so the first size is not the one paying for the JIT
+        measureAll(SIZES[1], null);
+
+        StringBuilder report = new StringBuilder();
+        report.append("Traversal cost in ns per element, best of several passes, and estimated bytes per element\n");
+        report.append("assuming compressed oops. Boxed values and list nodes are allocated in the order they are\n");
+        report.append("linked, the best case for pointer chasing; \"shuffled\" allocates the boxes in random order,\n");
+        report.append("though a garbage collection that copies them may put them back together.\n");
+        long limit = Runtime.getRuntime().maxMemory() / 4;
+        for (int size : SIZES) {
+            // A LinkedList<Integer> is the largest at about 40 bytes per element
+            if (40L * size > limit) {
+                report.append(String.format("%nSkipped %,d elements and up: not enough heap%n", size));
+                break;
+            }
+            measureAll(size, report);
+        }
+        if (4L * LARGE_ARRAY_SIZE > limit) {
+            report.append(String.format("%nSkipped the %,d-element int[]: not enough heap%n", LARGE_ARRAY_SIZE));
+        } else {
+            measureArray(LARGE_ARRAY_SIZE, report);
+        }
+        return report.toString();
+    }
+
+    private static int[] randomValues(int size) {
+        Random rand = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) values[i] = BASE_VALUE + rand.nextInt(1 << 20);
+        return values;
+    }
+
+    private static void measureAll(int size, StringBuilder report) {
+        int[] values = randomValues(size);
+        List<Row> rows = new ArrayList<>();
+        long checksum = 0;
+
+        int[] array = values.clone();
+        checksum += row(rows, "int[]", 4, size, () -> {
+            long sum = 0;
+            for (int value : array) sum += value;
+            return sum;
+        });
+
+        UnrolledLinkedList unrolled = new UnrolledLinkedList(16);
+        for (int value : values) unrolled.append(value);
+        checksum += row(rows, "Unrolled list, 16 per node", (double) unrolled.memoryBytes() / size, size, unrolled::sum);
+        unrolled = null;
+
+        SinglyLinkedList singly = new SinglyLinkedList();
+        for (int value : values) singly.append(value);
+        checksum += row(rows, "Singly linked list (visualizer)", (double) singly.memoryBytes() / size, size, singly::sum);
+        singly = null;
+
+        IntRingQueue ring = new IntRingQueue(size);
+        // Half a lap of churn first, so the live elements wrap around the end of the array like a real queue's
+        for (int i = 0; i < size / 2; i++) ring.offer(0);
+        for (int i = 0; i < size / 2; i++) ring.poll();
+        for (int value : values) ring.offer(value);
+        checksum += row(rows, "int[] ring queue", (double) ring.memoryBytes() / size, size, ring::sum);
+        ring = null;
+
+        checksum += linkedQueueRows(rows, values, false);
+        checksum += linkedQueueRows(rows, values, true);
+
+        IntArrayStack intStack = new IntArrayStack();
+        for (int value : values) intStack.push(value);
+        checksum += row(rows, "int[] stack", (double) intStack.memoryBytes() / size, size, intStack::sum);
+        intStack = null;
+
+        checksum += boxedStackRows(rows, values, false);
+        checksum += boxedStackRows(rows, values, true);
+
+        // Sunk on the warmup round too, or its walks could be dropped as dead code
+        Blackhole.consume(checksum);
+        if (report != null) appendTable(report, size, rows);
+    }
+
+    private static void measureArray(int size, StringBuilder report) {
+        int[] values = randomValues(size);
+        List<Row> rows = new ArrayList<>();
+        Blackhole.consume(row(rows, "int[]", 4, size, () -> {
+            long sum = 0;
+            for (int value : values) sum += value;
+            return sum;
+        }));
+        appendTable(report, size, rows);
+    }
+
+    private static void appendTable(StringBuilder report, int size, List<Row> rows) {
+        report.append(String.format("%n%,d elements, %,d KB as int[]%n", size, 4L * size / 1024));
+        report.append(String.format("%-36s %12s %12s %12s%n", "Structure", "ns/element", "bytes/elem", "vs int[]"));
+        double base = rows.get(0).nanos;
+        for (Row row : rows) {
+            report.append(String.format("%-36s %12.2f %12.1f %11.1fx%n", row.name, row.nanos, row.bytes,
+                    row.nanos / base));
+        }
+    }
+
+    // The queue as QueueVisualizer keeps it: one node of three fields per element, and a boxed Integer each
+    private static long linkedQueueRows(List<Row> rows, int[] values, boolean shuffled) {
+        LinkedList<Integer> queue = new LinkedList<>();
+        for (Integer box : boxes(values, shuffled)) queue.add(box);
+        double bytes = 24 + 16 + 24.0 / values.length;
+        return row(rows, "LinkedList<Integer> queue" + (shuffled ? ", shuffled" : ""), bytes, values.length, () -> {
+            long sum = 0;
+            for (Integer value : queue) sum += value;
+            return sum;
+        });
+    }
+
+    // The stack as StackVisualizer keeps it: a synchronized Vector of references to boxed Integers. Every get
+    // takes the monitor, which costs more than the memory layout does, so the walk is also timed holding it once.
+    private static long boxedStackRows(List<Row> rows, int[] values, boolean shuffled) {
+        Stack<Integer> stack = new Stack<>();
+        for (Integer box : boxes(values, shuffled)) stack.push(box);
+        double bytes = 16 + (4.0 * stack.capacity() + 16 + 24) / values.length;
+        long checksum = 0;
+        if (!shuffled) {
+            checksum += row(rows, "Stack<Integer>, locking each get", bytes, values.length, () -> {
+                long sum = 0;
+                for (int i = 0; i < stack.size(); i++) sum += stack.get(i);
+                return sum;
+            });
+        }
+        checksum += row(rows, "Stack<Integer>" + (shuffled ? ", shuffled" : ""), bytes, values.length, () -> {
+            long sum = 0;
+            synchronized (stack) {
+                for (int i = 0; i < stack.size(); i++) sum += stack.get(i);
+            }
+            return sum;
+        });
+        return checksum;
+    }
+
+    // Boxes for the values in order; shuffled allocates them in a random order, so neighbours in the structure
+    // are no longer neighbours in memory
+    private static Integer[] boxes(int[] values, boolean shuffled) {
+        Integer[] boxes = new Integer[values.length];
+        if (!shuffled) {
+            for (int i = 0; i < values.length; i++) boxes[i] = values[i];
+            return boxes;
+        }
+        int[] order = new int[values.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Random rand = new Random(7);
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int index : order) boxes[index] = values[index];
+        return boxes;
+    }
+
+    // Times the walk and adds a row of name, ns per element and bytes per element; returns the checksum
+    private static long row(List<Row> rows, String name, double bytesPerElement, int size, Walk walk) {
+        int passes = (int) Math.max(MIN_PASSES, ELEMENTS_PER_TIMING / size);
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            long start = System.nanoTime();
+            checksum += walk.sum();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        rows.add(new Row(name, (double) best / size, bytesPerElement));
+        return checksum;
+    }
+
+    public static void main(String[] args) {
+        System.out.print(run());
+    }
+}
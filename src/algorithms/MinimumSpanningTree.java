@@ -0,0 +1,171 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Minimum spanning forests; every method reports tree edges in the order it commits them
+final class MinimumSpanningTree {
+
+    enum Method {
+        KRUSKAL("Kruskal"),
+        PRIM("Prim"),
+        BORUVKA("Parallel Borůvka");
+
+        final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+    }
+
+    static final class Forest {
+        final int[] from;
+        final int[] to;
+        final int[] weight;
+        int size = 0;
+        long totalWeight = 0;
+        // Merge rounds, only counted by Borůvka
+        int rounds = 0;
+
+        Forest(int nodeCount) {
+            int capacity = Math.max(0, nodeCount - 1);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        private void add(int u, int v, int w) {
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+            totalWeight += w;
+        }
+    }
+
+    private MinimumSpanningTree() {
+    }
+
+    static Forest solve(WeightedGraph graph, Method method) {
+        switch (method) {
+            case PRIM:
+                return prim(graph);
+            case BORUVKA:
+                return boruvka(graph);
+            default:
+                return kruskal(graph);
+        }
+    }
+
+    // Each undirected edge once, as parallel from/to/weight arrays
+    private static int[][] edgeList(WeightedGraph graph) {
+        int m = graph.edgeCount();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int count = 0;
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (v < u) continue;
+                from[count] = u;
+                to[count] = v;
+                weight[count] = graph.weight(u, e);
+                count++;
+            }
+        }
+        return new int[][]{from, to, weight};
+    }
+
+    static Forest kruskal(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        int[][] edges = edgeList(graph);
+        int m = edges[0].length;
+
+        // Weight in the high half and edge index in the low half, so one primitive sort orders the edges
+        long[] keys = new long[m];
+        for (int e = 0; e < m; e++) keys[e] = (long) edges[2][e] << 32 | e;
+        Arrays.parallelSort(keys);
+
+        Forest forest = new Forest(n);
+        UnionFind sets = new UnionFind(n);
+        for (int k = 0; k < m && forest.size < n - 1; k++) {
+            int e = (int) keys[k];
+            if (sets.union(edges[0][e], edges[1][e])) forest.add(edges[0][e], edges[1][e], edges[2][e]);
+        }
+        return forest;
+    }
+
+    static Forest prim(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        int[] best = new int[n];
+        int[] parent = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+
+        Forest forest = new Forest(n);
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        // Restart from every node still outside the forest, so disconnected graphs get one tree per component
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            best[root] = 0;
+            queue.push(root, 0);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                inTree[u] = true;
+                if (parent[u] >= 0) forest.add(parent[u], u, best[u]);
+                for (int e = 0; e < graph.degree(u); e++) {
+                    int v = graph.target(u, e);
+                    int w = graph.weight(u, e);
+                    if (!inTree[v] && w < best[v]) {
+                        best[v] = w;
+                        parent[v] = u;
+                        queue.push(v, w);
+                    }
+                }
+            }
+        }
+        return forest;
+    }
+
+    // Every component picks its cheapest outgoing edge in parallel, then all picks merge at once
+    static Forest boruvka(WeightedGraph graph) {
+        int n = graph.nodeCount();
+        int[][] edges = edgeList(graph);
+        int[] from = edges[0];
+        int[] to = edges[1];
+        int[] weight = edges[2];
+
+        Forest forest = new Forest(n);
+        UnionFind sets = new UnionFind(n);
+        int[] component = IntStream.range(0, n).toArray();
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        int[] active = IntStream.range(0, from.length).toArray();
+
+        while (active.length > 0) {
+            forest.rounds++;
+            int[] current = active;
+            IntStream.range(0, n).parallel().forEach(c -> cheapest.set(c, Long.MAX_VALUE));
+
+            // Weight then edge index: a strict total order, so the picked edges can never close a cycle
+            IntStream.of(current).parallel().forEach(e -> {
+                long key = (long) weight[e] << 32 | e;
+                cheapest.accumulateAndGet(component[from[e]], key, Math::min);
+                cheapest.accumulateAndGet(component[to[e]], key, Math::min);
+            });
+
+            for (int c = 0; c < n; c++) {
+                long key = cheapest.get(c);
+                if (key == Long.MAX_VALUE) continue;
+                int e = (int) key;
+                if (sets.union(from[e], to[e])) forest.add(from[e], to[e], weight[e]);
+            }
+
+            IntStream.range(0, n).parallel().forEach(v -> component[v] = sets.root(v));
+            active = IntStream.of(current).parallel().filter(e -> component[from[e]] != component[to[e]]).toArray();
+        }
+        return forest;
+    }
+}
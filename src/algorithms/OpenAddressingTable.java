@@ -0,0 +1,70 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Shared storage for the open-addressing tables: parallel int[] keys and values, power-of-two capacity
+abstract class OpenAddressingTable implements IntHashTable {
+
+    protected int[] keys;
+    protected int[] values;
+    protected int capacity;
+    protected int mask;
+    protected int size = 0;
+    protected final HashFunction hashFunction;
+
+    OpenAddressingTable(int initialCapacity, HashFunction hashFunction) {
+        this.hashFunction = hashFunction;
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity) - 1) << 1));
+    }
+
+    protected void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        keys = new int[newCapacity];
+        values = new int[newCapacity];
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int slots() {
+        return capacity;
+    }
+
+    abstract boolean isFull(int slot);
+
+    int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    // How far the key in this slot sits from the slot its hash points at
+    int displacement(int slot) {
+        return (slot - home(keys[slot])) & mask;
+    }
+
+    // Slots a probe reads at once: the visualizer steps through probe sequences this many at a time
+    int probeWidth() {
+        return 1;
+    }
+
+    // Slots a lookup for this key reads, in order
+    abstract int[] probeSequence(int key);
+
+    int home(int key) {
+        return hashFunction.index(key, capacity);
+    }
+
+    HashFunction hashFunction() {
+        return hashFunction;
+    }
+
+    double loadFactor() {
+        return (double) size / capacity;
+    }
+
+    protected static int[] trim(int[] sequence, int length) {
+        return Arrays.copyOf(sequence, length);
+    }
+}
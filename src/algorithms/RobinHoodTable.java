@@ -0,0 +1,122 @@
+package algorithms;
+
+// Robin Hood linear probing: an insert takes the slot of any key that sits closer to home than it does,
+// which keeps displacements even and lets a lookup stop as soon as it has probed further than the resident key
+class RobinHoodTable extends OpenAddressingTable {
+
+    static final double MAX_LOAD_FACTOR = 0.9;
+
+    private boolean[] used;
+
+    RobinHoodTable(int initialCapacity) {
+        this(initialCapacity, HashFunction.MURMUR3);
+    }
+
+    RobinHoodTable(int initialCapacity, HashFunction hashFunction) {
+        super(initialCapacity, hashFunction);
+    }
+
+    protected void allocate(int newCapacity) {
+        super.allocate(newCapacity);
+        used = new boolean[newCapacity];
+    }
+
+    public String name() {
+        return "Robin Hood";
+    }
+
+    public boolean put(int key, int value) {
+        int existing = find(key);
+        if (existing >= 0) {
+            values[existing] = value;
+            return false;
+        }
+
+        int slot = home(key);
+        int distance = 0;
+        while (used[slot]) {
+            int residentDistance = displacement(slot);
+            if (residentDistance < distance) {
+                int swapKey = keys[slot];
+                int swapValue = values[slot];
+                keys[slot] = key;
+                values[slot] = value;
+                key = swapKey;
+                value = swapValue;
+                distance = residentDistance;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size > MAX_LOAD_FACTOR * capacity) grow();
+        return true;
+    }
+
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? NOT_FOUND : values[slot];
+    }
+
+    public boolean contains(int key) {
+        return find(key) >= 0;
+    }
+
+    private int find(int key) {
+        int slot = home(key);
+        for (int distance = 0; used[slot] && displacement(slot) >= distance; distance++) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward shift: later keys move one slot closer to home until an empty slot or a key already at home
+    public boolean remove(int key) {
+        int hole = find(key);
+        if (hole < 0) return false;
+        int next = (hole + 1) & mask;
+        while (used[next] && displacement(next) > 0) {
+            keys[hole] = keys[next];
+            values[hole] = values[next];
+            hole = next;
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    boolean isFull(int slot) {
+        return used[slot];
+    }
+
+    int[] probeSequence(int key) {
+        int[] sequence = new int[capacity];
+        int length = 0;
+        int slot = home(key);
+        for (int distance = 0; ; distance++) {
+            sequence[length++] = slot;
+            if (!used[slot] || displacement(slot) < distance || keys[slot] == key) break;
+            slot = (slot + 1) & mask;
+        }
+        return trim(sequence, length);
+    }
+
+    public long memoryBytes() {
+        return 9L * capacity + 3 * 16 + 32;
+    }
+}
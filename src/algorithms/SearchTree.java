@@ -0,0 +1,866 @@
+package algorithms;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Binary search tree over distinct int keys, unbalanced or kept balanced as an AVL or red-black tree. Nodes carry
+// parent links and every operation is a loop, never a recursion, so even the unbalanced mode survives a sorted
+// stream of a million keys without touching the call stack.
+//
+// The persistent mode is an AVL tree that never changes a node once a version holding it is published: an update
+// copies the nodes on its path, and any a rotation touches, and shares everything else with the version before.
+// Its updates recurse, but only as deep as an AVL tree is tall. Parent links are not kept there, since a shared
+// node has a parent in every version.
+class SearchTree {
+
+    enum Balance {
+        NONE("Unbalanced"),
+        AVL("AVL"),
+        RED_BLACK("Red-black"),
+        PERSISTENT("Persistent AVL");
+
+        final String label;
+
+        Balance(String label) {
+            this.label = label;
+        }
+    }
+
+    static final class Node {
+        int key;
+        Node left, right, parent;
+        // Height of the subtree, a leaf being 1; kept in every mode, though only AVL balances on it
+        int height = 1;
+        // Nodes in the subtree, this one included, and the sum, least and greatest of their keys
+        int size = 1;
+        long sum;
+        int min, max;
+        boolean red = true;
+        // Owned by TreeLayout, which fills it once from the subtree below; cleared here whenever that subtree
+        // changes shape. Left null in persistent trees, whose published nodes are never written again.
+        TreeLayout.Info layout;
+
+        Node(int key, Node parent) {
+            this.key = key;
+            this.parent = parent;
+            sum = key;
+            min = key;
+            max = key;
+        }
+    }
+
+    // One step of an insert or delete, for animation: what happened, the key it happened at, and a copy of the
+    // tree right after it
+    static final class Step {
+        final String caption;
+        final int key;
+        final Node root;
+
+        Step(String caption, int key, Node root) {
+            this.caption = caption;
+            this.key = key;
+            this.root = root;
+        }
+    }
+
+    // One state of a persistent tree. The final fields publish the whole immutable tree below root, so a reader on
+    // another thread can keep using a version while writers go on producing new ones.
+    static final class Version {
+        final int number;
+        final Node root;
+        final int size;
+        final String change;
+        // Nodes this version allocated; every other node in it is shared with the version before
+        final List<Node> copied;
+
+        Version(int number, Node root, int size, String change, List<Node> copied) {
+            this.number = number;
+            this.root = root;
+            this.size = size;
+            this.change = change;
+            this.copied = copied;
+        }
+    }
+
+    final Balance balance;
+    private Node root;
+    private int size = 0;
+    // Null unless recording; copying the tree per step is only worth it for trees small enough to watch
+    private List<Step> steps;
+    // Every version of a persistent tree, oldest first; null in the other modes
+    private List<Version> versions;
+    private volatile Version latest;
+
+    SearchTree(Balance balance) {
+        this.balance = balance;
+        if (balance == Balance.PERSISTENT) {
+            versions = new ArrayList<>();
+            publish("Empty", List.of());
+        }
+    }
+
+    Node root() {
+        return root;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    void setRecording(boolean recording) {
+        steps = recording ? new ArrayList<>() : null;
+    }
+
+    // Steps of the most recent insert or delete, empty when not recording
+    List<Step> steps() {
+        return steps == null ? List.of() : steps;
+    }
+
+    boolean contains(int key) {
+        return find(key) != null;
+    }
+
+    Node find(int key) {
+        Node node = root;
+        while (node != null && node.key != key) node = key < node.key ? node.left : node.right;
+        return node;
+    }
+
+    // Nodes visited on the way to key, ending at it when present
+    List<Node> searchPath(int key) {
+        List<Node> path = new ArrayList<>();
+        for (Node node = root; node != null; node = key < node.key ? node.left : node.right) {
+            path.add(node);
+            if (node.key == key) break;
+        }
+        return path;
+    }
+
+    boolean insert(int key) {
+        if (steps != null) steps.clear();
+        if (balance == Balance.PERSISTENT) return insertPersistent(key);
+        Node parent = null;
+        Node node = root;
+        while (node != null) {
+            if (key == node.key) return false;
+            parent = node;
+            node = key < node.key ? node.left : node.right;
+        }
+        Node added = new Node(key, parent);
+        if (parent == null) root = added;
+        else if (key < parent.key) parent.left = added;
+        else parent.right = added;
+        size++;
+        record("Insert " + key, key);
+
+        switch (balance) {
+            case AVL -> rebalanceAvl(parent);
+            case RED_BLACK -> {
+                fixAfterInsert(added);
+                updateToRoot(added);
+            }
+            default -> updateToRoot(parent);
+        }
+        return true;
+    }
+
+    boolean remove(int key) {
+        if (steps != null) steps.clear();
+        if (balance == Balance.PERSISTENT) return removePersistent(key);
+        Node node = find(key);
+        if (node == null) return false;
+        String caption = "Remove " + key;
+        // Two children: take over the successor's key and remove the successor's node instead, which has no left child
+        if (node.left != null && node.right != null) {
+            Node successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            node.key = successor.key;
+            record("Replace " + key + " with successor " + successor.key, successor.key);
+            caption = "Unlink the successor's old node";
+            node = successor;
+        }
+
+        Node child = node.left != null ? node.left : node.right;
+        Node parent = node.parent;
+        replace(node, child);
+        size--;
+        record(caption, parent == null ? key : parent.key);
+
+        switch (balance) {
+            case AVL -> rebalanceAvl(parent);
+            case RED_BLACK -> {
+                if (!node.red) {
+                    if (child != null && child.red) {
+                        child.red = false;
+                        record("Recolor " + child.key + " black", child.key);
+                    } else {
+                        fixAfterRemove(child, parent);
+                    }
+                }
+                updateToRoot(parent);
+            }
+            default -> updateToRoot(parent);
+        }
+        return true;
+    }
+
+    // Walks from node to the root restoring heights, rotating wherever the two sides differ by more than one
+    private void rebalanceAvl(Node node) {
+        while (node != null) {
+            update(node);
+            int balanceFactor = height(node.left) - height(node.right);
+            if (balanceFactor > 1) {
+                if (height(node.left.left) < height(node.left.right)) rotateLeft(node.left);
+                node = rotateRight(node);
+            } else if (balanceFactor < -1) {
+                if (height(node.right.right) < height(node.right.left)) rotateRight(node.right);
+                node = rotateLeft(node);
+            }
+            node = node.parent;
+        }
+    }
+
+    // CLRS insert fixup: a red uncle pushes the violation two levels up by recoloring, a black one ends it with
+    // at most two rotations
+    private void fixAfterInsert(Node node) {
+        while (node.parent != null && node.parent.red) {
+            Node parent = node.parent;
+            Node grandparent = parent.parent;
+            boolean leftSide = parent == grandparent.left;
+            Node uncle = leftSide ? grandparent.right : grandparent.left;
+            if (uncle != null && uncle.red) {
+                parent.red = false;
+                uncle.red = false;
+                grandparent.red = true;
+                record("Recolor " + parent.key + ", " + uncle.key + " black and " + grandparent.key + " red", grandparent.key);
+                node = grandparent;
+                continue;
+            }
+            if (node == (leftSide ? parent.right : parent.left)) {
+                node = parent;
+                if (leftSide) rotateLeft(node);
+                else rotateRight(node);
+                parent = node.parent;
+            }
+            parent.red = false;
+            grandparent.red = true;
+            record("Recolor " + parent.key + " black and " + grandparent.key + " red", parent.key);
+            if (leftSide) rotateRight(grandparent);
+            else rotateLeft(grandparent);
+        }
+        if (root.red) {
+            root.red = false;
+            record("Recolor root " + root.key + " black", root.key);
+        }
+    }
+
+    // CLRS delete fixup. node carries an extra black and may be null, hence the separate parent.
+    private void fixAfterRemove(Node node, Node parent) {
+        while (node != root && (node == null || !node.red)) {
+            boolean leftSide = node == parent.left;
+            Node sibling = leftSide ? parent.right : parent.left;
+            if (sibling.red) {
+                sibling.red = false;
+                parent.red = true;
+                record("Recolor " + sibling.key + " black and " + parent.key + " red", sibling.key);
+                if (leftSide) rotateLeft(parent);
+                else rotateRight(parent);
+                sibling = leftSide ? parent.right : parent.left;
+            }
+            Node near = leftSide ? sibling.left : sibling.right;
+            Node far = leftSide ? sibling.right : sibling.left;
+            if ((near == null || !near.red) && (far == null || !far.red)) {
+                sibling.red = true;
+                record("Recolor " + sibling.key + " red", sibling.key);
+                node = parent;
+                parent = node.parent;
+                continue;
+            }
+            if (far == null || !far.red) {
+                near.red = false;
+                sibling.red = true;
+                record("Recolor " + near.key + " black and " + sibling.key + " red", near.key);
+                if (leftSide) rotateRight(sibling);
+                else rotateLeft(sibling);
+                sibling = leftSide ? parent.right : parent.left;
+                far = leftSide ? sibling.right : sibling.left;
+            }
+            sibling.red = parent.red;
+            parent.red = false;
+            far.red = false;
+            record("Recolor " + parent.key + " and " + far.key + " black", sibling.key);
+            if (leftSide) rotateLeft(parent);
+            else rotateRight(parent);
+            node = root;
+        }
+        if (node != null && node.red) {
+            node.red = false;
+            record("Recolor " + node.key + " black", node.key);
+        }
+    }
+
+    // Returns the node that took x's place
+    private Node rotateLeft(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        if (y.left != null) y.left.parent = x;
+        replace(x, y);
+        y.left = x;
+        x.parent = y;
+        update(x);
+        update(y);
+        record("Rotate left at " + x.key, y.key);
+        return y;
+    }
+
+    private Node rotateRight(Node x) {
+        Node y = x.left;
+        x.left = y.right;
+        if (y.right != null) y.right.parent = x;
+        replace(x, y);
+        y.right = x;
+        x.parent = y;
+        update(x);
+        update(y);
+        record("Rotate right at " + x.key, y.key);
+        return y;
+    }
+
+    // Hangs replacement where node was; node's own links are left for the caller
+    private void replace(Node node, Node replacement) {
+        Node parent = node.parent;
+        if (parent == null) root = replacement;
+        else if (parent.left == node) parent.left = replacement;
+        else parent.right = replacement;
+        if (replacement != null) replacement.parent = parent;
+    }
+
+    static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private boolean insertPersistent(int key) {
+        Set<Node> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        Node updated = insertCopy(root, key, fresh);
+        if (updated == root) return false;
+        root = updated;
+        size++;
+        publish("Insert " + key, new ArrayList<>(fresh));
+        return true;
+    }
+
+    private boolean removePersistent(int key) {
+        Set<Node> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        Node updated = removeCopy(root, key, fresh);
+        if (updated == root) return false;
+        root = updated;
+        size--;
+        publish("Remove " + key, new ArrayList<>(fresh));
+        return true;
+    }
+
+    // Returns node itself when key is already present, so nothing above it is copied either
+    private static Node insertCopy(Node node, int key, Set<Node> fresh) {
+        if (node == null) {
+            Node added = new Node(key, null);
+            fresh.add(added);
+            return added;
+        }
+        if (key == node.key) return node;
+        Node child = key < node.key ? node.left : node.right;
+        Node updated = insertCopy(child, key, fresh);
+        if (updated == child) return node;
+        Node copy = own(node, fresh);
+        if (key < node.key) copy.left = updated;
+        else copy.right = updated;
+        return rebalanceCopy(copy, fresh);
+    }
+
+    // Returns node itself when key is absent
+    private static Node removeCopy(Node node, int key, Set<Node> fresh) {
+        if (node == null) return null;
+        if (key != node.key) {
+            Node child = key < node.key ? node.left : node.right;
+            Node updated = removeCopy(child, key, fresh);
+            if (updated == child) return node;
+            Node copy = own(node, fresh);
+            if (key < node.key) copy.left = updated;
+            else copy.right = updated;
+            return rebalanceCopy(copy, fresh);
+        }
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        // Two children: a copy of this node takes the successor's key, which the right subtree then gives up
+        int successor = node.right.min;
+        Node copy = own(node, fresh);
+        copy.key = successor;
+        copy.right = removeCopy(node.right, successor, fresh);
+        return rebalanceCopy(copy, fresh);
+    }
+
+    // The node itself if this update already copied it, otherwise a copy; published nodes are never written
+    private static Node own(Node node, Set<Node> fresh) {
+        if (fresh.contains(node)) return node;
+        Node copy = new Node(node.key, null);
+        copy.left = node.left;
+        copy.right = node.right;
+        copy.red = node.red;
+        update(copy);
+        fresh.add(copy);
+        return copy;
+    }
+
+    // The AVL rebalance of rebalanceAvl for one copied node, copying whichever children the rotations move
+    private static Node rebalanceCopy(Node node, Set<Node> fresh) {
+        update(node);
+        int balanceFactor = height(node.left) - height(node.right);
+        if (balanceFactor > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeftCopy(own(node.left, fresh), fresh);
+            return rotateRightCopy(node, fresh);
+        }
+        if (balanceFactor < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRightCopy(own(node.right, fresh), fresh);
+            return rotateLeftCopy(node, fresh);
+        }
+        return node;
+    }
+
+    private static Node rotateLeftCopy(Node x, Set<Node> fresh) {
+        Node y = own(x.right, fresh);
+        x.right = y.left;
+        y.left = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private static Node rotateRightCopy(Node x, Set<Node> fresh) {
+        Node y = own(x.left, fresh);
+        x.left = y.right;
+        y.right = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private void publish(String change, List<Node> copied) {
+        latest = new Version(versions.size(), root, size, change, copied);
+        versions.add(latest);
+    }
+
+    // Versions so far, oldest first; empty unless persistent
+    List<Version> versions() {
+        return versions == null ? List.of() : Collections.unmodifiableList(versions);
+    }
+
+    // The newest version, safe to read from any thread
+    Version latest() {
+        return latest;
+    }
+
+    // This tree as of an earlier version, sharing every node with it. Updating the result branches the history
+    // at that version and leaves this tree as it is.
+    SearchTree at(int number) {
+        SearchTree tree = new SearchTree(Balance.PERSISTENT);
+        tree.versions = new ArrayList<>(versions.subList(0, number + 1));
+        tree.latest = versions.get(number);
+        tree.root = tree.latest.root;
+        tree.size = tree.latest.size;
+        return tree;
+    }
+
+    // Nodes in version later that base does not have. A node older than base can only have older children, so
+    // the walk stops wherever it meets one and costs only the nodes it returns.
+    List<Node> diff(int base, int later) {
+        Set<Node> newer = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = base + 1; i <= later; i++) newer.addAll(versions.get(i).copied);
+        List<Node> found = new ArrayList<>();
+        Node start = versions.get(later).root;
+        if (start != null && newer.contains(start)) found.add(start);
+        for (int i = 0; i < found.size(); i++) {
+            Node node = found.get(i);
+            if (node.left != null && newer.contains(node.left)) found.add(node.left);
+            if (node.right != null && newer.contains(node.right)) found.add(node.right);
+        }
+        return found;
+    }
+
+    // Nodes allocated over the whole history, which is what it keeps alive
+    long historyNodes() {
+        long nodes = 0;
+        for (Version version : versions()) nodes += version.copied.size();
+        return nodes;
+    }
+
+    // Nodes the same history would take as a full copy of the tree per version
+    long fullCopyNodes() {
+        long nodes = 0;
+        for (Version version : versions()) nodes += version.size;
+        return nodes;
+    }
+
+    // Recomputes what a node caches about its subtree from its children. Every change of shape or key already
+    // passes through here for the heights, so sizes and aggregates stay exact at no extra walk.
+    private static void update(Node node) {
+        Node left = node.left;
+        Node right = node.right;
+        node.height = 1 + Math.max(height(left), height(right));
+        node.size = 1 + size(left) + size(right);
+        node.sum = node.key + (left == null ? 0 : left.sum) + (right == null ? 0 : right.sum);
+        node.min = left == null ? node.key : left.min;
+        node.max = right == null ? node.key : right.max;
+        node.layout = null;
+    }
+
+    private void updateToRoot(Node node) {
+        for (; node != null; node = node.parent) update(node);
+    }
+
+    private void record(String caption, int key) {
+        if (steps != null) steps.add(new Step(caption, key, copy(root, null)));
+    }
+
+    // Recursive, but only ever called while recording, on trees small enough to animate
+    private static Node copy(Node node, Node parent) {
+        if (node == null) return null;
+        Node clone = new Node(node.key, parent);
+        clone.height = node.height;
+        clone.size = node.size;
+        clone.sum = node.sum;
+        clone.min = node.min;
+        clone.max = node.max;
+        clone.red = node.red;
+        clone.left = copy(node.left, clone);
+        clone.right = copy(node.right, clone);
+        return clone;
+    }
+
+    private List<Node> nodes() {
+        List<Node> nodes = new ArrayList<>(size);
+        if (root != null) nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.left != null) nodes.add(node.left);
+            if (node.right != null) nodes.add(node.right);
+        }
+        return nodes;
+    }
+
+    // Level order; reinserting keys in this order into an unbalanced tree reproduces its shape
+    List<Integer> levelOrder() {
+        List<Integer> keys = new ArrayList<>(size);
+        List<Node> queue = new ArrayList<>(size);
+        if (root != null) queue.add(root);
+        for (int i = 0; i < queue.size(); i++) {
+            Node node = queue.get(i);
+            keys.add(node.key);
+            if (node.left != null) queue.add(node.left);
+            if (node.right != null) queue.add(node.right);
+        }
+        return keys;
+    }
+
+    // The k-th smallest key, counting from 1, or null when k is out of range. Steers by left subtree sizes, so it
+    // costs one root-to-node path. visited, if given, receives that path.
+    Node select(int k, List<Node> visited) {
+        Node node = root;
+        while (node != null) {
+            if (visited != null) visited.add(node);
+            int leftSize = size(node.left);
+            if (k <= leftSize) {
+                node = node.left;
+            } else if (k == leftSize + 1) {
+                return node;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // How many keys are less than key, along one root-to-leaf path
+    int rank(int key, List<Node> visited) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (visited != null) visited.add(node);
+            if (key <= node.key) {
+                if (key == node.key) return rank + size(node.left);
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Count, sum, min and max of the keys in [from, to]. Descends to the first node inside the range, then down
+    // each boundary of it, taking whole the subtrees that fall between the two: at most two paths of nodes
+    // visited, however many keys the range holds.
+    Aggregate rangeAggregate(int from, int to, List<Node> visited) {
+        Node node = root;
+        while (node != null && (node.key < from || node.key > to)) {
+            if (visited != null) visited.add(node);
+            node = node.key < from ? node.right : node.left;
+        }
+        if (node == null || from > to) return Aggregate.EMPTY;
+        if (visited != null) visited.add(node);
+        Aggregate total = Aggregate.of(node.key);
+        // Left boundary: everything right of a node at or above from is in range
+        for (Node below = node.left; below != null; ) {
+            if (visited != null) visited.add(below);
+            if (below.key >= from) {
+                total = total.plus(Aggregate.of(below.key)).plus(Aggregate.of(below.right));
+                below = below.left;
+            } else {
+                below = below.right;
+            }
+        }
+        for (Node below = node.right; below != null; ) {
+            if (visited != null) visited.add(below);
+            if (below.key <= to) {
+                total = total.plus(Aggregate.of(below.key)).plus(Aggregate.of(below.left));
+                below = below.right;
+            } else {
+                below = below.left;
+            }
+        }
+        return total;
+    }
+
+    // Subtrees smaller than this are built or walked on the calling thread
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // Sorts and deduplicates keys, then hangs the middle of every range above its two halves: O(n) after the sort,
+    // and the result is as short as a binary tree of n nodes can be. The shape is already a valid AVL tree; for
+    // red-black, the nodes on an incomplete bottom level are red and all others black, which gives every path the
+    // same number of black nodes.
+    static SearchTree bulkLoad(Balance balance, int[] keys, boolean parallel) {
+        int[] sorted = keys.clone();
+        if (parallel) Arrays.parallelSort(sorted);
+        else Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        }
+
+        SearchTree tree = new SearchTree(balance);
+        int height = 32 - Integer.numberOfLeadingZeros(n);
+        // A full bottom level (n = 2^h - 1) stays black
+        int redDepth = balance == Balance.RED_BLACK && Integer.bitCount(n + 1) != 1 ? height - 1 : -1;
+        BuildTask task = new BuildTask(sorted, 0, n, 0, redDepth, parallel);
+        tree.root = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        tree.size = n;
+        if (balance == Balance.PERSISTENT) {
+            // The build's nodes become the first real version; nothing before it is worth keeping
+            tree.versions.clear();
+            tree.publish("Bulk load " + n + " keys", tree.root == null ? List.of() : tree.nodes());
+        }
+        return tree;
+    }
+
+    // Recursion depth is the tree's height, about log2 n, since every range is split in half
+    private static final class BuildTask extends RecursiveTask<Node> {
+        private final int[] keys;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final int redDepth;
+        private final boolean parallel;
+
+        BuildTask(int[] keys, int from, int to, int depth, int redDepth, boolean parallel) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.redDepth = redDepth;
+            this.parallel = parallel;
+        }
+
+        protected Node compute() {
+            if (from >= to) return null;
+            int mid = (from + to) >>> 1;
+            Node node = new Node(keys[mid], null);
+            node.red = depth == redDepth;
+            BuildTask left = new BuildTask(keys, from, mid, depth + 1, redDepth, parallel);
+            BuildTask right = new BuildTask(keys, mid + 1, to, depth + 1, redDepth, parallel);
+            if (parallel && to - from > PARALLEL_THRESHOLD) {
+                left.fork();
+                node.right = right.compute();
+                node.left = left.join();
+            } else {
+                node.left = left.compute();
+                node.right = right.compute();
+            }
+            if (node.left != null) node.left.parent = node;
+            if (node.right != null) node.right.parent = node;
+            update(node);
+            return node;
+        }
+    }
+
+    // Keys in ascending order. Subtree sizes give every key its index up front, so the parallel walk has each
+    // task fill its own slice of one array.
+    int[] inOrder(boolean parallel) {
+        int[] keys = new int[size];
+        if (root == null) return keys;
+        if (parallel) ForkJoinPool.commonPool().invoke(new InOrderTask(root, keys, 0));
+        else inOrder(root, keys, 0);
+        return keys;
+    }
+
+    // Iterative, so a degenerate unbalanced tree is walked as easily as a balanced one
+    private static void inOrder(Node subtree, int[] keys, int offset) {
+        Node[] stack = new Node[subtree.height + 1];
+        int depth = 0;
+        Node node = subtree;
+        while (node != null || depth > 0) {
+            while (node != null) {
+                stack[depth++] = node;
+                node = node.left;
+            }
+            node = stack[--depth];
+            keys[offset++] = node.key;
+            node = node.right;
+        }
+    }
+
+    // Only splits where both sides are worth a task; a long one-sided chain goes to the iterative walk
+    private static final class InOrderTask extends RecursiveAction {
+        private final Node node;
+        private final int[] keys;
+        private final int offset;
+
+        InOrderTask(Node node, int[] keys, int offset) {
+            this.node = node;
+            this.keys = keys;
+            this.offset = offset;
+        }
+
+        protected void compute() {
+            if (Math.min(size(node.left), size(node.right)) < PARALLEL_THRESHOLD) {
+                inOrder(node, keys, offset);
+                return;
+            }
+            int leftSize = size(node.left);
+            keys[offset + leftSize] = node.key;
+            invokeAll(new InOrderTask(node.left, keys, offset), new InOrderTask(node.right, keys, offset + leftSize + 1));
+        }
+    }
+
+    static final class Aggregate {
+        static final Aggregate EMPTY = new Aggregate(0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+        final long count;
+        final long sum;
+        final int min;
+        final int max;
+
+        Aggregate(long count, long sum, int min, int max) {
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        static Aggregate of(int key) {
+            return new Aggregate(1, key, key, key);
+        }
+
+        // What a subtree's root already caches about it
+        static Aggregate of(Node subtree) {
+            return subtree == null ? EMPTY : new Aggregate(subtree.size, subtree.sum, subtree.min, subtree.max);
+        }
+
+        Aggregate plus(Aggregate other) {
+            return new Aggregate(count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+    }
+
+    // Count, sum, min and max over every key, visiting each node once. The root caches the same numbers; this is
+    // the traversal TreeBenchmark times, and what a range query would cost without them.
+    Aggregate aggregate(boolean parallel) {
+        if (root == null) return Aggregate.EMPTY;
+        return parallel ? ForkJoinPool.commonPool().invoke(new AggregateTask(root)) : aggregate(root);
+    }
+
+    private static Aggregate aggregate(Node subtree) {
+        Node[] stack = new Node[subtree.height + 1];
+        int depth = 0;
+        stack[depth++] = subtree;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        while (depth > 0) {
+            Node node = stack[--depth];
+            sum += node.key;
+            min = Math.min(min, node.key);
+            max = Math.max(max, node.key);
+            if (node.left != null) stack[depth++] = node.left;
+            if (node.right != null) stack[depth++] = node.right;
+        }
+        return new Aggregate(subtree.size, sum, min, max);
+    }
+
+    private static final class AggregateTask extends RecursiveTask<Aggregate> {
+        private final Node node;
+
+        AggregateTask(Node node) {
+            this.node = node;
+        }
+
+        protected Aggregate compute() {
+            if (Math.min(size(node.left), size(node.right)) < PARALLEL_THRESHOLD) return aggregate(node);
+            AggregateTask left = new AggregateTask(node.left);
+            left.fork();
+            Aggregate right = new AggregateTask(node.right).compute();
+            return left.join().plus(right).plus(Aggregate.of(node.key));
+        }
+    }
+
+    // Integers separated by whitespace or commas; lines starting with # are comments
+    static int[] readKeys(Path path) throws IOException {
+        int[] keys = new int[1024];
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.charAt(0) == '#') continue;
+                for (String field : line.trim().split("[\\s,]+")) {
+                    if (field.isEmpty()) continue;
+                    if (count == keys.length) keys = Arrays.copyOf(keys, count * 2);
+                    try {
+                        keys[count++] = Integer.parseInt(field);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Line " + lineNumber + ": \"" + field + "\" is not an integer");
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+}
@@ -0,0 +1,74 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ShortestPathCache {
+
+    private final int capacity;
+    private final Map<Long, Tree> trees;
+    private int hits;
+    private int misses;
+
+    ShortestPathCache(int capacity) {
+        this.capacity = capacity;
+        // Access-ordered map, so the eldest entry is always the least recently used tree
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Long, Tree> eldest) {
+                return size() > ShortestPathCache.this.capacity;
+            }
+        };
+    }
+
+    synchronized Tree get(int graphVersion, int source) {
+        Tree tree = trees.get(key(graphVersion, source));
+        if (tree == null) misses++;
+        else hits++;
+        return tree;
+    }
+
+    synchronized void put(int graphVersion, int source, int[] dist, int[] prev) {
+        trees.put(key(graphVersion, source), new Tree(source, dist, prev));
+    }
+
+    synchronized void invalidate() {
+        trees.clear();
+    }
+
+    synchronized String stats() {
+        return "Cache: " + hits + " hits / " + misses + " misses (" + trees.size() + "/" + capacity + " trees)";
+    }
+
+    private static long key(int graphVersion, int source) {
+        return ((long) graphVersion << 32) | (source & 0xFFFFFFFFL);
+    }
+
+    static final class Tree {
+        final int source;
+        final int[] dist;
+        final int[] prev;
+
+        Tree(int source, int[] dist, int[] prev) {
+            this.source = source;
+            this.dist = dist;
+            this.prev = prev;
+        }
+
+        boolean reaches(int target) {
+            return dist[target] != Integer.MAX_VALUE;
+        }
+
+        List<Integer> pathTo(int target) {
+            List<Integer> path = new ArrayList<>();
+            if (!reaches(target)) return path;
+            for (int current = target; current != -1; current = prev[current]) {
+                path.add(current);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+}
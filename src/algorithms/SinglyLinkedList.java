@@ -0,0 +1,152 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One node per value, with head and tail pointers: appends are constant time, anything by position or value walks
+class SinglyLinkedList implements IntLinkedList {
+
+    static final class Node {
+        int value;
+        Node next;
+
+        Node(int value) {
+            this.value = value;
+        }
+    }
+
+    private Node head;
+    private Node tail;
+    private int size = 0;
+    private int lastHops = 0;
+
+    public String name() {
+        return "Singly linked";
+    }
+
+    public void append(int value) {
+        Node node = new Node(value);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        size++;
+        lastHops = 0;
+    }
+
+    public void insert(int index, int value) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        if (index == size) {
+            append(value);
+            return;
+        }
+        Node node = new Node(value);
+        if (index == 0) {
+            node.next = head;
+            head = node;
+            lastHops = 0;
+        } else {
+            Node prev = nodeAt(index - 1);
+            node.next = prev.next;
+            prev.next = node;
+        }
+        size++;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        return nodeAt(index).value;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = head;
+        for (int i = 0; i < index; i++) node = node.next;
+        lastHops = index;
+        return node;
+    }
+
+    public int indexOf(int value) {
+        int index = 0;
+        for (Node node = head; node != null; node = node.next, index++) {
+            if (node.value == value) {
+                lastHops = index;
+                return index;
+            }
+        }
+        lastHops = size;
+        return -1;
+    }
+
+    public int removeValue(int value) {
+        Node prev = null;
+        int index = 0;
+        for (Node node = head; node != null; prev = node, node = node.next, index++) {
+            if (node.value != value) continue;
+            if (prev == null) {
+                head = node.next;
+            } else {
+                prev.next = node.next;
+            }
+            if (node == tail) tail = prev;
+            size--;
+            lastHops = index;
+            return index;
+        }
+        lastHops = size;
+        return -1;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (Node node = head; node != null; node = node.next) sum += node.value;
+        return sum;
+    }
+
+    public void reverse() {
+        Node prev = null;
+        Node node = head;
+        tail = head;
+        while (node != null) {
+            Node next = node.next;
+            node.next = prev;
+            prev = node;
+            node = next;
+        }
+        head = prev;
+    }
+
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return size;
+    }
+
+    public int lastHops() {
+        return lastHops;
+    }
+
+    public List<int[]> nodes(int limit) {
+        List<int[]> nodes = new ArrayList<>();
+        for (Node node = head; node != null && nodes.size() < limit; node = node.next) nodes.add(new int[]{node.value});
+        return nodes;
+    }
+
+    public int nodeCapacity() {
+        return 1;
+    }
+
+    public long memoryBytes() {
+        // A 12-byte header, the int and the next pointer, padded to 24
+        return 24L * size + 32;
+    }
+}
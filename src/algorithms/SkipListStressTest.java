@@ -0,0 +1,106 @@
+package algorithms;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Throughput of ordered indexes under several threads at once: the lock-free skip list, a red-black SearchTree
+// behind one lock, and the JDK's ConcurrentSkipListMap, each driven through ConcurrentLoad like HashTableLoadTest
+final class SkipListStressTest {
+
+    static final int KEY_RANGE = 1 << 16;
+    static final int[] READ_PERCENTS = {90, 50};
+    private static final long MILLIS = 400;
+
+    private SkipListStressTest() {}
+
+    private static ConcurrentLoad.Target lockFree() {
+        LockFreeSkipList list = new LockFreeSkipList();
+        return new ConcurrentLoad.Target() {
+            public void put(int key) {
+                list.put(key, key);
+            }
+
+            public long get(int key) {
+                return list.contains(key) ? 1 : 0;
+            }
+
+            public void remove(int key) {
+                list.remove(key);
+            }
+        };
+    }
+
+    // Every operation takes the same monitor, as wrapping the visualizer's tree for threads would
+    private static ConcurrentLoad.Target synchronizedTree() {
+        SearchTree tree = new SearchTree(SearchTree.Balance.RED_BLACK);
+        return new ConcurrentLoad.Target() {
+            public void put(int key) {
+                synchronized (tree) {
+                    tree.insert(key);
+                }
+            }
+
+            public long get(int key) {
+                synchronized (tree) {
+                    return tree.contains(key) ? 1 : 0;
+                }
+            }
+
+            public void remove(int key) {
+                synchronized (tree) {
+                    tree.remove(key);
+                }
+            }
+        };
+    }
+
+    private static ConcurrentLoad.Target jdkSkipList() {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        return new ConcurrentLoad.Target() {
+            public void put(int key) {
+                map.put(key, key);
+            }
+
+            public long get(int key) {
+                return map.containsKey(key) ? 1 : 0;
+            }
+
+            public void remove(int key) {
+                map.remove(key);
+            }
+        };
+    }
+
+    static String run() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Untimed rounds first, so the first column is not the one paying for the JIT
+        throughput(lockFree(), 2, 50);
+        throughput(synchronizedTree(), 2, 50);
+        throughput(jdkSkipList(), 2, 50);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d keys in range, half filled, %d cores, %d ms per run%n", KEY_RANGE, cores, MILLIS));
+        for (int readPercent : READ_PERCENTS) {
+            report.append(String.format("%n%d%% reads, million operations per second%n", readPercent));
+            report.append(String.format("%-8s %14s %18s %16s%n", "Threads", "Lock-free", "Synchronized tree", "JDK skip list"));
+            for (int threads = 1; threads <= Math.max(4, 2 * cores); threads *= 2) {
+                report.append(String.format("%-8d %14.2f %18.2f %16.2f%n", threads,
+                        throughput(lockFree(), threads, readPercent),
+                        throughput(synchronizedTree(), threads, readPercent),
+                        throughput(jdkSkipList(), threads, readPercent)));
+            }
+        }
+        return report.toString();
+    }
+
+    private static double throughput(ConcurrentLoad.Target index, int threads, int readPercent)
+            throws InterruptedException {
+        // Half the keys, all distinct: an odd multiplier permutes the power-of-two range, so the fill is scattered
+        for (int i = 0; i < KEY_RANGE / 2; i++) index.put(i * 0x9E3779B1 & (KEY_RANGE - 1));
+        return ConcurrentLoad.run(index, threads, readPercent, KEY_RANGE, MILLIS, "skip-list-load")
+                .operationsPerSecond() / 1e6;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.print(run());
+    }
+}
@@ -0,0 +1,571 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SkipListVisualizer extends JFrame {
+
+    private final int[] THREAD_COUNTS = {2, 3, 4, 6, 8};
+    private final int[] KEYS_PER_THREAD = {4, 8, 16};
+    private final String[] SPEEDS = {"Slow", "Medium", "Fast", "No delay"};
+    private final int[] STEP_MILLIS = {350, 120, 30, 0};
+    // Keys drawn for the random and concurrent batches, small enough that threads meet in the same places
+    private final int KEY_RANGE = 100;
+    private final int RANDOM_BATCH = 20;
+    // Widest bottom level drawn node by node
+    private final int COLUMN_LIMIT = 60;
+    private final int LOG_CAPACITY = 20000;
+    private final int REFRESH_MILLIS = 40;
+
+    private LockFreeSkipList list = new LockFreeSkipList();
+    private final SkipListPanel listPanel;
+    private final JLabel statusLabel;
+    private final JComboBox<String> threadsBox;
+    private final JComboBox<String> keysBox;
+    private final JComboBox<String> speedBox;
+    private final List<JButton> batchButtons = new ArrayList<>();
+    private final JButton stressBtn;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+    private final Timer refresh;
+    private final Random rand = new Random();
+
+    // Which thread linked each key, for colouring; 0 is a single operation from the buttons
+    private final Map<Integer, Integer> owners = new ConcurrentHashMap<>();
+    // The cell each thread touched last, outlined while it sleeps: key in the high half, level in the low half,
+    // so the painter always reads a pair one worker wrote together
+    private static final long UNTOUCHED = -1;
+    private final AtomicLongArray touched = new AtomicLongArray(9);
+    private final ThreadLocal<Integer> workerId = new ThreadLocal<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder links = new LongAdder();
+    private final LongAdder marks = new LongAdder();
+    private final LongAdder unlinks = new LongAdder();
+    private volatile int stepMillis;
+    private volatile boolean closed = false;
+
+    // Search replay: the node dropped from on each level, and how far down the replay has got
+    private LockFreeSkipList.Node[] searchPath;
+    private int searchLevel = -1;
+    private LockFreeSkipList.Node searchFound;
+    private Timer searchAnimation;
+    private volatile String event = "";
+
+    private final Color HEAD_COLOR = new Color(90, 90, 90);
+    private final Color MARKED_COLOR = new Color(220, 50, 50);
+    private final Color PATH_COLOR = Color.YELLOW;
+    private final Color FOUND_COLOR = new Color(0, 200, 100);
+    private final Color[] THREAD_COLORS = new Color[9];
+
+    public SkipListVisualizer() {
+        setTitle("Skip List Visualizer");
+        setSize(1250, 720);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("Lock-Free Concurrent Skip List", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(15, 0, 15, 0));
+        add(title, BorderLayout.NORTH);
+
+        // Single operations keep the button blue; worker threads get hues spread around the wheel
+        THREAD_COLORS[0] = new Color(60, 120, 200);
+        for (int i = 1; i < THREAD_COLORS.length; i++) {
+            THREAD_COLORS[i] = Color.getHSBColor((i - 1) / 8f + 0.08f, 0.65f, 0.9f);
+        }
+
+        listPanel = new SkipListPanel();
+        add(listPanel, BorderLayout.CENTER);
+
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 12));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Compare-and-set steps"));
+        logPanel.setPreferredSize(new Dimension(330, 0));
+        add(logPanel, BorderLayout.EAST);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        JTextField inputField = new JTextField(5);
+        inputField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+
+        JButton insertBtn = createStyledButton("Insert", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                runSingle(() -> event = list.put(value, value) ? "Inserted " + value : value + " was already there");
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton deleteBtn = createStyledButton("Delete", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                runSingle(() -> event = list.remove(value) ? "Deleted " + value : value + " is not in the list");
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton searchBtn = createStyledButton("Search", () -> {
+            try {
+                int value = Integer.parseInt(inputField.getText());
+                inputField.setText("");
+                animateSearch(value);
+            } catch (NumberFormatException e) {
+                showError("Enter a valid integer");
+            }
+        });
+
+        JButton backBtn = createStyledButton("Back to Menu", () -> {
+            this.dispose();
+            new ui.DataStructuresVisualizer();
+        });
+
+        controlPanel.add(createLabel("Value:"));
+        controlPanel.add(inputField);
+        controlPanel.add(insertBtn);
+        controlPanel.add(deleteBtn);
+        controlPanel.add(searchBtn);
+        controlPanel.add(backBtn);
+
+        threadsBox = new JComboBox<>();
+        for (int threads : THREAD_COUNTS) threadsBox.addItem(threads + " threads");
+        threadsBox.setSelectedIndex(2);
+        keysBox = new JComboBox<>();
+        for (int keys : KEYS_PER_THREAD) keysBox.addItem(keys + " keys each");
+        keysBox.setSelectedIndex(1);
+        speedBox = new JComboBox<>(SPEEDS);
+        speedBox.setSelectedIndex(1);
+        stepMillis = STEP_MILLIS[1];
+        speedBox.addActionListener(e -> stepMillis = STEP_MILLIS[speedBox.getSelectedIndex()]);
+
+        JButton insertsBtn = createStyledButton("Concurrent Inserts", () -> runConcurrent(true));
+        JButton removesBtn = createStyledButton("Concurrent Removes", () -> runConcurrent(false));
+        JButton randomBtn = createStyledButton("Insert " + RANDOM_BATCH + " Random", () -> runSingle(() -> {
+            int added = 0;
+            for (int i = 0; i < RANDOM_BATCH; i++) if (list.put(rand.nextInt(KEY_RANGE), 0)) added++;
+            event = "Inserted " + added + " keys";
+        }));
+        JButton clearBtn = createStyledButton("Clear", this::clear);
+        stressBtn = createStyledButton("Stress Test", this::runStressTest);
+        batchButtons.add(insertsBtn);
+        batchButtons.add(removesBtn);
+        batchButtons.add(randomBtn);
+        batchButtons.add(clearBtn);
+
+        JPanel setupPanel = new JPanel(new FlowLayout());
+        setupPanel.setBackground(new Color(30, 30, 30));
+        setupPanel.add(threadsBox);
+        setupPanel.add(keysBox);
+        setupPanel.add(createLabel("Speed:"));
+        setupPanel.add(speedBox);
+        setupPanel.add(insertsBtn);
+        setupPanel.add(removesBtn);
+        setupPanel.add(randomBtn);
+        setupPanel.add(clearBtn);
+        setupPanel.add(stressBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(3, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        southPanel.add(setupPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        // Workers change the list under the painter's feet, so it is redrawn on a clock rather than on events
+        refresh = new Timer(REFRESH_MILLIS, e -> {
+            updateStatus();
+            listPanel.repaint();
+        });
+        refresh.start();
+
+        clearTouched();
+        list.setListener(this::step);
+        setVisible(true);
+    }
+
+    // Called on whichever thread made the step. Threads started here pause after each one so the half-built
+    // towers and marked links stay on screen; anything else, such as the stress test, runs at full speed.
+    private void step(LockFreeSkipList.Event kind, int key, int level) {
+        Integer id = workerId.get();
+        if (id == null) return;
+        switch (kind) {
+            case LINK -> {
+                links.increment();
+                if (level == 0) owners.put(key, id);
+                log.add(EventLog.Kind.EDIT, "Thread %d linked %d at level %d", id, key, level);
+            }
+            case MARK -> {
+                marks.increment();
+                log.add(EventLog.Kind.EDIT, "Thread %d marked %d at level %d", id, key, level);
+            }
+            case UNLINK -> {
+                unlinks.increment();
+                log.add(EventLog.Kind.EDIT, "Thread %d unlinked %d at level %d", id, key, level);
+            }
+            case RETRY -> log.add(EventLog.Kind.INFO, "Thread %d lost a CAS at level %d, retrying %d", id, level, key);
+        }
+        touched.set(id, (long) key << 32 | level);
+        pause();
+    }
+
+    private void clearTouched() {
+        for (int id = 0; id < touched.length(); id++) touched.set(id, UNTOUCHED);
+    }
+
+    private void pause() {
+        int millis = stepMillis;
+        if (millis == 0 || closed) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs a button's operation off the event thread as thread 0, so its steps are paced like the workers'
+    private void runSingle(Runnable operation) {
+        stopSearch();
+        startWorker(0, () -> {
+            operation.run();
+            touched.set(0, UNTOUCHED);
+        }, null);
+    }
+
+    // Starts several threads together on overlapping keys: inserts draw from one small range, and removes share
+    // out the current keys with every key given to two threads, so some removes have to lose
+    private void runConcurrent(boolean inserts) {
+        stopSearch();
+        int threads = THREAD_COUNTS[threadsBox.getSelectedIndex()];
+        int perThread = KEYS_PER_THREAD[keysBox.getSelectedIndex()];
+        int[][] work = new int[threads][perThread];
+        if (inserts) {
+            for (int[] keys : work) for (int i = 0; i < perThread; i++) keys[i] = rand.nextInt(KEY_RANGE);
+        } else {
+            List<Integer> keys = new ArrayList<>();
+            for (LockFreeSkipList.Node node : list.nodes()) if (!node.isMarked(0)) keys.add(node.key);
+            if (keys.isEmpty()) {
+                showError("The list is empty");
+                return;
+            }
+            Collections.shuffle(keys, rand);
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < perThread; i++) work[t][i] = keys.get((t / 2 * perThread + i) % keys.size());
+            }
+        }
+
+        setBatchButtonsEnabled(false);
+        long retriesBefore = list.retries();
+        long start = System.nanoTime();
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger changed = new AtomicInteger();
+        log.add(EventLog.Kind.INFO, (inserts ? "Inserting" : "Removing") + " with %d threads, %d keys each", threads, perThread);
+        for (int t = 0; t < threads; t++) {
+            int[] keys = work[t];
+            startWorker(t + 1, () -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int key : keys) {
+                    if (inserts ? list.put(key, key) : list.remove(key)) changed.incrementAndGet();
+                    pause();
+                }
+            }, done::countDown);
+        }
+        gate.countDown();
+
+        new Thread(() -> {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            long retries = list.retries() - retriesBefore;
+            SwingUtilities.invokeLater(() -> {
+                event = String.format("%d threads %s %d keys in %.0f ms with %d CAS retries", threads,
+                        inserts ? "inserted" : "removed", changed.get(), millis, retries);
+                log.add(EventLog.Kind.RESULT, event);
+                clearTouched();
+                setBatchButtonsEnabled(true);
+            });
+        }).start();
+    }
+
+    // A daemon thread that identifies itself to the listener; finished runs after the operation, if given
+    private void startWorker(int id, Runnable operation, Runnable finished) {
+        Thread worker = new Thread(() -> {
+            workerId.set(id);
+            active.incrementAndGet();
+            try {
+                operation.run();
+            } finally {
+                active.decrementAndGet();
+                if (finished != null) finished.run();
+            }
+        }, "skip-list-worker-" + id);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Replays the drops of a search from the top level down, marking the node each level was left from
+    private void animateSearch(int key) {
+        stopSearch();
+        LockFreeSkipList.Node[] path = list.searchPath(key);
+        LockFreeSkipList.Node found = null;
+        for (LockFreeSkipList.Node node : list.nodes()) {
+            if (node.key == key && !node.isMarked(0)) found = node;
+        }
+        if (path.length == 0) {
+            event = key + " not found, the list is empty";
+            return;
+        }
+        LockFreeSkipList.Node result = found;
+        searchPath = path;
+        searchLevel = path.length;
+        searchAnimation = new Timer(400, e -> {
+            if (searchLevel == 0) {
+                searchAnimation.stop();
+                searchFound = result;
+                event = key + (result != null ? " found" : " not found") + " after dropping " + path.length
+                        + (path.length == 1 ? " level" : " levels");
+                return;
+            }
+            searchLevel--;
+            LockFreeSkipList.Node from = path[searchLevel];
+            event = "Level " + searchLevel + ": drop down from " + (from == null ? "the head" : "key " + from.key);
+        });
+        searchAnimation.setInitialDelay(0);
+        searchAnimation.start();
+    }
+
+    private void stopSearch() {
+        if (searchAnimation != null) searchAnimation.stop();
+        searchAnimation = null;
+        searchPath = null;
+        searchLevel = -1;
+        searchFound = null;
+    }
+
+    private void clear() {
+        if (active.get() > 0) return;
+        stopSearch();
+        list = new LockFreeSkipList();
+        list.setListener(this::step);
+        owners.clear();
+        links.reset();
+        marks.reset();
+        unlinks.reset();
+        clearTouched();
+        log.clear();
+        event = "Cleared";
+    }
+
+    private void setBatchButtonsEnabled(boolean enabled) {
+        for (JButton button : batchButtons) button.setEnabled(enabled);
+    }
+
+    private void runStressTest() {
+        stressBtn.setEnabled(false);
+        statusLabel.setText("Running the stress test...");
+        new Thread(() -> {
+            String report;
+            try {
+                report = SkipListStressTest.run();
+            } catch (InterruptedException e) {
+                return;
+            }
+            String text = report;
+            SwingUtilities.invokeLater(() -> {
+                stressBtn.setEnabled(true);
+                JTextArea area = new JTextArea(text);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(this, area, "Skip List Stress Test", JOptionPane.INFORMATION_MESSAGE);
+            });
+        }).start();
+    }
+
+    public void dispose() {
+        closed = true;
+        refresh.stop();
+        stopSearch();
+        super.dispose();
+    }
+
+    private void updateStatus() {
+        if (!stressBtn.isEnabled()) return;
+        statusLabel.setText("Keys: " + list.size() + "   Levels: " + list.levels() + "   Threads running: " + active.get()
+                + "   Links: " + links.sum() + "   Marks: " + marks.sum() + "   Unlinks: " + unlinks.sum()
+                + "   CAS retries: " + list.retries() + "   " + event);
+    }
+
+    // Levels as rows and bottom-level nodes as columns, each node a tower of cells. A cell is filled once it is
+    // linked on its level, hollow while its tower is still being built, and red once its link is marked.
+    private class SkipListPanel extends JPanel {
+
+        private final Font keyFont = new Font("Segoe UI", Font.BOLD, 12);
+        private final Font smallFont = new Font("Segoe UI", Font.PLAIN, 11);
+
+        SkipListPanel() {
+            setBackground(new Color(20, 20, 20));
+        }
+
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            LockFreeSkipList current = list;
+            List<LockFreeSkipList.Node> nodes = current.nodes();
+            int hidden = Math.max(0, nodes.size() - COLUMN_LIMIT);
+            if (hidden > 0) nodes = nodes.subList(0, COLUMN_LIMIT);
+            Map<LockFreeSkipList.Node, Integer> column = new IdentityHashMap<>();
+            int rows = Math.max(1, current.levels());
+            for (int i = 0; i < nodes.size(); i++) {
+                column.put(nodes.get(i), i + 1);
+                rows = Math.max(rows, nodes.get(i).height());
+            }
+
+            int columnWidth = Math.max(8, Math.min(48, (getWidth() - 40) / (nodes.size() + 1)));
+            int cell = Math.max(4, columnWidth - Math.max(2, columnWidth / 4));
+            int rowHeight = Math.max(6, Math.min(34, (getHeight() - 70) / rows));
+            int box = Math.max(4, rowHeight - 6);
+            int bottom = getHeight() - 40;
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Links first: on each level, from the head through every node linked there
+            List<Set<LockFreeSkipList.Node>> linked = new ArrayList<>();
+            for (int level = 0; level < rows; level++) {
+                int y = bottom - level * rowHeight - box / 2;
+                int from = 20 + cell;
+                Set<LockFreeSkipList.Node> onLevel = Collections.newSetFromMap(new IdentityHashMap<>());
+                linked.add(onLevel);
+                for (LockFreeSkipList.Node node : current.level(level)) {
+                    Integer c = column.get(node);
+                    // Past the drawn columns, or linked since the bottom level was read
+                    if (c == null) continue;
+                    onLevel.add(node);
+                    int to = 20 + c * columnWidth;
+                    g.setColor(node.isMarked(level) ? MARKED_COLOR : Color.GRAY);
+                    g.drawLine(from, y, to, y);
+                    g.fillPolygon(new int[]{to, to - 4, to - 4}, new int[]{y, y - 3, y + 3}, 3);
+                    from = to + cell;
+                }
+            }
+
+            // The head tower, then every node's
+            for (int level = 0; level < rows; level++) {
+                boolean onPath = searchPath != null && level >= searchLevel && level < searchPath.length
+                        && searchPath[level] == null;
+                g.setColor(onPath ? PATH_COLOR : HEAD_COLOR);
+                g.fillRect(20, bottom - level * rowHeight - box, cell, box);
+            }
+            for (int i = 0; i < nodes.size(); i++) {
+                LockFreeSkipList.Node node = nodes.get(i);
+                drawTower(g, node, linked, 20 + (i + 1) * columnWidth, bottom, cell, box, rowHeight);
+            }
+
+            g.setFont(keyFont);
+            FontMetrics metrics = g.getFontMetrics();
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString("H", 20 + (cell - metrics.stringWidth("H")) / 2, bottom + 16);
+            for (int i = 0; i < nodes.size(); i++) {
+                String label = String.valueOf(nodes.get(i).key);
+                if (metrics.stringWidth(label) > columnWidth) continue;
+                g.drawString(label, 20 + (i + 1) * columnWidth + (cell - metrics.stringWidth(label)) / 2, bottom + 16);
+            }
+            g.setFont(smallFont);
+            if (hidden > 0) {
+                g.drawString(hidden + " more keys to the right", getWidth() - 150, bottom + 32);
+            }
+            int x = 20;
+            for (int id = 0; id < THREAD_COLORS.length; id++) {
+                g.setColor(THREAD_COLORS[id]);
+                g.fillRect(x, 12, 12, 12);
+                g.setColor(Color.LIGHT_GRAY);
+                String label = id == 0 ? "Single" : "T" + id;
+                g.drawString(label, x + 16, 22);
+                x += 26 + g.getFontMetrics().stringWidth(label);
+            }
+            g.setColor(MARKED_COLOR);
+            g.fillRect(x, 12, 12, 12);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString("Marked", x + 16, 22);
+        }
+
+        private void drawTower(Graphics g, LockFreeSkipList.Node node, List<Set<LockFreeSkipList.Node>> linkedOn,
+                               int x, int bottom, int cell, int box, int rowHeight) {
+            Color color = THREAD_COLORS[owners.getOrDefault(node.key, 0)];
+            if (node == searchFound) color = FOUND_COLOR;
+            for (int level = 0; level < node.height(); level++) {
+                int y = bottom - level * rowHeight - box;
+                // Every node on the bottom level is linked there by definition
+                boolean linked = level == 0 || linkedOn.get(level).contains(node);
+                boolean marked = node.isMarked(level);
+                boolean onPath = searchPath != null && level >= searchLevel && level < searchPath.length
+                        && searchPath[level] == node;
+                Color fill = onPath ? PATH_COLOR : marked ? MARKED_COLOR : color;
+                g.setColor(fill);
+                if (linked || onPath) {
+                    g.fillRect(x, y, cell, box);
+                } else {
+                    g.drawRect(x, y, cell - 1, box - 1);
+                }
+                if (marked) {
+                    g.setColor(linked ? Color.WHITE : MARKED_COLOR);
+                    g.drawLine(x + 2, y + 2, x + cell - 3, y + box - 3);
+                    g.drawLine(x + 2, y + box - 3, x + cell - 3, y + 2);
+                }
+            }
+            for (int id = 0; id < touched.length(); id++) {
+                long last = touched.get(id);
+                int level = (int) last;
+                if (last == UNTOUCHED || (int) (last >> 32) != node.key || level >= node.height()) continue;
+                g.setColor(Color.WHITE);
+                g.drawRect(x - 2, bottom - level * rowHeight - box - 2, cell + 3, box + 3);
+            }
+        }
+    }
+
+    private JButton createStyledButton(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        button.setBackground(new Color(60, 120, 200));
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.addActionListener(e -> action.run());
+        return button;
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(Color.WHITE);
+        return label;
+    }
+
+    private void showError(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+}
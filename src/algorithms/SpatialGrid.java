@@ -0,0 +1,217 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Uniform grid over node positions, stored CSR-style so queries touch only the cells they overlap. Edges are
+// indexed as well, under every cell their bounding box covers, so a viewport finds the edges that cross it even
+// when neither end is inside; an edge whose box would cover more than LONG_EDGE_CELLS cells is kept in a short
+// list that every edge query tests directly instead.
+class SpatialGrid {
+
+    private static final int LONG_EDGE_CELLS = 16;
+
+    interface EdgeVisitor {
+        // slot is the edge's index in node's adjacency list
+        void visit(int node, int slot);
+    }
+
+    private final float[] xs;
+    private final float[] ys;
+    private final float minX, minY;
+    private final float cellSize;
+    private final int columns, rows;
+    private final int[] cellStart;
+    private final int[] cellNodes;
+
+    // Each undirected edge once, from its smaller end
+    private final int[] edgeFrom;
+    private final int[] edgeSlot;
+    private final int[] edgeTo;
+    private final int[] edgeCellStart;
+    private final int[] cellEdges;
+    private final int[] longEdges;
+    // An edge listed under several cells is reported once per query: the first cell to reach it stamps it
+    private final int[] edgeStamp;
+    private int stamp = 0;
+
+    SpatialGrid(float[] xs, float[] ys, WeightedGraph graph) {
+        this.xs = xs;
+        this.ys = ys;
+        int n = xs.length;
+
+        float loX = Float.MAX_VALUE, loY = Float.MAX_VALUE;
+        float hiX = -Float.MAX_VALUE, hiY = -Float.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            loX = Math.min(loX, xs[i]);
+            loY = Math.min(loY, ys[i]);
+            hiX = Math.max(hiX, xs[i]);
+            hiY = Math.max(hiY, ys[i]);
+        }
+        if (n == 0) loX = loY = hiX = hiY = 0;
+        minX = loX;
+        minY = loY;
+
+        // Aim for about four nodes per cell
+        float width = Math.max(1f, hiX - loX);
+        float height = Math.max(1f, hiY - loY);
+        cellSize = (float) Math.max(1e-3, Math.sqrt(width * height * 4 / Math.max(1, n)));
+        columns = Math.max(1, Math.min(4096, (int) (width / cellSize) + 1));
+        rows = Math.max(1, Math.min(4096, (int) (height / cellSize) + 1));
+
+        cellStart = new int[columns * rows + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cell(column(xs[i]), row(ys[i]));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) cellStart[c + 1] += cellStart[c];
+        cellNodes = new int[n];
+        int[] fill = new int[columns * rows];
+        for (int i = 0; i < n; i++) {
+            cellNodes[cellStart[cellOf[i]] + fill[cellOf[i]]++] = i;
+        }
+
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                if (graph.target(u, e) > u) m++;
+            }
+        }
+        edgeFrom = new int[m];
+        edgeSlot = new int[m];
+        edgeTo = new int[m];
+        edgeStamp = new int[m];
+        edgeCellStart = new int[columns * rows + 1];
+        int longCount = 0;
+        int edge = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = 0; e < graph.degree(u); e++) {
+                int v = graph.target(u, e);
+                if (v <= u) continue;
+                edgeFrom[edge] = u;
+                edgeSlot[edge] = e;
+                edgeTo[edge] = v;
+                int c0 = column(Math.min(xs[u], xs[v])), c1 = column(Math.max(xs[u], xs[v]));
+                int r0 = row(Math.min(ys[u], ys[v])), r1 = row(Math.max(ys[u], ys[v]));
+                if ((c1 - c0 + 1) * (r1 - r0 + 1) > LONG_EDGE_CELLS) {
+                    longCount++;
+                } else {
+                    for (int r = r0; r <= r1; r++) {
+                        for (int c = c0; c <= c1; c++) edgeCellStart[cell(c, r) + 1]++;
+                    }
+                }
+                edge++;
+            }
+        }
+        for (int c = 0; c < columns * rows; c++) edgeCellStart[c + 1] += edgeCellStart[c];
+        cellEdges = new int[edgeCellStart[columns * rows]];
+        longEdges = new int[longCount];
+        fill = new int[columns * rows];
+        longCount = 0;
+        for (edge = 0; edge < m; edge++) {
+            int u = edgeFrom[edge];
+            int v = edgeTo[edge];
+            int c0 = column(Math.min(xs[u], xs[v])), c1 = column(Math.max(xs[u], xs[v]));
+            int r0 = row(Math.min(ys[u], ys[v])), r1 = row(Math.max(ys[u], ys[v]));
+            if ((c1 - c0 + 1) * (r1 - r0 + 1) > LONG_EDGE_CELLS) {
+                longEdges[longCount++] = edge;
+                continue;
+            }
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int cell = cell(c, r);
+                    cellEdges[edgeCellStart[cell] + fill[cell]++] = edge;
+                }
+            }
+        }
+    }
+
+    void query(float x0, float y0, float x1, float y1, IntConsumer visitor) {
+        int c0 = column(x0), c1 = column(x1);
+        int r0 = row(y0), r1 = row(y1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = cell(c, r);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int node = cellNodes[k];
+                    if (xs[node] >= x0 && xs[node] <= x1 && ys[node] >= y0 && ys[node] <= y1) visitor.accept(node);
+                }
+            }
+        }
+    }
+
+    // Every edge whose segment meets the rectangle, once each
+    void queryEdges(float x0, float y0, float x1, float y1, EdgeVisitor visitor) {
+        if (++stamp == 0) {
+            Arrays.fill(edgeStamp, 0);
+            stamp = 1;
+        }
+        int c0 = column(x0), c1 = column(x1);
+        int r0 = row(y0), r1 = row(y1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = cell(c, r);
+                for (int k = edgeCellStart[cell]; k < edgeCellStart[cell + 1]; k++) {
+                    int edge = cellEdges[k];
+                    if (edgeStamp[edge] == stamp) continue;
+                    edgeStamp[edge] = stamp;
+                    if (crosses(edge, x0, y0, x1, y1)) visitor.visit(edgeFrom[edge], edgeSlot[edge]);
+                }
+            }
+        }
+        for (int edge : longEdges) {
+            if (crosses(edge, x0, y0, x1, y1)) visitor.visit(edgeFrom[edge], edgeSlot[edge]);
+        }
+    }
+
+    private boolean crosses(int edge, float x0, float y0, float x1, float y1) {
+        float ax = xs[edgeFrom[edge]], ay = ys[edgeFrom[edge]];
+        float bx = xs[edgeTo[edge]], by = ys[edgeTo[edge]];
+        if (Math.max(ax, bx) < x0 || Math.min(ax, bx) > x1 || Math.max(ay, by) < y0 || Math.min(ay, by) > y1) {
+            return false;
+        }
+        // Past the box test, the segment misses only if all four corners lie strictly on one side of its line
+        float dx = bx - ax, dy = by - ay;
+        float s00 = dx * (y0 - ay) - dy * (x0 - ax);
+        float s10 = dx * (y0 - ay) - dy * (x1 - ax);
+        float s01 = dx * (y1 - ay) - dy * (x0 - ax);
+        float s11 = dx * (y1 - ay) - dy * (x1 - ax);
+        return !(s00 > 0 && s10 > 0 && s01 > 0 && s11 > 0) && !(s00 < 0 && s10 < 0 && s01 < 0 && s11 < 0);
+    }
+
+    int nearest(float x, float y, float maxDistance) {
+        int best = -1;
+        float bestD2 = maxDistance * maxDistance;
+        int c0 = column(x - maxDistance), c1 = column(x + maxDistance);
+        int r0 = row(y - maxDistance), r1 = row(y + maxDistance);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = cell(c, r);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int node = cellNodes[k];
+                    float dx = xs[node] - x;
+                    float dy = ys[node] - y;
+                    float d2 = dx * dx + dy * dy;
+                    if (d2 <= bestD2) {
+                        bestD2 = d2;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int column(float x) {
+        return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellSize)));
+    }
+
+    private int row(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellSize)));
+    }
+
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+}
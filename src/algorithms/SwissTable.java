@@ -0,0 +1,191 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// SwissTable layout: one control byte per slot, packed eight to a long so a whole group is tested in a few
+// arithmetic ops. A control byte holds EMPTY, DELETED, or the low 7 bits of the key's hash for a full slot.
+// Java has no portable SIMD for this, so the group match is done SWAR-style on the 64-bit word instead.
+class SwissTable extends OpenAddressingTable {
+
+    static final int GROUP_WIDTH = 8;
+    static final int EMPTY = 0x80;
+    static final int DELETED = 0xFE;
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    // Rehash once full slots plus tombstones reach 7/8 of the table
+    private static final double MAX_LOAD_FACTOR = 7.0 / 8.0;
+
+    private long[] ctrl;
+    private int groupMask;
+    private int tombstones;
+
+    SwissTable(int initialCapacity) {
+        this(initialCapacity, HashFunction.MURMUR3);
+    }
+
+    SwissTable(int initialCapacity, HashFunction hashFunction) {
+        super(initialCapacity, hashFunction);
+    }
+
+    protected void allocate(int newCapacity) {
+        super.allocate(newCapacity);
+        ctrl = new long[newCapacity / GROUP_WIDTH];
+        Arrays.fill(ctrl, MSBS);
+        groupMask = ctrl.length - 1;
+        tombstones = 0;
+    }
+
+    public String name() {
+        return "Swiss table";
+    }
+
+    public boolean put(int key, int value) {
+        int existing = find(key);
+        if (existing >= 0) {
+            values[existing] = value;
+            return false;
+        }
+        if (size + tombstones + 1 > MAX_LOAD_FACTOR * capacity) {
+            // Mostly tombstones: rebuild at the same size rather than doubling
+            rehash(size + 1 > MAX_LOAD_FACTOR * capacity / 2 ? capacity * 2 : capacity);
+        }
+
+        int tag = tag(key);
+        int group = hashFunction.index(key, ctrl.length);
+        for (int step = 1; ; step++) {
+            long free = ctrl[group] & MSBS;
+            if (free != 0) {
+                int slot = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(free) >>> 3);
+                if (controlByte(slot) == DELETED) tombstones--;
+                setControl(slot, tag);
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return true;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? NOT_FOUND : values[slot];
+    }
+
+    public boolean contains(int key) {
+        return find(key) >= 0;
+    }
+
+    // Triangular probing over groups visits every group once when the group count is a power of two
+    private int find(int key) {
+        int tag = tag(key);
+        int group = hashFunction.index(key, ctrl.length);
+        for (int step = 1; ; step++) {
+            long word = ctrl[group];
+            for (long match = matchByte(word, tag); match != 0; match &= match - 1) {
+                int slot = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (keys[slot] == key) return slot;
+            }
+            if (matchEmpty(word) != 0) return -1;
+            group = (group + step) & groupMask;
+        }
+    }
+
+    public boolean remove(int key) {
+        int slot = find(key);
+        if (slot < 0) return false;
+        // A group that still has an empty slot never sent a probe onward, so the slot can go straight back to EMPTY
+        if (matchEmpty(ctrl[slot / GROUP_WIDTH]) != 0) {
+            setControl(slot, EMPTY);
+        } else {
+            setControl(slot, DELETED);
+            tombstones++;
+        }
+        size--;
+        return true;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        long[] oldCtrl = ctrl;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int control = (int) (oldCtrl[i / GROUP_WIDTH] >>> (8 * (i % GROUP_WIDTH))) & 0xFF;
+            if (control < EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    // The 7-bit tag always comes from murmur3, so even a weak placement function keeps group matches selective
+    private static int tag(int key) {
+        return HashFunction.fmix32(key) & 0x7F;
+    }
+
+    // Bytes equal to h2 get their high bit set; a borrow can flag a neighbour too, which the key compare filters out
+    private static long matchByte(long word, int h2) {
+        long x = word ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    // EMPTY is the only control value with the high bit set and bit 1 clear
+    private static long matchEmpty(long word) {
+        return word & ~(word << 6) & MSBS;
+    }
+
+    int controlByte(int slot) {
+        return (int) (ctrl[slot / GROUP_WIDTH] >>> (8 * (slot % GROUP_WIDTH))) & 0xFF;
+    }
+
+    private void setControl(int slot, int value) {
+        int shift = 8 * (slot % GROUP_WIDTH);
+        int group = slot / GROUP_WIDTH;
+        ctrl[group] = (ctrl[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    int tombstones() {
+        return tombstones;
+    }
+
+    boolean isFull(int slot) {
+        return controlByte(slot) < EMPTY;
+    }
+
+    int home(int key) {
+        return hashFunction.index(key, ctrl.length) * GROUP_WIDTH;
+    }
+
+    // Counted in groups, since a whole group is read at once
+    int displacement(int slot) {
+        int homeGroup = hashFunction.index(keys[slot], ctrl.length);
+        return (slot / GROUP_WIDTH - homeGroup) & groupMask;
+    }
+
+    int probeWidth() {
+        return GROUP_WIDTH;
+    }
+
+    // Every slot of every group the lookup loads
+    int[] probeSequence(int key) {
+        int[] sequence = new int[capacity];
+        int length = 0;
+        int tag = tag(key);
+        int group = hashFunction.index(key, ctrl.length);
+        for (int step = 1; step <= ctrl.length; step++) {
+            for (int i = 0; i < GROUP_WIDTH; i++) sequence[length++] = group * GROUP_WIDTH + i;
+            long word = ctrl[group];
+            boolean found = false;
+            for (long match = matchByte(word, tag); match != 0; match &= match - 1) {
+                if (keys[group * GROUP_WIDTH + (Long.numberOfTrailingZeros(match) >>> 3)] == key) found = true;
+            }
+            if (found || matchEmpty(word) != 0) break;
+            group = (group + step) & groupMask;
+        }
+        return trim(sequence, length);
+    }
+
+    public long memoryBytes() {
+        return 9L * capacity + 3 * 16 + 40;
+    }
+}
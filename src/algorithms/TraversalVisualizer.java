@@ -0,0 +1,294 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Random;
+
+public class TraversalVisualizer extends JFrame {
+
+    private final int NODE_COUNT = 30;
+    private final int PANEL_WIDTH = 800;
+    private final int PANEL_HEIGHT = 500;
+    private final int ANIMATION_LIMIT = 60;
+    private final int LOG_CAPACITY = 50000;
+    private final int PALETTE_SIZE = 64;
+
+    private WeightedGraph graph;
+    private ForceLayout layout;
+    private Random rand = new Random();
+
+    private JSpinner nodeCountSpinner;
+    private JSpinner degreeSpinner;
+    private JSpinner sourceSpinner;
+    private JComboBox<String> methodCombo;
+    private JToggleButton layoutBtn;
+    private JLabel statusLabel;
+    private GraphPanel graphPanel;
+    private final EventLog log = new EventLog(LOG_CAPACITY);
+
+    // What the graph panel shows: nodes ranked below revealed are reached, those from frontierStart on are the frontier
+    private volatile GraphTraversal.Traversal shown;
+    private int shownDepth = 1;
+    private int[] rank = new int[0];
+    private int[] treeFrom = new int[0];
+    private int[] treeTo = new int[0];
+    private volatile int revealed = 0;
+    private volatile int frontierStart = 0;
+    private final Color[] palette = new Color[PALETTE_SIZE];
+
+    private volatile boolean running = false;
+
+    public TraversalVisualizer() {
+        setTitle("Graph Traversal Visualizer");
+        setSize(1200, 650);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        JLabel title = new JLabel("BFS / DFS Traversal Visualization", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(Color.WHITE);
+        title.setOpaque(true);
+        title.setBackground(new Color(30, 30, 30));
+        title.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        add(title, BorderLayout.NORTH);
+
+        EventLogPanel logPanel = new EventLogPanel(log, new Font("Consolas", Font.PLAIN, 13));
+        logPanel.setBorder(BorderFactory.createTitledBorder("Layers"));
+        add(logPanel, BorderLayout.WEST);
+
+        // Early layers are blue, the deepest ones red
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            palette[i] = Color.getHSBColor(0.66f * (1 - i / (float) (PALETTE_SIZE - 1)), 0.8f, 0.95f);
+        }
+
+        graphPanel = new GraphPanel();
+        graphPanel.setEdgeColors(new Color(90, 90, 90), Color.LIGHT_GRAY);
+        graphPanel.setNodeColors(this::nodeColor);
+        graphPanel.setNodeClickListener((event, node) -> sourceSpinner.setValue(node));
+        graphPanel.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+        add(graphPanel, BorderLayout.CENTER);
+
+        JPanel controlPanel = new JPanel(new FlowLayout());
+        controlPanel.setBackground(new Color(30, 30, 30));
+
+        nodeCountSpinner = new JSpinner(new SpinnerNumberModel(NODE_COUNT, 2, 2000000, 1));
+        degreeSpinner = new JSpinner(new SpinnerNumberModel(3.0, 0.5, 64.0, 0.5));
+        sourceSpinner = new JSpinner(new SpinnerNumberModel(0, 0, NODE_COUNT - 1, 1));
+        methodCombo = new JComboBox<>();
+        for (GraphTraversal.Method method : GraphTraversal.Method.values()) methodCombo.addItem(method.label);
+
+        JButton generateBtn = new JButton("Generate Graph");
+        generateBtn.addActionListener(e -> {
+            if (running) return;
+            generateGraph();
+            log.clear();
+        });
+
+        JButton runBtn = new JButton("Traverse");
+        runBtn.addActionListener(e -> {
+            if (!running) runTraversal(GraphTraversal.Method.values()[methodCombo.getSelectedIndex()]);
+        });
+
+        JButton compareBtn = new JButton("Compare All");
+        compareBtn.addActionListener(e -> {
+            if (!running) compareMethods();
+        });
+
+        layoutBtn = new JToggleButton("Force Layout");
+        layoutBtn.addActionListener(e -> {
+            if (layoutBtn.isSelected()) startLayout();
+            else stopLayout();
+        });
+
+        JButton backBtn = new JButton("Back to Menu");
+        backBtn.addActionListener(e -> {
+            this.dispose();
+            new ui.AdvancedAlgorithmsVisualizer();
+        });
+
+        controlPanel.add(new JLabel("Nodes:"));
+        controlPanel.add(nodeCountSpinner);
+        controlPanel.add(new JLabel("Avg degree:"));
+        controlPanel.add(degreeSpinner);
+        controlPanel.add(generateBtn);
+        controlPanel.add(new JLabel("Source:"));
+        controlPanel.add(sourceSpinner);
+        controlPanel.add(methodCombo);
+        controlPanel.add(runBtn);
+        controlPanel.add(compareBtn);
+        controlPanel.add(layoutBtn);
+        controlPanel.add(backBtn);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.WHITE);
+        JPanel statusPanel = new JPanel();
+        statusPanel.setBackground(new Color(30, 30, 30));
+        statusPanel.add(statusLabel);
+
+        JPanel southPanel = new JPanel(new GridLayout(2, 1));
+        southPanel.add(statusPanel);
+        southPanel.add(controlPanel);
+        add(southPanel, BorderLayout.SOUTH);
+
+        generateGraph();
+        setVisible(true);
+    }
+
+    private void generateGraph() {
+        stopLayout();
+        int nodeCount = (Integer) nodeCountSpinner.getValue();
+        double degree = (Double) degreeSpinner.getValue();
+        graph = WeightedGraph.random(nodeCount, Math.min(1.0, degree / Math.max(1, nodeCount - 1)), 9, rand);
+
+        shown = null;
+        revealed = 0;
+        frontierStart = 0;
+        graphPanel.clearHighlightedEdges();
+        float[][] positions = ForceLayout.randomPositions(nodeCount, PANEL_WIDTH - 100, PANEL_HEIGHT - 100, rand);
+        graphPanel.setGraph(graph, positions[0], positions[1]);
+        ((SpinnerNumberModel) sourceSpinner.getModel()).setMaximum(nodeCount - 1);
+        if ((Integer) sourceSpinner.getValue() >= nodeCount) sourceSpinner.setValue(0);
+        statusLabel.setText("Graph: " + nodeCount + " nodes, " + graph.edgeCount() + " edges");
+    }
+
+    private void startLayout() {
+        stopLayout();
+        layout = new ForceLayout(graph, graphPanel.xs(), graphPanel.ys());
+        ForceLayout current = layout;
+        current.start(() -> {
+            graphPanel.setPositions(current.xs(), current.ys());
+            if (!current.isRunning()) SwingUtilities.invokeLater(() -> {
+                if (layout == current) layoutBtn.setSelected(false);
+            });
+        });
+    }
+
+    private void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+        if (layoutBtn != null) layoutBtn.setSelected(false);
+    }
+
+    public void dispose() {
+        stopLayout();
+        super.dispose();
+    }
+
+    private Color nodeColor(int node) {
+        GraphTraversal.Traversal t = shown;
+        if (t == null || node >= rank.length || rank[node] >= revealed) return Color.GRAY;
+        if (rank[node] >= frontierStart) return Color.ORANGE;
+        return palette[Math.min(PALETTE_SIZE - 1, (int) ((long) t.level[node] * (PALETTE_SIZE - 1) / shownDepth))];
+    }
+
+    private void runTraversal(GraphTraversal.Method method) {
+        running = true;
+        WeightedGraph current = graph;
+        int source = (Integer) sourceSpinner.getValue();
+        new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                GraphTraversal.Traversal t = GraphTraversal.traverse(current, source, method);
+                long elapsed = System.nanoTime() - start;
+
+                log.add(EventLog.Kind.INFO, method.label + " from node " + source);
+                logSteps(method, t);
+                show(t);
+                String summary = summarize(method, t, elapsed);
+                log.add(EventLog.Kind.RESULT, summary);
+                SwingUtilities.invokeLater(() -> statusLabel.setText(summary));
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private void logSteps(GraphTraversal.Method method, GraphTraversal.Traversal t) {
+        if (method == GraphTraversal.Method.DFS) {
+            for (int k = 0; k < t.reached; k++) {
+                int node = t.order[k];
+                log.add(EventLog.Kind.VISIT, "Discovered node %d at depth %d (from %d)", node, t.level[node], t.parent[node]);
+            }
+            return;
+        }
+        for (int k = 0; k < t.steps; k++) {
+            int size = t.stepEnd(k) - t.stepStart[k];
+            if (t.bottomUp[k]) {
+                log.add(EventLog.Kind.VISIT, "Layer %d: %d nodes, expanded bottom-up, %d edges checked", k, size, t.edgesChecked[k]);
+            } else {
+                log.add(EventLog.Kind.VISIT, "Layer %d: %d nodes, expanded top-down, %d edges checked", k, size, t.edgesChecked[k]);
+            }
+        }
+    }
+
+    // Reveals the traversal step by step when there are few steps, otherwise jumps straight to the result
+    private void show(GraphTraversal.Traversal t) {
+        int n = graph.nodeCount();
+        int[] ranks = new int[n];
+        int[] from = new int[t.reached];
+        int[] to = new int[t.reached];
+        int edges = 0;
+        for (int k = 0; k < t.reached; k++) {
+            int node = t.order[k];
+            ranks[node] = k;
+            if (t.parent[node] >= 0) {
+                from[edges] = t.parent[node];
+                to[edges] = node;
+                edges++;
+            }
+        }
+        for (int node = 0; node < n; node++) {
+            if (t.level[node] < 0) ranks[node] = Integer.MAX_VALUE;
+        }
+
+        revealed = 0;
+        shownDepth = Math.max(1, t.maxLevel());
+        rank = ranks;
+        treeFrom = from;
+        treeTo = to;
+        shown = t;
+
+        if (t.steps <= ANIMATION_LIMIT) {
+            for (int k = 0; k < t.steps; k++) {
+                frontierStart = t.stepStart[k];
+                revealed = t.stepEnd(k);
+                // Tree edges follow discovery order, so the first (revealed - 1) of them lead to revealed nodes
+                graphPanel.setHighlightedEdges(treeFrom, treeTo, Math.max(0, revealed - 1), Color.WHITE);
+                try {
+                    Thread.sleep(t.steps > 20 ? 150 : 500);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+        frontierStart = t.reached;
+        revealed = t.reached;
+        graphPanel.setHighlightedEdges(treeFrom, treeTo, edges, Color.WHITE);
+    }
+
+    private void compareMethods() {
+        running = true;
+        WeightedGraph current = graph;
+        int source = (Integer) sourceSpinner.getValue();
+        new Thread(() -> {
+            try {
+                log.add(EventLog.Kind.INFO, "Comparing from node " + source + " on " + current.nodeCount() + " nodes, "
+                        + current.edgeCount() + " edges, " + Runtime.getRuntime().availableProcessors() + " cores");
+                for (GraphTraversal.Method method : GraphTraversal.Method.values()) {
+                    long start = System.nanoTime();
+                    GraphTraversal.Traversal t = GraphTraversal.traverse(current, source, method);
+                    log.add(EventLog.Kind.RESULT, summarize(method, t, System.nanoTime() - start));
+                }
+            } finally {
+                running = false;
+            }
+        }).start();
+    }
+
+    private String summarize(GraphTraversal.Method method, GraphTraversal.Traversal t, long elapsedNanos) {
+        int depth = t.maxLevel();
+        String shape = method == GraphTraversal.Method.DFS ? "max depth " + depth : (depth + 1) + " layers";
+        return method.label + ": reached " + t.reached + " of " + graph.nodeCount() + " nodes, " + shape + ", "
+                + t.totalEdgesChecked() + " edges checked in " + String.format("%.1f", elapsedNanos / 1e6) + " ms";
+    }
+}
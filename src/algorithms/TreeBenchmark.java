@@ -0,0 +1,142 @@
+package algorithms;
+
+import java.util.Random;
+
+// Headless comparison of ways to build a SearchTree, and of what the resulting shapes cost a lookup
+final class TreeBenchmark {
+
+    static final int DEFAULT_KEYS = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final int LOOKUPS = 1_000_000;
+    private static final int QUERIES = 100_000;
+    // Range queries cover this fraction of the keys
+    private static final int RANGE_DIVISOR = 100;
+    private static final int WALKS = 100;
+
+    private TreeBenchmark() {}
+
+    static String run(int count) {
+        Random rand = new Random(42);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) keys[i] = rand.nextInt();
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) probes[i] = keys[rand.nextInt(count)];
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d random int keys, %d cores, best of %d rounds%n%n",
+                count, Runtime.getRuntime().availableProcessors(), ROUNDS));
+        report.append(String.format("%-32s %10s %8s %12s %14s%n", "Build", "ms", "height", "avg path", "hit ns/op"));
+
+        SearchTree bulk = null;
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            bulk = SearchTree.bulkLoad(SearchTree.Balance.RED_BLACK, keys, false);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+        row(report, "Bulk load", best, bulk, probes);
+
+        best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            bulk = SearchTree.bulkLoad(SearchTree.Balance.RED_BLACK, keys, true);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+        row(report, "Bulk load, fork/join", best, bulk, probes);
+
+        for (SearchTree.Balance balance : SearchTree.Balance.values()) {
+            // Keeping a version per insert alive would measure the heap more than the tree
+            if (balance == SearchTree.Balance.PERSISTENT) continue;
+            // Random order keeps even the unbalanced tree to about 2.99 log2 n levels
+            SearchTree tree = new SearchTree(balance);
+            long start = System.nanoTime();
+            for (int key : keys) tree.insert(key);
+            row(report, "Insert one by one, " + balance.label, (System.nanoTime() - start) / 1e6, tree, probes);
+        }
+
+        report.append(String.format("%n%-32s %10s %10s%n", "Traversal of the bulk tree", "ms", "fork/join"));
+        long checksum = 0;
+        double sequential = Double.MAX_VALUE;
+        double parallel = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += bulk.inOrder(false).length;
+            sequential = Math.min(sequential, (System.nanoTime() - start) / 1e6);
+            start = System.nanoTime();
+            checksum += bulk.inOrder(true).length;
+            parallel = Math.min(parallel, (System.nanoTime() - start) / 1e6);
+        }
+        report.append(String.format("%-32s %10.1f %10.1f%n", "In-order to array", sequential, parallel));
+
+        sequential = Double.MAX_VALUE;
+        parallel = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += bulk.aggregate(false).sum;
+            sequential = Math.min(sequential, (System.nanoTime() - start) / 1e6);
+            start = System.nanoTime();
+            checksum += bulk.aggregate(true).sum;
+            parallel = Math.min(parallel, (System.nanoTime() - start) / 1e6);
+        }
+        report.append(String.format("%-32s %10.1f %10.1f%n", "Sum, min and max", sequential, parallel));
+
+        int[] sorted = bulk.inOrder(true);
+        int span = Math.max(1, sorted.length / RANGE_DIVISOR);
+        int[] starts = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) starts[i] = rand.nextInt(Math.max(1, sorted.length - span));
+        report.append(String.format("%n%-32s %10s%n", "Queries on the bulk tree", "ns/op"));
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) checksum += bulk.select(starts[i] + 1, null).key;
+        report.append(String.format("%-32s %10.1f%n", "K-th smallest", (double) (System.nanoTime() - start) / QUERIES));
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) checksum += bulk.rank(probes[i], null);
+        report.append(String.format("%-32s %10.1f%n", "Rank", (double) (System.nanoTime() - start) / QUERIES));
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            checksum += bulk.rangeAggregate(sorted[starts[i]], sorted[starts[i] + span - 1], null).sum;
+        }
+        String label = String.format("Range sum, %,d keys", span);
+        report.append(String.format("%-32s %10.1f%n", label, (double) (System.nanoTime() - start) / QUERIES));
+        start = System.nanoTime();
+        for (int i = 0; i < WALKS; i++) checksum += walkRange(bulk.root(), sorted[starts[i]], sorted[starts[i] + span - 1]);
+        report.append(String.format("%-32s %10.1f%n", label + " by walking", (double) (System.nanoTime() - start) / WALKS));
+        Blackhole.consume(checksum);
+        return report.toString();
+    }
+
+    private static void row(StringBuilder report, String name, double millis, SearchTree tree, int[] probes) {
+        long visited = 0;
+        long start = System.nanoTime();
+        for (int key : probes) {
+            SearchTree.Node node = tree.root();
+            while (node.key != key) {
+                node = key < node.key ? node.left : node.right;
+                visited++;
+            }
+            visited++;
+        }
+        double nanos = (double) (System.nanoTime() - start) / probes.length;
+        report.append(String.format("%-32s %10.1f %8d %12.2f %14.1f%n", name, millis, tree.height(),
+                (double) visited / probes.length, nanos));
+    }
+
+    // Range sum without the cached aggregates: visits every key in the range, skipping only subtrees wholly outside
+    private static long walkRange(SearchTree.Node root, int from, int to) {
+        SearchTree.Node[] stack = new SearchTree.Node[root.height + 1];
+        int depth = 0;
+        stack[depth++] = root;
+        long sum = 0;
+        while (depth > 0) {
+            SearchTree.Node node = stack[--depth];
+            if (node.key >= from && node.key <= to) sum += node.key;
+            if (node.left != null && node.key > from) stack[depth++] = node.left;
+            if (node.right != null && node.key < to) stack[depth++] = node.right;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEYS;
+        System.out.print(run(count));
+    }
+}
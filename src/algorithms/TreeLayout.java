@@ -0,0 +1,148 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Reingold-Tilford tidy drawing of a SearchTree: each node sits centred over its children, subtrees are pushed
+// apart only as far as their facing contours require, and identical subtrees are drawn identically. Each subtree
+// keeps its left and right contours as lists of per-level steps, and a parent shares the longer child's list and
+// copies only the part of the shorter one it walked anyway, so the whole tree costs O(n).
+//
+// Every node caches its placement relative to its parent. SearchTree drops that cache wherever it recomputes a
+// node's height, which is exactly the set of nodes whose subtree changed: the path from an insert or delete to the
+// root, plus anything rotated. Only those nodes are laid out again, each walking just the facing contours of its
+// two children. A placement is built once from the subtree below and nothing in it refers to the parent, so it
+// holds for every version that shares the node. A persistent tree's nodes are never written once published,
+// though, so their placements go in a side map the caller keeps instead of on the nodes; switching versions
+// still lays out only the nodes a version copied.
+final class TreeLayout {
+
+    // Closest two nodes on one level may sit, in layout units
+    static final int MIN_SEPARATION = 2;
+
+    static final class Info {
+        // Children sit at x - half and x + half; a lone child at one unit to its side
+        int half;
+        // Horizontal extent of the subtree, relative to this node
+        int minX, maxX;
+        // Leftmost and rightmost node of each level below this one, as steps from the level above; null for a leaf
+        Contour left, right;
+    }
+
+    // Immutable, so contours are shared between a subtree and every subtree built on top of it
+    static final class Contour {
+        final int step;
+        final Contour next;
+
+        Contour(int step, Contour next) {
+            this.step = step;
+            this.next = next;
+        }
+    }
+
+    private TreeLayout() {}
+
+    // Lays out every node without a placement, children before parents; returns how many that was. With a side
+    // map, placements are read from and stored there and the nodes themselves are left untouched.
+    static int update(SearchTree.Node root, Map<SearchTree.Node, Info> side) {
+        if (root == null || info(root, side) != null) return 0;
+        int count = 0;
+        List<SearchTree.Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            SearchTree.Node node = stack.get(stack.size() - 1);
+            if (node.left != null && info(node.left, side) == null) {
+                stack.add(node.left);
+            } else if (node.right != null && info(node.right, side) == null) {
+                stack.add(node.right);
+            } else {
+                stack.remove(stack.size() - 1);
+                Info info = place(node, side);
+                if (side != null) side.put(node, info);
+                else node.layout = info;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Info info(SearchTree.Node node, Map<SearchTree.Node, Info> side) {
+        return side != null ? side.get(node) : node.layout;
+    }
+
+    private static Info place(SearchTree.Node node, Map<SearchTree.Node, Info> side) {
+        SearchTree.Node left = node.left;
+        SearchTree.Node right = node.right;
+        Info info = new Info();
+        if (left != null && right != null) {
+            placePair(node, info(left, side), info(right, side), info);
+        } else if (left != null || right != null) {
+            Info child = info(left != null ? left : right, side);
+            int childX = left != null ? -1 : 1;
+            info.half = 1;
+            info.left = new Contour(childX, child.left);
+            info.right = new Contour(childX, child.right);
+            info.minX = Math.min(0, childX + child.minX);
+            info.maxX = Math.max(0, childX + child.maxX);
+        }
+        return info;
+    }
+
+    // Walks the right contour of the left subtree against the left contour of the right one, level by level, for
+    // as many levels as the shorter subtree has
+    private static void placePair(SearchTree.Node node, Info leftInfo, Info rightInfo, Info info) {
+        int leftHeight = node.left.height;
+        int rightHeight = node.right.height;
+        int levels = Math.min(leftHeight, rightHeight);
+        Contour inner = leftInfo.right;
+        int innerX = 0;
+        Contour outer = rightInfo.left;
+        int outerX = 0;
+        int separation = MIN_SEPARATION;
+        for (int level = 0; ; level++) {
+            separation = Math.max(separation, innerX - outerX + MIN_SEPARATION);
+            if (level == levels - 1) break;
+            innerX += inner.step;
+            inner = inner.next;
+            outerX += outer.step;
+            outer = outer.next;
+        }
+        int half = (separation + 1) / 2;
+        info.half = half;
+
+        if (leftHeight < rightHeight) {
+            // Below the left subtree, this node's left contour carries on down the right subtree's
+            int bottomX = -half + sum(leftInfo.left);
+            int nextX = half + outerX + outer.step;
+            info.left = new Contour(-half, join(leftInfo.left, nextX - bottomX, outer.next));
+            info.right = new Contour(half, rightInfo.right);
+        } else if (rightHeight < leftHeight) {
+            int bottomX = half + sum(rightInfo.right);
+            int nextX = -half + innerX + inner.step;
+            info.left = new Contour(-half, leftInfo.left);
+            info.right = new Contour(half, join(rightInfo.right, nextX - bottomX, inner.next));
+        } else {
+            info.left = new Contour(-half, leftInfo.left);
+            info.right = new Contour(half, rightInfo.right);
+        }
+        info.minX = Math.min(0, Math.min(leftInfo.minX - half, rightInfo.minX + half));
+        info.maxX = Math.max(0, Math.max(leftInfo.maxX - half, rightInfo.maxX + half));
+    }
+
+    private static int sum(Contour contour) {
+        int x = 0;
+        for (; contour != null; contour = contour.next) x += contour.step;
+        return x;
+    }
+
+    // A copy of head, then step, then the shared tail; head is no longer than the contours just walked
+    private static Contour join(Contour head, int step, Contour tail) {
+        if (head == null) return new Contour(step, tail);
+        List<Integer> steps = new ArrayList<>();
+        for (; head != null; head = head.next) steps.add(head.step);
+        Contour joined = new Contour(step, tail);
+        for (int i = steps.size() - 1; i >= 0; i--) joined = new Contour(steps.get(i), joined);
+        return joined;
+    }
+}
@@ -0,0 +1,205 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+// Pannable, zoomable view of a SearchTree over a TreeLayout. Only subtrees whose extent reaches the visible area
+// are walked, and a subtree narrower than a pixel is drawn as one line, so the cost of a repaint follows what is
+// on screen rather than the size of the tree.
+class TreePanel extends JPanel {
+
+    // Pixels per layout unit and per level at zoom 1
+    private static final int UNIT = 25;
+    private static final int LEVEL = 70;
+    private static final int RADIUS = 20;
+    private static final int TOP = 40;
+
+    private final Font nodeFont = new Font("Segoe UI", Font.BOLD, 16);
+    private final Font smallFont = new Font("Segoe UI", Font.BOLD, 11);
+    private final Font captionFont = new Font("Segoe UI", Font.BOLD, 14);
+    private final Font hintFont = new Font("Segoe UI", Font.PLAIN, 11);
+
+    private SearchTree.Node root;
+    // Where placements live for trees whose nodes are shared between versions; null to keep them on the nodes
+    private Map<SearchTree.Node, TreeLayout.Info> sideLayout;
+    private Function<SearchTree.Node, Color> nodeColor = node -> Color.CYAN;
+    private Color outlineColor = Color.BLACK;
+    private String caption;
+    private int drawn;
+
+    // View transform: screen = layout * UNIT * viewScale + viewX, and likewise for levels
+    private float viewScale = 1;
+    private float viewX = 0;
+    private float viewY = TOP;
+    private boolean userView = false;
+
+    TreePanel() {
+        setBackground(new Color(20, 20, 20));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            private int lastX, lastY;
+
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            public void mouseDragged(MouseEvent e) {
+                viewX += e.getX() - lastX;
+                viewY += e.getY() - lastY;
+                lastX = e.getX();
+                lastY = e.getY();
+                userView = true;
+                repaint();
+            }
+
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                float factor = (float) Math.pow(1.15, -e.getPreciseWheelRotation());
+                viewX = e.getX() - (e.getX() - viewX) * factor;
+                viewY = e.getY() - (e.getY() - viewY) * factor;
+                viewScale *= factor;
+                userView = true;
+                repaint();
+            }
+
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) resetView();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    void setRoot(SearchTree.Node root) {
+        this.root = root;
+        repaint();
+    }
+
+    void setSideLayout(Map<SearchTree.Node, TreeLayout.Info> sideLayout) {
+        this.sideLayout = sideLayout;
+    }
+
+    void setNodeColor(Function<SearchTree.Node, Color> nodeColor) {
+        this.nodeColor = nodeColor;
+    }
+
+    void setOutlineColor(Color outlineColor) {
+        this.outlineColor = outlineColor;
+    }
+
+    // Shown in the top-left corner, e.g. the rebalancing step being replayed; null for none
+    void setCaption(String caption) {
+        this.caption = caption;
+        repaint();
+    }
+
+    // Root centred at the top, at zoom 1
+    void resetView() {
+        userView = false;
+        viewScale = 1;
+        repaint();
+    }
+
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (!userView) {
+            viewX = getWidth() / 2f;
+            viewY = TOP;
+        }
+        drawn = 0;
+        if (root != null) {
+            TreeLayout.update(root, sideLayout);
+            drawTree(g);
+        }
+        if (caption != null) {
+            g.setColor(Color.ORANGE);
+            g.setFont(captionFont);
+            g.drawString(caption, 15, 20);
+        }
+        g.setColor(Color.GRAY);
+        g.setFont(hintFont);
+        String hint = "Drag to pan, wheel to zoom, double-click to reset   " + drawn + " nodes drawn";
+        g.drawString(hint, getWidth() - g.getFontMetrics().stringWidth(hint) - 10, getHeight() - 8);
+    }
+
+    // Explicit stacks rather than recursion, since an unbalanced tree can be any depth
+    private void drawTree(Graphics g) {
+        float unit = UNIT * viewScale;
+        float level = LEVEL * viewScale;
+        int radius = Math.max(2, Math.round(RADIUS * viewScale));
+        boolean labels = radius >= 12;
+        g.setFont(radius >= 18 ? nodeFont : smallFont);
+        FontMetrics metrics = g.getFontMetrics();
+        int width = getWidth();
+        int height = getHeight();
+
+        int capacity = 64;
+        SearchTree.Node[] nodes = new SearchTree.Node[capacity];
+        int[] xs = new int[capacity];
+        int[] depths = new int[capacity];
+        int top = 0;
+        nodes[top] = root;
+        xs[top] = 0;
+        depths[top++] = 0;
+        while (top > 0) {
+            top--;
+            SearchTree.Node node = nodes[top];
+            int x = xs[top];
+            int depth = depths[top];
+            TreeLayout.Info info = TreeLayout.info(node, sideLayout);
+            float screenX = viewX + x * unit;
+            float screenY = viewY + depth * level;
+            // Everything below is lower still, and the extent bounds everything to either side
+            if (screenY - radius > height) continue;
+            if (screenX + info.maxX * unit < -radius || screenX + info.minX * unit > width + radius) continue;
+            if (screenY + (node.height - 1) * level < -radius) continue;
+
+            int sx = Math.round(screenX);
+            int sy = Math.round(screenY);
+            if (node.height > 1 && (info.maxX - info.minX) * unit < 1) {
+                // Too narrow to show: one line the height of the subtree
+                g.setColor(nodeColor.apply(node));
+                g.drawLine(sx, sy, sx, Math.round(screenY + (node.height - 1) * level));
+                drawn++;
+                continue;
+            }
+
+            g.setColor(Color.WHITE);
+            SearchTree.Node[] children = {node.left, node.right};
+            for (int side = 0; side < 2; side++) {
+                SearchTree.Node child = children[side];
+                if (child == null) continue;
+                int childX = side == 0 ? x - info.half : x + info.half;
+                g.drawLine(sx, sy + radius, Math.round(viewX + childX * unit), Math.round(screenY + level) - radius);
+                if (top == capacity) {
+                    capacity *= 2;
+                    nodes = Arrays.copyOf(nodes, capacity);
+                    xs = Arrays.copyOf(xs, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                }
+                nodes[top] = child;
+                xs[top] = childX;
+                depths[top++] = depth + 1;
+            }
+
+            Color fill = nodeColor.apply(node);
+            g.setColor(fill);
+            g.fillOval(sx - radius, sy - radius, 2 * radius, 2 * radius);
+            g.setColor(outlineColor);
+            g.drawOval(sx - radius, sy - radius, 2 * radius, 2 * radius);
+            if (labels) {
+                String label = String.valueOf(node.key);
+                g.setColor(fill == Color.YELLOW || fill == Color.ORANGE ? Color.BLACK : Color.WHITE);
+                g.drawString(label, sx - metrics.stringWidth(label) / 2, sy + metrics.getAscent() / 2 - 2);
+            }
+            drawn++;
+        }
+    }
+}
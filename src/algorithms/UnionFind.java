@@ -0,0 +1,49 @@
+package algorithms;
+
+// Disjoint sets over int[] with path halving and union by rank
+class UnionFind {
+
+    private final int[] parent;
+    private final byte[] rank;
+    private int sets;
+
+    UnionFind(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) parent[i] = i;
+        sets = size;
+    }
+
+    int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // Follows parents without compressing, so many threads can call it while nobody is uniting
+    int root(int x) {
+        while (parent[x] != x) x = parent[x];
+        return x;
+    }
+
+    boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return false;
+        if (rank[ra] < rank[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        if (rank[ra] == rank[rb]) rank[ra]++;
+        sets--;
+        return true;
+    }
+
+    int sets() {
+        return sets;
+    }
+}
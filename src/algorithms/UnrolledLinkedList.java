@@ -0,0 +1,231 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Linked list whose nodes each hold a small int[] chunk, so a walk follows one pointer per chunk instead of one
+// per value and reads the values in between from contiguous memory. Appends fill the tail chunk; an insert into
+// a full chunk splits it in half, and a remove that leaves a chunk under half full merges it with its successor
+// when the two fit in one.
+class UnrolledLinkedList implements IntLinkedList {
+
+    static final int DEFAULT_CAPACITY = 8;
+
+    static final class Node {
+        final int[] values;
+        int count;
+        Node next;
+
+        Node(int capacity) {
+            values = new int[capacity];
+        }
+    }
+
+    private final int capacity;
+    private Node head;
+    private Node tail;
+    private int size = 0;
+    private int nodeCount = 0;
+    private int lastHops = 0;
+
+    UnrolledLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    UnrolledLinkedList(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("A chunk must hold at least two values");
+        this.capacity = capacity;
+    }
+
+    public String name() {
+        return "Unrolled, " + capacity + " per node";
+    }
+
+    public void append(int value) {
+        if (tail == null || tail.count == capacity) linkAfter(tail, new Node(capacity));
+        tail.values[tail.count++] = value;
+        size++;
+        lastHops = 0;
+    }
+
+    public void insert(int index, int value) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        if (index == size) {
+            append(value);
+            return;
+        }
+        // The chunk holding the element now at index, and that element's slot in it
+        Node node = head;
+        int hops = 0;
+        while (index >= node.count) {
+            index -= node.count;
+            node = node.next;
+            hops++;
+        }
+        if (node.count == capacity) {
+            Node right = split(node);
+            if (index > node.count) {
+                index -= node.count;
+                node = right;
+            }
+        }
+        System.arraycopy(node.values, index, node.values, index + 1, node.count - index);
+        node.values[index] = value;
+        node.count++;
+        size++;
+        lastHops = hops;
+    }
+
+    // Moves the upper half of a full chunk into a new node after it; returns the new node
+    private Node split(Node node) {
+        Node right = new Node(capacity);
+        int half = node.count / 2;
+        right.count = node.count - half;
+        System.arraycopy(node.values, half, right.values, 0, right.count);
+        node.count = half;
+        linkAfter(node, right);
+        return right;
+    }
+
+    // Links node after prev, or at the head when prev is null
+    private void linkAfter(Node prev, Node node) {
+        if (prev == null) {
+            node.next = head;
+            head = node;
+        } else {
+            node.next = prev.next;
+            prev.next = node;
+        }
+        if (node.next == null) tail = node;
+        nodeCount++;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        Node node = head;
+        int hops = 0;
+        while (index >= node.count) {
+            index -= node.count;
+            node = node.next;
+            hops++;
+        }
+        lastHops = hops;
+        return node.values[index];
+    }
+
+    public int indexOf(int value) {
+        int start = 0;
+        int hops = 0;
+        for (Node node = head; node != null; start += node.count, node = node.next, hops++) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.values[i] == value) {
+                    lastHops = hops;
+                    return start + i;
+                }
+            }
+        }
+        lastHops = nodeCount;
+        return -1;
+    }
+
+    public int removeValue(int value) {
+        Node prev = null;
+        int start = 0;
+        int hops = 0;
+        for (Node node = head; node != null; prev = node, start += node.count, node = node.next, hops++) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.values[i] != value) continue;
+                System.arraycopy(node.values, i + 1, node.values, i, node.count - i - 1);
+                node.count--;
+                size--;
+                if (node.count == 0) {
+                    unlink(prev, node);
+                } else if (node.count < capacity / 2 && node.next != null && node.count + node.next.count <= capacity) {
+                    Node next = node.next;
+                    System.arraycopy(next.values, 0, node.values, node.count, next.count);
+                    node.count += next.count;
+                    unlink(node, next);
+                }
+                lastHops = hops;
+                return start + i;
+            }
+        }
+        lastHops = nodeCount;
+        return -1;
+    }
+
+    private void unlink(Node prev, Node node) {
+        if (prev == null) {
+            head = node.next;
+        } else {
+            prev.next = node.next;
+        }
+        if (node == tail) tail = prev;
+        nodeCount--;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) sum += node.values[i];
+        }
+        return sum;
+    }
+
+    // Reverses the chain of nodes and each chunk's values in place
+    public void reverse() {
+        Node prev = null;
+        Node node = head;
+        tail = head;
+        while (node != null) {
+            for (int i = 0, j = node.count - 1; i < j; i++, j--) {
+                int swap = node.values[i];
+                node.values[i] = node.values[j];
+                node.values[j] = swap;
+            }
+            Node next = node.next;
+            node.next = prev;
+            prev = node;
+            node = next;
+        }
+        head = prev;
+    }
+
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        nodeCount = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int lastHops() {
+        return lastHops;
+    }
+
+    public List<int[]> nodes(int limit) {
+        List<int[]> nodes = new ArrayList<>();
+        for (Node node = head; node != null && nodes.size() < limit; node = node.next) {
+            nodes.add(Arrays.copyOf(node.values, node.count));
+        }
+        return nodes;
+    }
+
+    public int nodeCapacity() {
+        return capacity;
+    }
+
+    public long memoryBytes() {
+        // Each node is a 24-byte object plus its int[] chunk: a 16-byte header and the slots, padded to 8
+        long chunk = (16 + 4L * capacity + 7) / 8 * 8;
+        return (24 + chunk) * nodeCount + 40;
+    }
+}
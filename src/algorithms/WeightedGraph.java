@@ -0,0 +1,142 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class WeightedGraph {
+
+    private final int nodeCount;
+    private final int[] degree;
+    private final int[][] targets;
+    private final int[][] weights;
+    private int edgeCount = 0;
+    private int version = 0;
+
+    WeightedGraph(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.degree = new int[nodeCount];
+        this.targets = new int[nodeCount][];
+        this.weights = new int[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            targets[i] = new int[4];
+            weights[i] = new int[4];
+        }
+    }
+
+    // Undirected G(n, p) using geometric skips between sampled pairs, so sparse graphs cost O(n + m)
+    static WeightedGraph random(int nodeCount, double probability, int maxWeight, Random rand) {
+        WeightedGraph graph = new WeightedGraph(nodeCount);
+        if (probability <= 0) return graph;
+        if (probability >= 1) {
+            for (int i = 0; i < nodeCount; i++) {
+                for (int j = i + 1; j < nodeCount; j++) {
+                    graph.addEdge(i, j, rand.nextInt(maxWeight) + 1);
+                }
+            }
+            return graph;
+        }
+
+        double logQ = Math.log(1 - probability);
+        int v = 1;
+        long w = -1;
+        while (v < nodeCount) {
+            w += 1 + (long) Math.floor(Math.log(1 - rand.nextDouble()) / logQ);
+            while (w >= v && v < nodeCount) {
+                w -= v;
+                v++;
+            }
+            if (v < nodeCount) {
+                graph.addEdge(v, (int) w, rand.nextInt(maxWeight) + 1);
+            }
+        }
+        return graph;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    int version() {
+        return version;
+    }
+
+    double density() {
+        if (nodeCount < 2) return 0;
+        return 2.0 * edgeCount / ((double) nodeCount * (nodeCount - 1));
+    }
+
+    int degree(int node) {
+        return degree[node];
+    }
+
+    int target(int node, int index) {
+        return targets[node][index];
+    }
+
+    int weight(int node, int index) {
+        return weights[node][index];
+    }
+
+    int edgeWeight(int from, int to) {
+        int index = indexOf(from, to);
+        return index < 0 ? -1 : weights[from][index];
+    }
+
+    void setEdge(int from, int to, int weight) {
+        if (from == to) return;
+        int index = indexOf(from, to);
+        if (index < 0) {
+            addEdge(from, to, weight);
+            return;
+        }
+        weights[from][index] = weight;
+        weights[to][indexOf(to, from)] = weight;
+        version++;
+    }
+
+    boolean removeEdge(int from, int to) {
+        int index = indexOf(from, to);
+        if (index < 0) return false;
+        removeAt(from, index);
+        removeAt(to, indexOf(to, from));
+        edgeCount--;
+        version++;
+        return true;
+    }
+
+    // Skips the duplicate check, so callers must already know the edge is new
+    void addEdge(int from, int to, int weight) {
+        append(from, to, weight);
+        append(to, from, weight);
+        edgeCount++;
+        version++;
+    }
+
+    private void append(int node, int target, int weight) {
+        if (degree[node] == targets[node].length) {
+            targets[node] = Arrays.copyOf(targets[node], degree[node] * 2);
+            weights[node] = Arrays.copyOf(weights[node], degree[node] * 2);
+        }
+        targets[node][degree[node]] = target;
+        weights[node][degree[node]] = weight;
+        degree[node]++;
+    }
+
+    private void removeAt(int node, int index) {
+        int last = --degree[node];
+        targets[node][index] = targets[node][last];
+        weights[node][index] = weights[node][last];
+    }
+
+    private int indexOf(int from, int to) {
+        int[] row = targets[from];
+        for (int i = 0; i < degree[from]; i++) {
+            if (row[i] == to) return i;
+        }
+        return -1;
+    }
+}
@@ -1,7 +1,11 @@
 package ui;
 
+import algorithms.APSPVisualizer;
 import algorithms.AStarVisualizer;
+import algorithms.ComponentsVisualizer;
 import algorithms.DijkstraVisualizer;
+import algorithms.MSTVisualizer;
+import algorithms.TraversalVisualizer;
 
 import javax.swing.*;
 import java.awt.*;
@@ -29,6 +33,10 @@ public class AdvancedAlgorithmsVisualizer extends JFrame {
 
         optionsPanel.add(createStyledButton("Dijkstra's Algorithm", DijkstraVisualizer::new));
         optionsPanel.add(createStyledButton("A* Search", AStarVisualizer::new));
+        optionsPanel.add(createStyledButton("All-Pairs Shortest Paths", APSPVisualizer::new));
+        optionsPanel.add(createStyledButton("Minimum Spanning Tree", MSTVisualizer::new));
+        optionsPanel.add(createStyledButton("BFS / DFS Traversal", TraversalVisualizer::new));
+        optionsPanel.add(createStyledButton("Connected Components", ComponentsVisualizer::new));
 
         add(optionsPanel, BorderLayout.CENTER);
 
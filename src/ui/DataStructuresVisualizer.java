@@ -10,7 +10,7 @@ public class DataStructuresVisualizer extends JFrame {
 
     public DataStructuresVisualizer() {
         setTitle("Data Structures Visualizer");
-        setSize(900, 600);
+        setSize(900, 700);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
@@ -23,7 +23,7 @@ public class DataStructuresVisualizer extends JFrame {
         title.setBorder(BorderFactory.createEmptyBorder(20, 0, 20, 0));
         add(title, BorderLayout.NORTH);
 
-        JPanel optionsPanel = new JPanel(new GridLayout(2, 3, 20, 20));
+        JPanel optionsPanel = new JPanel(new GridLayout(3, 3, 20, 20));
         optionsPanel.setBorder(BorderFactory.createEmptyBorder(30, 50, 30, 50));
         optionsPanel.setBackground(new Color(20, 20, 20));
 
@@ -33,6 +33,9 @@ public class DataStructuresVisualizer extends JFrame {
         optionsPanel.add(createStyledButton("Binary Search Tree", BSTVisualizer::new));
         optionsPanel.add(createStyledButton("Hash Table", HashTableVisualizer::new));
         optionsPanel.add(createStyledButton("Set", SetVisualizer::new));
+        optionsPanel.add(createStyledButton("Consistent Hashing", ConsistentHashingVisualizer::new));
+        optionsPanel.add(createStyledButton("B+ Tree (Disk)", BPlusTreeVisualizer::new));
+        optionsPanel.add(createStyledButton("Skip List", SkipListVisualizer::new));
 
         add(optionsPanel, BorderLayout.CENTER);
 